@@ -0,0 +1,31 @@
+plugins {
+    id("libcommon.java-library-conventions")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+dependencies {
+
+    jmh(project(":libcommon-json"))
+    jmh(project(":libcommon-json-jackson2"))
+    jmh(project(":libcommon-json-jackson3"))
+    jmh(project(":libcommon-json-fastjson2"))
+    jmh(project(":libcommon-json-jsoniter"))
+    jmh("com.jsoniter:jsoniter")
+    jmh("org.apache.logging.log4j:log4j-slf4j2-impl")
+
+}
+
+description = "libcommon/Benchmarks"
+
+// Results are written as JSON, so that they can be archived and compared
+// between runs for regression tracking, e.g.:
+//   ./gradlew :libcommon-benchmarks:jmh -PjmhIncludes=JsonLibraryBenchmark
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (findProperty("jmhIncludes") as String?)?.let { includes.set(it.split(',')) }
+}
@@ -0,0 +1,94 @@
+package com.github.fmjsjx.libcommon.benchmarks.json;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fmjsjx.libcommon.json.Fastjson2Library;
+import com.github.fmjsjx.libcommon.json.Fastjson2Support;
+import com.github.fmjsjx.libcommon.json.Jackson2Fastjson2Converter;
+import com.github.fmjsjx.libcommon.json.Jackson2JsoniterConverter;
+import com.github.fmjsjx.libcommon.json.Jackson2Library;
+import com.github.fmjsjx.libcommon.json.JsoniterLibrary;
+import com.jsoniter.any.Any;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the cross-library bridges, such as encoding Jackson2
+ * {@code JsonNode}s by Jsoniter/Fastjson2 and converting trees between
+ * libraries.
+ * <p>
+ * The {@code jackson2DumpsJsonNode} benchmark is the baseline: encoding a
+ * {@code JsonNode} by its own library.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BridgeBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payload.Size size;
+
+    private JsonNode jsonNode;
+    private JSONObject jsonObject;
+    private Any any;
+
+    @Setup
+    public void setup() {
+        // JSONObject is not supported by jsoniter by default
+        Fastjson2Support.enableAll();
+        var bytes = Jackson2Library.getInstance().dumpsToBytes(size.create());
+        jsonNode = Jackson2Library.getInstance().loads(bytes);
+        jsonObject = Fastjson2Library.getInstance().loads(bytes);
+        any = JsoniterLibrary.getInstance().loads(bytes);
+    }
+
+    @Benchmark
+    public byte[] jackson2DumpsJsonNode() {
+        return Jackson2Library.getInstance().dumpsToBytes(jsonNode);
+    }
+
+    @Benchmark
+    public byte[] jsoniterDumpsJsonNode() {
+        return JsoniterLibrary.getInstance().dumpsToBytes(jsonNode);
+    }
+
+    @Benchmark
+    public byte[] fastjson2DumpsJsonNode() {
+        return Fastjson2Library.getInstance().dumpsToBytes(jsonNode);
+    }
+
+    @Benchmark
+    public byte[] jsoniterDumpsJSONObject() {
+        return JsoniterLibrary.getInstance().dumpsToBytes(jsonObject);
+    }
+
+    @Benchmark
+    public byte[] jackson2DumpsAny() {
+        return Jackson2Library.getInstance().dumpsToBytes(any);
+    }
+
+    @Benchmark
+    public Any jsonNodeToAny() {
+        return Jackson2JsoniterConverter.toAny(jsonNode);
+    }
+
+    @Benchmark
+    public JsonNode anyToJsonNode() {
+        return Jackson2JsoniterConverter.toJsonNode(any);
+    }
+
+    @Benchmark
+    public Object jsonNodeToFastjson2() {
+        return Jackson2Fastjson2Converter.toFastjson2(jsonNode);
+    }
+
+    @Benchmark
+    public JsonNode fastjson2ToJsonNode() {
+        return Jackson2Fastjson2Converter.toJsonNode(jsonObject);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.fmjsjx.libcommon.benchmarks.json;
+
+import com.github.fmjsjx.libcommon.json.Fastjson2Library;
+import com.github.fmjsjx.libcommon.json.Jackson2Library;
+import com.github.fmjsjx.libcommon.json.Jackson3Library;
+import com.github.fmjsjx.libcommon.json.JsonLibrary;
+import com.github.fmjsjx.libcommon.json.JsoniterLibrary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@code loads}/{@code dumps} for all {@link JsonLibrary}
+ * implementations, across small, medium and large payloads.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonLibraryBenchmark {
+
+    @Param({"jackson2", "jackson3", "fastjson2", "jsoniter"})
+    public String library;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payload.Size size;
+
+    private JsonLibrary<?> jsonLibrary;
+    private Payload payload;
+    private byte[] bytes;
+    private String string;
+
+    @Setup
+    public void setup() {
+        jsonLibrary = switch (library) {
+            case "jackson2" -> Jackson2Library.getInstance();
+            case "jackson3" -> Jackson3Library.getInstance();
+            case "fastjson2" -> Fastjson2Library.getInstance();
+            case "jsoniter" -> JsoniterLibrary.getInstance();
+            default -> throw new IllegalArgumentException("unknown library " + library);
+        };
+        jsonLibrary.warmUp(List.of(Payload.class));
+        payload = size.create();
+        bytes = jsonLibrary.dumpsToBytes(payload);
+        string = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] dumpsToBytes() {
+        return jsonLibrary.dumpsToBytes(payload);
+    }
+
+    @Benchmark
+    public String dumpsToString() {
+        return jsonLibrary.dumpsToString(payload);
+    }
+
+    @Benchmark
+    public Payload loadsTypedFromBytes() {
+        return jsonLibrary.loads(bytes, Payload.class);
+    }
+
+    @Benchmark
+    public Payload loadsTypedFromString() {
+        return jsonLibrary.loads(string, Payload.class);
+    }
+
+    @Benchmark
+    public Payload loadsTypedFromInputStream() {
+        return jsonLibrary.loads(new ByteArrayInputStream(bytes), Payload.class);
+    }
+
+    @Benchmark
+    public Object loadsTreeFromBytes() {
+        return jsonLibrary.loads(bytes);
+    }
+
+    @Benchmark
+    public Object loadsTreeFromInputStream() {
+        return jsonLibrary.loads(new ByteArrayInputStream(bytes));
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.github.fmjsjx.libcommon.benchmarks.json;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The payload model used by JSON benchmarks.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public class Payload {
+
+    /**
+     * The sizes of the benchmark payloads.
+     */
+    public enum Size {
+        /**
+         * About 200 bytes.
+         */
+        SMALL(1),
+        /**
+         * About 5 KB.
+         */
+        MEDIUM(32),
+        /**
+         * About 150 KB.
+         */
+        LARGE(1024),
+        ;
+
+        private final int items;
+
+        Size(int items) {
+            this.items = items;
+        }
+
+        /**
+         * Creates a new {@link Payload} with this size.
+         *
+         * @return a new {@code Payload}
+         */
+        public Payload create() {
+            var payload = new Payload();
+            payload.setId(1234567890L);
+            payload.setName("benchmark-" + name().toLowerCase());
+            payload.setEnabled(true);
+            payload.setCreateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+            var attributes = new LinkedHashMap<String, String>();
+            attributes.put("region", "cn-east");
+            attributes.put("channel", "official");
+            payload.setAttributes(attributes);
+            var items = new ArrayList<Item>(this.items);
+            for (var i = 0; i < this.items; i++) {
+                var item = new Item();
+                item.setId(i);
+                item.setName("item-" + i);
+                item.setPrice(i * 1.25 + 0.99);
+                item.setTags(List.of("tag-" + (i % 7), "tag-" + (i % 13)));
+                items.add(item);
+            }
+            payload.setItems(items);
+            return payload;
+        }
+    }
+
+    /**
+     * The item of the payload.
+     */
+    public static class Item {
+
+        private int id;
+        private String name;
+        private double price;
+        private List<String> tags;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+    }
+
+    private long id;
+    private String name;
+    private boolean enabled;
+    private LocalDateTime createTime;
+    private Map<String, String> attributes;
+    private List<Item> items;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+}
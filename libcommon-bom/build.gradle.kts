@@ -13,6 +13,7 @@ dependencies {
         api(project(":libcommon-json-jackson2"))
         api(project(":libcommon-json-jackson3"))
         api(project(":libcommon-json-jsoniter"))
+        api(project(":libcommon-json-netty"))
         api(project(":libcommon-jwt"))
         api(project(":libcommon-prometheus-client"))
         api(project(":libcommon-r2dbc"))
@@ -0,0 +1,389 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.alibaba.fastjson2.*;
+import com.alibaba.fastjson2.util.TypeUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * The implementation of {@link JsonLibrary} using the binary JSONB format of
+ * Fastjson2.
+ * <p>
+ * This library shares the same {@code loads}/{@code dumps} API and type
+ * reference helpers with {@link Fastjson2Library}, so that the wire format can
+ * be switched just by choosing another {@link JsonLibrary} instance. All the
+ * byte array, byte buffer and stream based methods are supported, but the
+ * {@code String} based methods, such as {@link #dumpsToString(Object)} and
+ * {@link #loads(String)}, and the methods relying on the JSON text, such as
+ * {@link #loadsStream(InputStream, Type)}, are not supported, because the
+ * encoded data is not text.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public class Fastjson2JsonbLibrary extends Fastjson2Library {
+
+    private static final class InstanceHolder {
+        private static final Fastjson2JsonbLibrary INSTANCE = new Fastjson2JsonbLibrary();
+    }
+
+    /**
+     * Returns the singleton {@link Fastjson2JsonbLibrary} instance.
+     *
+     * @return the singleton {@code Fastjson2JsonbLibrary} instance
+     */
+    public static final Fastjson2JsonbLibrary jsonb() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a new {@link Fastjson2JsonbLibrary} with the specified features
+     * given.
+     *
+     * @param readerFeatures the reader features
+     * @param writerFeatures the writer features
+     */
+    public Fastjson2JsonbLibrary(JSONReader.Feature[] readerFeatures, JSONWriter.Feature[] writerFeatures) {
+        super(readerFeatures, writerFeatures);
+    }
+
+    /**
+     * Creates a new {@link Fastjson2JsonbLibrary} with the default features.
+     * <p>
+     * Default read features:
+     * <pre>none</pre>
+     * Default write features:
+     * <pre>none</pre>
+     */
+    public Fastjson2JsonbLibrary() {
+        this(new JSONReader.Feature[]{}, new JSONWriter.Feature[]{});
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(byte[] src, int offset, int length, Type type) throws Fastjson2Exception {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        try (var reader = JSONReader.ofJSONB(src, offset, length)) {
+            reader.getContext().config(readerFeatures());
+            var value = (T) reader.read(type);
+            // resolve "$ref" references, just like JSON.parseObject does
+            reader.handleResolveTasks(value);
+            if (!reader.isEnd()) {
+                throw new JSONException("input not end");
+            }
+            return value;
+        } catch (Exception e) {
+            throw new Fastjson2Exception(e);
+        }
+    }
+
+    private <T> T read(byte[] src, Type type) throws Fastjson2Exception {
+        return read(src, 0, src.length, type);
+    }
+
+    private static final byte[] readAllBytes(InputStream src) throws Fastjson2Exception {
+        try {
+            return src.readAllBytes();
+        } catch (Exception e) {
+            throw new Fastjson2Exception(e);
+        }
+    }
+
+    private UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("JSONB data can not be decoded from or encoded to String");
+    }
+
+    /**
+     * @return a {@link JSONObject}
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T extends JSONObject> T loads(byte[] src) throws Fastjson2Exception {
+        return read(src, JSONObject.class);
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T extends JSONObject> T loads(String src) {
+        throw unsupported();
+    }
+
+    /**
+     * @return a {@link JSONObject}
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T extends JSONObject> T loads(InputStream src) throws Fastjson2Exception {
+        return loads(readAllBytes(src));
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(byte[] src, Class<T> type) throws Fastjson2Exception {
+        return read(src, type);
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(byte[] src, Type type) throws Fastjson2Exception {
+        return read(src, type);
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(byte[] src, TypeReference<T> type) throws Fastjson2Exception {
+        return read(src, type.getType());
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws Fastjson2Exception {
+        return read(src, offset, length, type);
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> T loads(String src, Class<T> type) {
+        throw unsupported();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> T loads(String src, Type type) {
+        throw unsupported();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> T loads(String src, TypeReference<T> type) {
+        throw unsupported();
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(InputStream src, Class<T> type) throws Fastjson2Exception {
+        return read(readAllBytes(src), type);
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(InputStream src, Type type) throws Fastjson2Exception {
+        return read(readAllBytes(src), type);
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> T loads(InputStream src, TypeReference<T> type) throws Fastjson2Exception {
+        return read(readAllBytes(src), type.getType());
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public JSONArray loadsArray(byte[] src) throws Fastjson2Exception {
+        return read(src, JSONArray.class);
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public JSONArray loadsArray(String src) {
+        throw unsupported();
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public JSONArray loadsArray(InputStream src) throws Fastjson2Exception {
+        return loadsArray(readAllBytes(src));
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> List<T> loadsList(byte[] src, Type type) throws Fastjson2Exception {
+        return read(src, new ParameterizedTypeImpl(List.class, type));
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB decode error occurs
+     */
+    @Override
+    public <T> List<T> loadsList(byte[] src, Class<T> type) throws Fastjson2Exception {
+        return read(src, new ParameterizedTypeImpl(List.class, type));
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> List<T> loadsList(String src, Type type) {
+        throw unsupported();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> List<T> loadsList(String src, Class<T> type) {
+        throw unsupported();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> Stream<T> loadsStream(InputStream src, Type type) {
+        throw new UnsupportedOperationException("JSONB data can not be decoded as stream");
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public <T> Stream<T> loadsLines(InputStream src, Type type) {
+        throw new UnsupportedOperationException("JSONB data can not be decoded as lines");
+    }
+
+    /**
+     * Extracts the value referenced by the specified JSON Pointer, by
+     * decoding the whole JSONB data and then converting the referenced value
+     * to the specified type.
+     *
+     * @throws Fastjson2Exception       if any JSONB decode error occurs
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     */
+    @Override
+    public <T> T extract(byte[] src, String jsonPointer, Type type) throws Fastjson2Exception {
+        var tokens = JsonPointers.parse(jsonPointer);
+        var value = walk(read(src, Object.class), tokens);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TypeUtils.cast(value, type);
+        } catch (Exception e) {
+            throw new Fastjson2Exception(e);
+        }
+    }
+
+    /**
+     * Extracts the values referenced by the specified JSON Pointers, by
+     * decoding the whole JSONB data only once.
+     *
+     * @throws Fastjson2Exception       if any JSONB decode error occurs
+     * @throws IllegalArgumentException if any JSON Pointer is invalid
+     */
+    @Override
+    public Object[] extract(byte[] src, String... jsonPointers) throws Fastjson2Exception {
+        var tokens = new String[jsonPointers.length][];
+        for (var i = 0; i < jsonPointers.length; i++) {
+            tokens[i] = JsonPointers.parse(jsonPointers[i]);
+        }
+        Object root = read(src, Object.class);
+        var values = new Object[tokens.length];
+        for (var i = 0; i < tokens.length; i++) {
+            values[i] = walk(root, tokens[i]);
+        }
+        return values;
+    }
+
+    private static final Object walk(Object value, String[] tokens) {
+        for (var token : tokens) {
+            if (value instanceof Map<?, ?> map) {
+                value = map.get(token);
+            } else if (value instanceof List<?> list) {
+                var index = JsonPointers.index(token);
+                value = index >= 0 && index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB encode error occurs
+     */
+    @Override
+    public byte[] dumpsToBytes(Object obj) throws Fastjson2Exception {
+        try {
+            return JSONB.toBytes(obj, writerFeatures());
+        } catch (Exception e) {
+            throw new Fastjson2Exception(e);
+        }
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public String dumpsToString(Object obj) {
+        throw unsupported();
+    }
+
+    /**
+     * @throws Fastjson2Exception if any JSONB encode error occurs
+     */
+    @Override
+    public void dumps(Object obj, OutputStream out) throws Fastjson2Exception {
+        var bytes = dumpsToBytes(obj);
+        try {
+            out.write(bytes);
+        } catch (Exception e) {
+            throw new Fastjson2Exception(e);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.fmjsjx.libcommon.json;
 
 import com.alibaba.fastjson2.*;
+import com.alibaba.fastjson2.util.TypeUtils;
 import com.github.fmjsjx.libcommon.util.ReflectUtil;
 
 import java.io.*;
@@ -8,15 +9,16 @@ import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static com.alibaba.fastjson2.JSONWriter.Feature.WriteNonStringKeyAsString;
-import static com.alibaba.fastjson2.JSONWriter.Feature.WriteNulls;
 import static com.alibaba.fastjson2.TypeReference.parametricType;
 
 /**
@@ -74,7 +76,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                     if (object == null) {
                         jsonWriter.writeNull();
                     } else {
-                        jsonWriter.writeRaw(com.jsoniter.output.JsonStream.serialize(object));
+                        JsoniterFastjson2Converter.write(jsonWriter, (com.jsoniter.any.Any) object);
                     }
                 });
             } catch (ClassNotFoundException e) {
@@ -88,23 +90,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return com.jsoniter.any.Any.wrapNull();
                 }
-                if (jsonReader.isObject()) {
-                    return com.jsoniter.JsonIterator.deserialize(jsonReader.readJSONObject().toJSONString(WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isArray()) {
-                    return com.jsoniter.JsonIterator.deserialize(jsonReader.readJSONArray().toJSONString(WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isString()) {
-                    return com.jsoniter.JsonIterator.deserialize(JSON.toJSONString(jsonReader.readString(), WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isNumber()) {
-                    return com.jsoniter.JsonIterator.deserialize(JSON.toJSONString(jsonReader.readNumber(), WriteNonStringKeyAsString, WriteNulls));
-                }
-                return switch (jsonReader.current()) {
-                    case 't', 'f' -> com.jsoniter.any.Any.wrap(jsonReader.readBoolValue());
-                    default ->
-                            com.jsoniter.JsonIterator.deserialize(JSON.toJSONString(jsonReader.readAny(), WriteNonStringKeyAsString, WriteNulls));
-                };
+                return JsoniterFastjson2Converter.toAny(jsonReader.readAny());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -136,7 +122,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                     if (object == null) {
                         jsonWriter.writeNull();
                     } else {
-                        jsonWriter.writeRaw(com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().dumpsToString(object));
+                        Jackson2Fastjson2Converter.write(jsonWriter, (com.fasterxml.jackson.databind.JsonNode) object);
                     }
                 });
             } catch (ClassNotFoundException e) {
@@ -149,7 +135,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return com.fasterxml.jackson.databind.node.NullNode.getInstance();
                 }
-                return com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(jsonReader.readJSONArray().toJSONString(WriteNonStringKeyAsString, WriteNulls));
+                return Jackson2Fastjson2Converter.toJsonNode(jsonReader.readJSONArray());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -160,7 +146,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return com.fasterxml.jackson.databind.node.NullNode.getInstance();
                 }
-                return com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(jsonReader.readJSONObject().toJSONString(WriteNonStringKeyAsString, WriteNulls));
+                return Jackson2Fastjson2Converter.toJsonNode(jsonReader.readJSONObject());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -171,23 +157,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return com.fasterxml.jackson.databind.node.NullNode.getInstance();
                 }
-                if (jsonReader.isObject()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(jsonReader.readJSONObject().toJSONString(WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isArray()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(jsonReader.readJSONArray().toJSONString(WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isString()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(JSON.toJSONString(jsonReader.readString(), WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isNumber()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(JSON.toJSONString(jsonReader.readNumber(), WriteNonStringKeyAsString, WriteNulls));
-                }
-                return switch (jsonReader.current()) {
-                    case 't', 'f' -> com.fasterxml.jackson.databind.node.BooleanNode.valueOf(jsonReader.readBoolValue());
-                    default ->
-                            com.github.fmjsjx.libcommon.json.Jackson2Library.getInstance().loads(JSON.toJSONString(jsonReader.readAny(), WriteNonStringKeyAsString, WriteNulls));
-                };
+                return Jackson2Fastjson2Converter.toJsonNode(jsonReader.readAny());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -219,7 +189,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                     if (object == null) {
                         jsonWriter.writeNull();
                     } else {
-                        jsonWriter.writeRaw(com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().dumpsToString(object));
+                        Jackson3Fastjson2Converter.write(jsonWriter, (tools.jackson.databind.JsonNode) object);
                     }
                 });
             } catch (ClassNotFoundException e) {
@@ -232,7 +202,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return tools.jackson.databind.node.NullNode.getInstance();
                 }
-                return com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(jsonReader.readJSONArray().toJSONString(WriteNonStringKeyAsString, WriteNulls));
+                return Jackson3Fastjson2Converter.toJsonNode(jsonReader.readJSONArray());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -243,7 +213,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return tools.jackson.databind.node.NullNode.getInstance();
                 }
-                return com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(jsonReader.readJSONObject().toJSONString(WriteNonStringKeyAsString, WriteNulls));
+                return Jackson3Fastjson2Converter.toJsonNode(jsonReader.readJSONObject());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -254,23 +224,7 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
                 if (jsonReader.nextIfNull()) {
                     return tools.jackson.databind.node.NullNode.getInstance();
                 }
-                if (jsonReader.isObject()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(jsonReader.readJSONObject().toJSONString(WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isArray()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(jsonReader.readJSONArray().toJSONString(WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isString()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(JSON.toJSONString(jsonReader.readString(), WriteNonStringKeyAsString, WriteNulls));
-                }
-                if (jsonReader.isNumber()) {
-                    return com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(JSON.toJSONString(jsonReader.readNumber(), WriteNonStringKeyAsString, WriteNulls));
-                }
-                return switch (jsonReader.current()) {
-                    case 't', 'f' -> tools.jackson.databind.node.BooleanNode.valueOf(jsonReader.readBoolValue());
-                    default ->
-                            com.github.fmjsjx.libcommon.json.Jackson3Library.getInstance().loads(JSON.toJSONString(jsonReader.readAny(), WriteNonStringKeyAsString, WriteNulls));
-                };
+                return Jackson3Fastjson2Converter.toJsonNode(jsonReader.readAny());
             });
         } catch (ClassNotFoundException e) {
             // skip
@@ -278,38 +232,80 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
     }
 
     private static final void useISOFormatForDateTimeFields() {
-        useISOFormatForLocalDateTimeFields();
-        useISOFormatForOffsetDateTimeFields();
-        useISOFormatForZonedDateTimeFields();
+        registerJavaTimeCodec(JavaTimeCodec.iso(LocalDateTime.class));
+        registerJavaTimeCodec(JavaTimeCodec.iso(OffsetDateTime.class));
+        registerJavaTimeCodec(JavaTimeCodec.iso(ZonedDateTime.class));
     }
 
-    private static final void useISOFormatForLocalDateTimeFields() {
-        JSON.register(LocalDateTime.class, (jsonWriter, object, fieldName, fieldType, features) -> {
-            if (object == null) {
-                jsonWriter.writeNull();
-            } else {
-                jsonWriter.writeString(((LocalDateTime) object).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-            }
-        });
+    /**
+     * Changes the format of the specified {@code java.time} type globally.
+     * <p>
+     * This is the same as:
+     * <pre>{@code
+     * useJavaTimeFormat(type, format, ZoneId.systemDefault());
+     * }</pre>
+     *
+     * @param type   the type, one of {@code LocalDateTime}, {@code LocalDate},
+     *               {@code LocalTime}, {@code OffsetDateTime} and
+     *               {@code ZonedDateTime}
+     * @param format the format
+     * @throws IllegalArgumentException if the type is not supported, or the
+     *                                  format is not supported by the type
+     * @since 4.3
+     */
+    public static final void useJavaTimeFormat(Class<?> type, JsonTimeFormat format) {
+        useJavaTimeFormat(type, format, ZoneId.systemDefault());
     }
 
-    private static final void useISOFormatForOffsetDateTimeFields() {
-        JSON.register(OffsetDateTime.class, (jsonWriter, object, fieldName, fieldType, features) -> {
+    /**
+     * Changes the format of the specified {@code java.time} type globally.
+     * <p>
+     * ISO-8601 values are written by the fixed-layout printers, which produce
+     * exactly the same texts as the ISO formatters of {@code DateTimeFormatter}.
+     * When an epoch format is used, values are read from both ISO-8601 strings
+     * and epoch numbers.
+     *
+     * @param type   the type, one of {@code LocalDateTime}, {@code LocalDate},
+     *               {@code LocalTime}, {@code OffsetDateTime} and
+     *               {@code ZonedDateTime}
+     * @param format the format
+     * @param zone   the zone used to convert local date-times from and to
+     *               epoch numbers
+     * @throws IllegalArgumentException if the type is not supported, or the
+     *                                  format is not supported by the type
+     * @since 4.3
+     */
+    public static final void useJavaTimeFormat(Class<?> type, JsonTimeFormat format, ZoneId zone) {
+        registerJavaTimeCodec(JavaTimeCodec.of(type, format, zone));
+    }
+
+    private static final <T> void registerJavaTimeCodec(JavaTimeCodec<T> codec) {
+        var type = codec.type();
+        if (!codec.isNumeric()) {
+            JSON.register(type, (jsonWriter, object, fieldName, fieldType, features) -> {
+                if (object == null) {
+                    jsonWriter.writeNull();
+                } else {
+                    jsonWriter.writeString(codec.format(type.cast(object)));
+                }
+            });
+            return;
+        }
+        JSON.register(type, (jsonWriter, object, fieldName, fieldType, features) -> {
             if (object == null) {
                 jsonWriter.writeNull();
             } else {
-                jsonWriter.writeString(((OffsetDateTime) object).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+                jsonWriter.writeInt64(codec.toEpoch(type.cast(object)));
             }
         });
-    }
-
-    private static final void useISOFormatForZonedDateTimeFields() {
-        JSON.register(ZonedDateTime.class, (jsonWriter, object, fieldName, fieldType, features) -> {
-            if (object == null) {
-                jsonWriter.writeNull();
-            } else {
-                jsonWriter.writeString(((ZonedDateTime) object).format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        JSON.register(type, (jsonReader, fieldType, fieldName, features) -> {
+            if (jsonReader.nextIfNull()) {
+                return null;
+            }
+            if (jsonReader.isString()) {
+                return codec.parse(jsonReader.readString());
             }
+            return codec.fromEpoch(jsonReader.readInt64Value());
         });
     }
 
@@ -502,6 +498,43 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
         return loads(new String(src, StandardCharsets.UTF_8), type);
     }
 
+    /**
+     * Decodes data from a range of byte array in place.
+     *
+     * @throws Fastjson2Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws Fastjson2Exception {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        try (var reader = JSONReader.of(src, offset, length, StandardCharsets.UTF_8)) {
+            reader.getContext().config(readerFeatures);
+            var value = (T) reader.read(type);
+            // resolve "$ref" references, just like JSON.parseObject does
+            reader.handleResolveTasks(value);
+            if (!reader.isEnd()) {
+                throw new JSONException("input not end");
+            }
+            return value;
+        } catch (Exception e) {
+            throw new Fastjson2Exception(e);
+        }
+    }
+
+    /**
+     * Extracts the values referenced by the specified JSON Pointers from byte
+     * array, by locating all of them in a single pass.
+     *
+     * @throws JsonException            if any JSON decode error occurs
+     * @throws IllegalArgumentException if any JSON Pointer is invalid
+     * @since 4.3
+     */
+    @Override
+    public Object[] extract(byte[] src, String... jsonPointers) throws JsonException {
+        return JsonPointers.extractAll(this, src, jsonPointers);
+    }
+
     /**
      * @throws Fastjson2Exception if any JSON decode error occurs
      */
@@ -757,6 +790,32 @@ public class Fastjson2Library implements JsonLibrary<JSONObject> {
         }
     }
 
+    /**
+     * Warms up this library for the specified types.
+     * <p>
+     * The {@code ObjectReader} and {@code ObjectWriter} of each type are
+     * created and cached by the default providers of {@code Fastjson2}
+     * eagerly.
+     *
+     * @since 4.3
+     */
+    @Override
+    public Fastjson2Library warmUp(Collection<? extends Type> types) {
+        var readerProvider = JSONFactory.getDefaultObjectReaderProvider();
+        var writerProvider = JSONFactory.getDefaultObjectWriterProvider();
+        var fieldBasedReader = Arrays.asList(readerFeatures).contains(JSONReader.Feature.FieldBased);
+        var fieldBasedWriter = Arrays.asList(writerFeatures).contains(JSONWriter.Feature.FieldBased);
+        for (var type : types) {
+            try {
+                readerProvider.getObjectReader(type, fieldBasedReader);
+                writerProvider.getObjectWriter(type, TypeUtils.getClass(type), fieldBasedWriter);
+            } catch (RuntimeException e) {
+                // skip, errors will be reported when the type is actually used
+            }
+        }
+        return this;
+    }
+
     /**
      * Create {@link TypeReference} for {@link List}s.
      *
@@ -0,0 +1,204 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.BinaryNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.POJONode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Utility class to convert values between the trees of
+ * <a href="https://github.com/FasterXML/jackson/">{@code Jackson3}</a> and
+ * <a href="https://github.com/alibaba/fastjson2">{@code Fastjson2}</a>
+ * directly.
+ * <p>
+ * The source tree is walked once and the target tree is built node by node,
+ * or written to the target writer token by token, without serializing the
+ * source tree to a JSON string and parsing it again.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class Jackson3Fastjson2Converter {
+
+    private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+
+    /**
+     * Converts the specified {@code Fastjson2} value to {@link JsonNode}.
+     * <p>
+     * The value can be any value read by {@code Fastjson2}, such as
+     * {@link JSONObject}, {@link JSONArray}, any other {@link Map} and
+     * {@link Collection}, {@link String}, {@link Number}, {@link Boolean} or
+     * {@code null}. Decimals are converted to {@code DoubleNode}s unless
+     * {@link DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} is enabled on
+     * the mapper of {@link Jackson3Library#getInstance()}, just like what
+     * {@code Jackson3} does when parsing JSON text. Any other object is
+     * converted by {@code ObjectMapper.valueToTree(Object)}.
+     *
+     * @param value the {@code Fastjson2} value
+     * @return a {@code JsonNode}, never {@code null}
+     */
+    public static final JsonNode toJsonNode(Object value) {
+        if (value == null) {
+            return nodeFactory.nullNode();
+        }
+        if (value instanceof JsonNode node) {
+            return node;
+        }
+        if (value instanceof Map<?, ?> map) {
+            var node = nodeFactory.objectNode();
+            for (var entry : map.entrySet()) {
+                node.set(String.valueOf(entry.getKey()), toJsonNode(entry.getValue()));
+            }
+            return node;
+        }
+        if (value instanceof Collection<?> collection) {
+            var node = nodeFactory.arrayNode(collection.size());
+            for (var element : collection) {
+                node.add(toJsonNode(element));
+            }
+            return node;
+        }
+        if (value instanceof String text) {
+            return nodeFactory.stringNode(text);
+        }
+        if (value instanceof Number number) {
+            return toNumberNode(number);
+        }
+        if (value instanceof Boolean bool) {
+            return nodeFactory.booleanNode(bool);
+        }
+        if (value instanceof byte[] binary) {
+            return nodeFactory.binaryNode(binary);
+        }
+        return Jackson3Library.getInstance().getJsonMapper().valueToTree(value);
+    }
+
+    private static final JsonNode toNumberNode(Number number) {
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return nodeFactory.numberNode(number.intValue());
+        }
+        if (number instanceof Long) {
+            return nodeFactory.numberNode(number.longValue());
+        }
+        if (number instanceof BigDecimal decimal) {
+            if (Jackson3Library.getInstance().getJsonMapper().isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+                return nodeFactory.numberNode(decimal);
+            }
+            return nodeFactory.numberNode(decimal.doubleValue());
+        }
+        if (number instanceof BigInteger integer) {
+            return nodeFactory.numberNode(integer);
+        }
+        if (number instanceof Float) {
+            return nodeFactory.numberNode(number.floatValue());
+        }
+        return nodeFactory.numberNode(number.doubleValue());
+    }
+
+    /**
+     * Converts the specified {@link JsonNode} to {@code Fastjson2} value.
+     * <p>
+     * Object nodes are converted to {@link JSONObject}s, array nodes are
+     * converted to {@link JSONArray}s, binary nodes are converted to Base64
+     * encoded strings, null and missing nodes are converted to {@code null}.
+     *
+     * @param node the {@code JsonNode}
+     * @return a {@code Fastjson2} value, may be {@code null}
+     */
+    public static final Object toFastjson2(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        return switch (node.getNodeType()) {
+            case OBJECT -> {
+                var object = new JSONObject(Math.max(16, node.size() * 4 / 3 + 1));
+                for (var entry : node.properties()) {
+                    object.put(entry.getKey(), toFastjson2(entry.getValue()));
+                }
+                yield object;
+            }
+            case ARRAY -> {
+                var array = new JSONArray(node.size());
+                for (var element : node) {
+                    array.add(toFastjson2(element));
+                }
+                yield array;
+            }
+            case STRING -> node.stringValue();
+            case NUMBER -> node.numberValue();
+            case BOOLEAN -> node.booleanValue();
+            case BINARY -> Base64.getEncoder().encodeToString(((BinaryNode) node).binaryValue());
+            case POJO -> toFastjson2(Jackson3Library.getInstance().getJsonMapper().valueToTree(((POJONode) node).getPojo()));
+            case NULL, MISSING -> null;
+        };
+    }
+
+    /**
+     * Writes the specified {@link JsonNode} to the {@link JSONWriter} token by
+     * token.
+     * <p>
+     * Unlike writing the result of {@link #toFastjson2(JsonNode)}, null fields
+     * are always kept. Floating-point and big numbers are written with the
+     * same literals as {@code Jackson3} writes, missing nodes are written as
+     * {@code null}, and POJO nodes are converted by the mapper of
+     * {@link Jackson3Library#getInstance()} first.
+     *
+     * @param jsonWriter the {@code JSONWriter}
+     * @param node       the {@code JsonNode}
+     */
+    public static final void write(JSONWriter jsonWriter, JsonNode node) {
+        if (node == null) {
+            jsonWriter.writeNull();
+            return;
+        }
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                jsonWriter.startObject();
+                for (var entry : node.properties()) {
+                    jsonWriter.writeName(entry.getKey());
+                    jsonWriter.writeColon();
+                    write(jsonWriter, entry.getValue());
+                }
+                jsonWriter.endObject();
+            }
+            case ARRAY -> {
+                jsonWriter.startArray();
+                for (var i = 0; i < node.size(); i++) {
+                    if (i != 0) {
+                        jsonWriter.writeComma();
+                    }
+                    write(jsonWriter, node.get(i));
+                }
+                jsonWriter.endArray();
+            }
+            case STRING -> jsonWriter.writeString(node.stringValue());
+            case NUMBER -> {
+                if (node.isInt() || node.isShort()) {
+                    jsonWriter.writeInt32(node.intValue());
+                } else if (node.isLong()) {
+                    jsonWriter.writeInt64(node.longValue());
+                } else {
+                    jsonWriter.writeRaw(node.asString());
+                }
+            }
+            case BOOLEAN -> jsonWriter.writeBool(node.booleanValue());
+            case BINARY -> jsonWriter.writeString(Base64.getEncoder().encodeToString(((BinaryNode) node).binaryValue()));
+            case POJO -> write(jsonWriter, Jackson3Library.getInstance().getJsonMapper().valueToTree(((POJONode) node).getPojo()));
+            case NULL, MISSING -> jsonWriter.writeNull();
+        }
+    }
+
+    private Jackson3Fastjson2Converter() {
+    }
+
+}
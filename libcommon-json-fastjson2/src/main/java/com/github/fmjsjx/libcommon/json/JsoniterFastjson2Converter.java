@@ -0,0 +1,255 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
+import com.jsoniter.JsonIterator;
+import com.jsoniter.any.Any;
+import com.jsoniter.output.JsonStream;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class to convert values between the trees of
+ * <a href="https://github.com/json-iterator/java">{@code jsoniter}</a> and
+ * <a href="https://github.com/alibaba/fastjson2">{@code Fastjson2}</a>
+ * directly.
+ * <p>
+ * The source tree is walked once and the target tree is built node by node,
+ * or written to the target writer or stream token by token, without
+ * serializing the source tree to a JSON string and parsing it again.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class JsoniterFastjson2Converter {
+
+    /**
+     * Converts the specified {@code Fastjson2} value to {@link Any}.
+     * <p>
+     * The value can be any value read by {@code Fastjson2}, such as
+     * {@link JSONObject}, {@link JSONArray}, any other {@link Map} and
+     * {@link Collection}, {@link String}, {@link Number}, {@link Boolean} or
+     * {@code null}. Any other object is encoded by {@link Fastjson2Library}
+     * first.
+     *
+     * @param value the {@code Fastjson2} value
+     * @return an {@code Any}, never {@code null}
+     */
+    public static final Any toAny(Object value) {
+        if (value == null) {
+            return Any.wrapNull();
+        }
+        if (value instanceof Any any) {
+            return any;
+        }
+        if (value instanceof Map<?, ?> map) {
+            var object = new LinkedHashMap<String, Any>(Math.max(16, map.size() * 4 / 3 + 1));
+            for (var entry : map.entrySet()) {
+                object.put(String.valueOf(entry.getKey()), toAny(entry.getValue()));
+            }
+            return Any.rewrap(object);
+        }
+        if (value instanceof Collection<?> collection) {
+            var array = new ArrayList<Any>(collection.size());
+            for (var element : collection) {
+                array.add(toAny(element));
+            }
+            return Any.rewrap(array);
+        }
+        if (value instanceof String text) {
+            return Any.wrap(text);
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Any.wrap(((Number) value).intValue());
+        }
+        if (value instanceof Long longValue) {
+            return Any.wrap(longValue.longValue());
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            // keep the exact literal as a lazy number
+            return JsonIterator.deserialize(value.toString());
+        }
+        if (value instanceof Float floatValue) {
+            return Any.wrap(floatValue.floatValue());
+        }
+        if (value instanceof Double doubleValue) {
+            return Any.wrap(doubleValue.doubleValue());
+        }
+        if (value instanceof Boolean bool) {
+            return Any.wrap(bool.booleanValue());
+        }
+        return JsonIterator.deserialize(Fastjson2Library.getInstance().dumpsToBytes(value));
+    }
+
+    /**
+     * Converts the specified {@link Any} to {@code Fastjson2} value.
+     * <p>
+     * Objects are converted to {@link JSONObject}s, arrays are converted to
+     * {@link JSONArray}s, integers are converted to the smallest type of
+     * {@link Integer}, {@link Long} and {@link BigInteger} which can hold them,
+     * and decimals are converted to {@link BigDecimal}s, just like what
+     * {@code Fastjson2} does when parsing JSON text.
+     *
+     * @param any the {@code Any}
+     * @return a {@code Fastjson2} value, may be {@code null}
+     */
+    public static final Object toFastjson2(Any any) {
+        if (any == null) {
+            return null;
+        }
+        return switch (any.valueType()) {
+            case OBJECT -> {
+                var map = any.asMap();
+                var object = new JSONObject(Math.max(16, map.size() * 4 / 3 + 1));
+                for (var entry : map.entrySet()) {
+                    object.put(entry.getKey(), toFastjson2(entry.getValue()));
+                }
+                yield object;
+            }
+            case ARRAY -> {
+                var array = new JSONArray(any.size());
+                for (var element : any) {
+                    array.add(toFastjson2(element));
+                }
+                yield array;
+            }
+            case STRING -> any.toString();
+            case NUMBER -> {
+                var text = any.toString();
+                yield JsonNumbers.isIntegral(text) ? JsonNumbers.parseIntegral(text) : new BigDecimal(text);
+            }
+            case BOOLEAN -> any.toBoolean();
+            case NULL, INVALID -> null;
+        };
+    }
+
+    /**
+     * Writes the specified {@link Any} to the {@link JSONWriter} token by
+     * token.
+     * <p>
+     * Unlike writing the result of {@link #toFastjson2(Any)}, null fields are
+     * always kept and numbers are written with their original literals.
+     * Invalid values are written as {@code null}.
+     *
+     * @param jsonWriter the {@code JSONWriter}
+     * @param any        the {@code Any}
+     */
+    public static final void write(JSONWriter jsonWriter, Any any) {
+        if (any == null) {
+            jsonWriter.writeNull();
+            return;
+        }
+        switch (any.valueType()) {
+            case OBJECT -> {
+                jsonWriter.startObject();
+                for (var entry : any.asMap().entrySet()) {
+                    jsonWriter.writeName(entry.getKey());
+                    jsonWriter.writeColon();
+                    write(jsonWriter, entry.getValue());
+                }
+                jsonWriter.endObject();
+            }
+            case ARRAY -> {
+                jsonWriter.startArray();
+                var first = true;
+                for (var element : any) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        jsonWriter.writeComma();
+                    }
+                    write(jsonWriter, element);
+                }
+                jsonWriter.endArray();
+            }
+            case STRING -> jsonWriter.writeString(any.toString());
+            case NUMBER -> jsonWriter.writeRaw(any.toString());
+            case BOOLEAN -> jsonWriter.writeBool(any.toBoolean());
+            case NULL, INVALID -> jsonWriter.writeNull();
+        }
+    }
+
+    /**
+     * Writes the specified {@code Fastjson2} value to the {@link JsonStream}
+     * token by token.
+     * <p>
+     * Non-finite floating-point numbers are written as {@code null}, just like
+     * what {@code Fastjson2} does. Any value which is not a JSON tree value is
+     * encoded by {@link Fastjson2Library}.
+     *
+     * @param stream the {@code JsonStream}
+     * @param value  the {@code Fastjson2} value
+     * @throws IOException if any IO error occurs
+     */
+    public static final void write(JsonStream stream, Object value) throws IOException {
+        if (value == null) {
+            stream.writeNull();
+        } else if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                stream.writeEmptyObject();
+                return;
+            }
+            stream.writeObjectStart();
+            stream.writeIndention();
+            var first = true;
+            for (var entry : map.entrySet()) {
+                if (first) {
+                    first = false;
+                } else {
+                    stream.writeMore();
+                }
+                stream.writeObjectField(String.valueOf(entry.getKey()));
+                write(stream, entry.getValue());
+            }
+            stream.writeObjectEnd();
+        } else if (value instanceof Collection<?> collection) {
+            if (collection.isEmpty()) {
+                stream.writeEmptyArray();
+                return;
+            }
+            stream.writeArrayStart();
+            stream.writeIndention();
+            var first = true;
+            for (var element : collection) {
+                if (first) {
+                    first = false;
+                } else {
+                    stream.writeMore();
+                }
+                write(stream, element);
+            }
+            stream.writeArrayEnd();
+        } else if (value instanceof String text) {
+            stream.writeVal(text);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            stream.writeVal(((Number) value).intValue());
+        } else if (value instanceof Long longValue) {
+            stream.writeVal(longValue.longValue());
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            stream.writeRaw(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            // JsonStream writes floating-point numbers lossy, so write the shortest exact text
+            var number = (Number) value;
+            if (Double.isFinite(number.doubleValue())) {
+                stream.writeRaw(number.toString());
+            } else {
+                stream.writeNull();
+            }
+        } else if (value instanceof Boolean bool) {
+            stream.writeVal(bool.booleanValue());
+        } else {
+            stream.write(Fastjson2Library.getInstance().dumpsToBytes(value));
+        }
+    }
+
+    private JsoniterFastjson2Converter() {
+    }
+
+}
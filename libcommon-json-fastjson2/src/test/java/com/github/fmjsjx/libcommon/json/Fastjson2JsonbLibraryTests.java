@@ -0,0 +1,109 @@
+package com.github.fmjsjx.libcommon.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+
+public class Fastjson2JsonbLibraryTests {
+
+    public static class TestValue {
+        private int id;
+        private String name;
+        private List<Long> values;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<Long> getValues() {
+            return values;
+        }
+
+        public void setValues(List<Long> values) {
+            this.values = values;
+        }
+    }
+
+    private static TestValue testValue() {
+        var value = new TestValue();
+        value.setId(1);
+        value.setName("test");
+        value.setValues(List.of(1L, 2L));
+        return value;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        var library = Fastjson2JsonbLibrary.jsonb();
+        var bytes = library.dumpsToBytes(testValue());
+        assertTrue(bytes.length < Fastjson2Library.getInstance().dumpsToBytes(testValue()).length);
+
+        var value = library.loads(bytes, TestValue.class);
+        assertEquals(1, value.getId());
+        assertEquals("test", value.getName());
+        assertEquals(List.of(1L, 2L), value.getValues());
+
+        JSONObject object = library.loads(bytes);
+        assertEquals("test", object.getString("name"));
+        assertEquals("test", library.loads(new ByteArrayInputStream(bytes), TestValue.class).getName());
+
+        var list = library.loadsList(library.dumpsToBytes(List.of(testValue(), testValue())), TestValue.class);
+        assertEquals(2, list.size());
+        assertEquals("test", list.get(1).getName());
+        assertEquals(Map.of("a", 1), library.loads(library.dumpsToBytes(Map.of("a", 1)),
+                library.mapTypeReference(String.class, Integer.class).getType()));
+
+        var out = new ByteArrayOutputStream();
+        library.dumps(testValue(), out);
+        assertArrayEquals(bytes, out.toByteArray());
+        var buffer = ByteBuffer.allocate(bytes.length + 2).put((byte) 0);
+        assertEquals(bytes.length, library.dumps(testValue(), buffer));
+        assertEquals("test", library.loads(buffer.flip().position(1), TestValue.class).getName());
+    }
+
+    @Test
+    public void testExtract() {
+        var library = Fastjson2JsonbLibrary.jsonb();
+        var bytes = library.dumpsToBytes(Map.of("header", Map.of("id", 123), "list", List.of(testValue())));
+        assertEquals(123L, library.extract(bytes, "/header/id", Long.class));
+        assertEquals("test", library.extract(bytes, "/list/0/name", String.class));
+        assertEquals(2L, library.extract(bytes, "/list/0/values/1", Long.class));
+        assertNull(library.extract(bytes, "/list/1", TestValue.class));
+        assertEquals("test", library.extract(bytes, "/list/0", TestValue.class).getName());
+        var values = library.extract(bytes, "/header/id", "/none", "/list/0/name");
+        assertEquals(123, ((Number) values[0]).intValue());
+        assertNull(values[1]);
+        assertEquals("test", values[2]);
+    }
+
+    @Test
+    public void testUnsupported() {
+        var library = Fastjson2JsonbLibrary.jsonb();
+        assertThrows(UnsupportedOperationException.class, () -> library.dumpsToString(testValue()));
+        assertThrows(UnsupportedOperationException.class, () -> library.loads("{}"));
+        assertThrows(UnsupportedOperationException.class, () -> library.loads("{}", TestValue.class));
+        assertThrows(UnsupportedOperationException.class,
+                () -> library.loadsStream(new ByteArrayInputStream(new byte[0]), TestValue.class));
+    }
+
+}
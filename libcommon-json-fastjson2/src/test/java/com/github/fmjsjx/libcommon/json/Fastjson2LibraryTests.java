@@ -13,10 +13,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -427,6 +430,18 @@ public class Fastjson2LibraryTests {
         }
     }
 
+    @Test
+    public void testLoadsRange() {
+        var library = Fastjson2Library.getInstance();
+        var json = "{\"a\":{\"x\":1},\"b\":{\"$ref\":\"$.a\"}}";
+        var src = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+        JSONObject full = library.loads(json.getBytes(StandardCharsets.UTF_8), JSONObject.class);
+        JSONObject range = library.loads(src, 2, json.length(), JSONObject.class);
+        assertEquals(full, range);
+        assertEquals(full.get("b"), range.get("b"));
+        assertThrows(Fastjson2Library.Fastjson2Exception.class, () -> library.loads(src, 2, json.length() + 1, JSONObject.class));
+    }
+
     @Test
     public void testNonStringKey() {
         Map<Integer, Integer> map = new LinkedHashMap<>();
@@ -505,6 +520,82 @@ public class Fastjson2LibraryTests {
         );
     }
 
+    @Test
+    public void testJackson2Fastjson2Converter() {
+        var node = Jackson2Library.getInstance().createObjectNode();
+        node.put("int", 1).put("double", 1.5).putNull("null").put("string", "abc");
+        node.putArray("array").add(1).addNull();
+        var object = new JSONObject();
+        object.put("node", node);
+        assertEquals(
+                "{\"node\":{\"int\":1,\"double\":1.5,\"null\":null,\"string\":\"abc\",\"array\":[1,null]}}",
+                Fastjson2Library.getInstance().dumpsToString(object)
+        );
+
+        var value = Jackson2Fastjson2Converter.toFastjson2(node);
+        assertInstanceOf(JSONObject.class, value);
+        var json = (JSONObject) value;
+        assertEquals(1, json.get("int"));
+        assertEquals(1.5, json.get("double"));
+        assertTrue(json.containsKey("null"));
+        assertNull(json.get("null"));
+        assertEquals("abc", json.get("string"));
+        assertEquals(Arrays.asList(1, null), json.get("array"));
+        assertEquals(node, Jackson2Fastjson2Converter.toJsonNode(value));
+    }
+
+    @Test
+    public void testJsoniterFastjson2Converter() {
+        var any = JsonIterator.deserialize("""
+                {"i":1,"l":1234567890123,"d":1.25,"s":"abc","n":null,"a":[true,false]}""");
+        var value = JsoniterFastjson2Converter.toFastjson2(any);
+        assertInstanceOf(JSONObject.class, value);
+        var json = (JSONObject) value;
+        assertEquals(1, json.get("i"));
+        assertEquals(1234567890123L, json.get("l"));
+        assertEquals(new BigDecimal("1.25"), json.get("d"));
+        assertEquals("abc", json.get("s"));
+        assertTrue(json.containsKey("n"));
+        assertNull(json.get("n"));
+        assertEquals(List.of(true, false), json.get("a"));
+
+        var back = JsoniterFastjson2Converter.toAny(json);
+        assertEquals(ValueType.OBJECT, back.valueType());
+        assertEquals(1, back.toInt("i"));
+        assertEquals(1234567890123L, back.toLong("l"));
+        assertEquals(1.25, back.toDouble("d"));
+        assertEquals("abc", back.toString("s"));
+        assertEquals(ValueType.NULL, back.get("n").valueType());
+        assertEquals(2, back.get("a").size());
+    }
+
+    @Test
+    public void testWarmUp() {
+        var library = Fastjson2Library.getInstance();
+        assertSame(library, library.precompile(FieldLocalDate.class, int.class));
+        assertSame(library, library.warmUp(List.of(library.listTypeReference(FieldLocalDate.class).getType())));
+        var list = library.loadsList("[{\"field\":\"2024-01-02\"}]", FieldLocalDate.class);
+        assertEquals(1, list.size());
+        assertEquals(LocalDate.of(2024, 1, 2), list.get(0).getField());
+    }
+
+    @Test
+    public void testExtract() {
+        var library = Fastjson2Library.getInstance();
+        var src = """
+                {"header":{"type":"login","id":123},"body":{"list":[{"x":1},{"field":"2024-01-02"}]}}"""
+                .getBytes(StandardCharsets.UTF_8);
+        assertEquals("login", library.extract(src, "/header/type", String.class));
+        assertEquals(123L, library.extract(src, "/header/id", Long.class));
+        assertEquals(LocalDate.of(2024, 1, 2), library.extract(src, "/body/list/1", FieldLocalDate.class).getField());
+        assertNull(library.extract(src, "/body/list/2", FieldLocalDate.class));
+        var values = library.extract(src, "/header/type", "/header/id", "/none", "/body/list/0");
+        assertEquals("login", values[0]);
+        assertEquals(123, values[1]);
+        assertNull(values[2]);
+        assertEquals(JSONObject.of("x", 1), values[3]);
+    }
+
     public static class FieldLocalDate {
         private LocalDate field;
 
@@ -633,4 +724,44 @@ public class Fastjson2LibraryTests {
         assertEquals(obj.getField(), JsoniterLibrary.getInstance().loads(json, FieldZonedDateTime.class).field);
     }
 
+    @Test
+    public void testLoadsStream() {
+        var json = "[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},null]";
+        try (var stream = Fastjson2Library.getInstance().loadsStream(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), JSONObject.class)) {
+            var list = stream.toList();
+            assertEquals(3, list.size());
+            assertEquals("a", list.get(0).getString("name"));
+            assertEquals(2, list.get(1).getIntValue("id"));
+            assertNull(list.get(2));
+        }
+        var ndjson = "{\"id\":1}\n{\"id\":2}\n";
+        try (var stream = Fastjson2Library.getInstance().loadsLines(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), JSONObject.class)) {
+            assertEquals(List.of(1, 2), stream.map(o -> o.getIntValue("id")).toList());
+        }
+    }
+
+    @Test
+    public void testUseJavaTimeFormat() {
+        var library = Fastjson2Library.getInstance();
+        var dateTime = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000);
+        var obj = new FieldLocalDateTime();
+        obj.setField(dateTime);
+        assertEquals("{\"field\":\"2024-01-02T03:04:05.6\"}", library.dumpsToString(obj));
+        // epoch formats always read both strings and numbers
+        Fastjson2Library.useJavaTimeFormat(LocalDate.class, JsonTimeFormat.EPOCH_MILLIS, ZoneOffset.UTC);
+        try {
+            var date = LocalDate.of(2024, 1, 2);
+            assertEquals("1704153600000", library.dumpsToString(date));
+            assertEquals(date, library.loads("1704153600000", LocalDate.class));
+            assertEquals(date, library.loads("\"2024-01-02\"", LocalDate.class));
+        } finally {
+            Fastjson2Library.useJavaTimeFormat(LocalDate.class, JsonTimeFormat.ISO_8601);
+        }
+        assertEquals("\"2024-01-02\"", library.dumpsToString(LocalDate.of(2024, 1, 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Fastjson2Library.useJavaTimeFormat(LocalTime.class, JsonTimeFormat.EPOCH_SECONDS));
+    }
+
 }
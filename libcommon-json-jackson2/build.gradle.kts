@@ -17,6 +17,8 @@ dependencies {
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jdk8")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
     compileOnlyApi("com.jsoniter:jsoniter")
+    compileOnlyApi("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    compileOnlyApi("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
 
     compileOnlyApi(kotlin("stdlib"))
     compileOnlyApi("com.fasterxml.jackson.module:jackson-module-kotlin")
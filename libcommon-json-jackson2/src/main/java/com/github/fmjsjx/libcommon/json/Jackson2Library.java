@@ -1,24 +1,34 @@
 package com.github.fmjsjx.libcommon.json;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serial;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -74,8 +84,15 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     }
 
     private static final JsonMapper createDefaultJsonMapper() {
-        var mapperBuilder = JsonMapper.builder()
-                .defaultPropertyInclusion(JsonInclude.Value.construct(Include.NON_ABSENT, Include.NON_ABSENT))
+        return configureDefaultMapper(JsonMapper.builder()).build();
+    }
+
+    /**
+     * Applies the configuration of the default mapper to the specified
+     * builder, which may build mappers of any data format.
+     */
+    static final <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configureDefaultMapper(B mapperBuilder) {
+        mapperBuilder.defaultPropertyInclusion(JsonInclude.Value.construct(Include.NON_ABSENT, Include.NON_ABSENT))
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         ReflectUtil.<Module>findForName("com.fasterxml.jackson.datatype.jdk8.Jdk8Module").ifPresent(moduleClass -> {
             try {
@@ -103,7 +120,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
         if (JsoniterModule.isJsoniterAvailable()) {
             mapperBuilder.addModule(JsoniterModule.getInstance());
         }
-        return mapperBuilder.build();
+        return mapperBuilder;
     }
 
     /**
@@ -149,6 +166,11 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
 
     /**
      * Converts the specified type to a {@link JavaType}.
+     * <p>
+     * The type is constructed by the {@link #defaultJsonMapper() default
+     * JsonMapper} and cached forever, so this method should not be used for
+     * types generated dynamically. Instances of this class use their own
+     * bounded caches instead, see {@link #readerFor(Type)}.
      *
      * @param type the type
      * @return a {@code JavaType}
@@ -157,7 +179,9 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
         return CachedJavaTypesHolder.javaTypes.computeIfAbsent(type, defaultJsonMapper()::constructType);
     }
 
-    private final JsonMapper jsonMapper;
+    private final ObjectMapper mapper;
+    private final TypeCache<ObjectReader> readers;
+    private final TypeCache<ObjectWriter> writers;
     private TypeReferenceFactory typeReferenceFactory = TypeReferenceFactory.getDefault();
 
     /**
@@ -181,7 +205,41 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      * @since 4.0
      */
     public Jackson2Library(JsonMapper jsonMapper) {
-        this.jsonMapper = Objects.requireNonNull(jsonMapper, "jsonMapper must not be null");
+        this(jsonMapper, TypeCache.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link Jackson2Library} with the specified
+     * {@code jsonMapper} and the maximum number of types of the cached
+     * {@link ObjectReader}s and {@link ObjectWriter}s.
+     *
+     * @param jsonMapper    a {@code JsonMapper}
+     * @param typeCacheSize the maximum number of types of the cached
+     *                      {@code ObjectReader}s and {@code ObjectWriter}s
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public Jackson2Library(JsonMapper jsonMapper, int typeCacheSize) {
+        this((ObjectMapper) Objects.requireNonNull(jsonMapper, "jsonMapper must not be null"), typeCacheSize);
+    }
+
+    /**
+     * Creates a new {@link Jackson2Library} with the specified
+     * {@code mapper}, which may use a non-JSON data format, and the maximum
+     * number of types of the cached {@link ObjectReader}s and
+     * {@link ObjectWriter}s.
+     *
+     * @param mapper        an {@code ObjectMapper}
+     * @param typeCacheSize the maximum number of types of the cached
+     *                      {@code ObjectReader}s and {@code ObjectWriter}s
+     * @author MJ Fang
+     * @see Jackson2BinaryLibrary
+     * @since 4.3
+     */
+    protected Jackson2Library(ObjectMapper mapper, int typeCacheSize) {
+        this.mapper = Objects.requireNonNull(mapper, "mapper must not be null");
+        this.readers = new TypeCache<>(typeCacheSize, type -> mapper.readerFor(mapper.constructType(type)));
+        this.writers = new TypeCache<>(typeCacheSize, type -> mapper.writerFor(mapper.constructType(type)));
     }
 
     /**
@@ -199,17 +257,79 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     @Deprecated
     public ObjectMapper objectMapper() {
-        return jsonMapper();
+        return mapper;
     }
 
     /**
      * Returns the {@code JsonMapper}.
      *
      * @return the {@code JsonMapper}
+     * @throws UnsupportedOperationException if the mapper of this library
+     *                                       is not a {@code JsonMapper}
      * @since 4.0
      */
     public JsonMapper jsonMapper() {
-        return jsonMapper;
+        if (mapper instanceof JsonMapper jsonMapper) {
+            return jsonMapper;
+        }
+        throw new UnsupportedOperationException("the mapper of " + getClass().getSimpleName() + " is not a JsonMapper");
+    }
+
+    /**
+     * Returns the {@code ObjectMapper} of this library, which is a
+     * {@code JsonMapper} unless this library uses a non-JSON data format.
+     *
+     * @return the {@code ObjectMapper}
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Returns the {@link ObjectReader} of the specified type.
+     * <p>
+     * Readers are built by the {@code JsonMapper} of this library with the
+     * root deserializer resolved eagerly, and cached in a bounded cache of
+     * this library, so that decoding the same type again skips both the type
+     * construction and the root deserializer lookup.
+     * <p>
+     * Readers are immutable snapshots of the configuration of the
+     * {@code JsonMapper}, so the {@code JsonMapper} should not be
+     * reconfigured after this library is created.
+     *
+     * @param type the type, can also be a {@link JavaType}
+     * @return the {@code ObjectReader} of the type
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public ObjectReader readerFor(Type type) {
+        return readers.get(type);
+    }
+
+    /**
+     * Returns the {@link ObjectWriter} of the specified type.
+     * <p>
+     * Writers are built by the {@code JsonMapper} of this library with the
+     * root serializer resolved eagerly, and cached in a bounded cache of this
+     * library. Objects are encoded by the writers of their runtime classes.
+     * <p>
+     * Writers are immutable snapshots of the configuration of the
+     * {@code JsonMapper}, so the {@code JsonMapper} should not be
+     * reconfigured after this library is created.
+     *
+     * @param type the type, can also be a {@link JavaType}
+     * @return the {@code ObjectWriter} of the type
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public ObjectWriter writerFor(Type type) {
+        return writers.get(type);
+    }
+
+    private ObjectWriter writerForValue(Object obj) {
+        return obj == null ? mapper.writer() : writerFor(obj.getClass());
     }
 
     /**
@@ -230,7 +350,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      * @return a new {@code ObjectNode} instance
      */
     public ObjectNode createObjectNode() {
-        return jsonMapper().createObjectNode();
+        return mapper.createObjectNode();
     }
 
     /**
@@ -239,7 +359,25 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      * @return a new {@code ArrayNode} instance
      */
     public ArrayNode createArrayNode() {
-        return jsonMapper().createArrayNode();
+        return mapper.createArrayNode();
+    }
+
+    /**
+     * Warms up this library for the specified types.
+     * <p>
+     * The root serializer and deserializer of each type are built eagerly,
+     * by creating and caching the {@link #readerFor(Type) ObjectReader} and
+     * the {@link #writerFor(Type) ObjectWriter} of the type.
+     *
+     * @since 4.3
+     */
+    @Override
+    public Jackson2Library warmUp(Collection<? extends Type> types) {
+        for (var type : types) {
+            readerFor(type);
+            writerFor(type);
+        }
+        return this;
     }
 
     /**
@@ -250,7 +388,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @SuppressWarnings("unchecked")
     public <T extends JsonNode> T loads(byte[] src) throws Jackson2Exception {
         try {
-            return (T) jsonMapper().readTree(src);
+            return (T) mapper.readTree(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -264,7 +402,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @SuppressWarnings("unchecked")
     public <T extends JsonNode> T loads(String src) throws Jackson2Exception {
         try {
-            return (T) jsonMapper().readTree(src);
+            return (T) mapper.readTree(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -277,7 +415,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @Override
     public <T extends JsonNode> T loads(InputStream src) throws Jackson2Exception {
         try {
-            return (T) jsonMapper().readTree(src);
+            return (T) mapper.readTree(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -289,7 +427,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @Override
     public <T> T loads(byte[] src, Class<T> type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -300,7 +438,11 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     @Override
     public <T> T loads(byte[] src, Type type) throws Jackson2Exception {
-        return loads(src, toJavaType(type));
+        try {
+            return readerFor(type).readValue(src);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
     }
 
     /**
@@ -309,7 +451,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @Override
     public <T> T loads(String src, Class<T> type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -320,7 +462,11 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     @Override
     public <T> T loads(String src, Type type) throws Jackson2Exception {
-        return loads(src, toJavaType(type));
+        try {
+            return readerFor(type).readValue(src);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
     }
 
     /**
@@ -334,7 +480,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(String src, JavaType type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -351,7 +497,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(String src, TypeReference<T> type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return mapper.readValue(src, type);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -368,7 +514,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(byte[] src, JavaType type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -385,7 +531,43 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(byte[] src, TypeReference<T> type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return mapper.readValue(src, type);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
+    }
+
+    /**
+     * Decodes data from a range of byte array in place.
+     *
+     * @throws Jackson2Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws Jackson2Exception {
+        try {
+            return readerFor(type).readValue(src, offset, length);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
+    }
+
+    /**
+     * Decodes data from a range of byte array in place.
+     *
+     * @param <T>    the type of the data
+     * @param src    the source byte array
+     * @param offset the offset of the first byte to decode
+     * @param length the number of bytes to decode
+     * @param type   the type of the data
+     * @return a data object as given type
+     * @throws Jackson2Exception if any JSON decode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public <T> T loads(byte[] src, int offset, int length, JavaType type) throws Jackson2Exception {
+        try {
+            return readerFor(type).readValue(src, offset, length);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -397,7 +579,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @Override
     public <T> T loads(InputStream src, Class<T> type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -408,7 +590,11 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     @Override
     public <T> T loads(InputStream src, Type type) throws JsonException {
-        return loads(src, toJavaType(type));
+        try {
+            return readerFor(type).readValue(src);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
     }
 
     /**
@@ -422,7 +608,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(InputStream src, JavaType type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -439,33 +625,229 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(InputStream src, TypeReference<T> type) throws Jackson2Exception {
         try {
-            return jsonMapper().readValue(src, type);
+            return mapper.readValue(src, type);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
+    }
+
+    /**
+     * @throws Jackson2Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    @Override
+    public <T> Stream<T> loadsStream(InputStream src, Type type) throws Jackson2Exception {
+        return loadsStream(src, readerFor(type));
+    }
+
+    /**
+     * Decodes the elements of a top-level JSON array from input stream lazily.
+     * <p>
+     * The input is read by a streaming {@link JsonParser}, and the elements are
+     * bound one by one only when the returned stream is consumed. The input
+     * stream will be closed when the returned stream is closed.
+     *
+     * @param <T>  the type of the elements
+     * @param src  the source input stream
+     * @param type the type of the elements
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws Jackson2Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    public <T> Stream<T> loadsStream(InputStream src, JavaType type) throws Jackson2Exception {
+        return loadsStream(src, readerFor(type));
+    }
+
+    private <T> Stream<T> loadsStream(InputStream src, ObjectReader reader) throws Jackson2Exception {
+        try {
+            var parser = mapper.createParser(src);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                try (parser) {
+                    throw new JsonParseException(parser, "JSON array expected");
+                }
+            }
+            return JsonStreams.stream(new ValueIterator<T>(parser, reader, true), parser);
+        } catch (Jackson2Exception e) {
+            throw e;
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
     }
 
     /**
+     * @throws Jackson2Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    @Override
+    public <T> Stream<T> loadsLines(InputStream src, Type type) throws Jackson2Exception {
+        return loadsLines(src, readerFor(type));
+    }
+
+    /**
+     * Decodes values from newline-delimited JSON read from input stream lazily.
+     * <p>
+     * Actually, any sequence of root-level JSON values separated by whitespaces
+     * is supported.
+     *
+     * @param <T>  the type of the values
+     * @param src  the source input stream
+     * @param type the type of the values
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws Jackson2Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    public <T> Stream<T> loadsLines(InputStream src, JavaType type) throws Jackson2Exception {
+        return loadsLines(src, readerFor(type));
+    }
+
+    private <T> Stream<T> loadsLines(InputStream src, ObjectReader reader) throws Jackson2Exception {
+        try {
+            var parser = mapper.createParser(src);
+            return JsonStreams.stream(new ValueIterator<T>(parser, reader, false), parser);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
+    }
+
+    /**
+     * Extracts the value referenced by the specified JSON Pointer from byte
+     * array, by a streaming {@link JsonParser} which skips all values not on
+     * the path.
+     *
+     * @throws Jackson2Exception        if any JSON decode error occurs
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     * @since 4.3
+     */
+    @Override
+    public <T> T extract(byte[] src, String jsonPointer, Type type) throws Jackson2Exception {
+        var tokens = JsonPointers.parse(jsonPointer);
+        try (var parser = mapper.createParser(src)) {
+            if (parser.nextToken() == null || !moveTo(parser, tokens)) {
+                return null;
+            }
+            return readerFor(type).readValue(parser);
+        } catch (Exception e) {
+            throw new Jackson2Exception(e);
+        }
+    }
+
+    private static final boolean moveTo(JsonParser parser, String[] tokens) throws IOException {
+        for (var token : tokens) {
+            var currentToken = parser.currentToken();
+            if (currentToken == JsonToken.START_OBJECT) {
+                for (; ; ) {
+                    if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                        return false;
+                    }
+                    var name = parser.currentName();
+                    parser.nextToken();
+                    if (token.equals(name)) {
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            } else if (currentToken == JsonToken.START_ARRAY) {
+                var index = JsonPointers.index(token);
+                if (index < 0) {
+                    return false;
+                }
+                for (var i = 0; ; i++) {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        return false;
+                    }
+                    if (i == index) {
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class ValueIterator<T> implements Iterator<T> {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final boolean inArray;
+        private boolean finished;
+        private boolean hasNext;
+        private T next;
+
+        private ValueIterator(JsonParser parser, ObjectReader reader, boolean inArray) {
+            this.parser = parser;
+            this.reader = reader;
+            this.inArray = inArray;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !finished) {
+                try {
+                    var token = parser.nextToken();
+                    if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+                        finished = true;
+                    } else {
+                        next = reader.readValue(parser);
+                        hasNext = true;
+                    }
+                } catch (Exception e) {
+                    throw new Jackson2Exception(e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var value = next;
+            next = null;
+            hasNext = false;
+            return value;
+        }
+
+    }
+
+    /**
+     * Encodes object into a recycled thread-local buffer (or a pooled one on
+     * virtual threads) and then copies the result out.
+     *
      * @throws Jackson2Exception if any JSON encode error occurs
      */
     @Override
     public byte[] dumpsToBytes(Object obj) throws Jackson2Exception {
+        var buffer = JsonOutputBuffer.acquire();
         try {
-            return jsonMapper().writeValueAsBytes(obj);
+            writerForValue(obj).writeValue(buffer, obj);
+            return buffer.toByteArray();
         } catch (Exception e) {
             throw new Jackson2Exception(e);
+        } finally {
+            buffer.release();
         }
     }
 
     /**
+     * Encodes object into a recycled thread-local buffer (or a pooled one on
+     * virtual threads) and then copies the result out.
+     *
      * @throws Jackson2Exception if any JSON encode error occurs
      */
     @Override
     public String dumpsToString(Object obj) throws Jackson2Exception {
+        var buffer = JsonOutputBuffer.acquire();
         try {
-            return jsonMapper().writeValueAsString(obj);
+            writerForValue(obj).writeValue(buffer, obj);
+            return buffer.toUtf8String();
         } catch (Exception e) {
             throw new Jackson2Exception(e);
+        } finally {
+            buffer.release();
         }
     }
 
@@ -475,7 +857,7 @@ public class Jackson2Library implements JsonLibrary<JsonNode> {
     @Override
     public void dumps(Object obj, OutputStream out) throws Jackson2Exception {
         try {
-            jsonMapper().writeValue(out, obj);
+            writerForValue(obj).writeValue(out, obj);
         } catch (Exception e) {
             throw new Jackson2Exception(e);
         }
@@ -0,0 +1,74 @@
+package com.github.fmjsjx.libcommon.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+public class Jackson2BinaryLibraryTest {
+
+    @Test
+    public void testSmile() {
+        testRoundTrip(Jackson2BinaryLibrary.smile());
+        assertEquals("Smile", Jackson2BinaryLibrary.smile().formatName());
+        var bytes = Jackson2BinaryLibrary.smile().dumpsToBytes(Map.of("a", 1));
+        // Smile header ":)\n"
+        assertEquals(':', bytes[0]);
+        assertEquals(')', bytes[1]);
+        assertEquals('\n', bytes[2]);
+    }
+
+    @Test
+    public void testCbor() {
+        testRoundTrip(Jackson2BinaryLibrary.cbor());
+        assertEquals("CBOR", Jackson2BinaryLibrary.cbor().formatName());
+        // a map with 1 pair: 0xa1
+        assertEquals((byte) 0xa1, Jackson2BinaryLibrary.cbor().dumpsToBytes(Map.of("a", 1))[0]);
+    }
+
+    private static void testRoundTrip(Jackson2BinaryLibrary library) {
+        var value = new TestValue(1, "test", LocalDateTime.of(2024, 1, 2, 3, 4, 5), List.of(1L, 2L));
+        var bytes = library.dumpsToBytes(value);
+        var json = Jackson2Library.getInstance().dumpsToBytes(value);
+        assertTrue(bytes.length < json.length);
+        assertEquals(value, library.loads(bytes, TestValue.class));
+        assertEquals(List.of(value), library.loads(library.dumpsToBytes(List.of(value)),
+                library.listTypeReference(TestValue.class).getType()));
+        JsonNode node = library.loads(bytes);
+        assertEquals("test", node.get("name").asText());
+        assertEquals("test", library.extract(bytes, "/name", String.class));
+        assertEquals(2L, library.extract(bytes, "/values/1", Long.class));
+
+        var out = new ByteArrayOutputStream();
+        library.dumps(value, out);
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(value, library.loads(new ByteArrayInputStream(bytes), TestValue.class));
+
+        assertThrows(UnsupportedOperationException.class, () -> library.dumpsToString(value));
+        assertThrows(JsonException.class, () -> library.loads("{}", TestValue.class));
+        assertThrows(UnsupportedOperationException.class, library::jsonMapper);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new Jackson2BinaryLibrary(JsonMapper.builder().build()));
+        assertThrows(JsonException.class, () -> Jackson2BinaryLibrary.smile()
+                .loads("{}".getBytes(StandardCharsets.UTF_8), Map.class));
+    }
+
+    public record TestValue(int id, String name, LocalDateTime time, List<Long> values) {
+    }
+
+}
@@ -1,15 +1,33 @@
 package com.github.fmjsjx.libcommon.json;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 
 import com.jsoniter.JsonIterator;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 
 public class Jackson2LibraryTest {
@@ -33,6 +51,27 @@ public class Jackson2LibraryTest {
         assertEquals(LocalDateTime.of(2023, 6, 9, 11, 22, 33), data.getTime());
     }
 
+    @Test
+    public void testJackson2JavaTimeModule() {
+        var module = new Jackson2JavaTimeModule(JsonTimeFormat.ISO_8601, ZoneOffset.UTC)
+                .format(LocalDate.class, JsonTimeFormat.EPOCH_SECONDS);
+        var library = new Jackson2Library(JsonMapper.builder().addModule(module).build());
+        var time = LocalDateTime.of(2023, 6, 9, 11, 22, 33, 400_000_000);
+        var data = new TestJavaTimeModule();
+        data.setTime(time);
+        assertEquals("{\"time\":\"2023-06-09T11:22:33.4\"}", library.dumpsToString(data));
+        assertEquals(time, library.loads("{\"time\":\"2023-06-09T11:22:33.4\"}", TestJavaTimeModule.class).getTime());
+        assertEquals(time.withNano(0), library.loads("{\"time\":1686309753000}", TestJavaTimeModule.class).getTime());
+        assertEquals("1686268800", library.dumpsToString(time.toLocalDate()));
+        assertEquals(time.toLocalDate(), library.loads("1686268800", LocalDate.class));
+        assertEquals(time.toLocalDate(), library.loads("\"2023-06-09\"", LocalDate.class));
+        assertNull(library.loads("{\"time\":null}", TestJavaTimeModule.class).getTime());
+        assertThrows(Jackson2Library.Jackson2Exception.class,
+                () -> library.loads("{\"time\":\"2023-13-09T11:22:33\"}", TestJavaTimeModule.class));
+        assertThrows(Jackson2Library.Jackson2Exception.class,
+                () -> library.loads("{\"time\":true}", TestJavaTimeModule.class));
+    }
+
     @Test
     public void testJsoniterModule() {
         var value = JsonIterator.deserialize("""
@@ -46,6 +85,170 @@ public class Jackson2LibraryTest {
         );
     }
 
+    @Test
+    public void testLoadsStream() {
+        var json = """
+                [{"time":"2023-06-09T11:22:33"}, {"time":"2023-06-10T00:00:00"}]""";
+        try (var stream = Jackson2Library.getInstance().loadsStream(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), TestJavaTimeModule.class)) {
+            assertEquals(List.of(LocalDateTime.of(2023, 6, 9, 11, 22, 33), LocalDateTime.of(2023, 6, 10, 0, 0)),
+                    stream.map(TestJavaTimeModule::getTime).toList());
+        }
+        try (var stream = Jackson2Library.getInstance().loadsStream(
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), Integer.class)) {
+            assertEquals(0, stream.count());
+        }
+        assertThrows(Jackson2Library.Jackson2Exception.class, () -> Jackson2Library.getInstance().loadsStream(
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), Integer.class));
+    }
+
+    @Test
+    public void testLoadsLines() {
+        var ndjson = "{\"a\":1}\n\n{\"a\":2}\n";
+        try (var stream = Jackson2Library.getInstance().loadsLines(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), Map.class)) {
+            assertEquals(List.of(Map.of("a", 1), Map.of("a", 2)), stream.toList());
+        }
+    }
+
+    @Test
+    public void testLoadsRange() {
+        var src = "xx{\"a\":1}yy".getBytes(StandardCharsets.UTF_8);
+        assertEquals(Map.of("a", 1), Jackson2Library.getInstance().loads(src, 2, 7, Map.class));
+        assertThrows(Jackson2Library.Jackson2Exception.class,
+                () -> Jackson2Library.getInstance().loads(src, 2, 6, Map.class));
+
+        var heap = ByteBuffer.wrap(src, 2, 7).slice();
+        assertEquals(Map.of("a", 1), Jackson2Library.getInstance().loads(heap, Map.class));
+        assertFalse(heap.hasRemaining());
+        var direct = ByteBuffer.allocateDirect(src.length).put(src).flip().position(2).limit(9);
+        assertEquals(Map.of("a", 1), Jackson2Library.getInstance().loads(direct, Map.class));
+        assertEquals(9, direct.position());
+    }
+
+    @Test
+    public void testDumpsToByteBuffer() {
+        var buffer = ByteBuffer.allocate(16).put((byte) ' ');
+        assertEquals(7, Jackson2Library.getInstance().dumps(Map.of("a", 1), buffer));
+        assertEquals(8, buffer.position());
+        assertEquals(" {\"a\":1}", new String(buffer.array(), 0, 8, StandardCharsets.UTF_8));
+        assertThrows(Jackson2Library.Jackson2Exception.class,
+                () -> Jackson2Library.getInstance().dumps(Map.of("a", "x".repeat(16)), buffer));
+        assertEquals(8, buffer.position());
+
+        var out = new ByteArrayOutputStream();
+        var channel = Channels.newChannel(out);
+        Jackson2Library.getInstance().dumps(List.of(1, 2), channel);
+        assertTrue(channel.isOpen());
+        assertEquals("[1,2]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDumpsTo() {
+        var library = Jackson2Library.getInstance();
+        var dest = new byte[16];
+        dest[0] = ' ';
+        assertEquals(7, library.dumpsTo(Map.of("a", 1), dest, 1));
+        assertEquals(" {\"a\":1}", new String(dest, 0, 8, StandardCharsets.UTF_8));
+        assertThrows(Jackson2Library.Jackson2Exception.class, () -> library.dumpsTo(List.of(1, 2, 3), dest, 12));
+        assertThrows(IndexOutOfBoundsException.class, () -> library.dumpsTo(1, dest, 17));
+
+        // recycled buffers must not leak data between calls
+        assertEquals("{\"a\":\"" + "x".repeat(100) + "\"}", library.dumpsToString(Map.of("a", "x".repeat(100))));
+        assertEquals("[1]", library.dumpsToString(List.of(1)));
+        assertEquals("[1]", new String(library.dumpsToBytes(List.of(1)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWarmUp() {
+        var mapper = JsonMapper.builder().build();
+        var library = new Jackson2Library(mapper);
+        var count = ((DefaultSerializerProvider) mapper.getSerializerProvider()).cachedSerializersCount();
+        assertSame(library, library.precompile(TestWarmUp.class));
+        assertTrue(((DefaultSerializerProvider) mapper.getSerializerProvider()).cachedSerializersCount() > count);
+        assertSame(library, library.warmUp(List.of(new TypeReference<List<TestWarmUp>>() {
+        }.getType())));
+        assertEquals("{\"id\":1,\"name\":\"test\"}", library.dumpsToString(new TestWarmUp(1, "test")));
+        assertEquals(new TestWarmUp(1, "test"), library.loads("{\"id\":1,\"name\":\"test\"}", TestWarmUp.class));
+    }
+
+    @Test
+    public void testReaderWriterFor() {
+        var mapper = JsonMapper.builder().build();
+        var library = new Jackson2Library(mapper, 2);
+        var listType = new TypeReference<List<TestWarmUp>>() {
+        }.getType();
+        var reader = library.readerFor(listType);
+        assertSame(reader, library.readerFor(listType));
+        assertEquals(mapper.constructType(listType), reader.getValueType());
+        var writer = library.writerFor(TestWarmUp.class);
+        assertSame(writer, library.writerFor(TestWarmUp.class));
+        assertEquals(List.of(new TestWarmUp(1, "test")), library.loads("[{\"id\":1,\"name\":\"test\"}]", listType));
+        assertEquals("[1,2]", library.dumpsToString(List.of(1, 2)));
+        assertEquals("null", library.dumpsToString(null));
+        // the cache is bounded, but readers are always available
+        assertEquals("abc", library.loads("\"abc\"", String.class));
+        assertEquals(123, library.loads("123", Integer.class));
+        assertEquals(123L, library.loads("123", Long.class));
+    }
+
+    @Test
+    public void testExtract() {
+        var library = Jackson2Library.getInstance();
+        var src = """
+                {"header":{"type":"login","id":123},"body":{"list":[{"x":1},{"id":2,"name":"test"}]}}"""
+                .getBytes(StandardCharsets.UTF_8);
+        assertEquals("login", library.extract(src, "/header/type", String.class));
+        assertEquals(123L, library.extract(src, "/header/id", Long.class));
+        assertEquals(new TestWarmUp(2, "test"), library.extract(src, "/body/list/1", TestWarmUp.class));
+        assertEquals(List.of(new TestWarmUp(0, null), new TestWarmUp(2, "test")), library.extract(src, "/body/list",
+                new TypeReference<List<TestWarmUp>>() {
+                }.getType()));
+        assertNull(library.extract(src, "/header/none", String.class));
+        assertNull(library.extract(src, "/body/list/2", TestWarmUp.class));
+        assertArrayEquals(new Object[]{"login", 123, null, Map.of("x", 1)},
+                library.extract(src, "/header/type", "/header/id", "/none", "/body/list/0"));
+        assertThrows(IllegalArgumentException.class, () -> library.extract(src, "header", String.class));
+        // the default implementation
+        var decoder = JsonLibrary.mixed(library, new JsonDecoder<JsonNode>() {
+            @Override
+            public <T extends JsonNode> T loads(byte[] src) {
+                return library.loads(src);
+            }
+
+            @Override
+            public <T> T loads(byte[] src, Class<T> type) {
+                return library.loads(src, type);
+            }
+
+            @Override
+            public <T> T loads(byte[] src, Type type) {
+                return library.loads(src, type);
+            }
+
+            @Override
+            public <T extends JsonNode> T loads(InputStream src) {
+                return library.loads(src);
+            }
+
+            @Override
+            public <T> T loads(InputStream src, Class<T> type) {
+                return library.loads(src, type);
+            }
+
+            @Override
+            public <T> T loads(InputStream src, Type type) {
+                return library.loads(src, type);
+            }
+        });
+        assertEquals(new TestWarmUp(2, "test"), decoder.extract(src, "/body/list/1", TestWarmUp.class));
+        assertArrayEquals(new Object[]{"login", 123, null, Map.of("x", 1)},
+                decoder.extract(src, "/header/type", "/header/id", "/none", "/body/list/0"));
+    }
+
+    public record TestWarmUp(int id, String name) {
+    }
+
     public static class TestJavaTimeModule {
 
         private LocalDateTime time;
@@ -13,6 +13,8 @@ dependencies {
 
     api("tools.jackson.core:jackson-databind")
     compileOnlyApi("com.jsoniter:jsoniter")
+    compileOnlyApi("tools.jackson.dataformat:jackson-dataformat-smile")
+    compileOnlyApi("tools.jackson.dataformat:jackson-dataformat-cbor")
 
     compileOnlyApi(kotlin("stdlib"))
     compileOnlyApi("tools.jackson.module:jackson-module-kotlin")
@@ -0,0 +1,149 @@
+package com.github.fmjsjx.libcommon.json;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.Objects;
+
+/**
+ * The implementation of {@link JsonLibrary} using Jackson3 with a binary
+ * JSON-compatible data format, such as
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>
+ * and <a href="https://www.rfc-editor.org/rfc/rfc8949">CBOR</a>.
+ * <p>
+ * Binary libraries share the same {@code loads}/{@code dumps} API and type
+ * reference helpers with {@link Jackson3Library}, so that the wire format can
+ * be switched just by choosing another {@link JsonLibrary} instance. All the
+ * byte array, byte buffer and stream based methods are supported, but the
+ * {@code String} based methods, such as {@link #dumpsToString(Object)} and
+ * {@link #loads(String)}, are not supported, because the encoded data is not
+ * text.
+ * <p>
+ * The data format modules are optional dependencies, please add
+ * {@code jackson-dataformat-smile} or {@code jackson-dataformat-cbor} into
+ * the classpath before using the corresponding library.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public class Jackson3BinaryLibrary extends Jackson3Library {
+
+    /**
+     * Returns the default singleton {@link SmileMapper} instance, which has
+     * the same configuration as the {@link #defaultJsonMapper() default
+     * JsonMapper}.
+     *
+     * @return the default singleton {@code SmileMapper} instance
+     */
+    public static final SmileMapper defaultSmileMapper() {
+        return DefaultSmileMapperInstanceHolder.MAPPER;
+    }
+
+    private static final class DefaultSmileMapperInstanceHolder {
+        private static final SmileMapper MAPPER = configureDefaultMapper(SmileMapper.builder()).build();
+    }
+
+    /**
+     * Returns the default singleton {@link CBORMapper} instance, which has
+     * the same configuration as the {@link #defaultJsonMapper() default
+     * JsonMapper}.
+     *
+     * @return the default singleton {@code CBORMapper} instance
+     */
+    public static final CBORMapper defaultCborMapper() {
+        return DefaultCborMapperInstanceHolder.MAPPER;
+    }
+
+    private static final class DefaultCborMapperInstanceHolder {
+        private static final CBORMapper MAPPER = configureDefaultMapper(CBORMapper.builder()).build();
+    }
+
+    private static final class SmileInstanceHolder {
+        private static final Jackson3BinaryLibrary INSTANCE = new Jackson3BinaryLibrary(defaultSmileMapper());
+    }
+
+    private static final class CborInstanceHolder {
+        private static final Jackson3BinaryLibrary INSTANCE = new Jackson3BinaryLibrary(defaultCborMapper());
+    }
+
+    /**
+     * Returns the singleton {@link Jackson3BinaryLibrary} instance using the
+     * Smile format.
+     *
+     * @return the singleton {@code Jackson3BinaryLibrary} instance using the
+     * Smile format
+     */
+    public static final Jackson3BinaryLibrary smile() {
+        return SmileInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the singleton {@link Jackson3BinaryLibrary} instance using the
+     * CBOR format.
+     *
+     * @return the singleton {@code Jackson3BinaryLibrary} instance using the
+     * CBOR format
+     */
+    public static final Jackson3BinaryLibrary cbor() {
+        return CborInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a new {@link Jackson3BinaryLibrary} with the specified
+     * {@code mapper}.
+     *
+     * @param mapper an {@code ObjectMapper} using a binary data format
+     * @throws IllegalArgumentException if the mapper does not use a binary
+     *                                  data format
+     */
+    public Jackson3BinaryLibrary(ObjectMapper mapper) {
+        this(mapper, TypeCache.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link Jackson3BinaryLibrary} with the specified
+     * {@code mapper} and the maximum number of types of the cached
+     * {@code ObjectReader}s and {@code ObjectWriter}s.
+     *
+     * @param mapper        an {@code ObjectMapper} using a binary data format
+     * @param typeCacheSize the maximum number of types of the cached
+     *                      {@code ObjectReader}s and {@code ObjectWriter}s
+     * @throws IllegalArgumentException if the mapper does not use a binary
+     *                                  data format
+     */
+    public Jackson3BinaryLibrary(ObjectMapper mapper, int typeCacheSize) {
+        super(requireBinary(mapper), typeCacheSize);
+    }
+
+    private static final ObjectMapper requireBinary(ObjectMapper mapper) {
+        Objects.requireNonNull(mapper, "mapper must not be null");
+        if (!mapper.tokenStreamFactory().canHandleBinaryNatively()) {
+            throw new IllegalArgumentException("mapper must use a binary data format, but was "
+                    + mapper.tokenStreamFactory().getFormatName());
+        }
+        return mapper;
+    }
+
+    /**
+     * Returns the name of the data format, such as {@code "Smile"} and
+     * {@code "CBOR"}.
+     *
+     * @return the name of the data format
+     */
+    public String formatName() {
+        return getMapper().tokenStreamFactory().getFormatName();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}, because the
+     * encoded data of binary formats is not text.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public String dumpsToString(Object obj) {
+        throw new UnsupportedOperationException(formatName() + " data can not be encoded to String");
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.github.fmjsjx.libcommon.json;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.exc.InvalidFormatException;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Module that registers the serializers and deserializers of {@code java.time}
+ * values using fixed-layout ISO-8601 printers and parsers, or epoch numbers.
+ * <p>
+ * The serializers produce exactly the same ISO-8601 texts as the ISO
+ * formatters of {@code DateTimeFormatter}, and the deserializers always accept
+ * both ISO-8601 strings and epoch numbers.
+ * <p>
+ * This module is not registered by default, the codecs can be selected per
+ * type:
+ * <pre>{@code
+ * var module = new Jackson3JavaTimeModule()
+ *         .format(LocalDateTime.class, JsonTimeFormat.EPOCH_MILLIS);
+ * var library = new Jackson3Library(JsonMapper.builder().addModule(module).build());
+ * }</pre>
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public class Jackson3JavaTimeModule extends SimpleModule {
+
+    private final ZoneId zone;
+
+    /**
+     * Constructs a new {@link Jackson3JavaTimeModule} instance with the
+     * {@link JsonTimeFormat#ISO_8601} format.
+     */
+    public Jackson3JavaTimeModule() {
+        this(JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructs a new {@link Jackson3JavaTimeModule} instance with the
+     * specified format.
+     * <p>
+     * {@code LocalTime} values are always serialized as ISO-8601 strings.
+     *
+     * @param format the format
+     * @param zone   the zone used to convert local date-times from and to
+     *               epoch numbers
+     */
+    public Jackson3JavaTimeModule(JsonTimeFormat format, ZoneId zone) {
+        super("libcommon-java-time");
+        this.zone = Objects.requireNonNull(zone, "zone must not be null");
+        add(JavaTimeCodec.of(LocalDateTime.class, format, zone));
+        add(JavaTimeCodec.of(LocalDate.class, format, zone));
+        add(JavaTimeCodec.iso(LocalTime.class));
+        add(JavaTimeCodec.of(OffsetDateTime.class, format, zone));
+        add(JavaTimeCodec.of(ZonedDateTime.class, format, zone));
+    }
+
+    /**
+     * Changes the format of the specified type.
+     *
+     * @param type   the type, one of {@code LocalDateTime}, {@code LocalDate},
+     *               {@code LocalTime}, {@code OffsetDateTime} and
+     *               {@code ZonedDateTime}
+     * @param format the format
+     * @return this module
+     * @throws IllegalArgumentException if the type is not supported, or the
+     *                                  format is not supported by the type
+     */
+    public Jackson3JavaTimeModule format(Class<?> type, JsonTimeFormat format) {
+        add(JavaTimeCodec.of(type, format, zone));
+        return this;
+    }
+
+    private <T> void add(JavaTimeCodec<T> codec) {
+        addSerializer(codec.type(), new Serializer<>(codec));
+        addDeserializer(codec.type(), new Deserializer<>(codec));
+    }
+
+    private static final class Serializer<T> extends StdSerializer<T> {
+
+        private final JavaTimeCodec<T> codec;
+
+        private Serializer(JavaTimeCodec<T> codec) {
+            super(codec.type());
+            this.codec = codec;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializationContext provider) throws JacksonException {
+            if (codec.isNumeric()) {
+                gen.writeNumber(codec.toEpoch(value));
+            } else {
+                gen.writeString(codec.format(value));
+            }
+        }
+
+    }
+
+    private static final class Deserializer<T> extends StdDeserializer<T> {
+
+        private final JavaTimeCodec<T> codec;
+
+        private Deserializer(JavaTimeCodec<T> codec) {
+            super(codec.type());
+            this.codec = codec;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws JacksonException {
+            var token = p.currentToken();
+            if (token == JsonToken.VALUE_STRING) {
+                var text = p.getValueAsString();
+                try {
+                    return codec.parse(text);
+                } catch (DateTimeException e) {
+                    throw InvalidFormatException.from(p, e.getMessage(), text, handledType());
+                }
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return codec.fromEpoch(p.getLongValue());
+            }
+            return (T) ctxt.handleUnexpectedToken(handledType(), p);
+        }
+
+    }
+
+}
@@ -4,8 +4,11 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_ABSENT;
 
 import com.github.fmjsjx.libcommon.util.KotlinUtil;
 import com.github.fmjsjx.libcommon.util.ReflectUtil;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.core.type.TypeReference;
 import tools.jackson.databind.*;
+import tools.jackson.databind.cfg.MapperBuilder;
 import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.ObjectNode;
@@ -16,11 +19,14 @@ import java.io.Serial;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
 /**
  * The implementation of {@link JsonLibrary} using Jackson3
@@ -72,8 +78,15 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     }
 
     private static final JsonMapper createDefaultJsonMapper() {
-        var mapperBuilder = JsonMapper.builder()
-                .changeDefaultPropertyInclusion(old -> old.withValueInclusion(NON_ABSENT).withContentInclusion(NON_ABSENT))
+        return configureDefaultMapper(JsonMapper.builder()).build();
+    }
+
+    /**
+     * Applies the configuration of the default mapper to the specified
+     * builder, which may build mappers of any data format.
+     */
+    static final <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configureDefaultMapper(B mapperBuilder) {
+        mapperBuilder.changeDefaultPropertyInclusion(old -> old.withValueInclusion(NON_ABSENT).withContentInclusion(NON_ABSENT))
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         if (KotlinUtil.isKotlinPresent()) {
             ReflectUtil.<JacksonModule>findForName("tools.jackson.module.kotlin.KotlinModule").ifPresent(moduleClass -> {
@@ -87,7 +100,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
         if (Jackson3JsoniterModule.isJsoniterAvailable()) {
             mapperBuilder.addModule(Jackson3JsoniterModule.getInstance());
         }
-        return mapperBuilder.build();
+        return mapperBuilder;
     }
 
     private static final class TypeReferenceImpl<T> extends TypeReference<T> {
@@ -125,20 +138,6 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
         private static final TypeReferenceFactory INSTANCE = new TypeReferenceFactory();
     }
 
-    private static final class JavaTypeFactory {
-
-        private final JsonMapper jsonMapper;
-        private final ConcurrentMap<Type, JavaType> cached = new ConcurrentHashMap<>();
-
-        private JavaTypeFactory(JsonMapper jsonMapper) {
-            this.jsonMapper = jsonMapper;
-        }
-
-        private JavaType create(Type type) {
-            return cached.computeIfAbsent(type, jsonMapper::constructType);
-        }
-    }
-
     /**
      * Returns the singleton {@link Jackson3Library} instance.
      *
@@ -164,9 +163,11 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
         private static final Jackson3Library INSTANCE = new Jackson3Library();
     }
 
-    private final JsonMapper jsonMapper;
+    private final ObjectMapper mapper;
     private final TypeReferenceFactory typeReferenceFactory = TypeReferenceFactoryHolder.INSTANCE;
-    private final JavaTypeFactory javaTypeFactory;
+    private final TypeCache<JavaType> javaTypes;
+    private final TypeCache<ObjectReader> readers;
+    private final TypeCache<ObjectWriter> writers;
 
     /**
      * Creates a new {@link Jackson3Library} with the specified
@@ -175,8 +176,44 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      * @param jsonMapper a {@code JsonMapper}
      */
     public Jackson3Library(JsonMapper jsonMapper) {
-        this.jsonMapper = Objects.requireNonNull(jsonMapper, "jsonMapper must not be null");
-        this.javaTypeFactory = new JavaTypeFactory(jsonMapper);
+        this(jsonMapper, TypeCache.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link Jackson3Library} with the specified
+     * {@link JsonMapper} and the maximum number of types of the cached
+     * {@link JavaType}s, {@link ObjectReader}s and {@link ObjectWriter}s.
+     *
+     * @param jsonMapper    a {@code JsonMapper}
+     * @param typeCacheSize the maximum number of types of the cached
+     *                      {@code JavaType}s, {@code ObjectReader}s and
+     *                      {@code ObjectWriter}s
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public Jackson3Library(JsonMapper jsonMapper, int typeCacheSize) {
+        this((ObjectMapper) Objects.requireNonNull(jsonMapper, "jsonMapper must not be null"), typeCacheSize);
+    }
+
+    /**
+     * Creates a new {@link Jackson3Library} with the specified
+     * {@link ObjectMapper}, which may use a non-JSON data format, and the
+     * maximum number of types of the cached {@link JavaType}s,
+     * {@link ObjectReader}s and {@link ObjectWriter}s.
+     *
+     * @param mapper        an {@code ObjectMapper}
+     * @param typeCacheSize the maximum number of types of the cached
+     *                      {@code JavaType}s, {@code ObjectReader}s and
+     *                      {@code ObjectWriter}s
+     * @author MJ Fang
+     * @see Jackson3BinaryLibrary
+     * @since 4.3
+     */
+    protected Jackson3Library(ObjectMapper mapper, int typeCacheSize) {
+        this.mapper = Objects.requireNonNull(mapper, "mapper must not be null");
+        this.javaTypes = new TypeCache<>(typeCacheSize, mapper::constructType);
+        this.readers = new TypeCache<>(typeCacheSize, type -> mapper.readerFor(toJavaType(type)));
+        this.writers = new TypeCache<>(typeCacheSize, type -> mapper.writerFor(toJavaType(type)));
     }
 
     /**
@@ -191,9 +228,26 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      * Returns the {@code JsonMapper}.
      *
      * @return the {@code JsonMapper}
+     * @throws UnsupportedOperationException if the mapper of this library
+     *                                       is not a {@code JsonMapper}
      */
     public JsonMapper getJsonMapper() {
-        return jsonMapper;
+        if (mapper instanceof JsonMapper jsonMapper) {
+            return jsonMapper;
+        }
+        throw new UnsupportedOperationException("the mapper of " + getClass().getSimpleName() + " is not a JsonMapper");
+    }
+
+    /**
+     * Returns the {@code ObjectMapper} of this library, which is a
+     * {@code JsonMapper} unless this library uses a non-JSON data format.
+     *
+     * @return the {@code ObjectMapper}
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
     }
 
     /**
@@ -203,7 +257,47 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      * @return a {@code JavaType}
      */
     public JavaType toJavaType(Type type) {
-        return javaTypeFactory.create(type);
+        if (type instanceof JavaType javaType) {
+            return javaType;
+        }
+        return javaTypes.get(type);
+    }
+
+    /**
+     * Returns the {@link ObjectReader} of the specified type.
+     * <p>
+     * Readers are built by the {@code JsonMapper} of this library with the
+     * root deserializer resolved eagerly, and cached in a bounded cache of
+     * this library, so that decoding the same type again skips both the type
+     * construction and the root deserializer lookup.
+     *
+     * @param type the type, can also be a {@link JavaType}
+     * @return the {@code ObjectReader} of the type
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public ObjectReader readerFor(Type type) {
+        return readers.get(type);
+    }
+
+    /**
+     * Returns the {@link ObjectWriter} of the specified type.
+     * <p>
+     * Writers are built by the {@code JsonMapper} of this library with the
+     * root serializer resolved eagerly, and cached in a bounded cache of this
+     * library. Objects are encoded by the writers of their runtime classes.
+     *
+     * @param type the type, can also be a {@link JavaType}
+     * @return the {@code ObjectWriter} of the type
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public ObjectWriter writerFor(Type type) {
+        return writers.get(type);
+    }
+
+    private ObjectWriter writerForValue(Object obj) {
+        return obj == null ? mapper.writer() : writerFor(obj.getClass());
     }
 
     /**
@@ -276,7 +370,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      * @return a new {@code ObjectNode} instance
      */
     public ObjectNode createObjectNode() {
-        return jsonMapper.createObjectNode();
+        return mapper.createObjectNode();
     }
 
     /**
@@ -285,7 +379,25 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      * @return a new {@code ObjectNode} instance
      */
     public ArrayNode createArrayNode() {
-        return jsonMapper.createArrayNode();
+        return mapper.createArrayNode();
+    }
+
+    /**
+     * Warms up this library for the specified types.
+     * <p>
+     * The root serializer and deserializer of each type are built eagerly,
+     * by creating and caching the {@link #readerFor(Type) ObjectReader} and
+     * the {@link #writerFor(Type) ObjectWriter} of the type.
+     *
+     * @since 4.3
+     */
+    @Override
+    public Jackson3Library warmUp(Collection<? extends Type> types) {
+        for (var type : types) {
+            readerFor(type);
+            writerFor(type);
+        }
+        return this;
     }
 
     /**
@@ -296,7 +408,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public <T extends JsonNode> T loads(byte[] src) throws Jackson3Exception {
         try {
-            return (T) getJsonMapper().readTree(src);
+            return (T) mapper.readTree(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -310,7 +422,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public <T extends JsonNode> T loads(String src) throws Jackson3Exception {
         try {
-            return (T) getJsonMapper().readTree(src);
+            return (T) mapper.readTree(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -324,7 +436,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public <T extends JsonNode> T loads(InputStream src) throws Jackson3Exception {
         try {
-            return (T) getJsonMapper().readTree(src);
+            return (T) mapper.readTree(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -336,7 +448,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public <T> T loads(byte[] src, Class<T> type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -345,13 +457,13 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     /**
      * @throws Jackson3Exception if any error occurs when decoding JSON
      */
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T loads(byte[] src, Type type) throws Jackson3Exception {
-        if (type instanceof Class<?> clazz) {
-            return (T) loads(src, clazz);
+        try {
+            return readerFor(type).readValue(src);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
         }
-        return loads(src, toJavaType(type));
     }
 
     /**
@@ -365,7 +477,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(byte[] src, JavaType type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -382,7 +494,43 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(byte[] src, TypeReference<T> type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return mapper.readValue(src, type);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
+        }
+    }
+
+    /**
+     * Decodes data from a range of byte array in place.
+     *
+     * @throws Jackson3Exception if any JSON decode error occurs
+     * @since 4.3
+     */
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws Jackson3Exception {
+        try {
+            return readerFor(type).readValue(src, offset, length);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
+        }
+    }
+
+    /**
+     * Decodes data from a range of byte array in place.
+     *
+     * @param <T>    the type of the data
+     * @param src    the source byte array
+     * @param offset the offset of the first byte to decode
+     * @param length the number of bytes to decode
+     * @param type   the type of the data
+     * @return a data object as given type
+     * @throws Jackson3Exception if any JSON decode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public <T> T loads(byte[] src, int offset, int length, JavaType type) throws Jackson3Exception {
+        try {
+            return readerFor(type).readValue(src, offset, length);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -394,7 +542,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public <T> T loads(String src, Class<T> type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -403,13 +551,13 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     /**
      * @throws Jackson3Exception if any error occurs when decoding JSON
      */
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T loads(String src, Type type) throws Jackson3Exception {
-        if (type instanceof Class<?> clazz) {
-            return (T) loads(src, clazz);
+        try {
+            return readerFor(type).readValue(src);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
         }
-        return loads(src, toJavaType(type));
     }
 
     /**
@@ -423,7 +571,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(String src, JavaType type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -440,7 +588,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(String src, TypeReference<T> type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return mapper.readValue(src, type);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -452,7 +600,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public <T> T loads(InputStream src, Class<T> type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -461,13 +609,13 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     /**
      * @throws Jackson3Exception if any error occurs when decoding JSON
      */
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T loads(InputStream src, Type type) throws Jackson3Exception {
-        if (type instanceof Class<?> clazz) {
-            return (T) loads(src, clazz);
+        try {
+            return readerFor(type).readValue(src);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
         }
-        return loads(src, toJavaType(type));
     }
 
     /**
@@ -481,7 +629,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(InputStream src, JavaType type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return readerFor(type).readValue(src);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
@@ -498,33 +646,229 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
      */
     public <T> T loads(InputStream src, TypeReference<T> type) throws Jackson3Exception {
         try {
-            return getJsonMapper().readValue(src, type);
+            return mapper.readValue(src, type);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
+        }
+    }
+
+    /**
+     * @throws Jackson3Exception if any error occurs when decoding JSON
+     * @since 4.3
+     */
+    @Override
+    public <T> Stream<T> loadsStream(InputStream src, Type type) throws Jackson3Exception {
+        return loadsStream(src, readerFor(type));
+    }
+
+    /**
+     * Decodes the elements of a top-level JSON array from input stream lazily.
+     * <p>
+     * The input is read by a streaming {@link JsonParser}, and the elements are
+     * bound one by one only when the returned stream is consumed. The input
+     * stream will be closed when the returned stream is closed.
+     *
+     * @param <T>  the type of the elements
+     * @param src  the source input stream
+     * @param type the type of the elements
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws Jackson3Exception if any error occurs when decoding JSON
+     * @since 4.3
+     */
+    public <T> Stream<T> loadsStream(InputStream src, JavaType type) throws Jackson3Exception {
+        return loadsStream(src, readerFor(type));
+    }
+
+    private <T> Stream<T> loadsStream(InputStream src, ObjectReader reader) throws Jackson3Exception {
+        try {
+            var parser = mapper.createParser(src);
+            var token = parser.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new Jackson3Exception("JSON array expected but was " + token, null);
+            }
+            return JsonStreams.stream(new ValueIterator<T>(parser, reader, true), parser);
+        } catch (Jackson3Exception e) {
+            throw e;
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
+        }
+    }
+
+    /**
+     * @throws Jackson3Exception if any error occurs when decoding JSON
+     * @since 4.3
+     */
+    @Override
+    public <T> Stream<T> loadsLines(InputStream src, Type type) throws Jackson3Exception {
+        return loadsLines(src, readerFor(type));
+    }
+
+    /**
+     * Decodes values from newline-delimited JSON read from input stream lazily.
+     * <p>
+     * Actually, any sequence of root-level JSON values separated by whitespaces
+     * is supported.
+     *
+     * @param <T>  the type of the values
+     * @param src  the source input stream
+     * @param type the type of the values
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws Jackson3Exception if any error occurs when decoding JSON
+     * @since 4.3
+     */
+    public <T> Stream<T> loadsLines(InputStream src, JavaType type) throws Jackson3Exception {
+        return loadsLines(src, readerFor(type));
+    }
+
+    private <T> Stream<T> loadsLines(InputStream src, ObjectReader reader) throws Jackson3Exception {
+        try {
+            var parser = mapper.createParser(src);
+            return JsonStreams.stream(new ValueIterator<T>(parser, reader, false), parser);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
     }
 
     /**
+     * Extracts the value referenced by the specified JSON Pointer from byte
+     * array, by a streaming {@link JsonParser} which skips all values not on
+     * the path.
+     *
+     * @throws Jackson3Exception        if any JSON decode error occurs
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     * @since 4.3
+     */
+    @Override
+    public <T> T extract(byte[] src, String jsonPointer, Type type) throws Jackson3Exception {
+        var tokens = JsonPointers.parse(jsonPointer);
+        try (var parser = mapper.createParser(src)) {
+            if (parser.nextToken() == null || !moveTo(parser, tokens)) {
+                return null;
+            }
+            return readerFor(type).readValue(parser);
+        } catch (Exception e) {
+            throw new Jackson3Exception(e);
+        }
+    }
+
+    private static final boolean moveTo(JsonParser parser, String[] tokens) {
+        for (var token : tokens) {
+            var currentToken = parser.currentToken();
+            if (currentToken == JsonToken.START_OBJECT) {
+                for (; ; ) {
+                    if (parser.nextToken() != JsonToken.PROPERTY_NAME) {
+                        return false;
+                    }
+                    var name = parser.currentName();
+                    parser.nextToken();
+                    if (token.equals(name)) {
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            } else if (currentToken == JsonToken.START_ARRAY) {
+                var index = JsonPointers.index(token);
+                if (index < 0) {
+                    return false;
+                }
+                for (var i = 0; ; i++) {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        return false;
+                    }
+                    if (i == index) {
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class ValueIterator<T> implements Iterator<T> {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final boolean inArray;
+        private boolean finished;
+        private boolean hasNext;
+        private T next;
+
+        private ValueIterator(JsonParser parser, ObjectReader reader, boolean inArray) {
+            this.parser = parser;
+            this.reader = reader;
+            this.inArray = inArray;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !finished) {
+                try {
+                    var token = parser.nextToken();
+                    if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+                        finished = true;
+                    } else {
+                        next = reader.readValue(parser);
+                        hasNext = true;
+                    }
+                } catch (Exception e) {
+                    throw new Jackson3Exception(e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var value = next;
+            next = null;
+            hasNext = false;
+            return value;
+        }
+
+    }
+
+    /**
+     * Encodes object into a recycled thread-local buffer (or a pooled one on
+     * virtual threads) and then copies the result out.
+     *
      * @throws Jackson3Exception if any error occurs when encoding JSON
      */
     @Override
     public byte[] dumpsToBytes(Object obj) throws Jackson3Exception {
+        var buffer = JsonOutputBuffer.acquire();
         try {
-            return getJsonMapper().writeValueAsBytes(obj);
+            writerForValue(obj).writeValue(buffer, obj);
+            return buffer.toByteArray();
         } catch (Exception e) {
             throw new Jackson3Exception(e);
+        } finally {
+            buffer.release();
         }
     }
 
     /**
+     * Encodes object into a recycled thread-local buffer (or a pooled one on
+     * virtual threads) and then copies the result out.
+     *
      * @throws Jackson3Exception if any error occurs when encoding JSON
      */
     @Override
     public String dumpsToString(Object obj) throws Jackson3Exception {
+        var buffer = JsonOutputBuffer.acquire();
         try {
-            return getJsonMapper().writeValueAsString(obj);
+            writerForValue(obj).writeValue(buffer, obj);
+            return buffer.toUtf8String();
         } catch (Exception e) {
             throw new Jackson3Exception(e);
+        } finally {
+            buffer.release();
         }
     }
 
@@ -534,7 +878,7 @@ public class Jackson3Library implements JsonLibrary<JsonNode> {
     @Override
     public void dumps(Object obj, OutputStream out) throws Jackson3Exception {
         try {
-            getJsonMapper().writeValue(out, obj);
+            writerForValue(obj).writeValue(out, obj);
         } catch (Exception e) {
             throw new Jackson3Exception(e);
         }
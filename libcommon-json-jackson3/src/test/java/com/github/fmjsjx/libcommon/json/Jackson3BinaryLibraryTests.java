@@ -0,0 +1,74 @@
+package com.github.fmjsjx.libcommon.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+public class Jackson3BinaryLibraryTests {
+
+    @Test
+    public void testSmile() {
+        testRoundTrip(Jackson3BinaryLibrary.smile());
+        assertEquals("Smile", Jackson3BinaryLibrary.smile().formatName());
+        var bytes = Jackson3BinaryLibrary.smile().dumpsToBytes(Map.of("a", 1));
+        // Smile header ":)\n"
+        assertEquals(':', bytes[0]);
+        assertEquals(')', bytes[1]);
+        assertEquals('\n', bytes[2]);
+    }
+
+    @Test
+    public void testCbor() {
+        testRoundTrip(Jackson3BinaryLibrary.cbor());
+        assertEquals("CBOR", Jackson3BinaryLibrary.cbor().formatName());
+        // a map with 1 pair: 0xa1
+        assertEquals((byte) 0xa1, Jackson3BinaryLibrary.cbor().dumpsToBytes(Map.of("a", 1))[0]);
+    }
+
+    private static void testRoundTrip(Jackson3BinaryLibrary library) {
+        var value = new TestValue(1, "test", LocalDateTime.of(2024, 1, 2, 3, 4, 5), List.of(1L, 2L));
+        var bytes = library.dumpsToBytes(value);
+        var json = Jackson3Library.getInstance().dumpsToBytes(value);
+        assertTrue(bytes.length < json.length);
+        assertEquals(value, library.loads(bytes, TestValue.class));
+        assertEquals(List.of(value), library.loads(library.dumpsToBytes(List.of(value)),
+                library.listTypeReference(TestValue.class).getType()));
+        JsonNode node = library.loads(bytes);
+        assertEquals("test", node.get("name").asString());
+        assertEquals("test", library.extract(bytes, "/name", String.class));
+        assertEquals(2L, library.extract(bytes, "/values/1", Long.class));
+
+        var out = new ByteArrayOutputStream();
+        library.dumps(value, out);
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(value, library.loads(new ByteArrayInputStream(bytes), TestValue.class));
+
+        assertThrows(UnsupportedOperationException.class, () -> library.dumpsToString(value));
+        assertThrows(JsonException.class, () -> library.loads("{}", TestValue.class));
+        assertThrows(UnsupportedOperationException.class, library::getJsonMapper);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new Jackson3BinaryLibrary(JsonMapper.builder().build()));
+        assertThrows(JsonException.class, () -> Jackson3BinaryLibrary.smile()
+                .loads("{}".getBytes(StandardCharsets.UTF_8), Map.class));
+    }
+
+    public record TestValue(int id, String name, LocalDateTime time, List<Long> values) {
+    }
+
+}
@@ -5,10 +5,16 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.jsoniter.JsonIterator;
 import org.junit.jupiter.api.Test;
 import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.type.TypeFactory;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Unit tests for {@link Jackson3Library}.
@@ -53,6 +59,24 @@ public class Jackson3LibraryTests {
         }
     }
 
+    @Test
+    public void testJackson3JavaTimeModule() {
+        var module = new Jackson3JavaTimeModule(JsonTimeFormat.ISO_8601, ZoneOffset.UTC)
+                .format(LocalDate.class, JsonTimeFormat.EPOCH_SECONDS);
+        var library = new Jackson3Library(JsonMapper.builder().addModule(module).build());
+        var time = LocalDateTime.of(2023, 6, 9, 11, 22, 33, 400_000_000);
+        var data = new TestJavaTimeModule();
+        data.setTime(time);
+        assertEquals("{\"time\":\"2023-06-09T11:22:33.4\"}", library.dumpsToString(data));
+        assertEquals(time, library.loads("{\"time\":\"2023-06-09T11:22:33.4\"}", TestJavaTimeModule.class).getTime());
+        assertEquals(time.withNano(0), library.loads("{\"time\":1686309753000}", TestJavaTimeModule.class).getTime());
+        assertEquals("1686268800", library.dumpsToString(time.toLocalDate()));
+        assertEquals(time.toLocalDate(), library.loads("1686268800", LocalDate.class));
+        assertEquals(time.toLocalDate(), library.loads("\"2023-06-09\"", LocalDate.class));
+        assertThrows(Jackson3Library.Jackson3Exception.class,
+                () -> library.loads("{\"time\":\"2023-13-09T11:22:33\"}", TestJavaTimeModule.class));
+    }
+
     @Test
     public void testJsoniterModule() {
         var value = JsonIterator.deserialize("""
@@ -66,4 +90,45 @@ public class Jackson3LibraryTests {
         );
     }
 
+    @Test
+    public void testLoadsStream() {
+        var json = """
+                [{"time":"2023-06-09T11:22:33"}, {"time":"2023-06-10T00:00:00"}]""";
+        try (var stream = Jackson3Library.getInstance().loadsStream(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), TestJavaTimeModule.class)) {
+            assertEquals(List.of(LocalDateTime.of(2023, 6, 9, 11, 22, 33), LocalDateTime.of(2023, 6, 10, 0, 0)),
+                    stream.map(TestJavaTimeModule::getTime).toList());
+        }
+        assertThrows(Jackson3Library.Jackson3Exception.class, () -> Jackson3Library.getInstance().loadsStream(
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), Integer.class));
+    }
+
+    @Test
+    public void testLoadsLines() {
+        var ndjson = "{\"a\":1}\n\n{\"a\":2}\n";
+        try (var stream = Jackson3Library.getInstance().loadsLines(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), Map.class)) {
+            assertEquals(List.of(Map.of("a", 1), Map.of("a", 2)), stream.toList());
+        }
+    }
+
+    @Test
+    public void testReaderWriterFor() {
+        var library = new Jackson3Library(Jackson3Library.defaultJsonMapper(), 2);
+        var listType = new TypeReference<List<Map<String, Integer>>>() {
+        }.getType();
+        var reader = library.readerFor(listType);
+        assertSame(reader, library.readerFor(listType));
+        assertEquals(library.toJavaType(listType), reader.getValueType());
+        var writer = library.writerFor(Map.class);
+        assertSame(writer, library.writerFor(Map.class));
+        assertEquals(List.of(Map.of("a", 1)), library.loads("[{\"a\":1}]", listType));
+        assertEquals("[1,2]", library.dumpsToString(List.of(1, 2)));
+        assertEquals("null", library.dumpsToString(null));
+        // the cache is bounded, but readers are always available
+        assertEquals("abc", library.loads("\"abc\"", String.class));
+        assertEquals(123, library.loads("123", Integer.class));
+        assertEquals(123L, library.loads("123", Long.class));
+    }
+
 }
@@ -79,7 +79,7 @@ public final class Fastjson2Support {
 
         @Override
         public Any wrap(Object obj) {
-            return JsoniterLibrary.getInstance().loads(Fastjson2Library.getInstance().dumpsToBytes(obj));
+            return JsoniterFastjson2Converter.toAny(obj);
         }
 
         @Override
@@ -87,7 +87,7 @@ public final class Fastjson2Support {
             if (obj == null) {
                 stream.writeNull();
             } else {
-                stream.write(Fastjson2Library.getInstance().dumpsToBytes(obj));
+                JsoniterFastjson2Converter.write(stream, obj);
             }
         }
 
@@ -123,7 +123,7 @@ public final class Fastjson2Support {
                     if (any.valueType() == ValueType.NULL) {
                         return null;
                     } else if (any.valueType() == ValueType.OBJECT) {
-                        return Fastjson2Library.getInstance().loads(any.toString());
+                        return JsoniterFastjson2Converter.toFastjson2(any);
                     }
                     throw new JsonException("type mismatch, expected OBJECT but was " + any.valueType());
                 });
@@ -162,7 +162,7 @@ public final class Fastjson2Support {
                     if (any.valueType() == ValueType.NULL) {
                         return null;
                     } else if (any.valueType() == ValueType.ARRAY) {
-                        return Fastjson2Library.getInstance().loads(any.toString());
+                        return JsoniterFastjson2Converter.toFastjson2(any);
                     }
                     throw new JsonException("type mismatch, expected ARRAY but was " + any.valueType());
                 });
@@ -0,0 +1,218 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.jsoniter.JsonIterator;
+import com.jsoniter.any.Any;
+import com.jsoniter.output.JsonStream;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+
+/**
+ * Utility class to convert values between the trees of
+ * <a href="https://github.com/FasterXML/jackson/">{@code Jackson2}</a> and
+ * <a href="https://github.com/json-iterator/java">{@code jsoniter}</a>
+ * directly.
+ * <p>
+ * The source tree is walked once and the target tree is built node by node,
+ * or written to the target stream token by token, without serializing the
+ * source tree to a JSON string and parsing it again.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class Jackson2JsoniterConverter {
+
+    private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+
+    /**
+     * Converts the specified {@link Any} to {@link JsonNode}.
+     * <p>
+     * Integers are converted to the smallest type of {@code IntNode},
+     * {@code LongNode} and {@code BigIntegerNode} which can hold them, and
+     * decimals are converted to {@code DoubleNode}s unless
+     * {@link DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} is enabled on
+     * the mapper of {@link Jackson2Library#getInstance()}, just like what
+     * {@code Jackson2} does when parsing JSON text. Invalid values (such as
+     * the result of getting a missing path) are converted to
+     * {@link MissingNode}.
+     *
+     * @param any the {@code Any}
+     * @return a {@code JsonNode}, never {@code null}
+     */
+    public static final JsonNode toJsonNode(Any any) {
+        if (any == null) {
+            return nodeFactory.nullNode();
+        }
+        return switch (any.valueType()) {
+            case OBJECT -> {
+                var node = nodeFactory.objectNode();
+                for (var entry : any.asMap().entrySet()) {
+                    node.set(entry.getKey(), toJsonNode(entry.getValue()));
+                }
+                yield node;
+            }
+            case ARRAY -> {
+                var node = nodeFactory.arrayNode(any.size());
+                for (var element : any) {
+                    node.add(toJsonNode(element));
+                }
+                yield node;
+            }
+            case STRING -> nodeFactory.textNode(any.toString());
+            case NUMBER -> toNumberNode(any.toString());
+            case BOOLEAN -> nodeFactory.booleanNode(any.toBoolean());
+            case NULL -> nodeFactory.nullNode();
+            case INVALID -> MissingNode.getInstance();
+        };
+    }
+
+    private static final JsonNode toNumberNode(String text) {
+        if (JsonNumbers.isIntegral(text)) {
+            var number = JsonNumbers.parseIntegral(text);
+            if (number instanceof Integer value) {
+                return nodeFactory.numberNode(value.intValue());
+            }
+            if (number instanceof Long value) {
+                return nodeFactory.numberNode(value.longValue());
+            }
+            return nodeFactory.numberNode((BigInteger) number);
+        }
+        if (Jackson2Library.getInstance().jsonMapper().isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            return nodeFactory.numberNode(new BigDecimal(text));
+        }
+        return nodeFactory.numberNode(Double.parseDouble(text));
+    }
+
+    /**
+     * Converts the specified {@link JsonNode} to {@link Any}.
+     * <p>
+     * Binary nodes are converted to Base64 encoded strings, missing nodes are
+     * converted to {@code null}. Big numbers and floating-point numbers keep
+     * their exact literals.
+     *
+     * @param node the {@code JsonNode}
+     * @return an {@code Any}, never {@code null}
+     */
+    public static final Any toAny(JsonNode node) {
+        if (node == null) {
+            return Any.wrapNull();
+        }
+        return switch (node.getNodeType()) {
+            case OBJECT -> {
+                var object = new LinkedHashMap<String, Any>(Math.max(16, node.size() * 4 / 3 + 1));
+                for (var entry : node.properties()) {
+                    object.put(entry.getKey(), toAny(entry.getValue()));
+                }
+                yield Any.rewrap(object);
+            }
+            case ARRAY -> {
+                var array = new ArrayList<Any>(node.size());
+                for (var element : node) {
+                    array.add(toAny(element));
+                }
+                yield Any.rewrap(array);
+            }
+            case STRING -> Any.wrap(node.textValue());
+            case NUMBER -> {
+                if (node.isInt() || node.isShort()) {
+                    yield Any.wrap(node.intValue());
+                }
+                if (node.isLong()) {
+                    yield Any.wrap(node.longValue());
+                }
+                // keep the exact literal as a lazy number
+                yield JsonIterator.deserialize(node.asText());
+            }
+            case BOOLEAN -> Any.wrap(node.booleanValue());
+            case BINARY -> Any.wrap(Base64.getEncoder().encodeToString(((BinaryNode) node).binaryValue()));
+            case POJO -> JsonIterator.deserialize(Jackson2Library.getInstance().dumpsToBytes(node));
+            case NULL, MISSING -> Any.wrapNull();
+        };
+    }
+
+    /**
+     * Writes the specified {@link JsonNode} to the {@link JsonStream} token by
+     * token.
+     * <p>
+     * Numbers are written with the same literals as {@code Jackson2} writes,
+     * missing nodes are written as {@code null}, and POJO nodes are encoded by
+     * {@link Jackson2Library}.
+     *
+     * @param stream the {@code JsonStream}
+     * @param node   the {@code JsonNode}
+     * @throws IOException if any IO error occurs
+     */
+    public static final void write(JsonStream stream, JsonNode node) throws IOException {
+        if (node == null) {
+            stream.writeNull();
+            return;
+        }
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                if (node.isEmpty()) {
+                    stream.writeEmptyObject();
+                    return;
+                }
+                stream.writeObjectStart();
+                stream.writeIndention();
+                var first = true;
+                for (var entry : node.properties()) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        stream.writeMore();
+                    }
+                    stream.writeObjectField(entry.getKey());
+                    write(stream, entry.getValue());
+                }
+                stream.writeObjectEnd();
+            }
+            case ARRAY -> {
+                if (node.isEmpty()) {
+                    stream.writeEmptyArray();
+                    return;
+                }
+                stream.writeArrayStart();
+                stream.writeIndention();
+                var first = true;
+                for (var element : node) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        stream.writeMore();
+                    }
+                    write(stream, element);
+                }
+                stream.writeArrayEnd();
+            }
+            case STRING -> stream.writeVal(node.textValue());
+            case NUMBER -> {
+                if (node.isInt() || node.isShort()) {
+                    stream.writeVal(node.intValue());
+                } else if (node.isLong()) {
+                    stream.writeVal(node.longValue());
+                } else {
+                    // JsonStream writes floating-point numbers lossy, so write the same text as Jackson
+                    stream.writeRaw(node.asText());
+                }
+            }
+            case BOOLEAN -> stream.writeVal(node.booleanValue());
+            case BINARY -> stream.writeVal(Base64.getEncoder().encodeToString(((BinaryNode) node).binaryValue()));
+            case POJO -> stream.write(Jackson2Library.getInstance().dumpsToBytes(node));
+            case NULL, MISSING -> stream.writeNull();
+        }
+    }
+
+    private Jackson2JsoniterConverter() {
+    }
+
+}
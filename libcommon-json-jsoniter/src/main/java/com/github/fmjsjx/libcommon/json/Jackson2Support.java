@@ -1,5 +1,6 @@
 package com.github.fmjsjx.libcommon.json;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.jsoniter.ValueType;
 import com.jsoniter.any.Any;
 import com.jsoniter.output.JsonStream;
@@ -95,24 +96,24 @@ public final class Jackson2Support {
                 if (obj == null) {
                     stream.writeNull();
                 } else {
-                    stream.write(Jackson2Library.getInstance().dumpsToBytes(obj));
+                    Jackson2JsoniterConverter.write(stream, (JsonNode) obj);
                 }
             }
 
             @Override
             public Any wrap(Object obj) {
-                return JsoniterLibrary.getInstance().loads(Jackson2Library.getInstance().dumpsToBytes(obj));
+                return Jackson2JsoniterConverter.toAny((JsonNode) obj);
             }
 
         };
 
-        private static final Decoder jsonNodeDecoder = iter -> Jackson2Library.getInstance().loads(iter.readAny().toString());
+        private static final Decoder jsonNodeDecoder = iter -> Jackson2JsoniterConverter.toJsonNode(iter.readAny());
         private static final Decoder objectNodeDecoder = iter -> {
             var any = iter.readAny();
             if (any.valueType() == ValueType.NULL) {
                 return null;
             } else if (any.valueType() == ValueType.OBJECT) {
-                return Jackson2Library.getInstance().loads(any.toString());
+                return Jackson2JsoniterConverter.toJsonNode(any);
             }
             throw new JsonException("type mismatch, expected OBJECT but was " + any.valueType());
         };
@@ -121,7 +122,7 @@ public final class Jackson2Support {
             if (any.valueType() == ValueType.NULL) {
                 return null;
             } else if (any.valueType() == ValueType.ARRAY) {
-                return Jackson2Library.getInstance().loads(any.toString());
+                return Jackson2JsoniterConverter.toJsonNode(any);
             }
             throw new JsonException("type mismatch, expected ARRAY but was " + any.valueType());
         };
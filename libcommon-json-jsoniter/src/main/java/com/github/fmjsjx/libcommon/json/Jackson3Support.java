@@ -7,6 +7,7 @@ import com.jsoniter.spi.Decoder;
 import com.jsoniter.spi.Encoder;
 import com.jsoniter.spi.JsonException;
 import com.jsoniter.spi.JsoniterSpi;
+import tools.jackson.databind.JsonNode;
 
 import java.io.IOException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -95,24 +96,24 @@ public final class Jackson3Support {
                 if (obj == null) {
                     stream.writeNull();
                 } else {
-                    stream.write(Jackson3Library.getInstance().dumpsToBytes(obj));
+                    Jackson3JsoniterConverter.write(stream, (JsonNode) obj);
                 }
             }
 
             @Override
             public Any wrap(Object obj) {
-                return JsoniterLibrary.getInstance().loads(Jackson3Library.getInstance().dumpsToBytes(obj));
+                return Jackson3JsoniterConverter.toAny((JsonNode) obj);
             }
 
         };
 
-        private static final Decoder jsonNodeDecoder = iter -> Jackson3Library.getInstance().loads(iter.readAny().toString());
+        private static final Decoder jsonNodeDecoder = iter -> Jackson3JsoniterConverter.toJsonNode(iter.readAny());
         private static final Decoder objectNodeDecoder = iter -> {
             var any = iter.readAny();
             if (any.valueType() == ValueType.NULL) {
                 return null;
             } else if (any.valueType() == ValueType.OBJECT) {
-                return Jackson3Library.getInstance().loads(any.toString());
+                return Jackson3JsoniterConverter.toJsonNode(any);
             }
             throw new JsonException("type mismatch, expected OBJECT but was " + any.valueType());
         };
@@ -121,7 +122,7 @@ public final class Jackson3Support {
             if (any.valueType() == ValueType.NULL) {
                 return null;
             } else if (any.valueType() == ValueType.ARRAY) {
-                return Jackson3Library.getInstance().loads(any.toString());
+                return Jackson3JsoniterConverter.toJsonNode(any);
             }
             throw new JsonException("type mismatch, expected ARRAY but was " + any.valueType());
         };
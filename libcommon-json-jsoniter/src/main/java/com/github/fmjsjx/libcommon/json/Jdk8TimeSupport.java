@@ -5,10 +5,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.jsoniter.JsonIterator;
 import com.jsoniter.any.Any;
 import com.jsoniter.output.JsonStream;
 import com.jsoniter.spi.Encoder;
@@ -16,6 +17,12 @@ import com.jsoniter.spi.JsoniterSpi;
 
 /**
  * JDK8 time APIs support.
+ * <p>
+ * ISO-8601 values are encoded and decoded by fixed-layout printers and parsers
+ * working on the raw bytes, which produce exactly the same texts as the ISO
+ * formatters of {@code DateTimeFormatter}. Values can also be encoded as epoch
+ * numbers, see {@link JsonTimeFormat}. Decoders always accept both ISO-8601
+ * strings and epoch numbers.
  */
 public class Jdk8TimeSupport {
 
@@ -23,13 +30,27 @@ public class Jdk8TimeSupport {
      * Enables all JDK8 time supports.
      */
     public static final void enableAll() {
+        enableAll(JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+    }
+
+    /**
+     * Enables all JDK8 time supports with the specified format.
+     * <p>
+     * {@code LocalTime} values are always encoded as ISO-8601 strings.
+     *
+     * @param format the format
+     * @param zone   the zone used to convert local date-times from and to
+     *               epoch numbers
+     * @since 4.3
+     */
+    public static final void enableAll(JsonTimeFormat format, ZoneId zone) {
         try {
-            LocalDateTimeSupport.enable();
+            LocalDateTimeSupport.enable(format, zone);
         } catch (Exception e) {
             // ignore
         }
         try {
-            LocalDateSupport.enable();
+            LocalDateSupport.enable(format, zone);
         } catch (Exception e) {
             // ignore
         }
@@ -39,17 +60,96 @@ public class Jdk8TimeSupport {
             // ignore
         }
         try {
-            OffsetDateTimeSupport.enable();
+            OffsetDateTimeSupport.enable(format, zone);
         } catch (Exception e) {
             // ignore
         }
         try {
-            ZonedDateTimeSupport.enable();
+            ZonedDateTimeSupport.enable(format, zone);
         } catch (Exception e) {
             // ignore
         }
     }
 
+    private static final <T> void register(JavaTimeCodec<T> codec) {
+        var type = codec.type();
+        if (codec.isNumeric()) {
+            JsoniterSpi.registerTypeEncoder(type, new Encoder.ReflectionEncoder() {
+                @Override
+                public void encode(Object obj, JsonStream stream) throws IOException {
+                    if (obj != null) {
+                        stream.writeVal(codec.toEpoch(type.cast(obj)));
+                    }
+                }
+
+                @Override
+                public Any wrap(Object obj) {
+                    if (obj == null) {
+                        return Any.wrapNull();
+                    }
+                    return Any.wrap(codec.toEpoch(type.cast(obj)));
+                }
+            });
+        } else {
+            JsoniterSpi.registerTypeEncoder(type, new Encoder.ReflectionEncoder() {
+                @Override
+                public void encode(Object obj, JsonStream stream) throws IOException {
+                    if (obj != null) {
+                        var buf = JavaTimeCodec.scratchBuffer();
+                        buf[0] = '"';
+                        var end = codec.write(type.cast(obj), buf, 1);
+                        buf[end++] = '"';
+                        stream.write(buf, 0, end);
+                    }
+                }
+
+                @Override
+                public Any wrap(Object obj) {
+                    if (obj == null) {
+                        return Any.wrapNull();
+                    }
+                    return Any.wrap(codec.format(type.cast(obj)));
+                }
+            });
+        }
+        JsoniterSpi.registerTypeDecoder(type, iter -> decode(codec, iter));
+    }
+
+    private static final <T> T decode(JavaTimeCodec<T> codec, JsonIterator iter) throws IOException {
+        return switch (iter.whatIsNext()) {
+            case STRING -> {
+                // parse the raw bytes directly, unless the string contains escapes
+                var slice = iter.readStringAsSlice();
+                var data = slice.data();
+                var head = slice.head();
+                var tail = slice.tail();
+                for (var i = head; i < tail; i++) {
+                    if (data[i] == '\\') {
+                        yield codec.parse(unescape(data, head, tail));
+                    }
+                }
+                yield codec.parse(data, head, tail);
+            }
+            case NUMBER -> codec.fromEpoch(iter.readLong());
+            case NULL -> {
+                iter.readNull();
+                yield null;
+            }
+            default -> {
+                var value = iter.readString();
+                yield value == null ? null : codec.parse(value);
+            }
+        };
+    }
+
+    private static final String unescape(byte[] data, int head, int tail) throws IOException {
+        var quoted = new byte[tail - head + 2];
+        quoted[0] = '"';
+        System.arraycopy(data, head, quoted, 1, tail - head);
+        quoted[quoted.length - 1] = '"';
+        return JsonIterator.parse(quoted).readString();
+    }
+
     private Jdk8TimeSupport() {
     }
 
@@ -75,28 +175,20 @@ public class Jdk8TimeSupport {
          * Enables {@code LocalDateTimeSupport}.
          */
         public static final void enable() {
-            var formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-            if (enabled.compareAndSet(false, true)) {
-                JsoniterSpi.registerTypeEncoder(LocalDateTime.class, new Encoder.ReflectionEncoder() {
-                    @Override
-                    public void encode(Object obj, JsonStream stream) throws IOException {
-                        if (obj != null) {
-                            stream.writeVal(formatter.format((LocalDateTime) obj));
-                        }
-                    }
+            enable(JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+        }
 
-                    @Override
-                    public Any wrap(Object obj) {
-                        if (obj == null) {
-                            return Any.wrapNull();
-                        }
-                        return Any.wrap(formatter.format((LocalDateTime) obj));
-                    }
-                });
-                JsoniterSpi.registerTypeDecoder(LocalDateTime.class, iter -> {
-                    String value = iter.readString();
-                    return value == null ? null : LocalDateTime.parse(value, formatter);
-                });
+        /**
+         * Enables {@code LocalDateTimeSupport} with the specified format.
+         *
+         * @param format the format
+         * @param zone   the zone used to convert values from epoch numbers
+         * @since 4.3
+         */
+        public static final void enable(JsonTimeFormat format, ZoneId zone) {
+            var codec = JavaTimeCodec.of(LocalDateTime.class, format, zone);
+            if (enabled.compareAndSet(false, true)) {
+                register(codec);
             } else {
                 throw new IllegalStateException("LocalDateTimeSupport.enable can only be called once");
             }
@@ -129,28 +221,20 @@ public class Jdk8TimeSupport {
          * Enables {@code LocalDateSupport}.
          */
         public static final void enable() {
-            var formatter = DateTimeFormatter.ISO_LOCAL_DATE;
-            if (enabled.compareAndSet(false, true)) {
-                JsoniterSpi.registerTypeEncoder(LocalDate.class, new Encoder.ReflectionEncoder() {
-                    @Override
-                    public void encode(Object obj, JsonStream stream) throws IOException {
-                        if (obj != null) {
-                            stream.writeVal(formatter.format((LocalDate) obj));
-                        }
-                    }
+            enable(JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+        }
 
-                    @Override
-                    public Any wrap(Object obj) {
-                        if (obj == null) {
-                            return Any.wrapNull();
-                        }
-                        return Any.wrap(formatter.format((LocalDate) obj));
-                    }
-                });
-                JsoniterSpi.registerTypeDecoder(LocalDate.class, iter -> {
-                    String value = iter.readString();
-                    return value == null ? null : LocalDate.parse(value, formatter);
-                });
+        /**
+         * Enables {@code LocalDateSupport} with the specified format.
+         *
+         * @param format the format
+         * @param zone   the zone used to convert values from epoch numbers
+         * @since 4.3
+         */
+        public static final void enable(JsonTimeFormat format, ZoneId zone) {
+            var codec = JavaTimeCodec.of(LocalDate.class, format, zone);
+            if (enabled.compareAndSet(false, true)) {
+                register(codec);
             } else {
                 throw new IllegalStateException("LocalDateSupport.enable can only be called once");
             }
@@ -183,28 +267,8 @@ public class Jdk8TimeSupport {
          * Enables {@code LocalTimeSupport}.
          */
         public static final void enable() {
-            var formatter = DateTimeFormatter.ISO_LOCAL_TIME;
             if (enabled.compareAndSet(false, true)) {
-                JsoniterSpi.registerTypeEncoder(LocalTime.class, new Encoder.ReflectionEncoder() {
-                    @Override
-                    public void encode(Object obj, JsonStream stream) throws IOException {
-                        if (obj != null) {
-                            stream.writeVal(formatter.format((LocalTime) obj));
-                        }
-                    }
-
-                    @Override
-                    public Any wrap(Object obj) {
-                        if (obj == null) {
-                            return Any.wrapNull();
-                        }
-                        return Any.wrap(formatter.format((LocalTime) obj));
-                    }
-                });
-                JsoniterSpi.registerTypeDecoder(LocalTime.class, iter -> {
-                    String value = iter.readString();
-                    return value == null ? null : LocalTime.parse(value, formatter);
-                });
+                register(JavaTimeCodec.iso(LocalTime.class));
             } else {
                 throw new IllegalStateException("LocalTimeSupport.enable can only be called once");
             }
@@ -237,28 +301,20 @@ public class Jdk8TimeSupport {
          * Enables {@code OffsetDateTimeSupport}.
          */
         public static final void enable() {
-            var formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-            if (enabled.compareAndSet(false, true)) {
-                JsoniterSpi.registerTypeEncoder(OffsetDateTime.class, new Encoder.ReflectionEncoder() {
-                    @Override
-                    public void encode(Object obj, JsonStream stream) throws IOException {
-                        if (obj != null) {
-                            stream.writeVal(formatter.format((OffsetDateTime) obj));
-                        }
-                    }
+            enable(JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+        }
 
-                    @Override
-                    public Any wrap(Object obj) {
-                        if (obj == null) {
-                            return Any.wrapNull();
-                        }
-                        return Any.wrap(formatter.format((OffsetDateTime) obj));
-                    }
-                });
-                JsoniterSpi.registerTypeDecoder(OffsetDateTime.class, iter -> {
-                    String value = iter.readString();
-                    return value == null ? null : OffsetDateTime.parse(value, formatter);
-                });
+        /**
+         * Enables {@code OffsetDateTimeSupport} with the specified format.
+         *
+         * @param format the format
+         * @param zone   the zone used to convert values from epoch numbers
+         * @since 4.3
+         */
+        public static final void enable(JsonTimeFormat format, ZoneId zone) {
+            var codec = JavaTimeCodec.of(OffsetDateTime.class, format, zone);
+            if (enabled.compareAndSet(false, true)) {
+                register(codec);
             } else {
                 throw new IllegalStateException("OffsetDateTimeSupport.enable can only be called once");
             }
@@ -291,28 +347,20 @@ public class Jdk8TimeSupport {
          * Enables {@code ZonedDateTimeSupport}.
          */
         public static final void enable() {
-            var formatter = DateTimeFormatter.ISO_ZONED_DATE_TIME;
-            if (enabled.compareAndSet(false, true)) {
-                JsoniterSpi.registerTypeEncoder(ZonedDateTime.class, new Encoder.ReflectionEncoder() {
-                    @Override
-                    public void encode(Object obj, JsonStream stream) throws IOException {
-                        if (obj != null) {
-                            stream.writeVal(formatter.format((ZonedDateTime) obj));
-                        }
-                    }
+            enable(JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+        }
 
-                    @Override
-                    public Any wrap(Object obj) {
-                        if (obj == null) {
-                            return Any.wrapNull();
-                        }
-                        return Any.wrap(formatter.format((ZonedDateTime) obj));
-                    }
-                });
-                JsoniterSpi.registerTypeDecoder(ZonedDateTime.class, iter -> {
-                    String value = iter.readString();
-                    return value == null ? null : ZonedDateTime.parse(value, formatter);
-                });
+        /**
+         * Enables {@code ZonedDateTimeSupport} with the specified format.
+         *
+         * @param format the format
+         * @param zone   the zone used to convert values from epoch numbers
+         * @since 4.3
+         */
+        public static final void enable(JsonTimeFormat format, ZoneId zone) {
+            var codec = JavaTimeCodec.of(ZonedDateTime.class, format, zone);
+            if (enabled.compareAndSet(false, true)) {
+                register(codec);
             } else {
                 throw new IllegalStateException("ZonedDateTimeSupport.enable can only be called once");
             }
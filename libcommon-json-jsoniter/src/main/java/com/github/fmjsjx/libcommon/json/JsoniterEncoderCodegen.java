@@ -0,0 +1,82 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.jsoniter.spi.JsoniterSpi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Type;
+
+/**
+ * Internal access to the encoder codegen of jsoniter.
+ * <p>
+ * Jsoniter has no public API to generate the encoder of a type without
+ * writing an instance of the type, so the internal
+ * {@code com.jsoniter.output.Codegen.getEncoder(String, Type)} is called
+ * through a private lookup. It is only available if the package
+ * {@code com.jsoniter.output} is open to this library, for example on the
+ * class path, and the internal method exists in the jsoniter version in use.
+ * Check {@link #isAvailable()} before calling {@link #generate(Type)}.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JsoniterEncoderCodegen {
+
+    private static final MethodHandle GET_ENCODER;
+    private static final Throwable UNAVAILABILITY_CAUSE;
+
+    static {
+        MethodHandle getEncoder = null;
+        Throwable cause = null;
+        try {
+            var codegen = Class.forName("com.jsoniter.output.Codegen");
+            var method = codegen.getDeclaredMethod("getEncoder", String.class, Type.class);
+            getEncoder = MethodHandles.privateLookupIn(codegen, MethodHandles.lookup()).unreflect(method);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            cause = e;
+        }
+        GET_ENCODER = getEncoder;
+        UNAVAILABILITY_CAUSE = cause;
+    }
+
+    /**
+     * Returns {@code true} if and only if the internal encoder codegen of
+     * jsoniter is accessible.
+     *
+     * @return {@code true} if and only if the internal encoder codegen of
+     * jsoniter is accessible
+     */
+    static boolean isAvailable() {
+        return UNAVAILABILITY_CAUSE == null;
+    }
+
+    /**
+     * Returns the cause of unavailability of the internal encoder codegen.
+     *
+     * @return the cause if unavailable. {@code null} if available.
+     */
+    static Throwable unavailabilityCause() {
+        return UNAVAILABILITY_CAUSE;
+    }
+
+    /**
+     * Generates and caches the encoder of the specified type with the
+     * current config of jsoniter.
+     *
+     * @param type the type
+     * @throws UnsupportedOperationException if unavailable
+     * @throws Throwable                     if the encoder can not be
+     *                                       generated
+     */
+    static void generate(Type type) throws Throwable {
+        if (UNAVAILABILITY_CAUSE != null) {
+            throw new UnsupportedOperationException("jsoniter encoder codegen is unavailable", UNAVAILABILITY_CAUSE);
+        }
+        var cacheKey = JsoniterSpi.getCurrentConfig().getEncoderCacheKey(type);
+        GET_ENCODER.invoke(cacheKey, type);
+    }
+
+    private JsoniterEncoderCodegen() {
+    }
+
+}
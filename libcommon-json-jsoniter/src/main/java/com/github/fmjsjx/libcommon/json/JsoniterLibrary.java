@@ -1,14 +1,22 @@
 package com.github.fmjsjx.libcommon.json;
 
 import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import com.jsoniter.JsonIterator;
+import com.jsoniter.JsonIteratorPool;
 import com.jsoniter.ValueType;
 import com.jsoniter.any.Any;
 import com.jsoniter.output.JsonStream;
@@ -99,6 +107,15 @@ public class JsoniterLibrary implements JsonLibrary<Any> {
         return DefaultInstanceHolder.INSTANCE;
     }
 
+    /**
+     * The key of the system property to enable decoding ranges of byte arrays
+     * in place, default is {@code false}.
+     *
+     * @see #loads(byte[], int, int, TypeLiteral)
+     * @since 4.3
+     */
+    public static final String IN_PLACE_RANGE_DECODING_KEY = "libcommon.json.jsoniter.inPlaceRangeDecoding";
+
     private static final byte[] NULL_BYTE_ARRAY = "null".getBytes();
 
     private final boolean useDefaultConfig;
@@ -166,6 +183,167 @@ public class JsoniterLibrary implements JsonLibrary<Any> {
         return loads(src, typeLiteral);
     }
 
+    /**
+     * Decodes data from a range of byte array.
+     *
+     * @throws JsoniterException if any JSON decode error occurs
+     * @see #loads(byte[], int, int, TypeLiteral)
+     * @since 4.3
+     */
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws JsoniterException {
+        TypeLiteral<T> typeLiteral = TypeLiteral.create(type);
+        return loads(src, offset, length, typeLiteral);
+    }
+
+    /**
+     * Decodes data from a range of byte array.
+     * <p>
+     * By default, the range is copied into a new byte array before decoding,
+     * because jsoniter checks the trailing bytes by its internal field
+     * {@code JsonIterator.head}, which can not be read through the public API.
+     * Decoding in place, without copying, can be enabled by setting the system
+     * property {@value #IN_PLACE_RANGE_DECODING_KEY} to {@code true}, which
+     * requires the package {@code com.jsoniter} to be open to this library,
+     * for example on the class path. The copying way is still used if the
+     * internal field is not accessible.
+     *
+     * @param <T>         the type of the data
+     * @param src         the source byte array
+     * @param offset      the offset of the first byte to decode
+     * @param length      the number of bytes to decode
+     * @param typeLiteral the type literal of the data
+     * @return a data object as given type
+     * @throws JsoniterException if any JSON decode error occurs
+     * @since 4.3
+     */
+    public <T> T loads(byte[] src, int offset, int length, TypeLiteral<T> typeLiteral) throws JsoniterException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        var head = IteratorHeadHolder.HEAD;
+        if (head == null) {
+            // copy the range, so that JsonIterator.deserialize can check the trailing bytes
+            return loads(Arrays.copyOfRange(src, offset, offset + length), typeLiteral);
+        }
+        // skip trailing whitespaces, just like JsonIterator.deserialize
+        var end = offset + length;
+        while (end > offset && isWhitespace(src[end - 1])) {
+            end--;
+        }
+        var iter = JsonIteratorPool.borrowJsonIterator();
+        if (config != null) {
+            JsoniterSpi.setCurrentConfig(config);
+        }
+        try {
+            iter.reset(src, offset, end);
+            var value = iter.read(typeLiteral);
+            if ((int) head.get(iter) != end) {
+                throw iter.reportError("loads", "trailing garbage found");
+            }
+            return value;
+        } catch (Exception e) {
+            throw new JsoniterException(e);
+        } finally {
+            if (config != null) {
+                JsoniterSpi.clearCurrentConfig();
+            }
+            JsonIteratorPool.returnJsonIterator(iter);
+        }
+    }
+
+    private static final class IteratorHeadHolder {
+
+        /**
+         * The handle of the internal field {@code JsonIterator.head}, or
+         * {@code null} if decoding in place is disabled or the field is not
+         * accessible.
+         */
+        private static final VarHandle HEAD = findHead();
+
+        private static final VarHandle findHead() {
+            if (!Boolean.getBoolean(IN_PLACE_RANGE_DECODING_KEY)) {
+                return null;
+            }
+            try {
+                return MethodHandles.privateLookupIn(JsonIterator.class, MethodHandles.lookup())
+                        .findVarHandle(JsonIterator.class, "head", int.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+    }
+
+    private static final boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Extracts the value referenced by the specified JSON Pointer from byte
+     * array, by a pooled {@link JsonIterator} which skips all values not on
+     * the path.
+     *
+     * @throws JsoniterException        if any JSON decode error occurs
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     * @since 4.3
+     */
+    @Override
+    public <T> T extract(byte[] src, String jsonPointer, Type type) throws JsoniterException {
+        var tokens = JsonPointers.parse(jsonPointer);
+        TypeLiteral<T> typeLiteral = TypeLiteral.create(type);
+        var iter = JsonIteratorPool.borrowJsonIterator();
+        if (config != null) {
+            JsoniterSpi.setCurrentConfig(config);
+        }
+        try {
+            iter.reset(src);
+            if (!moveTo(iter, tokens)) {
+                return null;
+            }
+            return iter.read(typeLiteral);
+        } catch (Exception e) {
+            throw new JsoniterException(e);
+        } finally {
+            if (config != null) {
+                JsoniterSpi.clearCurrentConfig();
+            }
+            JsonIteratorPool.returnJsonIterator(iter);
+        }
+    }
+
+    private static final boolean moveTo(JsonIterator iter, String[] tokens) throws IOException {
+        for (var token : tokens) {
+            var valueType = iter.whatIsNext();
+            if (valueType == ValueType.OBJECT) {
+                for (var field = iter.readObject(); ; field = iter.readObject()) {
+                    if (field == null) {
+                        return false;
+                    }
+                    if (field.equals(token)) {
+                        break;
+                    }
+                    iter.skip();
+                }
+            } else if (valueType == ValueType.ARRAY) {
+                var index = JsonPointers.index(token);
+                if (index < 0) {
+                    return false;
+                }
+                for (var i = 0; ; i++) {
+                    if (!iter.readArray()) {
+                        return false;
+                    }
+                    if (i == index) {
+                        break;
+                    }
+                    iter.skip();
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @throws JsoniterException if any JSON decode error occurs
      */
@@ -239,6 +417,93 @@ public class JsoniterLibrary implements JsonLibrary<Any> {
         }
     }
 
+    /**
+     * Decodes the elements of a top-level JSON array from input stream lazily.
+     * <p>
+     * The input is read by a streaming {@link JsonIterator} with a fixed size
+     * buffer, and the elements are decoded one by one only when the returned
+     * stream is consumed. The input stream will be closed when the returned
+     * stream is closed.
+     *
+     * @throws JsoniterException if any JSON decode error occurs
+     * @since 4.3
+     */
+    @Override
+    public <T> Stream<T> loadsStream(InputStream src, Type type) throws JsoniterException {
+        TypeLiteral<T> typeLiteral = TypeLiteral.create(type);
+        return loadsStream(src, typeLiteral);
+    }
+
+    /**
+     * Decodes the elements of a top-level JSON array from input stream lazily.
+     *
+     * @param <T>         the type of the elements
+     * @param src         the source input stream
+     * @param typeLiteral the type literal of the elements
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws JsoniterException if any JSON decode error occurs
+     * @see #loadsStream(InputStream, Type)
+     * @since 4.3
+     */
+    public <T> Stream<T> loadsStream(InputStream src, TypeLiteral<T> typeLiteral) throws JsoniterException {
+        var iter = JsonIterator.parse(src, STREAM_BUFFER_SIZE);
+        return JsonStreams.stream(new ArrayElementIterator<>(iter, typeLiteral, config), iter);
+    }
+
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private static final class ArrayElementIterator<T> implements Iterator<T> {
+
+        private final JsonIterator iter;
+        private final TypeLiteral<T> typeLiteral;
+        private final Config config;
+        private boolean finished;
+        private boolean hasNext;
+        private T next;
+
+        private ArrayElementIterator(JsonIterator iter, TypeLiteral<T> typeLiteral, Config config) {
+            this.iter = iter;
+            this.typeLiteral = typeLiteral;
+            this.config = config;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !finished) {
+                if (config != null) {
+                    JsoniterSpi.setCurrentConfig(config);
+                }
+                try {
+                    if (iter.readArray()) {
+                        next = iter.read(typeLiteral);
+                        hasNext = true;
+                    } else {
+                        finished = true;
+                    }
+                } catch (Exception e) {
+                    throw new JsoniterException(e);
+                } finally {
+                    if (config != null) {
+                        JsoniterSpi.clearCurrentConfig();
+                    }
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var value = next;
+            next = null;
+            hasNext = false;
+            return value;
+        }
+
+    }
+
     /**
      * @throws JsoniterException if any JSON decode error occurs
      */
@@ -247,24 +512,96 @@ public class JsoniterLibrary implements JsonLibrary<Any> {
         if (obj == null) {
             return NULL_BYTE_ARRAY;
         }
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        dumps(obj, out);
-        return out.toByteArray();
+        var stream = writeToRecycledStream(obj);
+        try {
+            var buffer = stream.buffer();
+            return Arrays.copyOfRange(buffer.data(), buffer.head(), buffer.tail());
+        } finally {
+            releaseStream(stream);
+        }
     }
 
     /**
-     * @throws JsoniterException if any JSON decode error occurs
+     * Encodes object to JSON value into the remaining space of
+     * {@link ByteBuffer}.
+     * <p>
+     * Note that this method always copies: jsoniter can only encode into the
+     * internal byte array of a {@link JsonStream}, or flush that array to an
+     * {@link OutputStream}, so the object is encoded into a recycled stream
+     * first and then copied into the destination buffer by a single bulk
+     * {@link ByteBuffer#put(byte[], int, int) put}. The destination buffer is
+     * left unchanged if the remaining space is insufficient.
+     *
+     * @throws JsoniterException if any JSON encode error occurs
+     * @since 4.3
      */
     @Override
-    public String dumpsToString(Object obj) throws JsoniterException {
+    public int dumps(Object obj, ByteBuffer dst) throws JsoniterException {
+        var stream = writeToRecycledStream(obj);
         try {
-            if (useDefaultConfig) {
-                return JsonStream.serialize(obj);
+            var buffer = stream.buffer();
+            var length = buffer.tail() - buffer.head();
+            if (dst.remaining() < length) {
+                throw new JsoniterException("insufficient space in buffer: remaining " + dst.remaining()
+                        + ", required " + length);
             }
-            //noinspection DataFlowIssue
-            return JsonStream.serialize(config, obj);
+            dst.put(buffer.data(), buffer.head(), length);
+            return length;
+        } finally {
+            releaseStream(stream);
+        }
+    }
+
+    /**
+     * The recycler is shared by all instances, so the config cached in the
+     * stream must be cleared on both acquiring and releasing, just like the
+     * {@code JsonStreamPool} of jsoniter.
+     */
+    private static final OutputRecycler<JsonStream> streamRecycler = new OutputRecycler<>(
+            () -> new JsonStream(null, 1024), stream -> stream.buffer().data().length);
+
+    private static final void releaseStream(JsonStream stream) {
+        stream.configCache = null;
+        streamRecycler.release(stream);
+    }
+
+    /**
+     * Writes the object into a recycled {@link JsonStream} without output, the
+     * returned stream must be released by {@link #releaseStream(JsonStream)}
+     * after use.
+     */
+    private JsonStream writeToRecycledStream(Object obj) {
+        var stream = streamRecycler.acquire();
+        stream.configCache = null;
+        if (config != null) {
+            JsoniterSpi.setCurrentConfig(config);
+        }
+        try {
+            stream.reset(null);
+            stream.writeVal(obj);
+            return stream;
         } catch (Exception e) {
+            // the indention of the stream may be broken, never reuse it
+            streamRecycler.discard(stream);
             throw new JsoniterException(e);
+        } finally {
+            if (config != null) {
+                JsoniterSpi.clearCurrentConfig();
+            }
+        }
+    }
+
+    /**
+     * @throws JsoniterException if any JSON decode error occurs
+     */
+    @Override
+    public String dumpsToString(Object obj) throws JsoniterException {
+        var stream = writeToRecycledStream(obj);
+        try {
+            var buffer = stream.buffer();
+            return new String(buffer.data(), buffer.head(), buffer.tail() - buffer.head(), StandardCharsets.UTF_8);
+        } finally {
+            releaseStream(stream);
         }
     }
 
@@ -284,6 +621,57 @@ public class JsoniterLibrary implements JsonLibrary<Any> {
         }
     }
 
+    /**
+     * Warms up this library for the specified types.
+     * <p>
+     * Jsoniter generates the decoder of a type when the type is read for the
+     * first time, so the decoder is generated by reading a JSON {@code null}
+     * as the type. Jsoniter has no public API to generate the encoder of a
+     * type without an instance, so the encoder is generated by the internal
+     * codegen of jsoniter if it is accessible, and no instance of the type is
+     * created or written. Otherwise, such as when the package
+     * {@code com.jsoniter.output} is not open to this library, the encoders
+     * are just generated lazily when the types are written for the first
+     * time.
+     * <p>
+     * For the codecs generated at build time, see
+     * {@link JsoniterStaticCodegenConfig}.
+     *
+     * @since 4.3
+     */
+    @Override
+    public JsoniterLibrary warmUp(Collection<? extends Type> types) {
+        for (var type : types) {
+            try {
+                loads(NULL_BYTE_ARRAY, 0, NULL_BYTE_ARRAY.length, TypeLiteral.create(type));
+            } catch (JsoniterException e) {
+                // primitive types can not be null, but the decoder is generated already
+            }
+            warmUpEncoder(type);
+        }
+        return this;
+    }
+
+    private void warmUpEncoder(Type type) {
+        if (!JsoniterEncoderCodegen.isAvailable()) {
+            return;
+        }
+        if (config != null) {
+            JsoniterSpi.setCurrentConfig(config);
+        }
+        try {
+            JsoniterEncoderCodegen.generate(type);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // skip, errors will be reported when the type is actually used
+        } finally {
+            if (config != null) {
+                JsoniterSpi.clearCurrentConfig();
+            }
+        }
+    }
+
     /**
      * Create {@link TypeLiteral} for {@link List}s.
      *
@@ -0,0 +1,62 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.jsoniter.spi.TypeLiteral;
+import com.jsoniter.static_codegen.StaticCodegenConfig;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * The base {@link StaticCodegenConfig} to generate the jsoniter codecs of
+ * known types at build time, so that neither reflection nor bytecode
+ * generation is required for them at runtime.
+ * <p>
+ * Extend this class and return the types in {@link #types()}, then run the
+ * static code generator of jsoniter in the build:
+ * <pre>{@code
+ * java com.jsoniter.static_codegen.StaticCodegen com.example.MyCodegenConfig src/main/java
+ * }</pre>
+ * And switch jsoniter to static mode before the {@link JsoniterLibrary} is
+ * used at runtime:
+ * <pre>{@code
+ * JsonIterator.setMode(DecodingMode.STATIC_MODE);
+ * JsonStream.setMode(EncodingMode.STATIC_MODE);
+ * new MyCodegenConfig().setup();
+ * }</pre>
+ * <p>
+ * The {@link #setup()} method applies the same configuration and supports
+ * as the default {@link JsoniterLibrary} instance, so that the generated
+ * codecs match the ones used at runtime.
+ *
+ * @author MJ Fang
+ * @see JsoniterLibrary#warmUp(Collection)
+ * @since 4.3
+ */
+public abstract class JsoniterStaticCodegenConfig implements StaticCodegenConfig {
+
+    /**
+     * Returns the types to generate codecs for.
+     *
+     * @return the types to generate codecs for
+     */
+    protected abstract Collection<? extends Type> types();
+
+    /**
+     * Applies the configuration and supports of the default
+     * {@link JsoniterLibrary} instance.
+     * <p>
+     * Subclasses which register any other extensions should call
+     * {@code super.setup()} first.
+     */
+    @Override
+    public void setup() {
+        JsoniterLibrary.getInstance();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public TypeLiteral[] whatToCodegen() {
+        return types().stream().map(TypeLiteral::create).toArray(TypeLiteral[]::new);
+    }
+
+}
@@ -2,9 +2,18 @@ package com.github.fmjsjx.libcommon.json;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
@@ -15,6 +24,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jsoniter.ValueType;
+import com.jsoniter.spi.Config;
+import com.jsoniter.spi.JsoniterSpi;
 import org.junit.jupiter.api.Test;
 
 public class JsoniterLibraryTest {
@@ -232,6 +243,96 @@ public class JsoniterLibraryTest {
         assertEquals("[1,2,3]", JsoniterLibrary.getInstance().dumpsToString(object.path("array")));
     }
 
+    @Test
+    public void testJackson2JsoniterConverter() {
+        var any = JsoniterLibrary.getInstance().loads("""
+                {"i":1,"l":1234567890123,"d":1.25,"b":1234567890123456789012345,"s":"abc","n":null,"a":[true,false]}""");
+        var node = Jackson2JsoniterConverter.toJsonNode(any);
+        assertTrue(node.isObject());
+        assertTrue(node.get("i").isInt());
+        assertTrue(node.get("l").isLong());
+        assertTrue(node.get("d").isDouble());
+        assertEquals(1.25, node.get("d").doubleValue());
+        assertTrue(node.get("b").isBigInteger());
+        assertEquals("abc", node.get("s").textValue());
+        assertTrue(node.get("n").isNull());
+        assertEquals(2, node.get("a").size());
+        assertTrue(Jackson2JsoniterConverter.toJsonNode(any.get("missing")).isMissingNode());
+
+        var back = Jackson2JsoniterConverter.toAny(node);
+        assertEquals(ValueType.OBJECT, back.valueType());
+        assertEquals(1234567890123L, back.toLong("l"));
+        assertEquals("1234567890123456789012345", back.get("b").toString());
+        assertEquals(ValueType.NULL, back.get("n").valueType());
+        assertEquals(Jackson2Library.getInstance().dumpsToString(node), JsoniterLibrary.getInstance().dumpsToString(back));
+    }
+
+    @Test
+    public void testWarmUp() {
+        var library = JsoniterLibrary.getInstance();
+        assertSame(library, library.precompile(TestFastjson2Objects.class, int.class, OptionalInt.class));
+        assertSame(library, library.warmUp(List.of(library.listTypeLiteral(int.class).getType())));
+        assertArrayEquals(new int[]{1, 2, 3}, library.loads("[1,2,3]", int[].class));
+        assertEquals("[1,2,3]", library.dumpsToString(List.of(1, 2, 3)));
+    }
+
+    public static class TestWarmUpBean {
+
+        static int constructed;
+
+        public int id;
+
+        public TestWarmUpBean() {
+            constructed++;
+        }
+
+    }
+
+    @Test
+    public void testWarmUpWithoutInstances() {
+        var library = JsoniterLibrary.getInstance();
+        library.warmUp(List.of(TestWarmUpBean.class));
+        assertEquals(0, TestWarmUpBean.constructed);
+        var cacheKey = JsoniterSpi.getCurrentConfig().getEncoderCacheKey(TestWarmUpBean.class);
+        // the encoder is generated at warm-up only if the internal codegen is accessible
+        assertEquals(JsoniterEncoderCodegen.isAvailable(), JsoniterSpi.getEncoder(cacheKey) != null);
+        assertEquals("{\"id\":0}", library.dumpsToString(new TestWarmUpBean()));
+        assertEquals(1, TestWarmUpBean.constructed);
+    }
+
+    public static class TestCodegenBean {
+
+        public String name;
+
+    }
+
+    @Test
+    public void testEncoderCodegen() throws Throwable {
+        // tests run on the class path, so the internal codegen must be accessible
+        assertTrue(JsoniterEncoderCodegen.isAvailable(), () -> "unavailable: " + JsoniterEncoderCodegen.unavailabilityCause());
+        assertNull(JsoniterEncoderCodegen.unavailabilityCause());
+        var cacheKey = JsoniterSpi.getCurrentConfig().getEncoderCacheKey(TestCodegenBean.class);
+        assertNull(JsoniterSpi.getEncoder(cacheKey));
+        JsoniterEncoderCodegen.generate(TestCodegenBean.class);
+        assertNotNull(JsoniterSpi.getEncoder(cacheKey));
+    }
+
+    @Test
+    public void testExtract() {
+        var library = JsoniterLibrary.getInstance();
+        var src = """
+                {"header":{"type":"login","id":123},"body":{"list":[{"x":1},[1,2,3]]}}"""
+                .getBytes(StandardCharsets.UTF_8);
+        assertEquals("login", library.extract(src, "/header/type", String.class));
+        assertEquals(123L, library.extract(src, "/header/id", Long.class));
+        assertArrayEquals(new int[]{1, 2, 3}, library.extract(src, "/body/list/1", int[].class));
+        assertEquals(2, library.extract(src, "/body/list/1/1", int.class));
+        assertNull(library.extract(src, "/body/list/2", int[].class));
+        assertNull(library.extract(src, "/header/none", String.class));
+        var values = library.extract(src, "/header/type", "/none");
+        assertArrayEquals(new Object[]{"login", null}, values);
+    }
+
     public static class TestFastjson2Objects {
 
         private JSONObject obj;
@@ -393,4 +494,89 @@ public class JsoniterLibraryTest {
         assertEquals("[1,2,3]", JsoniterLibrary.getInstance().dumpsToString(object.path("array")));
     }
 
+    @Test
+    public void testLoadsStream() {
+        var json = "[{\"i1\":1,\"l1\":2,\"d1\":3.0}, {\"l1\":4}]";
+        try (var stream = JsoniterLibrary.getInstance().loadsStream(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), TestObj.class)) {
+            var list = stream.toList();
+            assertEquals(2, list.size());
+            assertEquals(1, list.get(0).getI1().getAsInt());
+            assertEquals(4, list.get(1).getL1().getAsLong());
+            assertTrue(list.get(1).getI1().isEmpty());
+        }
+        try (var stream = JsoniterLibrary.getInstance().loadsStream(
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), Integer.class)) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    public void testLoadsLines() {
+        var ndjson = "[1,2]\n\n[3]\n";
+        try (var stream = JsoniterLibrary.getInstance().loadsLines(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), int[].class)) {
+            assertEquals(List.of(3, 3), stream.map(a -> a.length == 2 ? a[0] + a[1] : a[0]).toList());
+        }
+    }
+
+    @Test
+    public void testLoadsRangeAndDumpsTo() {
+        var library = JsoniterLibrary.getInstance();
+        var src = "xx[1,2,3]yy".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(new int[]{1, 2, 3}, library.loads(src, 2, 7, int[].class));
+        assertThrows(JsoniterLibrary.JsoniterException.class, () -> library.loads(src, 2, 8, int[].class));
+        var spaced = "[1,2,3] \n".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(new int[]{1, 2, 3}, library.loads(spaced, 0, spaced.length, int[].class));
+        var buffer = ByteBuffer.wrap(src, 2, 7);
+        assertArrayEquals(new int[]{1, 2, 3}, library.loads(buffer, int[].class));
+        assertEquals(9, buffer.position());
+
+        var dest = new byte[8];
+        assertEquals(7, library.dumpsTo(new int[]{1, 2, 3}, dest, 1));
+        assertEquals("[1,2,3]", new String(dest, 1, 7, StandardCharsets.UTF_8));
+        assertThrows(JsoniterLibrary.JsoniterException.class, () -> library.dumpsTo(new int[]{1, 2, 3}, dest, 2));
+        assertEquals("[1,2,3]", new String(library.dumpsToBytes(new int[]{1, 2, 3}), StandardCharsets.UTF_8));
+        assertEquals("[\"abc\"]", library.dumpsToString(List.of("abc")));
+    }
+
+    @Test
+    public void testRecycledStreamWithDifferentConfigs() {
+        var library = JsoniterLibrary.getInstance();
+        var indented = new JsoniterLibrary(new Config.Builder().indentionStep(2).build());
+        var value = List.of(Map.of("a", 1));
+        var compact = library.dumpsToString(value);
+        var pretty = indented.dumpsToString(value);
+        assertNotEquals(compact, pretty);
+        for (var i = 0; i < 3; i++) {
+            assertEquals(pretty, indented.dumpsToString(value));
+            assertEquals(compact, library.dumpsToString(value));
+            assertArrayEquals(pretty.getBytes(StandardCharsets.UTF_8), indented.dumpsToBytes(value));
+            assertArrayEquals(compact.getBytes(StandardCharsets.UTF_8), library.dumpsToBytes(value));
+        }
+    }
+
+    @Test
+    public void testJdk8Time() {
+        var library = JsoniterLibrary.getInstance();
+        var dateTime = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 678_000_000);
+        assertEquals("\"2024-01-02T03:04:05.678\"", library.dumpsToString(dateTime));
+        assertEquals(dateTime, library.loads("\"2024-01-02T03:04:05.678\"", LocalDateTime.class));
+        assertEquals("\"2024-01-02\"", library.dumpsToString(dateTime.toLocalDate()));
+        assertEquals(LocalDate.of(2024, 1, 2), library.loads("\"2024-01-02\"", LocalDate.class));
+        assertEquals("\"03:04:05.678\"", library.dumpsToString(dateTime.toLocalTime()));
+        assertEquals(LocalTime.of(3, 4), library.loads("\"03:04\"", LocalTime.class));
+        var zoned = dateTime.atZone(ZoneId.of("Asia/Shanghai"));
+        assertEquals("\"2024-01-02T03:04:05.678+08:00[Asia/Shanghai]\"", library.dumpsToString(zoned));
+        assertEquals(zoned, library.loads("\"2024-01-02T03:04:05.678+08:00[Asia/Shanghai]\"", ZonedDateTime.class));
+        // escaped strings are unescaped before parsing
+        assertEquals(zoned, library.loads("\"2024-01-02T03:04:05.678+08:00[Asia\\/Shanghai]\"", ZonedDateTime.class));
+        assertEquals(zoned, library.loads("\"2024-01-02T03:04:05.678+08:00[Asia\\u002fShanghai]\"".getBytes(),
+                ZonedDateTime.class));
+        assertNull(library.loads("null", LocalDateTime.class));
+        // epoch numbers are always accepted
+        var epochMillis = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertEquals(dateTime, library.loads(String.valueOf(epochMillis), LocalDateTime.class));
+    }
+
 }
@@ -0,0 +1,71 @@
+plugins {
+    id("libcommon.java-library-conventions")
+    id("libcommon.publish-conventions")
+}
+
+dependencies {
+
+    api(project(":libcommon-json"))
+    api("io.netty:netty-buffer")
+
+    testImplementation("org.junit.jupiter:junit-jupiter-api")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine")
+
+    testImplementation("org.apache.logging.log4j:log4j-slf4j2-impl")
+    testImplementation(project(":libcommon-json-jackson2"))
+
+}
+
+description = "libcommon/JSON Netty"
+
+tasks.test {
+    // Use junit platform for unit tests.
+    useJUnitPlatform()
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("mavenJava") {
+            from(components["java"])
+            versionMapping {
+                usage("java-api") {
+                    fromResolutionOf("runtimeClasspath")
+                }
+                usage("java-runtime") {
+                    fromResolutionResult()
+                }
+            }
+            pom {
+                name.set("libcommon/JSON Netty")
+                description.set("A set of some common useful libraries.")
+                url.set("https://github.com/fmjsjx/libcommon")
+                licenses {
+                    license {
+                        name.set("MIT License")
+                        url.set("https://opensource.org/licenses/MIT")
+                    }
+                }
+                developers {
+                    developer {
+                        id.set("fmjsjx")
+                        name.set("MJ Fang")
+                        email.set("fmjsjx@163.com")
+                        url.set("https://github.com/fmjsjx")
+                        organization.set("fmjsjx")
+                        organizationUrl.set("https://github.com/fmjsjx")
+                    }
+                }
+                scm {
+                    url.set("https://github.com/fmjsjx/libcommon")
+                    connection.set("scm:git:https://github.com/fmjsjx/libcommon.git")
+                    developerConnection.set("scm:git:https://github.com/fmjsjx/libcommon.git")
+                }
+            }
+        }
+    }
+}
+
+signing {
+    sign(publishing.publications["mavenJava"])
+}
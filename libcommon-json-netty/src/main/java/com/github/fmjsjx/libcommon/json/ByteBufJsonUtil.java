@@ -0,0 +1,121 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.lang.reflect.Type;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * Utility class to decode JSON from and encode JSON to Netty {@link ByteBuf}s
+ * by any {@link JsonDecoder} and {@link JsonEncoder}.
+ * <p>
+ * Buffers backed by an accessible array are decoded in place, direct buffers
+ * are decoded through their NIO views, so that the readable bytes are never
+ * copied into a temporary array by this class. Encoding writes directly into
+ * the target buffer, which will be expanded as needed.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class ByteBufJsonUtil {
+
+    /**
+     * Decodes data from the readable bytes of {@link ByteBuf}.
+     * <p>
+     * The readable bytes are consumed, the reader index of the buffer will be
+     * set to its writer index after decoding successfully. The buffer will not
+     * be released by this method.
+     *
+     * @param <T>     the type of the data
+     * @param decoder the decoder
+     * @param src     the source buffer
+     * @param type    the type of the data
+     * @return a data object as given type
+     * @throws JsonException if any JSON decode error occurs
+     */
+    public static final <T> T loads(JsonDecoder<?> decoder, ByteBuf src, Type type) throws JsonException {
+        var readerIndex = src.readerIndex();
+        var length = src.readableBytes();
+        T value;
+        if (src.hasArray()) {
+            value = decoder.loads(src.array(), src.arrayOffset() + readerIndex, length, type);
+        } else if (src.nioBufferCount() == 1) {
+            value = decoder.loads(src.nioBuffer(readerIndex, length), type);
+        } else {
+            // composite buffer, read it as a stream
+            value = decoder.loads(new ByteBufInputStream(src.duplicate()), type);
+        }
+        src.skipBytes(length);
+        return value;
+    }
+
+    /**
+     * Decodes data from the readable bytes of {@link ByteBuf}.
+     *
+     * @param <T>     the type of the data
+     * @param decoder the decoder
+     * @param src     the source buffer
+     * @param type    the class of the type
+     * @return a data object as given type
+     * @throws JsonException if any JSON decode error occurs
+     * @see #loads(JsonDecoder, ByteBuf, Type)
+     */
+    public static final <T> T loads(JsonDecoder<?> decoder, ByteBuf src, Class<T> type) throws JsonException {
+        return loads(decoder, src, (Type) type);
+    }
+
+    /**
+     * Encodes object to JSON value into {@link ByteBuf}.
+     * <p>
+     * The encoded bytes are written starting at the writer index of the
+     * buffer, and the writer index will be advanced by the number of bytes
+     * written. If any error occurs, the writer index of the buffer will be
+     * restored.
+     *
+     * @param encoder the encoder
+     * @param obj     the object to be encoded
+     * @param dst     the destination buffer
+     * @return the number of bytes written
+     * @throws JsonException if any JSON encode error occurs
+     */
+    public static final int dumps(JsonEncoder encoder, Object obj, ByteBuf dst) throws JsonException {
+        var writerIndex = dst.writerIndex();
+        try {
+            encoder.dumps(obj, new ByteBufOutputStream(dst));
+        } catch (RuntimeException e) {
+            dst.writerIndex(writerIndex);
+            throw e;
+        }
+        return dst.writerIndex() - writerIndex;
+    }
+
+    /**
+     * Encodes object to JSON value as a new {@link ByteBuf} allocated by the
+     * specified allocator.
+     * <p>
+     * The caller is responsible for releasing the returned buffer.
+     *
+     * @param encoder   the encoder
+     * @param obj       the object to be encoded
+     * @param allocator the allocator
+     * @return a {@code ByteBuf} contains the encoded JSON value
+     * @throws JsonException if any JSON encode error occurs
+     */
+    public static final ByteBuf dumpsToByteBuf(JsonEncoder encoder, Object obj, ByteBufAllocator allocator)
+            throws JsonException {
+        var buf = allocator.buffer();
+        try {
+            dumps(encoder, obj, buf);
+            return buf;
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    private ByteBufJsonUtil() {
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.fmjsjx.libcommon.json;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteBufJsonUtilTests {
+
+    private static final Jackson2Library library = Jackson2Library.getInstance();
+
+    @Test
+    public void testLoads() {
+        var bytes = "xx{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+
+        var heap = Unpooled.wrappedBuffer(bytes).skipBytes(2);
+        assertEquals(Map.of("a", 1), ByteBufJsonUtil.loads(library, heap, Map.class));
+        assertEquals(0, heap.readableBytes());
+
+        var direct = Unpooled.directBuffer().writeBytes(bytes).skipBytes(2);
+        try {
+            assertEquals(Map.of("a", 1), ByteBufJsonUtil.loads(library, direct, Map.class));
+            assertEquals(0, direct.readableBytes());
+        } finally {
+            direct.release();
+        }
+
+        var composite = Unpooled.wrappedBuffer(Unpooled.copiedBuffer("{\"a\"", StandardCharsets.UTF_8),
+                Unpooled.directBuffer().writeBytes(":1}".getBytes(StandardCharsets.UTF_8)));
+        try {
+            assertEquals(Map.of("a", 1), ByteBufJsonUtil.loads(library, composite, Map.class));
+            assertEquals(0, composite.readableBytes());
+        } finally {
+            composite.release();
+        }
+
+        var invalid = Unpooled.copiedBuffer("{\"a\":", StandardCharsets.UTF_8);
+        assertThrows(JsonException.class, () -> ByteBufJsonUtil.loads(library, invalid, Map.class));
+        assertEquals(0, invalid.readerIndex());
+    }
+
+    @Test
+    public void testDumps() {
+        var buf = Unpooled.buffer(4).writeByte(' ');
+        try {
+            assertEquals(7, ByteBufJsonUtil.dumps(library, Map.of("a", 1), buf));
+            assertEquals(" {\"a\":1}", buf.toString(StandardCharsets.UTF_8));
+        } finally {
+            buf.release();
+        }
+
+        var allocated = ByteBufJsonUtil.dumpsToByteBuf(library, Map.of("b", true), ByteBufAllocator.DEFAULT);
+        try {
+            assertEquals("{\"b\":true}", allocated.toString(StandardCharsets.UTF_8));
+        } finally {
+            allocated.release();
+        }
+    }
+
+}
@@ -6,6 +6,7 @@ plugins {
 dependencies {
 
     implementation("org.slf4j:slf4j-api")
+    implementation(project(":libcommon-util"))
 
     testImplementation("org.junit.jupiter:junit-jupiter-api")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
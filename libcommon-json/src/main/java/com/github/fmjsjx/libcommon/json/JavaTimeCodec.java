@@ -0,0 +1,627 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Objects;
+
+import com.github.fmjsjx.libcommon.util.concurrent.EasyThreadLocal;
+
+/**
+ * Internal codec of {@code java.time} values shared by the JSON libraries.
+ * <p>
+ * ISO-8601 values are formatted and parsed by hand-written fixed-layout
+ * printers and parsers, which read and write the digits directly, and
+ * produce exactly the same texts as the ISO formatters of
+ * {@link DateTimeFormatter}. Values out of the fixed layout (such as years
+ * after 9999) fall back to the formatters.
+ * <p>
+ * Decoding always accepts both strings and numbers. Numbers are treated as
+ * epoch milliseconds unless the format is {@link JsonTimeFormat#EPOCH_SECONDS}.
+ *
+ * @param <T> the type of the values
+ * @author MJ Fang
+ * @since 4.3
+ */
+abstract sealed class JavaTimeCodec<T> {
+
+    /**
+     * The minimum size of the buffer used by
+     * {@link #write(Object, byte[], int)}.
+     */
+    static final int BUFFER_SIZE = 128;
+
+    private static final EasyThreadLocal<byte[]> scratchBuffers = EasyThreadLocal
+            .create(() -> new byte[BUFFER_SIZE + 2]);
+
+    /**
+     * Returns the thread-local scratch buffer, with enough space for a quoted
+     * value written by {@link #write(Object, byte[], int)} at offset
+     * {@code 1}.
+     * <p>
+     * The buffer must be used only in a non-reentrant scope, such as writing
+     * a value and then copying it to the output immediately.
+     */
+    static byte[] scratchBuffer() {
+        return scratchBuffers.get();
+    }
+
+    /**
+     * Returns the codec of the specified type.
+     *
+     * @throws IllegalArgumentException if the type is not supported, or the
+     *                                  format is not supported by the type
+     */
+    @SuppressWarnings("unchecked")
+    static <T> JavaTimeCodec<T> of(Class<T> type, JsonTimeFormat format, ZoneId zone) {
+        Objects.requireNonNull(format, "format must not be null");
+        Objects.requireNonNull(zone, "zone must not be null");
+        JavaTimeCodec<?> codec;
+        if (type == LocalDateTime.class) {
+            codec = new LocalDateTimeCodec(format, zone);
+        } else if (type == LocalDate.class) {
+            codec = new LocalDateCodec(format, zone);
+        } else if (type == LocalTime.class) {
+            if (format != JsonTimeFormat.ISO_8601) {
+                throw new IllegalArgumentException("unsupported format " + format + " for LocalTime");
+            }
+            codec = new LocalTimeCodec();
+        } else if (type == OffsetDateTime.class) {
+            codec = new OffsetDateTimeCodec(format, zone);
+        } else if (type == ZonedDateTime.class) {
+            codec = new ZonedDateTimeCodec(format, zone);
+        } else {
+            throw new IllegalArgumentException("unsupported type " + type.getName());
+        }
+        return (JavaTimeCodec<T>) codec;
+    }
+
+    /**
+     * Returns the ISO-8601 codec of the specified type.
+     */
+    static <T> JavaTimeCodec<T> iso(Class<T> type) {
+        return of(type, JsonTimeFormat.ISO_8601, ZoneId.systemDefault());
+    }
+
+    private final Class<T> type;
+    private final JsonTimeFormat format;
+    final ZoneId zone;
+    private final DateTimeFormatter formatter;
+    private final TemporalQuery<T> query;
+
+    private JavaTimeCodec(Class<T> type, JsonTimeFormat format, ZoneId zone, DateTimeFormatter formatter,
+                          TemporalQuery<T> query) {
+        this.type = type;
+        this.format = format;
+        this.zone = zone;
+        this.formatter = formatter;
+        this.query = query;
+    }
+
+    /**
+     * Returns the type of the values.
+     */
+    final Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Returns the format.
+     */
+    final JsonTimeFormat format() {
+        return format;
+    }
+
+    /**
+     * Returns {@code true} if the values are encoded as numbers.
+     */
+    final boolean isNumeric() {
+        return format != JsonTimeFormat.ISO_8601;
+    }
+
+    /**
+     * Writes the ISO-8601 text of the value into the buffer.
+     *
+     * @return the position of the buffer just after the text
+     */
+    final int write(T value, byte[] buf, int pos) {
+        var end = writeFixed(value, buf, pos);
+        if (end >= 0) {
+            return end;
+        }
+        var text = formatter.format((TemporalAccessor) value);
+        if (text.length() > buf.length - pos) {
+            throw new DateTimeException("text too long: " + text);
+        }
+        for (var i = 0; i < text.length(); i++) {
+            buf[pos++] = (byte) text.charAt(i);
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the ISO-8601 text of the value.
+     */
+    final String format(T value) {
+        var buf = new byte[BUFFER_SIZE];
+        var end = writeFixed(value, buf, 0);
+        if (end >= 0) {
+            return new String(buf, 0, end, StandardCharsets.ISO_8859_1);
+        }
+        return formatter.format((TemporalAccessor) value);
+    }
+
+    /**
+     * Parses the ISO-8601 text in the specified range of the buffer.
+     */
+    final T parse(byte[] buf, int start, int end) {
+        var value = parseFixed(buf, start, end);
+        if (value != null) {
+            return value;
+        }
+        return formatter.parse(new String(buf, start, end - start, StandardCharsets.UTF_8), query);
+    }
+
+    /**
+     * Parses the ISO-8601 text.
+     */
+    final T parse(String text) {
+        var length = text.length();
+        if (length <= BUFFER_SIZE) {
+            var buf = new byte[length];
+            for (var i = 0; i < length; i++) {
+                var c = text.charAt(i);
+                if (c > 0x7f) {
+                    return formatter.parse(text, query);
+                }
+                buf[i] = (byte) c;
+            }
+            var value = parseFixed(buf, 0, length);
+            if (value != null) {
+                return value;
+            }
+        }
+        return formatter.parse(text, query);
+    }
+
+    /**
+     * Returns the epoch value of the value, in milliseconds or seconds.
+     */
+    final long toEpoch(T value) {
+        var instant = toInstant(value);
+        return format == JsonTimeFormat.EPOCH_SECONDS ? instant.getEpochSecond() : instant.toEpochMilli();
+    }
+
+    /**
+     * Returns the value of the epoch value, in milliseconds or seconds.
+     */
+    final T fromEpoch(long epoch) {
+        var instant = format == JsonTimeFormat.EPOCH_SECONDS ? Instant.ofEpochSecond(epoch) : Instant.ofEpochMilli(epoch);
+        return fromInstant(instant);
+    }
+
+    /**
+     * Writes the value in the fixed layout, or returns {@code -1} if the value
+     * is out of the fixed layout.
+     */
+    abstract int writeFixed(T value, byte[] buf, int pos);
+
+    /**
+     * Parses the value in the fixed layout, or returns {@code null} if the
+     * text is out of the fixed layout.
+     */
+    abstract T parseFixed(byte[] buf, int start, int end);
+
+    abstract Instant toInstant(T value);
+
+    abstract T fromInstant(Instant instant);
+
+    // --- fixed-layout printers ---
+
+    private static int writeDigits2(int value, byte[] buf, int pos) {
+        buf[pos] = (byte) ('0' + value / 10);
+        buf[pos + 1] = (byte) ('0' + value % 10);
+        return pos + 2;
+    }
+
+    private static int writeDate(LocalDate date, byte[] buf, int pos) {
+        var year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        buf[pos] = (byte) ('0' + year / 1000);
+        buf[pos + 1] = (byte) ('0' + year / 100 % 10);
+        writeDigits2(year % 100, buf, pos + 2);
+        buf[pos + 4] = '-';
+        writeDigits2(date.getMonthValue(), buf, pos + 5);
+        buf[pos + 7] = '-';
+        return writeDigits2(date.getDayOfMonth(), buf, pos + 8);
+    }
+
+    private static int writeTime(LocalTime time, byte[] buf, int pos) {
+        pos = writeDigits2(time.getHour(), buf, pos);
+        buf[pos++] = ':';
+        pos = writeDigits2(time.getMinute(), buf, pos);
+        buf[pos++] = ':';
+        pos = writeDigits2(time.getSecond(), buf, pos);
+        var nano = time.getNano();
+        if (nano != 0) {
+            // the same as appendFraction(NANO_OF_SECOND, 0, 9, true)
+            buf[pos++] = '.';
+            var digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            for (var i = pos + digits - 1; i >= pos; i--) {
+                buf[i] = (byte) ('0' + nano % 10);
+                nano /= 10;
+            }
+            pos += digits;
+        }
+        return pos;
+    }
+
+    private static int writeDateTime(LocalDateTime dateTime, byte[] buf, int pos) {
+        pos = writeDate(dateTime.toLocalDate(), buf, pos);
+        if (pos < 0) {
+            return -1;
+        }
+        buf[pos++] = 'T';
+        return writeTime(dateTime.toLocalTime(), buf, pos);
+    }
+
+    private static int writeAscii(String text, byte[] buf, int pos) {
+        var length = text.length();
+        if (length > buf.length - pos) {
+            return -1;
+        }
+        for (var i = 0; i < length; i++) {
+            buf[pos++] = (byte) text.charAt(i);
+        }
+        return pos;
+    }
+
+    // --- fixed-layout parsers ---
+
+    private static int digits(byte[] buf, int pos, int count) {
+        var value = 0;
+        for (var i = pos; i < pos + count; i++) {
+            var d = buf[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static LocalDate parseDate(byte[] buf, int pos, int end) {
+        if (end - pos < 10 || buf[pos + 4] != '-' || buf[pos + 7] != '-') {
+            return null;
+        }
+        var year = digits(buf, pos, 4);
+        var month = digits(buf, pos + 5, 2);
+        var day = digits(buf, pos + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Returns the length of the ISO local time at the position, or {@code -1}.
+     */
+    private static int timeLength(byte[] buf, int pos, int end) {
+        if (end - pos < 5 || buf[pos + 2] != ':') {
+            return -1;
+        }
+        var length = 5;
+        if (end - pos >= 8 && buf[pos + 5] == ':') {
+            length = 8;
+            if (end - pos > 9 && buf[pos + 8] == '.') {
+                length = 9;
+                while (pos + length < end && length < 18) {
+                    var c = buf[pos + length];
+                    if (c < '0' || c > '9') {
+                        break;
+                    }
+                    length++;
+                }
+                if (length == 9) {
+                    return -1;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static LocalTime parseTime(byte[] buf, int pos, int length) {
+        var hour = digits(buf, pos, 2);
+        var minute = digits(buf, pos + 3, 2);
+        if (hour < 0 || minute < 0) {
+            return null;
+        }
+        var second = 0;
+        var nano = 0;
+        if (length >= 8) {
+            second = digits(buf, pos + 6, 2);
+            if (second < 0) {
+                return null;
+            }
+            if (length > 9) {
+                var digits = length - 9;
+                nano = digits(buf, pos + 9, digits);
+                for (var i = digits; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * Returns the length of the offset at the position, or {@code -1}.
+     */
+    private static int offsetLength(byte[] buf, int pos, int end) {
+        if (pos >= end) {
+            return -1;
+        }
+        var c = buf[pos];
+        if (c == 'Z') {
+            return 1;
+        }
+        if ((c == '+' || c == '-') && end - pos >= 6 && buf[pos + 3] == ':'
+                && (end - pos == 6 || buf[pos + 6] == '[')) {
+            return 6;
+        }
+        return -1;
+    }
+
+    private static ZoneOffset parseOffset(byte[] buf, int pos, int length) {
+        if (length == 1) {
+            return ZoneOffset.UTC;
+        }
+        var hours = digits(buf, pos + 1, 2);
+        var minutes = digits(buf, pos + 4, 2);
+        if (hours < 0 || minutes < 0) {
+            return null;
+        }
+        if (buf[pos] == '-') {
+            return ZoneOffset.ofHoursMinutes(-hours, -minutes);
+        }
+        return ZoneOffset.ofHoursMinutes(hours, minutes);
+    }
+
+    private static LocalDateTime parseDateTime(byte[] buf, int start, int end, int timeEnd) {
+        if (end - start < 16 || buf[start + 10] != 'T') {
+            return null;
+        }
+        var date = parseDate(buf, start, end);
+        if (date == null) {
+            return null;
+        }
+        var timeLength = timeLength(buf, start + 11, end);
+        if (timeLength < 0 || (timeEnd >= 0 && start + 11 + timeLength != timeEnd)) {
+            return null;
+        }
+        var time = parseTime(buf, start + 11, timeLength);
+        return time == null ? null : LocalDateTime.of(date, time);
+    }
+
+    private static int dateTimeLength(byte[] buf, int start, int end) {
+        if (end - start < 16) {
+            return -1;
+        }
+        var timeLength = timeLength(buf, start + 11, end);
+        return timeLength < 0 ? -1 : 11 + timeLength;
+    }
+
+    // --- codecs ---
+
+    private static final class LocalDateTimeCodec extends JavaTimeCodec<LocalDateTime> {
+
+        private LocalDateTimeCodec(JsonTimeFormat format, ZoneId zone) {
+            super(LocalDateTime.class, format, zone, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from);
+        }
+
+        @Override
+        int writeFixed(LocalDateTime value, byte[] buf, int pos) {
+            return writeDateTime(value, buf, pos);
+        }
+
+        @Override
+        LocalDateTime parseFixed(byte[] buf, int start, int end) {
+            return parseDateTime(buf, start, end, end);
+        }
+
+        @Override
+        Instant toInstant(LocalDateTime value) {
+            return value.atZone(zone).toInstant();
+        }
+
+        @Override
+        LocalDateTime fromInstant(Instant instant) {
+            return LocalDateTime.ofInstant(instant, zone);
+        }
+
+    }
+
+    private static final class LocalDateCodec extends JavaTimeCodec<LocalDate> {
+
+        private LocalDateCodec(JsonTimeFormat format, ZoneId zone) {
+            super(LocalDate.class, format, zone, DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from);
+        }
+
+        @Override
+        int writeFixed(LocalDate value, byte[] buf, int pos) {
+            return writeDate(value, buf, pos);
+        }
+
+        @Override
+        LocalDate parseFixed(byte[] buf, int start, int end) {
+            return end - start == 10 ? parseDate(buf, start, end) : null;
+        }
+
+        @Override
+        Instant toInstant(LocalDate value) {
+            return value.atStartOfDay(zone).toInstant();
+        }
+
+        @Override
+        LocalDate fromInstant(Instant instant) {
+            return LocalDate.ofInstant(instant, zone);
+        }
+
+    }
+
+    private static final class LocalTimeCodec extends JavaTimeCodec<LocalTime> {
+
+        private LocalTimeCodec() {
+            super(LocalTime.class, JsonTimeFormat.ISO_8601, ZoneOffset.UTC, DateTimeFormatter.ISO_LOCAL_TIME,
+                    LocalTime::from);
+        }
+
+        @Override
+        int writeFixed(LocalTime value, byte[] buf, int pos) {
+            return writeTime(value, buf, pos);
+        }
+
+        @Override
+        LocalTime parseFixed(byte[] buf, int start, int end) {
+            var length = timeLength(buf, start, end);
+            return start + length == end ? parseTime(buf, start, length) : null;
+        }
+
+        @Override
+        Instant toInstant(LocalTime value) {
+            throw new UnsupportedOperationException("LocalTime can not be converted to Instant");
+        }
+
+        @Override
+        LocalTime fromInstant(Instant instant) {
+            return LocalTime.ofInstant(instant, zone);
+        }
+
+    }
+
+    private static final class OffsetDateTimeCodec extends JavaTimeCodec<OffsetDateTime> {
+
+        private OffsetDateTimeCodec(JsonTimeFormat format, ZoneId zone) {
+            super(OffsetDateTime.class, format, zone, DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from);
+        }
+
+        @Override
+        int writeFixed(OffsetDateTime value, byte[] buf, int pos) {
+            pos = writeDateTime(value.toLocalDateTime(), buf, pos);
+            return pos < 0 ? -1 : writeAscii(value.getOffset().getId(), buf, pos);
+        }
+
+        @Override
+        OffsetDateTime parseFixed(byte[] buf, int start, int end) {
+            var length = dateTimeLength(buf, start, end);
+            if (length < 0) {
+                return null;
+            }
+            var offsetStart = start + length;
+            var offsetLength = offsetLength(buf, offsetStart, end);
+            if (offsetLength < 0 || offsetStart + offsetLength != end) {
+                return null;
+            }
+            var dateTime = parseDateTime(buf, start, end, offsetStart);
+            var offset = parseOffset(buf, offsetStart, offsetLength);
+            if (dateTime == null || offset == null) {
+                return null;
+            }
+            return OffsetDateTime.of(dateTime, offset);
+        }
+
+        @Override
+        Instant toInstant(OffsetDateTime value) {
+            return value.toInstant();
+        }
+
+        @Override
+        OffsetDateTime fromInstant(Instant instant) {
+            return OffsetDateTime.ofInstant(instant, zone);
+        }
+
+    }
+
+    private static final class ZonedDateTimeCodec extends JavaTimeCodec<ZonedDateTime> {
+
+        private ZonedDateTimeCodec(JsonTimeFormat format, ZoneId zone) {
+            super(ZonedDateTime.class, format, zone, DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime::from);
+        }
+
+        @Override
+        int writeFixed(ZonedDateTime value, byte[] buf, int pos) {
+            pos = writeDateTime(value.toLocalDateTime(), buf, pos);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = writeAscii(value.getOffset().getId(), buf, pos);
+            var zoneId = value.getZone();
+            if (pos < 0 || zoneId instanceof ZoneOffset) {
+                return pos;
+            }
+            var id = zoneId.getId();
+            if (id.length() + 2 > buf.length - pos) {
+                return -1;
+            }
+            buf[pos++] = '[';
+            pos = writeAscii(id, buf, pos);
+            buf[pos++] = ']';
+            return pos;
+        }
+
+        @Override
+        ZonedDateTime parseFixed(byte[] buf, int start, int end) {
+            var length = dateTimeLength(buf, start, end);
+            if (length < 0) {
+                return null;
+            }
+            var offsetStart = start + length;
+            var offsetLength = offsetLength(buf, offsetStart, end);
+            if (offsetLength < 0) {
+                return null;
+            }
+            var dateTime = parseDateTime(buf, start, end, offsetStart);
+            var offset = parseOffset(buf, offsetStart, offsetLength);
+            if (dateTime == null || offset == null) {
+                return null;
+            }
+            var zoneStart = offsetStart + offsetLength;
+            if (zoneStart == end) {
+                return ZonedDateTime.of(dateTime, offset);
+            }
+            if (buf[zoneStart] != '[' || buf[end - 1] != ']' || end - zoneStart < 3) {
+                return null;
+            }
+            var zoneId = ZoneId.of(new String(buf, zoneStart + 1, end - zoneStart - 2, StandardCharsets.ISO_8859_1));
+            return ZonedDateTime.ofInstant(dateTime, offset, zoneId);
+        }
+
+        @Override
+        Instant toInstant(ZonedDateTime value) {
+            return value.toInstant();
+        }
+
+        @Override
+        ZonedDateTime fromInstant(Instant instant) {
+            return ZonedDateTime.ofInstant(instant, zone);
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * Internal utility class for decoding JSON from and encoding JSON to NIO
+ * buffers and channels.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JsonBuffers {
+
+    /**
+     * Returns {@code true} if the specified range is the whole byte array.
+     */
+    static boolean isWhole(byte[] src, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        return offset == 0 && length == src.length;
+    }
+
+    /**
+     * Creates a new {@link InputStream} reading the remaining bytes of the
+     * specified buffer, the position of the buffer is advanced as bytes are
+     * read.
+     */
+    static InputStream newInputStream(ByteBuffer src) {
+        return new ByteBufferInputStream(src);
+    }
+
+    /**
+     * Creates a new {@link OutputStream} writing bytes into the specified
+     * buffer, an {@link IOException} will be thrown if the remaining space of
+     * the buffer is not enough.
+     */
+    static OutputStream newOutputStream(ByteBuffer dst) {
+        return new ByteBufferOutputStream(dst);
+    }
+
+    /**
+     * Creates a new {@link OutputStream} writing bytes into the specified
+     * channel, the channel will not be closed when the returned stream is
+     * closed.
+     */
+    static OutputStream newOutputStream(WritableByteChannel out) {
+        return new ChannelOutputStream(out);
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer src;
+
+        private ByteBufferInputStream(ByteBuffer src) {
+            this.src = src;
+        }
+
+        @Override
+        public int read() {
+            return src.hasRemaining() ? src.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            var remaining = src.remaining();
+            if (remaining == 0) {
+                return -1;
+            }
+            var n = Math.min(remaining, len);
+            src.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            var skipped = (int) Math.max(0, Math.min(n, src.remaining()));
+            src.position(src.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return src.remaining();
+        }
+
+    }
+
+    private static final class ByteBufferOutputStream extends OutputStream {
+
+        private final ByteBuffer dst;
+
+        private ByteBufferOutputStream(ByteBuffer dst) {
+            this.dst = dst;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!dst.hasRemaining()) {
+                throw overflow(1);
+            }
+            dst.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (dst.remaining() < len) {
+                throw overflow(len);
+            }
+            dst.put(b, off, len);
+        }
+
+        private IOException overflow(int required) {
+            return new IOException("insufficient space in buffer: remaining " + dst.remaining() + ", required "
+                    + required);
+        }
+
+    }
+
+    private static final class ChannelOutputStream extends OutputStream {
+
+        private final WritableByteChannel out;
+
+        private ChannelOutputStream(WritableByteChannel out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            var buffer = ByteBuffer.wrap(b, off, len);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+
+    }
+
+    private JsonBuffers() {
+    }
+
+}
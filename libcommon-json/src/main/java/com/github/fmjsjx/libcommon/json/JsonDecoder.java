@@ -2,7 +2,10 @@ package com.github.fmjsjx.libcommon.json;
 
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 /**
  * An interface provides methods to decode JSON.
@@ -120,4 +123,268 @@ public interface JsonDecoder<JSON> {
      */
     <T> T loads(InputStream src, Type type) throws JsonException;
 
+    /**
+     * Decodes data from a range of byte array.
+     * <p>
+     * The default implementation copies the range into a new array unless it
+     * is the whole array, implementations should override this method to read
+     * the range in place.
+     *
+     * @param <T>    the type of the data
+     * @param src    the source byte array
+     * @param offset the offset of the first byte to decode
+     * @param length the number of bytes to decode
+     * @param type   the type of the data
+     * @return a data object as given type
+     * @throws JsonException             if any JSON decode error occurs
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the
+     *                                   array
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default <T> T loads(byte[] src, int offset, int length, Type type) throws JsonException {
+        if (JsonBuffers.isWhole(src, offset, length)) {
+            return loads(src, type);
+        }
+        return loads(Arrays.copyOfRange(src, offset, offset + length), type);
+    }
+
+    /**
+     * Decodes data from a range of byte array.
+     *
+     * @param <T>    the type of the data
+     * @param src    the source byte array
+     * @param offset the offset of the first byte to decode
+     * @param length the number of bytes to decode
+     * @param type   the class of the type
+     * @return a data object as given type
+     * @throws JsonException             if any JSON decode error occurs
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the
+     *                                   array
+     * @author MJ Fang
+     * @see #loads(byte[], int, int, Type)
+     * @since 4.3
+     */
+    default <T> T loads(byte[] src, int offset, int length, Class<T> type) throws JsonException {
+        return loads(src, offset, length, (Type) type);
+    }
+
+    /**
+     * Decodes data from the remaining bytes of {@link ByteBuffer}.
+     * <p>
+     * The buffer is consumed, its position will be set to its limit after
+     * decoding successfully.
+     * <p>
+     * The default implementation reads buffers backed by an accessible array
+     * in place by {@link #loads(byte[], int, int, Type)}, and reads other
+     * buffers (such as direct buffers) by {@link #loads(InputStream, Type)}
+     * without copying all the bytes into a temporary array.
+     *
+     * @param <T>  the type of the data
+     * @param src  the source buffer
+     * @param type the type of the data
+     * @return a data object as given type
+     * @throws JsonException if any JSON decode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default <T> T loads(ByteBuffer src, Type type) throws JsonException {
+        T value;
+        if (src.hasArray()) {
+            value = loads(src.array(), src.arrayOffset() + src.position(), src.remaining(), type);
+        } else {
+            value = loads(JsonBuffers.newInputStream(src.duplicate()), type);
+        }
+        src.position(src.limit());
+        return value;
+    }
+
+    /**
+     * Decodes data from the remaining bytes of {@link ByteBuffer}.
+     *
+     * @param <T>  the type of the data
+     * @param src  the source buffer
+     * @param type the class of the type
+     * @return a data object as given type
+     * @throws JsonException if any JSON decode error occurs
+     * @author MJ Fang
+     * @see #loads(ByteBuffer, Type)
+     * @since 4.3
+     */
+    default <T> T loads(ByteBuffer src, Class<T> type) throws JsonException {
+        return loads(src, (Type) type);
+    }
+
+    /**
+     * Decodes the elements of a top-level JSON array from {@link InputStream}
+     * lazily.
+     * <p>
+     * Elements are decoded one by one only when the returned stream is
+     * consumed, so that very large arrays can be processed in constant memory.
+     * The input stream will be closed when the returned stream is closed.
+     * <p>
+     * The default implementation splits the raw JSON text of each element from
+     * the input and decodes it by {@link #loads(byte[], Type)}.
+     *
+     * @param <T>  the type of the elements
+     * @param src  the source input stream
+     * @param type the type of the elements
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws JsonException if any JSON decode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default <T> Stream<T> loadsStream(InputStream src, Type type) throws JsonException {
+        return JsonStreams.stream(JsonStreams.arrayElements(src), src).map(element -> this.<T>loads(element, type));
+    }
+
+    /**
+     * Decodes the elements of a top-level JSON array from {@link InputStream}
+     * lazily.
+     *
+     * @param <T>  the type of the elements
+     * @param src  the source input stream
+     * @param type the class of the elements
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws JsonException if any JSON decode error occurs
+     * @author MJ Fang
+     * @see #loadsStream(InputStream, Type)
+     * @since 4.3
+     */
+    default <T> Stream<T> loadsStream(InputStream src, Class<T> type) throws JsonException {
+        return loadsStream(src, (Type) type);
+    }
+
+    /**
+     * Decodes values from newline-delimited JSON
+     * (<a href="https://github.com/ndjson/ndjson-spec">NDJSON</a>) read from
+     * {@link InputStream} lazily.
+     * <p>
+     * Each non-blank line is decoded as one value only when the returned
+     * stream is consumed. The input stream will be closed when the returned
+     * stream is closed.
+     * <p>
+     * The default implementation decodes each line by
+     * {@link #loads(String, Type)}.
+     *
+     * @param <T>  the type of the values
+     * @param src  the source input stream
+     * @param type the type of the values
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws JsonException if any JSON decode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default <T> Stream<T> loadsLines(InputStream src, Type type) throws JsonException {
+        var reader = JsonStreams.newReader(src);
+        return JsonStreams.stream(JsonStreams.lines(reader), reader).map(line -> this.<T>loads(line, type));
+    }
+
+    /**
+     * Decodes values from newline-delimited JSON read from {@link InputStream}
+     * lazily.
+     *
+     * @param <T>  the type of the values
+     * @param src  the source input stream
+     * @param type the class of the values
+     * @return a {@code Stream<T>} which should be closed after use
+     * @throws JsonException if any JSON decode error occurs
+     * @author MJ Fang
+     * @see #loadsLines(InputStream, Type)
+     * @since 4.3
+     */
+    default <T> Stream<T> loadsLines(InputStream src, Class<T> type) throws JsonException {
+        return loadsLines(src, (Type) type);
+    }
+
+    /**
+     * Extracts the value referenced by the specified JSON Pointer
+     * (<a href="https://www.rfc-editor.org/rfc/rfc6901">RFC 6901</a>) from
+     * byte array, without decoding the whole JSON document.
+     * <p>
+     * Only the bytes before the end of the referenced value are scanned, and
+     * all values not on the path are skipped without being decoded. For
+     * example, the pointer {@code "/header/type"} references the field
+     * {@code "type"} of the object field {@code "header"} of the root object,
+     * and the pointer {@code "/items/0"} references the first element of the
+     * array field {@code "items"}.
+     * <p>
+     * The default implementation locates the raw JSON text of the value with
+     * a skipping scanner and decodes it by
+     * {@link #loads(byte[], int, int, Type)}.
+     *
+     * @param <T>         the type of the value
+     * @param src         the source byte array
+     * @param jsonPointer the JSON Pointer
+     * @param type        the type of the value
+     * @return the value, or {@code null} if the value is missing or is JSON
+     * {@code null}
+     * @throws JsonException            if any JSON decode error occurs
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default <T> T extract(byte[] src, String jsonPointer, Type type) throws JsonException {
+        var range = JsonPointers.locate(src, 0, src.length, JsonPointers.parse(jsonPointer));
+        if (range == JsonPointers.MISSING) {
+            return null;
+        }
+        return loads(src, JsonPointers.start(range), JsonPointers.length(range), type);
+    }
+
+    /**
+     * Extracts the value referenced by the specified JSON Pointer from byte
+     * array, without decoding the whole JSON document.
+     *
+     * @param <T>         the type of the value
+     * @param src         the source byte array
+     * @param jsonPointer the JSON Pointer
+     * @param type        the class of the value
+     * @return the value, or {@code null} if the value is missing or is JSON
+     * {@code null}
+     * @throws JsonException            if any JSON decode error occurs
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     * @author MJ Fang
+     * @see #extract(byte[], String, Type)
+     * @since 4.3
+     */
+    default <T> T extract(byte[] src, String jsonPointer, Class<T> type) throws JsonException {
+        return extract(src, jsonPointer, (Type) type);
+    }
+
+    /**
+     * Extracts the values referenced by the specified JSON Pointers from byte
+     * array, without decoding the whole JSON document.
+     * <p>
+     * Each value is decoded as {@link Object}, so JSON strings, numbers and
+     * booleans are returned as {@link String}s, {@link Number}s and
+     * {@link Boolean}s, and JSON objects and arrays are returned as the types
+     * decoded by the implementation.
+     *
+     * <p>
+     * The default implementation just calls
+     * {@link #extract(byte[], String, Class)} for each JSON Pointer, so that
+     * it works with any data format supported by the implementation, but the
+     * bytes before each value are scanned again from the root, which costs
+     * {@code O(n·k)} for {@code k} JSON Pointers over {@code n} bytes.
+     * Implementations are encouraged to override it to extract all values
+     * in a single pass.
+     * @param src          the source byte array
+     * @param jsonPointers the JSON Pointers
+     * @return an array of the values in the same order as the JSON Pointers,
+     * with {@code null} for missing values
+     * @throws JsonException            if any JSON decode error occurs
+     * @throws IllegalArgumentException if any JSON Pointer is invalid
+     * @author MJ Fang
+     * @see #extract(byte[], String, Type)
+     * @since 4.3
+     */
+    default Object[] extract(byte[] src, String... jsonPointers) throws JsonException {
+        var values = new Object[jsonPointers.length];
+        for (var i = 0; i < jsonPointers.length; i++) {
+            values[i] = extract(src, jsonPointers[i], Object.class);
+        }
+        return values;
+    }
+
 }
@@ -1,6 +1,9 @@
 package com.github.fmjsjx.libcommon.json;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
 
 /**
  * An interface provides methods to encode JSON.
@@ -49,4 +52,80 @@ public interface JsonEncoder {
      */
     void dumps(Object obj, OutputStream out) throws JsonException;
 
-}
\ No newline at end of file
+    /**
+     * Encodes object to JSON value into the remaining space of
+     * {@link ByteBuffer}.
+     * <p>
+     * The encoded bytes are written starting at the current position of the
+     * buffer, and the position will be advanced by the number of bytes
+     * written. If the remaining space of the buffer is not enough, a
+     * {@link JsonException} will be thrown and the position of the buffer will
+     * be restored.
+     * <p>
+     * The default implementation writes directly into the buffer by
+     * {@link #dumps(Object, OutputStream)}, without creating a temporary
+     * array.
+     *
+     * @param obj the object to be encoded
+     * @param dst the destination buffer
+     * @return the number of bytes written
+     * @throws JsonException if any JSON encode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default int dumps(Object obj, ByteBuffer dst) throws JsonException {
+        var position = dst.position();
+        try {
+            dumps(obj, JsonBuffers.newOutputStream(dst));
+        } catch (RuntimeException e) {
+            dst.position(position);
+            throw e;
+        }
+        return dst.position() - position;
+    }
+
+    /**
+     * Encodes object to JSON value into {@link WritableByteChannel}.
+     * <p>
+     * The channel should be in blocking mode, and will not be closed after
+     * encoding.
+     *
+     * @param obj the object to be encoded
+     * @param out the destination channel
+     * @throws JsonException if any JSON encode error occurs
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default void dumps(Object obj, WritableByteChannel out) throws JsonException {
+        dumps(obj, JsonBuffers.newOutputStream(out));
+    }
+
+    /**
+     * Encodes object to JSON value into the specified byte array, starting at
+     * the specified offset.
+     * <p>
+     * This method is useful for callers which manage their own buffers. If
+     * the remaining space of the array is not enough, a {@link JsonException}
+     * will be thrown.
+     * <p>
+     * The default implementation is equivalent to:
+     * <pre>{@code
+     * dumps(obj, ByteBuffer.wrap(dest, offset, dest.length - offset));
+     * }</pre>
+     *
+     * @param obj    the object to be encoded
+     * @param dest   the destination byte array
+     * @param offset the offset in the array of the first byte to be written
+     * @return the number of bytes written
+     * @throws JsonException             if any JSON encode error occurs
+     * @throws IndexOutOfBoundsException if the offset is out of bounds of the
+     *                                   array
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default int dumpsTo(Object obj, byte[] dest, int offset) throws JsonException {
+        Objects.checkIndex(offset, dest.length + 1);
+        return dumps(obj, ByteBuffer.wrap(dest, offset, dest.length - offset));
+    }
+
+}
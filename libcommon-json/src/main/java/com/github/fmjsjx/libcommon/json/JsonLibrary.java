@@ -1,5 +1,9 @@
 package com.github.fmjsjx.libcommon.json;
 
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+
 /**
  * A JSON encode/decode library. Combines {@link JsonEncoder} and
  * {@link JsonDecoder}.
@@ -20,4 +24,60 @@ public interface JsonLibrary<JSON> extends JsonEncoder, JsonDecoder<JSON> {
         return new MixedJsonLibrary<>(encoder, decoder);
     }
 
+    /**
+     * Returns a new builder of the routing {@link JsonLibrary} with the
+     * specified default encoder and decoder.
+     *
+     * @param <JSON>         the type of dynamic JSON object
+     * @param defaultEncoder the default encoder
+     * @param defaultDecoder the default decoder
+     * @return a new {@code RoutingJsonLibrary.Builder}
+     * @author MJ Fang
+     * @see RoutingJsonLibrary
+     * @since 4.3
+     */
+    static <JSON> RoutingJsonLibrary.Builder<JSON> routing(JsonEncoder defaultEncoder, JsonDecoder<JSON> defaultDecoder) {
+        return RoutingJsonLibrary.builder(defaultEncoder, defaultDecoder);
+    }
+
+    /**
+     * Warms up this library for the specified types.
+     * <p>
+     * Most JSON libraries build (or even generate bytecode for) the
+     * serializer and deserializer of a type lazily, when the type is encoded
+     * or decoded for the first time, which makes the first requests after
+     * startup much slower than the others. Calling this method at startup
+     * builds and caches them ahead of time.
+     * <p>
+     * Warming up is best-effort: types which cannot be warmed up are skipped,
+     * and errors will be reported when they are actually encoded or decoded.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param types the types to be warmed up
+     * @return this library
+     * @author MJ Fang
+     * @since 4.3
+     */
+    default JsonLibrary<JSON> warmUp(Collection<? extends Type> types) {
+        return this;
+    }
+
+    /**
+     * Builds the serializers and deserializers of the specified classes ahead
+     * of time.
+     * <p>
+     * This method is equivalent to
+     * {@code warmUp(Arrays.asList(types))}.
+     *
+     * @param types the classes to be precompiled
+     * @return this library
+     * @author MJ Fang
+     * @see #warmUp(Collection)
+     * @since 4.3
+     */
+    default JsonLibrary<JSON> precompile(Class<?>... types) {
+        return warmUp(Arrays.asList(types));
+    }
+
 }
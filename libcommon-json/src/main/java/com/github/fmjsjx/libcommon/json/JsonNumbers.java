@@ -0,0 +1,71 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.math.BigInteger;
+
+/**
+ * Internal utility class for converting JSON number literals between the
+ * trees of different JSON libraries.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JsonNumbers {
+
+    private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /**
+     * Returns {@code true} if the specified JSON number literal is an integer,
+     * which has neither fraction nor exponent part.
+     */
+    static boolean isIntegral(String text) {
+        for (var i = 0; i < text.length(); i++) {
+            switch (text.charAt(i)) {
+                case '.', 'e', 'E' -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the specified JSON integer literal to the smallest type of
+     * {@link Integer}, {@link Long} and {@link BigInteger} which can hold it.
+     */
+    static Number parseIntegral(String text) {
+        var digits = text.charAt(0) == '-' ? text.length() - 1 : text.length();
+        if (digits <= 9) {
+            return Integer.parseInt(text);
+        }
+        if (digits <= 18) {
+            var value = Long.parseLong(text);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        }
+        return narrow(new BigInteger(text));
+    }
+
+    /**
+     * Narrows the specified big integer to {@link Integer} or {@link Long} if
+     * it can be held.
+     */
+    static Number narrow(BigInteger value) {
+        if (value.compareTo(MIN_LONG) >= 0 && value.compareTo(MAX_LONG) <= 0) {
+            var longValue = value.longValue();
+            if (longValue == (int) longValue) {
+                return (int) longValue;
+            }
+            return longValue;
+        }
+        return value;
+    }
+
+    private JsonNumbers() {
+    }
+
+}
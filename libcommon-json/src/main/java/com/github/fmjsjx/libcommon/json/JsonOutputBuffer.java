@@ -0,0 +1,103 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Internal growable byte buffer used for JSON encoding, which can be
+ * recycled across encodings.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, methods of this class are not
+ * synchronized. Instances should be acquired by {@link #acquire()} and be
+ * released by {@link #release()} on the same thread after use.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JsonOutputBuffer extends OutputStream {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final OutputRecycler<JsonOutputBuffer> recycler = new OutputRecycler<>(
+            () -> new JsonOutputBuffer(INITIAL_CAPACITY), JsonOutputBuffer::capacity);
+
+    /**
+     * Acquires an empty recycled buffer.
+     *
+     * @return an empty {@code JsonOutputBuffer}
+     */
+    static JsonOutputBuffer acquire() {
+        var buffer = recycler.acquire();
+        buffer.count = 0;
+        return buffer;
+    }
+
+    private byte[] buf;
+    private int count;
+
+    JsonOutputBuffer(int initialCapacity) {
+        buf = new byte[initialCapacity];
+    }
+
+    /**
+     * Releases this buffer for reusing, it must not be used any more after
+     * released.
+     */
+    void release() {
+        recycler.release(this);
+    }
+
+    int capacity() {
+        return buf.length;
+    }
+
+    int size() {
+        return count;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            var newCapacity = Math.max(minCapacity, buf.length << 1);
+            if (newCapacity < 0) {
+                // overflow
+                newCapacity = Integer.MAX_VALUE - 8;
+            }
+            buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * Returns a copy of the written bytes.
+     *
+     * @return a new {@code byte[]}
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * Decodes the written bytes as a UTF-8 string.
+     *
+     * @return a {@code String}
+     */
+    String toUtf8String() {
+        return new String(buf, 0, count, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,552 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Internal utility class for JSON Pointers
+ * (<a href="https://www.rfc-editor.org/rfc/rfc6901">RFC 6901</a>).
+ * <p>
+ * Besides parsing JSON Pointers, this class can also locate the value
+ * referenced by a JSON Pointer in raw JSON bytes, by scanning only the bytes
+ * before the value and skipping all values not on the path without decoding
+ * them.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JsonPointers {
+
+    private static final String[] EMPTY_TOKENS = new String[0];
+
+    /**
+     * The value returned by {@link #locate(byte[], int, int, String[])} when
+     * the referenced value is missing.
+     */
+    static final long MISSING = -1;
+
+    /**
+     * Parses the specified JSON Pointer into the unescaped reference tokens.
+     *
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     */
+    static String[] parse(String jsonPointer) {
+        Objects.requireNonNull(jsonPointer, "jsonPointer must not be null");
+        if (jsonPointer.isEmpty()) {
+            return EMPTY_TOKENS;
+        }
+        if (jsonPointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("invalid JSON pointer `" + jsonPointer + "`: must start with '/'");
+        }
+        var tokens = jsonPointer.substring(1).split("/", -1);
+        for (var i = 0; i < tokens.length; i++) {
+            var token = tokens[i];
+            if (token.indexOf('~') >= 0) {
+                tokens[i] = unescape(jsonPointer, token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String unescape(String jsonPointer, String token) {
+        var b = new StringBuilder(token.length());
+        for (var i = 0; i < token.length(); i++) {
+            var c = token.charAt(i);
+            if (c == '~') {
+                var next = i + 1 < token.length() ? token.charAt(++i) : 0;
+                if (next == '0') {
+                    b.append('~');
+                } else if (next == '1') {
+                    b.append('/');
+                } else {
+                    throw new IllegalArgumentException("invalid JSON pointer `" + jsonPointer + "`: illegal escape");
+                }
+            } else {
+                b.append(c);
+            }
+        }
+        return b.toString();
+    }
+
+    /**
+     * Returns the array index represented by the specified reference token,
+     * or {@code -1} if the token is not a valid array index.
+     */
+    static int index(String token) {
+        var length = token.length();
+        if (length == 0 || length > 10 || (length > 1 && token.charAt(0) == '0')) {
+            return -1;
+        }
+        var index = 0L;
+        for (var i = 0; i < length; i++) {
+            var c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index > Integer.MAX_VALUE ? -1 : (int) index;
+    }
+
+    /**
+     * Locates the value referenced by the specified reference tokens in the
+     * specified range of the JSON bytes.
+     *
+     * @return the range of the value packed by {@code (start << 32) | end},
+     * or {@link #MISSING} if the value is missing
+     * @throws JsonException if the JSON before the value is malformed
+     */
+    static long locate(byte[] src, int offset, int length, String[] tokens) throws JsonException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        var scanner = new Scanner(src, offset + length);
+        var pos = scanner.skipWhitespaces(offset);
+        for (var token : tokens) {
+            pos = switch (scanner.peek(pos)) {
+                case '{' -> scanner.findField(pos, token);
+                case '[' -> scanner.findElement(pos, index(token));
+                default -> -1;
+            };
+            if (pos < 0) {
+                return MISSING;
+            }
+        }
+        var end = scanner.skipValue(pos);
+        return ((long) pos << 32) | end;
+    }
+
+    /**
+     * Locates the values referenced by the specified arrays of reference
+     * tokens in the specified range of the JSON bytes, in a single pass.
+     * <p>
+     * Values sharing the same parent are located by the same scan of the
+     * parent, and the scan stops as soon as all values are located, so the
+     * bytes are scanned at most once no matter how many values are located.
+     *
+     * @return the ranges of the values in the same order as the arrays of
+     * reference tokens, with {@link #MISSING} for missing values
+     * @throws JsonException if the JSON before the last located value is
+     *                       malformed
+     */
+    static long[] locateAll(byte[] src, int offset, int length, String[][] pointers) throws JsonException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        var ranges = new long[pointers.length];
+        Arrays.fill(ranges, MISSING);
+        if (pointers.length > 0) {
+            var scanner = new Scanner(src, offset + length);
+            var indices = new int[pointers.length];
+            Arrays.setAll(indices, i -> i);
+            new Locator(scanner, pointers, ranges).locate(scanner.skipWhitespaces(offset), 0, indices,
+                    indices.length);
+        }
+        return ranges;
+    }
+
+    /**
+     * Extracts the values referenced by the specified JSON Pointers from the
+     * JSON bytes, by locating all of them in a single pass and then decoding
+     * each of them as {@link Object} by the specified decoder.
+     *
+     * @return an array of the values in the same order as the JSON Pointers,
+     * with {@code null} for missing values
+     * @throws JsonException            if any JSON decode error occurs
+     * @throws IllegalArgumentException if any JSON Pointer is invalid
+     */
+    static Object[] extractAll(JsonDecoder<?> decoder, byte[] src, String[] jsonPointers) throws JsonException {
+        var pointers = new String[jsonPointers.length][];
+        for (var i = 0; i < jsonPointers.length; i++) {
+            pointers[i] = parse(jsonPointers[i]);
+        }
+        var ranges = locateAll(src, 0, src.length, pointers);
+        var values = new Object[ranges.length];
+        for (var i = 0; i < ranges.length; i++) {
+            var range = ranges[i];
+            if (range != MISSING) {
+                values[i] = decoder.loads(src, start(range), length(range), Object.class);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the start offset of the specified located range.
+     */
+    static int start(long range) {
+        return (int) (range >>> 32);
+    }
+
+    /**
+     * Returns the length of the specified located range.
+     */
+    static int length(long range) {
+        return (int) range - (int) (range >>> 32);
+    }
+
+    private static final class Scanner {
+
+        private final byte[] src;
+        private final int limit;
+
+        private Scanner(byte[] src, int limit) {
+            this.src = src;
+            this.limit = limit;
+        }
+
+        private int peek(int pos) {
+            if (pos >= limit) {
+                throw unexpectedEnd();
+            }
+            return src[pos];
+        }
+
+        private int skipWhitespaces(int pos) {
+            while (pos < limit) {
+                var c = src[pos];
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    break;
+                }
+                pos++;
+            }
+            return pos;
+        }
+
+        private int expect(int pos, char expected) {
+            var c = peek(pos);
+            if (c != expected) {
+                throw unexpected(c, pos);
+            }
+            return skipWhitespaces(pos + 1);
+        }
+
+        /**
+         * Returns the position of the value of the field, or {@code -1}.
+         */
+        private int findField(int pos, String name) {
+            var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            pos = skipWhitespaces(pos + 1);
+            if (peek(pos) == '}') {
+                return -1;
+            }
+            for (; ; ) {
+                if (peek(pos) != '"') {
+                    throw unexpected(src[pos], pos);
+                }
+                var nameStart = pos + 1;
+                var nameEnd = skipString(pos) - 1;
+                pos = expect(skipWhitespaces(nameEnd + 1), ':');
+                if (nameEquals(nameStart, nameEnd, nameBytes, name)) {
+                    return pos;
+                }
+                pos = skipWhitespaces(skipValue(pos));
+                var c = peek(pos);
+                if (c == '}') {
+                    return -1;
+                }
+                pos = expect(pos, ',');
+            }
+        }
+
+        private boolean nameEquals(int start, int end, byte[] nameBytes, String name) {
+            for (var i = start; i < end; i++) {
+                if (src[i] == '\\') {
+                    return name.equals(unescapeString(start, end));
+                }
+            }
+            return Arrays.equals(src, start, end, nameBytes, 0, nameBytes.length);
+        }
+
+        /**
+         * Returns the position of the element, or {@code -1}.
+         */
+        private int findElement(int pos, int index) {
+            if (index < 0) {
+                return -1;
+            }
+            pos = skipWhitespaces(pos + 1);
+            if (peek(pos) == ']') {
+                return -1;
+            }
+            for (var i = 0; i < index; i++) {
+                pos = skipWhitespaces(skipValue(pos));
+                var c = peek(pos);
+                if (c == ']') {
+                    return -1;
+                }
+                pos = expect(pos, ',');
+            }
+            return pos;
+        }
+
+        /**
+         * Returns the position just after the value.
+         */
+        private int skipValue(int pos) {
+            var c = peek(pos);
+            if (c == '"') {
+                return skipString(pos);
+            }
+            if (c == '{' || c == '[') {
+                var depth = 0;
+                for (; pos < limit; pos++) {
+                    c = src[pos];
+                    if (c == '"') {
+                        pos = skipString(pos) - 1;
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if ((c == '}' || c == ']') && --depth == 0) {
+                        return pos + 1;
+                    }
+                }
+                throw unexpectedEnd();
+            }
+            if (c == ',' || c == '}' || c == ']' || c == ':') {
+                throw unexpected(c, pos);
+            }
+            // number, true, false or null
+            for (pos++; pos < limit; pos++) {
+                c = src[pos];
+                if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                    break;
+                }
+            }
+            return pos;
+        }
+
+        /**
+         * Returns the position just after the closing quote.
+         */
+        private int skipString(int pos) {
+            for (pos++; pos < limit; pos++) {
+                var c = src[pos];
+                if (c == '"') {
+                    return pos + 1;
+                }
+                if (c == '\\') {
+                    pos++;
+                }
+            }
+            throw unexpectedEnd();
+        }
+
+        private String unescapeString(int start, int end) {
+            var out = new ByteArrayOutputStream(end - start);
+            for (var i = start; i < end; i++) {
+                var c = src[i];
+                if (c != '\\') {
+                    out.write(c);
+                    continue;
+                }
+                c = src[++i];
+                switch (c) {
+                    case 'b' -> out.write('\b');
+                    case 'f' -> out.write('\f');
+                    case 'n' -> out.write('\n');
+                    case 'r' -> out.write('\r');
+                    case 't' -> out.write('\t');
+                    case 'u' -> {
+                        if (i + 4 >= end) {
+                            throw new JsonException("illegal unicode escape in JSON string");
+                        }
+                        var ch = hex4(i + 1);
+                        i += 4;
+                        if (Character.isHighSurrogate(ch) && i + 6 < end && src[i + 1] == '\\' && src[i + 2] == 'u') {
+                            var low = hex4(i + 3);
+                            i += 6;
+                            out.writeBytes(new String(new char[]{ch, low}).getBytes(StandardCharsets.UTF_8));
+                        } else {
+                            out.writeBytes(String.valueOf(ch).getBytes(StandardCharsets.UTF_8));
+                        }
+                    }
+                    default -> out.write(c);
+                }
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+
+        private char hex4(int pos) {
+            var value = 0;
+            for (var i = pos; i < pos + 4; i++) {
+                var digit = Character.digit(src[i], 16);
+                if (digit < 0) {
+                    throw new JsonException("illegal unicode escape in JSON string");
+                }
+                value = (value << 4) | digit;
+            }
+            return (char) value;
+        }
+
+        private JsonException unexpected(int c, int pos) {
+            return new JsonException("unexpected character '" + (char) c + "' at position " + pos);
+        }
+
+        private JsonException unexpectedEnd() {
+            return new JsonException("unexpected end of JSON input");
+        }
+
+    }
+
+    private static final class Locator {
+
+        private final Scanner scanner;
+        private final String[][] pointers;
+        private final long[] ranges;
+        private int remaining;
+
+        private Locator(Scanner scanner, String[][] pointers, long[] ranges) {
+            this.scanner = scanner;
+            this.pointers = pointers;
+            this.ranges = ranges;
+            this.remaining = pointers.length;
+        }
+
+        /**
+         * Locates the values referenced by the specified pointers from the
+         * value at the position, which is at the specified depth.
+         *
+         * @return the position just after the value, or {@code -1} if all
+         * values are located
+         */
+        private int locate(int pos, int depth, int[] indices, int count) {
+            var deeper = 0;
+            for (var i = 0; i < count; i++) {
+                if (pointers[indices[i]].length > depth) {
+                    deeper++;
+                }
+            }
+            int end;
+            if (deeper == 0) {
+                end = scanner.skipValue(pos);
+            } else {
+                end = switch (scanner.peek(pos)) {
+                    case '{' -> locateFields(pos, depth, indices, count, deeper);
+                    case '[' -> locateElements(pos, depth, indices, count, deeper);
+                    default -> {
+                        remaining -= deeper;
+                        yield scanner.skipValue(pos);
+                    }
+                };
+                if (end < 0) {
+                    return -1;
+                }
+            }
+            for (var i = 0; i < count; i++) {
+                var index = indices[i];
+                if (pointers[index].length == depth) {
+                    ranges[index] = ((long) pos << 32) | end;
+                    remaining--;
+                }
+            }
+            return remaining == 0 ? -1 : end;
+        }
+
+        private int[] pending(int depth, int[] indices, int count, int deeper) {
+            var pending = new int[deeper];
+            var n = 0;
+            for (var i = 0; i < count; i++) {
+                if (pointers[indices[i]].length > depth) {
+                    pending[n++] = indices[i];
+                }
+            }
+            return pending;
+        }
+
+        private int locateFields(int pos, int depth, int[] indices, int count, int deeper) {
+            var scanner = this.scanner;
+            var pending = pending(depth, indices, count, deeper);
+            var names = new byte[pending.length][];
+            for (var i = 0; i < pending.length; i++) {
+                names[i] = pointers[pending[i]][depth].getBytes(StandardCharsets.UTF_8);
+            }
+            var unresolved = pending.length;
+            var matched = new int[pending.length];
+            pos = scanner.skipWhitespaces(pos + 1);
+            if (scanner.peek(pos) == '}') {
+                remaining -= unresolved;
+                return pos + 1;
+            }
+            for (; ; ) {
+                if (scanner.peek(pos) != '"') {
+                    throw scanner.unexpected(scanner.src[pos], pos);
+                }
+                var nameStart = pos + 1;
+                var nameEnd = scanner.skipString(pos) - 1;
+                pos = scanner.expect(scanner.skipWhitespaces(nameEnd + 1), ':');
+                var matchedCount = 0;
+                for (var i = 0; i < pending.length; i++) {
+                    var index = pending[i];
+                    // only the first field with the same name is referenced
+                    if (index >= 0 && scanner.nameEquals(nameStart, nameEnd, names[i], pointers[index][depth])) {
+                        matched[matchedCount++] = index;
+                        pending[i] = -1;
+                    }
+                }
+                if (matchedCount > 0) {
+                    unresolved -= matchedCount;
+                    pos = locate(pos, depth + 1, matched, matchedCount);
+                    if (pos < 0) {
+                        return -1;
+                    }
+                } else {
+                    pos = scanner.skipValue(pos);
+                }
+                pos = scanner.skipWhitespaces(pos);
+                if (scanner.peek(pos) == '}') {
+                    remaining -= unresolved;
+                    return pos + 1;
+                }
+                pos = scanner.expect(pos, ',');
+            }
+        }
+
+        private int locateElements(int pos, int depth, int[] indices, int count, int deeper) {
+            var scanner = this.scanner;
+            var pending = pending(depth, indices, count, deeper);
+            var elementIndices = new int[pending.length];
+            var unresolved = pending.length;
+            for (var i = 0; i < pending.length; i++) {
+                elementIndices[i] = index(pointers[pending[i]][depth]);
+                if (elementIndices[i] < 0) {
+                    pending[i] = -1;
+                    unresolved--;
+                    remaining--;
+                }
+            }
+            var matched = new int[pending.length];
+            pos = scanner.skipWhitespaces(pos + 1);
+            if (scanner.peek(pos) == ']') {
+                remaining -= unresolved;
+                return pos + 1;
+            }
+            for (var element = 0; ; element++) {
+                var matchedCount = 0;
+                for (var i = 0; i < pending.length; i++) {
+                    if (pending[i] >= 0 && elementIndices[i] == element) {
+                        matched[matchedCount++] = pending[i];
+                        pending[i] = -1;
+                    }
+                }
+                if (matchedCount > 0) {
+                    unresolved -= matchedCount;
+                    pos = locate(pos, depth + 1, matched, matchedCount);
+                    if (pos < 0) {
+                        return -1;
+                    }
+                } else {
+                    pos = scanner.skipValue(pos);
+                }
+                pos = scanner.skipWhitespaces(pos);
+                if (scanner.peek(pos) == ']') {
+                    remaining -= unresolved;
+                    return pos + 1;
+                }
+                pos = scanner.expect(pos, ',');
+            }
+        }
+
+    }
+
+    private JsonPointers() {
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Internal utility class for streaming JSON decoding.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JsonStreams {
+
+    /**
+     * Returns a sequential ordered stream over the remaining elements of the
+     * iterator, which closes the specified resource when the stream is closed.
+     */
+    static <T> Stream<T> stream(Iterator<T> iterator, AutoCloseable resource) {
+        var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                resource.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new JsonException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns an iterator over the raw JSON texts of the elements of the
+     * top-level JSON array read from the specified input stream.
+     */
+    static Iterator<byte[]> arrayElements(InputStream src) {
+        return new ArrayElementIterator(src);
+    }
+
+    /**
+     * Returns an iterator over the non-blank lines read from the specified
+     * input stream.
+     */
+    static Iterator<String> lines(BufferedReader reader) {
+        return new LineIterator(reader);
+    }
+
+    /**
+     * Creates a new {@link BufferedReader} reading UTF-8 characters from the
+     * specified input stream.
+     */
+    static BufferedReader newReader(InputStream src) {
+        return new BufferedReader(new InputStreamReader(src, StandardCharsets.UTF_8));
+    }
+
+    private static final class ArrayElementIterator implements Iterator<byte[]> {
+
+        private static final int BEFORE_ARRAY = 0;
+        private static final int FIRST_ELEMENT = 1;
+        private static final int NEXT_ELEMENT = 2;
+        private static final int END_OF_ARRAY = 3;
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[8192];
+        private int position;
+        private int limit;
+        private byte[] element = new byte[256];
+        private int size;
+        private int state = BEFORE_ARRAY;
+        private byte[] next;
+
+        private ArrayElementIterator(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && state != END_OF_ARRAY) {
+                try {
+                    next = advance();
+                } catch (IOException e) {
+                    throw new JsonException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var value = next;
+            next = null;
+            return value;
+        }
+
+        private byte[] advance() throws IOException {
+            if (state == BEFORE_ARRAY) {
+                if (skipWhitespaces() != '[') {
+                    throw new JsonException("JSON array expected");
+                }
+                state = FIRST_ELEMENT;
+            }
+            var c = skipWhitespaces();
+            if (state == NEXT_ELEMENT) {
+                if (c == ']') {
+                    return endOfArray();
+                }
+                if (c != ',') {
+                    throw unexpected(c);
+                }
+                c = skipWhitespaces();
+            } else if (c == ']') {
+                return endOfArray();
+            }
+            if (c < 0 || c == ',' || c == ']' || c == '}') {
+                throw unexpected(c);
+            }
+            state = NEXT_ELEMENT;
+            return readElement(c);
+        }
+
+        private byte[] endOfArray() throws IOException {
+            state = END_OF_ARRAY;
+            // only whitespaces are allowed after the array
+            var c = skipWhitespaces();
+            if (c >= 0) {
+                throw new JsonException("unexpected character '" + (char) c + "' after JSON array");
+            }
+            return null;
+        }
+
+        private JsonException unexpected(int c) {
+            if (c < 0) {
+                return new JsonException("unexpected end of JSON input");
+            }
+            return new JsonException("unexpected character '" + (char) c + "' in JSON array");
+        }
+
+        private byte[] readElement(int c) throws IOException {
+            size = 0;
+            if (c == '{' || c == '[') {
+                var depth = 0;
+                for (; ; ) {
+                    append(c);
+                    if (c == '"') {
+                        readString();
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if ((c == '}' || c == ']') && --depth == 0) {
+                        break;
+                    }
+                    if ((c = read()) < 0) {
+                        throw unexpected(c);
+                    }
+                }
+            } else if (c == '"') {
+                append(c);
+                readString();
+            } else {
+                do {
+                    append(c);
+                    c = read();
+                } while (c >= 0 && c != ',' && c != ']' && c != '}' && !isWhitespace(c));
+                if (c >= 0) {
+                    // push back the delimiter
+                    position--;
+                }
+            }
+            return Arrays.copyOf(element, size);
+        }
+
+        private void readString() throws IOException {
+            for (; ; ) {
+                var c = read();
+                if (c < 0) {
+                    throw unexpected(c);
+                }
+                append(c);
+                if (c == '"') {
+                    return;
+                }
+                if (c == '\\') {
+                    if ((c = read()) < 0) {
+                        throw unexpected(c);
+                    }
+                    append(c);
+                }
+            }
+        }
+
+        private void append(int c) {
+            if (size == element.length) {
+                element = Arrays.copyOf(element, size << 1);
+            }
+            element[size++] = (byte) c;
+        }
+
+        private int skipWhitespaces() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (isWhitespace(c));
+            return c;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                var n = in.read(buffer);
+                if (n <= 0) {
+                    return -1;
+                }
+                position = 0;
+                limit = n;
+            }
+            return buffer[position++] & 0xff;
+        }
+
+    }
+
+    private static final class LineIterator implements Iterator<String> {
+
+        private final BufferedReader reader;
+        private String next;
+        private boolean finished;
+
+        private LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    for (var line = reader.readLine(); ; line = reader.readLine()) {
+                        if (line == null) {
+                            finished = true;
+                            break;
+                        }
+                        if (!line.isBlank()) {
+                            next = line;
+                            break;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new JsonException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var line = next;
+            next = null;
+            return line;
+        }
+
+    }
+
+    private JsonStreams() {
+    }
+
+}
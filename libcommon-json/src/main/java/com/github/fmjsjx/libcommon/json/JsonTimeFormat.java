@@ -0,0 +1,28 @@
+package com.github.fmjsjx.libcommon.json;
+
+/**
+ * The formats of {@code java.time} values in JSON.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public enum JsonTimeFormat {
+
+    /**
+     * ISO-8601 strings, the same as the ones formatted by the
+     * {@code ISO_LOCAL_DATE}, {@code ISO_LOCAL_TIME},
+     * {@code ISO_LOCAL_DATE_TIME}, {@code ISO_OFFSET_DATE_TIME} and
+     * {@code ISO_ZONED_DATE_TIME} formatters, such as
+     * {@code "2024-01-02T03:04:05.678+08:00"}.
+     */
+    ISO_8601,
+    /**
+     * Numbers of milliseconds from the epoch of 1970-01-01T00:00:00Z.
+     */
+    EPOCH_MILLIS,
+    /**
+     * Numbers of seconds from the epoch of 1970-01-01T00:00:00Z.
+     */
+    EPOCH_SECONDS
+
+}
@@ -3,6 +3,10 @@ package com.github.fmjsjx.libcommon.json;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * A mixed implementation of {@link JsonLibrary}.
@@ -49,6 +53,21 @@ public class MixedJsonLibrary<JSON> implements JsonLibrary<JSON> {
         encoder.dumps(obj, out);
     }
 
+    @Override
+    public int dumps(Object obj, ByteBuffer dst) throws JsonException {
+        return encoder.dumps(obj, dst);
+    }
+
+    @Override
+    public void dumps(Object obj, WritableByteChannel out) throws JsonException {
+        encoder.dumps(obj, out);
+    }
+
+    @Override
+    public int dumpsTo(Object obj, byte[] dest, int offset) throws JsonException {
+        return encoder.dumpsTo(obj, dest, offset);
+    }
+
     @Override
     public <T extends JSON> T loads(byte[] src) throws JsonException {
         return decoder.loads(src);
@@ -79,4 +98,50 @@ public class MixedJsonLibrary<JSON> implements JsonLibrary<JSON> {
         return decoder.loads(src, type);
     }
 
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws JsonException {
+        return decoder.loads(src, offset, length, type);
+    }
+
+    @Override
+    public <T> T loads(ByteBuffer src, Type type) throws JsonException {
+        return decoder.loads(src, type);
+    }
+
+    @Override
+    public <T> Stream<T> loadsStream(InputStream src, Type type) throws JsonException {
+        return decoder.loadsStream(src, type);
+    }
+
+    @Override
+    public <T> Stream<T> loadsLines(InputStream src, Type type) throws JsonException {
+        return decoder.loadsLines(src, type);
+    }
+
+    @Override
+    public <T> T extract(byte[] src, String jsonPointer, Type type) throws JsonException {
+        return decoder.extract(src, jsonPointer, type);
+    }
+
+    @Override
+    public Object[] extract(byte[] src, String... jsonPointers) throws JsonException {
+        return decoder.extract(src, jsonPointers);
+    }
+
+    /**
+     * Warms up the encoder and the decoder if they are {@link JsonLibrary}s.
+     *
+     * @since 4.3
+     */
+    @Override
+    public MixedJsonLibrary<JSON> warmUp(Collection<? extends Type> types) {
+        if (encoder instanceof JsonLibrary<?> library) {
+            library.warmUp(types);
+        }
+        if (decoder != encoder && decoder instanceof JsonLibrary<?> library) {
+            library.warmUp(types);
+        }
+        return this;
+    }
+
 }
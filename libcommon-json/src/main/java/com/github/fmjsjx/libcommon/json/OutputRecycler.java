@@ -0,0 +1,118 @@
+package com.github.fmjsjx.libcommon.json;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import com.github.fmjsjx.libcommon.util.concurrent.EasyThreadLocal;
+import com.github.fmjsjx.libcommon.util.pool.ConcurrentCachedPool;
+
+/**
+ * Internal recycler of output buffers used for JSON encoding.
+ * <p>
+ * Platform threads hold one buffer each in an {@link EasyThreadLocal}.
+ * Virtual threads are usually short-lived and numerous, so they share a
+ * bounded pool of buffers instead. Buffers grown larger than
+ * {@link #MAX_RECYCLED_CAPACITY} are discarded rather than recycled, so that
+ * a few huge payloads won't pin a lot of memory.
+ * <p>
+ * Nested acquisitions on the same platform thread (for example, a custom
+ * serializer encoding JSON again) get a new buffer, so the held buffer is
+ * never used twice at the same time.
+ *
+ * @param <B> the type of the buffers
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class OutputRecycler<B> {
+
+    /**
+     * The maximum capacity in bytes of the buffers can be recycled.
+     */
+    static final int MAX_RECYCLED_CAPACITY = 64 * 1024;
+
+    private static final int POOL_LIMIT = Math.max(16, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final class Holder<B> {
+        private B buffer;
+        private boolean inUse;
+    }
+
+    private final Supplier<B> factory;
+    private final ToIntFunction<B> capacity;
+    private final EasyThreadLocal<Holder<B>> holders = EasyThreadLocal.create(Holder::new);
+    private final ConcurrentCachedPool<B> pool = new ConcurrentCachedPool<>(POOL_LIMIT);
+
+    /**
+     * Creates a new {@link OutputRecycler}.
+     *
+     * @param factory  the factory creates new buffers
+     * @param capacity the function returns the current capacity of a buffer
+     */
+    OutputRecycler(Supplier<B> factory, ToIntFunction<B> capacity) {
+        this.factory = Objects.requireNonNull(factory, "factory must not be null");
+        this.capacity = Objects.requireNonNull(capacity, "capacity must not be null");
+    }
+
+    /**
+     * Acquires a buffer, the buffer must be released by
+     * {@link #release(Object)} on the same thread after use.
+     *
+     * @return a buffer
+     */
+    B acquire() {
+        if (Thread.currentThread().isVirtual()) {
+            return pool.tryTake().orElseGet(factory);
+        }
+        var holder = holders.get();
+        if (holder.inUse) {
+            return factory.get();
+        }
+        var buffer = holder.buffer;
+        if (buffer == null) {
+            holder.buffer = buffer = factory.get();
+        }
+        holder.inUse = true;
+        return buffer;
+    }
+
+    /**
+     * Releases a buffer acquired by {@link #acquire()}.
+     *
+     * @param buffer the buffer
+     */
+    void release(B buffer) {
+        var recyclable = capacity.applyAsInt(buffer) <= MAX_RECYCLED_CAPACITY;
+        if (Thread.currentThread().isVirtual()) {
+            if (recyclable) {
+                pool.tryBack(buffer);
+            }
+            return;
+        }
+        var holder = holders.get();
+        if (holder.buffer == buffer) {
+            holder.inUse = false;
+            if (!recyclable) {
+                holder.buffer = null;
+            }
+        }
+    }
+
+    /**
+     * Discards a buffer acquired by {@link #acquire()} instead of recycling
+     * it, such as a buffer left in an unknown state by a failed encoding.
+     *
+     * @param buffer the buffer
+     */
+    void discard(B buffer) {
+        if (Thread.currentThread().isVirtual()) {
+            return;
+        }
+        var holder = holders.get();
+        if (holder.buffer == buffer) {
+            holder.inUse = false;
+            holder.buffer = null;
+        }
+    }
+
+}
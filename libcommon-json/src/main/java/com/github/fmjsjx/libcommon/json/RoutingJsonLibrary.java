@@ -0,0 +1,495 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JsonLibrary} dispatches each encoding and decoding to different
+ * backends by the type of the value.
+ * <p>
+ * Objects are encoded by the encoder routed to their runtime classes, or the
+ * nearest superclasses or interfaces of them. Typed decoding is dispatched by
+ * the target type, or the raw class of the target type if it is a
+ * {@link ParameterizedType}. Anything not routed, including the decoding of
+ * dynamic JSON objects, falls back to the default encoder and decoder.
+ * <p>
+ * Routes can be configured explicitly, or chosen by the self-calibration at
+ * build time: each calibrated type is encoded and decoded by every candidate
+ * library with a sample value, and the fastest one is routed to it. Only the
+ * candidates producing exactly the same JSON as the default encoder are
+ * accepted, otherwise the type stays on the default library, so that the wire
+ * format never depends on the calibration.
+ * <pre>{@code
+ * var library = RoutingJsonLibrary.builder(Jackson2Library.getInstance())
+ *         .route(Item.class, Fastjson2Library.getInstance())
+ *         .candidates(Jackson2Library.getInstance(), Fastjson2Library.getInstance(), JsoniterLibrary.getInstance())
+ *         .calibrate(Player.class, samplePlayer)
+ *         .build();
+ * }</pre>
+ * <p>
+ * Routes are fixed once the library is built, so the library is thread-safe
+ * as long as all backends are.
+ *
+ * @param <JSON> the type of dynamic JSON object
+ * @author MJ Fang
+ * @see MixedJsonLibrary
+ * @since 4.3
+ */
+public class RoutingJsonLibrary<JSON> extends MixedJsonLibrary<JSON> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingJsonLibrary.class);
+
+    /**
+     * Returns a new {@link Builder} with the specified default library.
+     *
+     * @param <JSON>         the type of dynamic JSON object
+     * @param defaultLibrary the default library
+     * @return a new {@code Builder}
+     */
+    public static <JSON> Builder<JSON> builder(JsonLibrary<JSON> defaultLibrary) {
+        return builder(defaultLibrary, defaultLibrary);
+    }
+
+    /**
+     * Returns a new {@link Builder} with the specified default encoder and
+     * decoder.
+     *
+     * @param <JSON>         the type of dynamic JSON object
+     * @param defaultEncoder the default encoder
+     * @param defaultDecoder the default decoder
+     * @return a new {@code Builder}
+     */
+    public static <JSON> Builder<JSON> builder(JsonEncoder defaultEncoder, JsonDecoder<JSON> defaultDecoder) {
+        return new Builder<>(defaultEncoder, defaultDecoder);
+    }
+
+    private final Map<Class<?>, JsonEncoder> encoders;
+    private final Map<Type, JsonDecoder<?>> decoders;
+    private final ClassValue<JsonEncoder> resolvedEncoders = new ClassValue<>() {
+        @Override
+        protected JsonEncoder computeValue(Class<?> type) {
+            return resolveEncoder(type);
+        }
+    };
+
+    private RoutingJsonLibrary(JsonEncoder encoder, JsonDecoder<JSON> decoder, Map<Class<?>, JsonEncoder> encoders,
+                               Map<Type, JsonDecoder<?>> decoders) {
+        super(encoder, decoder);
+        this.encoders = Map.copyOf(encoders);
+        this.decoders = Map.copyOf(decoders);
+    }
+
+    private JsonEncoder resolveEncoder(Class<?> type) {
+        // superclasses first, then interfaces in breadth-first order
+        for (var c = type; c != null; c = c.getSuperclass()) {
+            var encoder = encoders.get(c);
+            if (encoder != null) {
+                return encoder;
+            }
+        }
+        var queue = new ArrayDeque<Class<?>>();
+        for (var c = type; c != null; c = c.getSuperclass()) {
+            queue.addAll(Arrays.asList(c.getInterfaces()));
+        }
+        while (!queue.isEmpty()) {
+            var i = queue.poll();
+            var encoder = encoders.get(i);
+            if (encoder != null) {
+                return encoder;
+            }
+            queue.addAll(Arrays.asList(i.getInterfaces()));
+        }
+        return encoder;
+    }
+
+    /**
+     * Returns the encoder which encodes the objects of the specified class.
+     *
+     * @param type the class of the objects
+     * @return the encoder routed to the class, or the default encoder
+     */
+    public JsonEncoder encoderFor(Class<?> type) {
+        return resolvedEncoders.get(type);
+    }
+
+    private JsonEncoder encoderOf(Object obj) {
+        if (obj == null || encoders.isEmpty()) {
+            return encoder;
+        }
+        return resolvedEncoders.get(obj.getClass());
+    }
+
+    /**
+     * Returns the decoder which decodes the values of the specified type.
+     *
+     * @param type the target type
+     * @return the decoder routed to the type, or the default decoder
+     */
+    public JsonDecoder<?> decoderFor(Type type) {
+        if (decoders.isEmpty()) {
+            return decoder;
+        }
+        var routed = decoders.get(type);
+        if (routed == null && type instanceof ParameterizedType parameterizedType) {
+            routed = decoders.get(parameterizedType.getRawType());
+        }
+        return routed == null ? decoder : routed;
+    }
+
+    @Override
+    public byte[] dumpsToBytes(Object obj) throws JsonException {
+        return encoderOf(obj).dumpsToBytes(obj);
+    }
+
+    @Override
+    public String dumpsToString(Object obj) throws JsonException {
+        return encoderOf(obj).dumpsToString(obj);
+    }
+
+    @Override
+    public void dumps(Object obj, OutputStream out) throws JsonException {
+        encoderOf(obj).dumps(obj, out);
+    }
+
+    @Override
+    public int dumps(Object obj, ByteBuffer dst) throws JsonException {
+        return encoderOf(obj).dumps(obj, dst);
+    }
+
+    @Override
+    public void dumps(Object obj, WritableByteChannel out) throws JsonException {
+        encoderOf(obj).dumps(obj, out);
+    }
+
+    @Override
+    public int dumpsTo(Object obj, byte[] dest, int offset) throws JsonException {
+        return encoderOf(obj).dumpsTo(obj, dest, offset);
+    }
+
+    @Override
+    public <T> T loads(byte[] src, Class<T> type) throws JsonException {
+        return decoderFor(type).loads(src, type);
+    }
+
+    @Override
+    public <T> T loads(byte[] src, Type type) throws JsonException {
+        return decoderFor(type).loads(src, type);
+    }
+
+    @Override
+    public <T> T loads(InputStream src, Class<T> type) throws JsonException {
+        return decoderFor(type).loads(src, type);
+    }
+
+    @Override
+    public <T> T loads(InputStream src, Type type) throws JsonException {
+        return decoderFor(type).loads(src, type);
+    }
+
+    @Override
+    public <T> T loads(byte[] src, int offset, int length, Type type) throws JsonException {
+        return decoderFor(type).loads(src, offset, length, type);
+    }
+
+    @Override
+    public <T> T loads(ByteBuffer src, Type type) throws JsonException {
+        return decoderFor(type).loads(src, type);
+    }
+
+    @Override
+    public <T> Stream<T> loadsStream(InputStream src, Type type) throws JsonException {
+        return decoderFor(type).loadsStream(src, type);
+    }
+
+    @Override
+    public <T> Stream<T> loadsLines(InputStream src, Type type) throws JsonException {
+        return decoderFor(type).loadsLines(src, type);
+    }
+
+    @Override
+    public <T> T extract(byte[] src, String jsonPointer, Type type) throws JsonException {
+        return decoderFor(type).extract(src, jsonPointer, type);
+    }
+
+    /**
+     * Warms up each type on the encoder and the decoder routed to it, if they
+     * are {@link JsonLibrary}s.
+     */
+    @Override
+    public RoutingJsonLibrary<JSON> warmUp(Collection<? extends Type> types) {
+        var groups = new IdentityHashMap<JsonLibrary<?>, List<Type>>();
+        for (var type : types) {
+            var rawType = rawClass(type);
+            if (rawType != null && encoderFor(rawType) instanceof JsonLibrary<?> library) {
+                groups.computeIfAbsent(library, k -> new ArrayList<>()).add(type);
+            }
+            if (decoderFor(type) instanceof JsonLibrary<?> library) {
+                var group = groups.computeIfAbsent(library, k -> new ArrayList<>());
+                if (!group.contains(type)) {
+                    group.add(type);
+                }
+            }
+        }
+        groups.forEach(JsonLibrary::warmUp);
+        return this;
+    }
+
+    private static final Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> c) {
+            return c;
+        }
+        if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> c) {
+            return c;
+        }
+        return null;
+    }
+
+    /**
+     * The builder creates {@link RoutingJsonLibrary}s.
+     *
+     * @param <JSON> the type of dynamic JSON object
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public static final class Builder<JSON> {
+
+        private final JsonEncoder defaultEncoder;
+        private final JsonDecoder<JSON> defaultDecoder;
+        private final Map<Class<?>, JsonEncoder> encoders = new LinkedHashMap<>();
+        private final Map<Type, JsonDecoder<?>> decoders = new LinkedHashMap<>();
+        private final List<JsonLibrary<?>> candidates = new ArrayList<>();
+        private final Map<Type, Object> samples = new LinkedHashMap<>();
+        private int calibrationIterations = 1000;
+
+        private Builder(JsonEncoder defaultEncoder, JsonDecoder<JSON> defaultDecoder) {
+            this.defaultEncoder = Objects.requireNonNull(defaultEncoder, "defaultEncoder must not be null");
+            this.defaultDecoder = Objects.requireNonNull(defaultDecoder, "defaultDecoder must not be null");
+        }
+
+        /**
+         * Routes both encoding and decoding of the specified type to the
+         * specified library.
+         *
+         * @param type    the type
+         * @param library the library
+         * @return this builder
+         */
+        public Builder<JSON> route(Type type, JsonLibrary<?> library) {
+            return routeEncoder(type, library).routeDecoder(type, library);
+        }
+
+        /**
+         * Routes encoding of the objects of the specified type to the
+         * specified encoder.
+         * <p>
+         * Objects are routed by their runtime classes, so the raw class is
+         * used if the type is a {@link ParameterizedType}.
+         *
+         * @param type    the type
+         * @param encoder the encoder
+         * @return this builder
+         */
+        public Builder<JSON> routeEncoder(Type type, JsonEncoder encoder) {
+            var rawType = rawClass(Objects.requireNonNull(type, "type must not be null"));
+            if (rawType == null) {
+                throw new IllegalArgumentException("unsupported type " + type.getTypeName() + " for encoding");
+            }
+            encoders.put(rawType, Objects.requireNonNull(encoder, "encoder must not be null"));
+            return this;
+        }
+
+        /**
+         * Routes decoding of the specified type to the specified decoder.
+         *
+         * @param type    the type
+         * @param decoder the decoder
+         * @return this builder
+         */
+        public Builder<JSON> routeDecoder(Type type, JsonDecoder<?> decoder) {
+            decoders.put(Objects.requireNonNull(type, "type must not be null"),
+                    Objects.requireNonNull(decoder, "decoder must not be null"));
+            return this;
+        }
+
+        /**
+         * Adds the candidate libraries for self-calibration.
+         *
+         * @param libraries the libraries
+         * @return this builder
+         */
+        public Builder<JSON> candidates(JsonLibrary<?>... libraries) {
+            for (var library : libraries) {
+                candidates.add(Objects.requireNonNull(library, "library must not be null"));
+            }
+            return this;
+        }
+
+        /**
+         * Registers the specified type to be calibrated with the specified
+         * sample value when building.
+         * <p>
+         * The sample should be a typical value of the type, since each
+         * candidate library is measured by encoding it and decoding the JSON
+         * encoded by the default encoder. A candidate is accepted only if it
+         * encodes the sample to the same bytes as the default encoder, or its
+         * decoded value is re-encoded by the default encoder to the same
+         * bytes. Explicit routes of the same type take precedence over the
+         * calibration result.
+         *
+         * @param type   the type
+         * @param sample the sample value
+         * @return this builder
+         */
+        public Builder<JSON> calibrate(Type type, Object sample) {
+            samples.put(Objects.requireNonNull(type, "type must not be null"),
+                    Objects.requireNonNull(sample, "sample must not be null"));
+            return this;
+        }
+
+        /**
+         * Sets the number of iterations of each measurement in
+         * self-calibration.
+         * <p>
+         * The default is {@code 1000}.
+         *
+         * @param calibrationIterations the number of iterations
+         * @return this builder
+         */
+        public Builder<JSON> calibrationIterations(int calibrationIterations) {
+            if (calibrationIterations <= 0) {
+                throw new IllegalArgumentException("calibrationIterations must be positive");
+            }
+            this.calibrationIterations = calibrationIterations;
+            return this;
+        }
+
+        /**
+         * Calibrates the registered types, if any, and returns a new
+         * {@link RoutingJsonLibrary} with all the routes.
+         *
+         * @return a new {@code RoutingJsonLibrary}
+         */
+        public RoutingJsonLibrary<JSON> build() {
+            var encoders = new LinkedHashMap<Class<?>, JsonEncoder>();
+            var decoders = new LinkedHashMap<Type, JsonDecoder<?>>();
+            if (!candidates.isEmpty()) {
+                var calibration = new Calibration(candidates, calibrationIterations, defaultEncoder);
+                for (var entry : samples.entrySet()) {
+                    var type = entry.getKey();
+                    var sample = entry.getValue();
+                    var rawType = rawClass(type);
+                    if (rawType != null) {
+                        var fastest = calibration.fastestEncoder(sample);
+                        if (fastest != null) {
+                            logger.debug("Calibrated encoder of {}: {}", type.getTypeName(), fastest);
+                            encoders.put(rawType, fastest);
+                        }
+                    }
+                    var fastest = calibration.fastestDecoder(defaultEncoder.dumpsToBytes(sample), type);
+                    if (fastest != null) {
+                        logger.debug("Calibrated decoder of {}: {}", type.getTypeName(), fastest);
+                        decoders.put(type, fastest);
+                    }
+                }
+            }
+            encoders.putAll(this.encoders);
+            decoders.putAll(this.decoders);
+            return new RoutingJsonLibrary<>(defaultEncoder, defaultDecoder, encoders, decoders);
+        }
+
+    }
+
+    private static final class Calibration {
+
+        @FunctionalInterface
+        private interface Task {
+            int run(JsonLibrary<?> library);
+        }
+
+        private final List<JsonLibrary<?>> candidates;
+        private final int iterations;
+        private final JsonEncoder defaultEncoder;
+        @SuppressWarnings("unused")
+        private volatile int sink;
+
+        private Calibration(List<JsonLibrary<?>> candidates, int iterations, JsonEncoder defaultEncoder) {
+            this.candidates = candidates;
+            this.iterations = iterations;
+            this.defaultEncoder = defaultEncoder;
+        }
+
+        /**
+         * Only the candidates encoding the sample to exactly the same bytes
+         * as the default encoder are accepted, so that the wire format never
+         * depends on the calibration result.
+         */
+        private JsonLibrary<?> fastestEncoder(Object sample) {
+            var expected = defaultEncoder.dumpsToBytes(sample);
+            return fastest(library -> Arrays.equals(expected, library.dumpsToBytes(sample)),
+                    library -> library.dumpsToBytes(sample).length);
+        }
+
+        /**
+         * Only the candidates whose decoded values are re-encoded by the
+         * default encoder to exactly the same bytes are accepted.
+         */
+        private JsonLibrary<?> fastestDecoder(byte[] src, Type type) {
+            return fastest(library -> Arrays.equals(src, defaultEncoder.dumpsToBytes(library.loads(src, type))),
+                    library -> Objects.hashCode(library.loads(src, type)));
+        }
+
+        private JsonLibrary<?> fastest(Predicate<JsonLibrary<?>> compatible, Task task) {
+            JsonLibrary<?> fastest = null;
+            var minNanos = Long.MAX_VALUE;
+            for (var library : candidates) {
+                try {
+                    if (!compatible.test(library)) {
+                        logger.debug("Skip candidate {} which is not compatible with the default library", library);
+                        continue;
+                    }
+                    // the first round warms up the code paths, the second one is measured
+                    measure(task, library);
+                    var nanos = measure(task, library);
+                    if (nanos < minNanos) {
+                        minNanos = nanos;
+                        fastest = library;
+                    }
+                } catch (RuntimeException e) {
+                    logger.debug("Skip candidate {} which failed in calibration", library, e);
+                }
+            }
+            return fastest;
+        }
+
+        private long measure(Task task, JsonLibrary<?> library) {
+            var result = 0;
+            var start = System.nanoTime();
+            for (var i = 0; i < iterations; i++) {
+                result += task.run(library);
+            }
+            var nanos = System.nanoTime() - start;
+            sink = result;
+            return nanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.fmjsjx.libcommon.json;
+
+import com.github.fmjsjx.libcommon.collection.BoundedCache;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A thread-safe and bounded cache of values keyed by {@link Type}.
+ * <p>
+ * Lookups of cached types are lock-free. When the cache is full, a type which
+ * has not been used recently is evicted by the CLOCK policy of
+ * {@link BoundedCache} before a new one is put, so that types generated
+ * dynamically can never make the cache grow without bound, while the hot
+ * types stay in the cache.
+ *
+ * @param <V> the type of the cached values
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class TypeCache<V> {
+
+    /**
+     * The default maximum number of cached types.
+     */
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final BoundedCache<Type, V> values;
+    private final Function<? super Type, ? extends V> factory;
+
+    TypeCache(int maxSize, Function<? super Type, ? extends V> factory) {
+        this.values = new BoundedCache<>(maxSize);
+        this.factory = Objects.requireNonNull(factory, "factory must not be null");
+    }
+
+    /**
+     * Returns the cached value of the specified type, or creates and caches a
+     * new one if absent.
+     *
+     * @param type the type
+     * @return the value
+     */
+    V get(Type type) {
+        return values.computeIfAbsent(type, factory);
+    }
+
+    /**
+     * Returns the number of cached types.
+     *
+     * @return the number of cached types
+     */
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns the maximum number of cached types.
+     *
+     * @return the maximum number of cached types
+     */
+    int maxSize() {
+        return values.maxSize();
+    }
+
+}
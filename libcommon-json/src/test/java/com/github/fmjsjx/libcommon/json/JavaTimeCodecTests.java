@@ -0,0 +1,135 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JavaTimeCodecTests {
+
+    private static final List<LocalDateTime> DATE_TIMES = List.of(
+            LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+            LocalDateTime.of(2024, 1, 2, 3, 4),
+            LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(2024, 2, 29, 0, 0, 0, 100_000_000),
+            LocalDateTime.of(2024, 2, 29, 0, 0, 0, 120_000),
+            LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1),
+            LocalDateTime.of(1, 1, 1, 12, 30),
+            LocalDateTime.of(0, 1, 1, 12, 30),
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            LocalDateTime.of(10000, 1, 1, 0, 0),
+            LocalDateTime.of(-1, 1, 1, 0, 0)
+    );
+
+    private static <T extends TemporalAccessor> void assertIso(JavaTimeCodec<T> codec, DateTimeFormatter formatter,
+                                                              T value) {
+        var expected = formatter.format(value);
+        assertEquals(expected, codec.format(value));
+        var buf = new byte[JavaTimeCodec.BUFFER_SIZE + 2];
+        var end = codec.write(value, buf, 2);
+        assertEquals(expected, new String(buf, 2, end - 2, StandardCharsets.ISO_8859_1));
+        assertEquals(value, codec.parse(expected));
+        assertEquals(value, codec.parse(buf, 2, end));
+    }
+
+    @Test
+    public void testScratchBuffer() {
+        var buf = JavaTimeCodec.scratchBuffer();
+        assertSame(buf, JavaTimeCodec.scratchBuffer());
+        var codec = JavaTimeCodec.iso(LocalDateTime.class);
+        var value = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 678_000_000);
+        var end = codec.write(value, buf, 1);
+        assertEquals("2024-01-02T03:04:05.678", new String(buf, 1, end - 1, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testLocalDateTime() {
+        var codec = JavaTimeCodec.iso(LocalDateTime.class);
+        for (var value : DATE_TIMES) {
+            assertIso(codec, DateTimeFormatter.ISO_LOCAL_DATE_TIME, value);
+        }
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000), codec.parse("2024-01-02T03:04:05.6"));
+        assertThrows(DateTimeException.class, () -> codec.parse("2024-13-02T03:04:05"));
+        assertThrows(DateTimeException.class, () -> codec.parse("2024-01-02 03:04:05"));
+        assertThrows(DateTimeException.class, () -> codec.parse("2024-0１-02T03:04:05"));
+    }
+
+    @Test
+    public void testLocalDate() {
+        var codec = JavaTimeCodec.iso(LocalDate.class);
+        for (var value : DATE_TIMES) {
+            assertIso(codec, DateTimeFormatter.ISO_LOCAL_DATE, value.toLocalDate());
+        }
+        assertThrows(DateTimeException.class, () -> codec.parse("2024-02-30"));
+        assertThrows(DateTimeException.class, () -> codec.parse("2024-2-3"));
+    }
+
+    @Test
+    public void testLocalTime() {
+        var codec = JavaTimeCodec.iso(LocalTime.class);
+        for (var value : DATE_TIMES) {
+            assertIso(codec, DateTimeFormatter.ISO_LOCAL_TIME, value.toLocalTime());
+        }
+        assertEquals(LocalTime.of(10, 15), codec.parse("10:15"));
+        assertThrows(DateTimeException.class, () -> codec.parse("25:00"));
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaTimeCodec.of(LocalTime.class, JsonTimeFormat.EPOCH_MILLIS, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testOffsetDateTime() {
+        var codec = JavaTimeCodec.iso(OffsetDateTime.class);
+        var offsets = List.of(ZoneOffset.UTC, ZoneOffset.ofHours(8), ZoneOffset.ofHoursMinutes(-9, -30),
+                ZoneOffset.ofHoursMinutesSeconds(1, 2, 3));
+        for (var value : DATE_TIMES) {
+            for (var offset : offsets) {
+                assertIso(codec, DateTimeFormatter.ISO_OFFSET_DATE_TIME, value.atOffset(offset));
+            }
+        }
+        assertThrows(DateTimeException.class, () -> codec.parse("2024-01-02T03:04:05"));
+    }
+
+    @Test
+    public void testZonedDateTime() {
+        var codec = JavaTimeCodec.iso(ZonedDateTime.class);
+        var zones = List.of(ZoneOffset.UTC, ZoneOffset.ofHours(8), ZoneId.of("Asia/Shanghai"),
+                ZoneId.of("America/New_York"), ZoneId.of("UTC"));
+        for (var value : DATE_TIMES) {
+            for (var zone : zones) {
+                assertIso(codec, DateTimeFormatter.ISO_ZONED_DATE_TIME, value.atZone(zone));
+            }
+        }
+        assertEquals(ZonedDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneId.of("Asia/Shanghai")),
+                codec.parse("2024-01-02T03:04:05+08:00[Asia/Shanghai]"));
+        // the offset wins over the local date-time, like DateTimeFormatter does
+        assertEquals(DateTimeFormatter.ISO_ZONED_DATE_TIME.parse("2024-01-02T03:04:05Z[Asia/Shanghai]", ZonedDateTime::from),
+                codec.parse("2024-01-02T03:04:05Z[Asia/Shanghai]"));
+    }
+
+    @Test
+    public void testEpoch() {
+        var zone = ZoneId.of("Asia/Shanghai");
+        var millis = JavaTimeCodec.of(LocalDateTime.class, JsonTimeFormat.EPOCH_MILLIS, zone);
+        var value = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 678_000_000);
+        var epochMillis = value.atZone(zone).toInstant().toEpochMilli();
+        assertTrue(millis.isNumeric());
+        assertEquals(epochMillis, millis.toEpoch(value));
+        assertEquals(value, millis.fromEpoch(epochMillis));
+        var seconds = JavaTimeCodec.of(ZonedDateTime.class, JsonTimeFormat.EPOCH_SECONDS, zone);
+        assertEquals(epochMillis / 1000, seconds.toEpoch(value.atZone(zone)));
+        assertEquals(value.withNano(0).atZone(zone), seconds.fromEpoch(epochMillis / 1000));
+        var date = JavaTimeCodec.of(LocalDate.class, JsonTimeFormat.EPOCH_MILLIS, zone);
+        assertEquals(LocalDate.of(2024, 1, 2), date.fromEpoch(date.toEpoch(LocalDate.of(2024, 1, 2))));
+        var offset = JavaTimeCodec.of(OffsetDateTime.class, JsonTimeFormat.ISO_8601, ZoneOffset.UTC);
+        assertFalse(offset.isNumeric());
+        assertEquals(Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC), offset.fromEpoch(epochMillis));
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaTimeCodec.of(Instant.class, JsonTimeFormat.EPOCH_MILLIS, ZoneOffset.UTC));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonBuffersTests {
+
+    @Test
+    public void testIsWhole() {
+        var src = new byte[4];
+        assertTrue(JsonBuffers.isWhole(src, 0, 4));
+        assertFalse(JsonBuffers.isWhole(src, 1, 3));
+        assertFalse(JsonBuffers.isWhole(src, 0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> JsonBuffers.isWhole(src, 2, 3));
+    }
+
+    @Test
+    public void testNewInputStream() throws IOException {
+        var buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("xx[1,2]".getBytes(StandardCharsets.UTF_8)).flip().position(2);
+        var in = JsonBuffers.newInputStream(buffer);
+        assertEquals(5, in.available());
+        assertEquals('[', in.read());
+        assertEquals("1,2]", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[4], 0, 4));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testNewOutputStream() throws IOException {
+        var buffer = ByteBuffer.allocate(4);
+        var out = JsonBuffers.newOutputStream(buffer);
+        out.write('[');
+        out.write("1]".getBytes(StandardCharsets.UTF_8));
+        assertEquals(3, buffer.position());
+        assertThrows(IOException.class, () -> out.write("xx".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, buffer.position());
+
+        var bytes = new ByteArrayOutputStream();
+        var channelOut = JsonBuffers.newOutputStream(Channels.newChannel(bytes));
+        channelOut.write('{');
+        channelOut.write("\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        channelOut.close();
+        assertEquals("{\"a\":1}", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+}
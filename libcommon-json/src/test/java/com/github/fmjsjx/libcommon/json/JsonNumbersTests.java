@@ -0,0 +1,36 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonNumbersTests {
+
+    @Test
+    public void testIsIntegral() {
+        assertTrue(JsonNumbers.isIntegral("0"));
+        assertTrue(JsonNumbers.isIntegral("-123"));
+        assertTrue(JsonNumbers.isIntegral("12345678901234567890123"));
+        assertFalse(JsonNumbers.isIntegral("1.0"));
+        assertFalse(JsonNumbers.isIntegral("1e3"));
+        assertFalse(JsonNumbers.isIntegral("-1E-3"));
+    }
+
+    @Test
+    public void testParseIntegral() {
+        assertEquals(123, JsonNumbers.parseIntegral("123"));
+        assertEquals(-123456789, JsonNumbers.parseIntegral("-123456789"));
+        assertEquals(Integer.MAX_VALUE, JsonNumbers.parseIntegral("2147483647"));
+        assertEquals(Integer.MIN_VALUE, JsonNumbers.parseIntegral("-2147483648"));
+        assertEquals(2147483648L, JsonNumbers.parseIntegral("2147483648"));
+        assertEquals(1234567890123L, JsonNumbers.parseIntegral("1234567890123"));
+        assertEquals(Long.MAX_VALUE, JsonNumbers.parseIntegral("9223372036854775807"));
+        assertEquals(Long.MIN_VALUE, JsonNumbers.parseIntegral("-9223372036854775808"));
+        assertEquals(new BigInteger("9223372036854775808"), JsonNumbers.parseIntegral("9223372036854775808"));
+        assertEquals(new BigInteger("1234567890123456789012345"), JsonNumbers.parseIntegral("1234567890123456789012345"));
+        assertEquals(1, JsonNumbers.parseIntegral("0000000000000000000001"));
+    }
+
+}
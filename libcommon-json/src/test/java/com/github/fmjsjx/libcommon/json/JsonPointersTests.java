@@ -0,0 +1,112 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonPointersTests {
+
+    @Test
+    public void testParse() {
+        assertArrayEquals(new String[0], JsonPointers.parse(""));
+        assertArrayEquals(new String[]{""}, JsonPointers.parse("/"));
+        assertArrayEquals(new String[]{"a", "0", "b"}, JsonPointers.parse("/a/0/b"));
+        assertArrayEquals(new String[]{"a/b", "m~n", "~1"}, JsonPointers.parse("/a~1b/m~0n/~01"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPointers.parse("a"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPointers.parse("/a~2"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPointers.parse("/a~"));
+    }
+
+    @Test
+    public void testIndex() {
+        assertEquals(0, JsonPointers.index("0"));
+        assertEquals(123, JsonPointers.index("123"));
+        assertEquals(-1, JsonPointers.index("01"));
+        assertEquals(-1, JsonPointers.index("-"));
+        assertEquals(-1, JsonPointers.index("1a"));
+        assertEquals(-1, JsonPointers.index(""));
+        assertEquals(-1, JsonPointers.index("2147483648"));
+    }
+
+    @Test
+    public void testLocate() {
+        var json = """
+                 {"type" : "login", "skip": {"x": [1, "]}", {"y": null}]},
+                  "id":123, "items":[true, {"a\\"b":"c"}, -1.5e3], "esc\\u00e9": "é", "": 0, "a/b": 1}\
+                """;
+        assertEquals("\"login\"", locate(json, "/type"));
+        assertEquals("123", locate(json, "/id"));
+        assertEquals("true", locate(json, "/items/0"));
+        assertEquals("{\"a\\\"b\":\"c\"}", locate(json, "/items/1"));
+        assertEquals("\"c\"", locate(json, "/items/1/a\"b"));
+        assertEquals("-1.5e3", locate(json, "/items/2"));
+        assertEquals("null", locate(json, "/skip/x/2/y"));
+        assertEquals("\"é\"", locate(json, "/escé"));
+        assertEquals("0", locate(json, "/"));
+        assertEquals("1", locate(json, "/a~1b"));
+        assertEquals(json.strip(), locate(json, ""));
+        assertNull(locate(json, "/none"));
+        assertNull(locate(json, "/items/3"));
+        assertNull(locate(json, "/items/-"));
+        assertNull(locate(json, "/items/a"));
+        assertNull(locate(json, "/id/x"));
+        assertNull(locate("{}", "/a"));
+        assertNull(locate("[]", "/0"));
+
+        var src = "xx[1,2]yy".getBytes(StandardCharsets.UTF_8);
+        var range = JsonPointers.locate(src, 2, 5, JsonPointers.parse("/1"));
+        assertEquals(5, JsonPointers.start(range));
+        assertEquals(1, JsonPointers.length(range));
+
+        assertThrows(JsonException.class, () -> locate("{\"a\":1", "/b"));
+        assertThrows(JsonException.class, () -> locate("{\"a\" 1}", "/a"));
+        assertThrows(JsonException.class, () -> locate("[1 2]", "/1"));
+        assertThrows(JsonException.class, () -> locate("{\"\\u00zz\":1}", "/a"));
+        assertThrows(JsonException.class, () -> locate("{\"\\ud83d\\udzzz\":1}", "/a"));
+        assertEquals("1", locate("{\"\\ud83d\\ude00\":1}", "/\ud83d\ude00"));
+    }
+
+    @Test
+    public void testLocateAll() {
+        var json = """
+                 {"type" : "login", "skip": {"x": [1, "]}", {"y": null}]},
+                  "id":123, "items":[true, {"a\\"b":"c"}, -1.5e3], "esc\\u00e9": "é", "": 0, "a/b": 1, "type": "dup"}\
+                """;
+        var pointers = new String[]{"/items/1/a\"b", "/type", "/items/2", "/none", "/skip/x/2/y", "/items/1",
+                "/items/-", "/id/x", "/esc\u00e9", "/", "/a~1b", "", "/items/3", "/type", "/skip/x/9"};
+        var src = json.getBytes(StandardCharsets.UTF_8);
+        var tokens = new String[pointers.length][];
+        for (var i = 0; i < pointers.length; i++) {
+            tokens[i] = JsonPointers.parse(pointers[i]);
+        }
+        var ranges = JsonPointers.locateAll(src, 0, src.length, tokens);
+        assertEquals(pointers.length, ranges.length);
+        for (var i = 0; i < pointers.length; i++) {
+            assertEquals(JsonPointers.locate(src, 0, src.length, tokens[i]), ranges[i], pointers[i]);
+        }
+        assertEquals(0, JsonPointers.locateAll(src, 0, src.length, new String[0][]).length);
+
+        // stops as soon as all values are located
+        var partial = "{\"a\":{\"b\":1,\"c\":2}, broken".getBytes(StandardCharsets.UTF_8);
+        var partialRanges = JsonPointers.locateAll(partial, 0, partial.length,
+                new String[][]{JsonPointers.parse("/a/c"), JsonPointers.parse("/a/b")});
+        assertEquals("2", new String(partial, JsonPointers.start(partialRanges[0]),
+                JsonPointers.length(partialRanges[0]), StandardCharsets.UTF_8));
+        assertEquals("1", new String(partial, JsonPointers.start(partialRanges[1]),
+                JsonPointers.length(partialRanges[1]), StandardCharsets.UTF_8));
+        assertThrows(JsonException.class, () -> JsonPointers.locateAll(partial, 0, partial.length,
+                new String[][]{JsonPointers.parse("/a/c"), JsonPointers.parse("/b")}));
+    }
+
+    private static String locate(String json, String jsonPointer) {
+        var src = json.getBytes(StandardCharsets.UTF_8);
+        var range = JsonPointers.locate(src, 0, src.length, JsonPointers.parse(jsonPointer));
+        if (range == JsonPointers.MISSING) {
+            return null;
+        }
+        return new String(src, JsonPointers.start(range), JsonPointers.length(range), StandardCharsets.UTF_8);
+    }
+
+}
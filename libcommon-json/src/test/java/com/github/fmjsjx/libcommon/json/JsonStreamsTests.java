@@ -0,0 +1,51 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonStreamsTests {
+
+    private static List<String> arrayElements(String json) {
+        var elements = new ArrayList<String>();
+        var it = JsonStreams.arrayElements(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        it.forEachRemaining(e -> elements.add(new String(e, StandardCharsets.UTF_8)));
+        return elements;
+    }
+
+    @Test
+    public void testArrayElements() {
+        assertEquals(List.of(), arrayElements("[]"));
+        assertEquals(List.of(), arrayElements(" [ \n ] "));
+        assertEquals(List.of("1", "-2.5e3", "true", "null", "\"a,]\\\"b\""),
+                arrayElements("[1, -2.5e3,true ,null,\n\"a,]\\\"b\"]"));
+        assertEquals(List.of("{\"a\":[1,{\"b\":\"}]\"}]}", "[[],[1]]", "{}"),
+                arrayElements("[{\"a\":[1,{\"b\":\"}]\"}]}, [[],[1]] ,{}]"));
+        var large = "\"" + "x".repeat(20000) + "\"";
+        assertEquals(List.of(large, "中文"), arrayElements("[" + large + ",中文]"));
+
+        assertThrows(JsonException.class, () -> arrayElements("{}"));
+        assertThrows(JsonException.class, () -> arrayElements("[1,]"));
+        assertThrows(JsonException.class, () -> arrayElements("[1 2]"));
+        assertThrows(JsonException.class, () -> arrayElements("[{\"a\":1}"));
+        assertThrows(JsonException.class, () -> arrayElements("[\"abc"));
+        assertThrows(JsonException.class, () -> arrayElements("[1,2] garbage"));
+        assertThrows(JsonException.class, () -> arrayElements("[] ]"));
+        assertThrows(JsonException.class, () -> arrayElements("[1}"));
+        assertThrows(JsonException.class, () -> arrayElements("[1,true}"));
+    }
+
+    @Test
+    public void testLines() {
+        var src = new ByteArrayInputStream("{\"a\":1}\n\n  \r\n[2]\r\n3".getBytes(StandardCharsets.UTF_8));
+        var lines = new ArrayList<String>();
+        JsonStreams.lines(JsonStreams.newReader(src)).forEachRemaining(lines::add);
+        assertEquals(List.of("{\"a\":1}", "[2]", "3"), lines);
+    }
+
+}
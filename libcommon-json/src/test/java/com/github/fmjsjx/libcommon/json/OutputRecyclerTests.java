@@ -0,0 +1,83 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutputRecyclerTests {
+
+    @Test
+    public void testPlatformThread() {
+        var recycler = new OutputRecycler<>(() -> new JsonOutputBuffer(16), JsonOutputBuffer::capacity);
+        var buffer = recycler.acquire();
+        // nested acquisition gets a new buffer
+        var nested = recycler.acquire();
+        assertNotSame(buffer, nested);
+        recycler.release(nested);
+        recycler.release(buffer);
+        assertSame(buffer, recycler.acquire());
+        recycler.release(buffer);
+
+        // too large buffers will not be recycled
+        var large = recycler.acquire();
+        large.write(new byte[OutputRecycler.MAX_RECYCLED_CAPACITY + 1], 0, OutputRecycler.MAX_RECYCLED_CAPACITY + 1);
+        recycler.release(large);
+        var next = recycler.acquire();
+        assertNotSame(large, next);
+        assertEquals(16, next.capacity());
+        recycler.release(next);
+
+        // discarded buffers will not be recycled
+        var discarded = recycler.acquire();
+        recycler.discard(discarded);
+        next = recycler.acquire();
+        assertNotSame(discarded, next);
+        recycler.release(next);
+        assertSame(next, recycler.acquire());
+        recycler.release(next);
+    }
+
+    @Test
+    public void testVirtualThread() throws InterruptedException {
+        var recycler = new OutputRecycler<>(() -> new JsonOutputBuffer(16), JsonOutputBuffer::capacity);
+        var first = new AtomicReference<JsonOutputBuffer>();
+        var second = new AtomicReference<JsonOutputBuffer>();
+        Thread.ofVirtual().start(() -> {
+            var buffer = recycler.acquire();
+            first.set(buffer);
+            recycler.release(buffer);
+        }).join();
+        Thread.ofVirtual().start(() -> {
+            var buffer = recycler.acquire();
+            second.set(buffer);
+            recycler.release(buffer);
+        }).join();
+        assertNotNull(first.get());
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    public void testJsonOutputBuffer() {
+        var buffer = JsonOutputBuffer.acquire();
+        try {
+            buffer.write('[');
+            var bytes = "\"中文\"]".getBytes(StandardCharsets.UTF_8);
+            buffer.write(bytes, 0, bytes.length);
+            assertEquals("[\"中文\"]", buffer.toUtf8String());
+            assertArrayEquals("[\"中文\"]".getBytes(StandardCharsets.UTF_8), buffer.toByteArray());
+        } finally {
+            buffer.release();
+        }
+        var again = JsonOutputBuffer.acquire();
+        try {
+            assertSame(buffer, again);
+            assertEquals(0, again.size());
+        } finally {
+            again.release();
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutingJsonLibraryTests {
+
+    @Test
+    public void testRoute() throws Exception {
+        var a = new TestLibrary("a", 0);
+        var b = new TestLibrary("b", 0);
+        var c = new TestLibrary("c", 0);
+        var library = RoutingJsonLibrary.builder(a)
+                .route(Number.class, b)
+                .routeEncoder(CharSequence.class, c)
+                .routeDecoder(List.class, c)
+                .build();
+
+        assertEquals("a", library.dumpsToString(Map.of()));
+        assertEquals("a", library.dumpsToString(null));
+        assertEquals("b", library.dumpsToString(1));
+        assertEquals("b", library.dumpsToString(1L));
+        assertEquals("c", library.dumpsToString("text"));
+        assertEquals("c", library.dumpsToString(new StringBuilder()));
+        assertArrayEquals("b".getBytes(), library.dumpsToBytes(1.0));
+        var out = new ByteArrayOutputStream();
+        library.dumps(1, out);
+        assertEquals("b", out.toString());
+        assertSame(b, library.encoderFor(Integer.class));
+        assertSame(a, library.encoderFor(Object.class));
+
+        assertEquals("a", library.loads("{}"));
+        assertEquals("a", library.loads("{}", Map.class));
+        assertEquals("b", library.loads("1", Number.class));
+        assertEquals("a", library.loads("1", Integer.class));
+        assertEquals("c", library.loads("[]", List.class));
+        assertEquals("c", library.loads("[]", new ParameterizedTypeImpl(List.class, String.class)));
+        assertEquals("c", library.loads("[]".getBytes(), 0, 2, List.class));
+        assertSame(a, library.decoderFor(Map.class));
+    }
+
+    @Test
+    public void testCalibrate() {
+        var sample = new TestValue("x");
+        var slow = new TestLibrary("slow", 100_000, "", "x");
+        var fast = new TestLibrary("fast", 0, "", "x");
+        var library = JsonLibrary.routing(slow, slow)
+                .candidates(slow, fast)
+                .calibrate(TestValue.class, sample)
+                .calibrationIterations(10)
+                .build();
+        assertSame(fast, library.encoderFor(TestValue.class));
+        assertSame(fast, library.decoderFor(TestValue.class));
+        assertSame(slow, library.encoderFor(String.class));
+        assertEquals("x", library.dumpsToString(sample));
+        assertSame(slow, library.decoderFor(String.class));
+
+        // explicit routes take precedence
+        library = JsonLibrary.routing(slow, slow)
+                .candidates(slow, fast)
+                .calibrate(TestValue.class, sample)
+                .calibrationIterations(10)
+                .route(TestValue.class, slow)
+                .build();
+        assertSame(slow, library.encoderFor(TestValue.class));
+        assertSame(slow, library.decoderFor(TestValue.class));
+    }
+
+    @Test
+    public void testCalibrateIncompatible() {
+        var sample = new TestValue("x");
+        var slow = new TestLibrary("slow", 100_000, "", "x");
+        // encodes to different JSON
+        var encodeOther = new TestLibrary("encode-other", 0, "!", "x");
+        var library = JsonLibrary.routing(slow, slow)
+                .candidates(slow, encodeOther)
+                .calibrate(TestValue.class, sample)
+                .calibrationIterations(10)
+                .build();
+        assertSame(slow, library.encoderFor(TestValue.class));
+        assertSame(encodeOther, library.decoderFor(TestValue.class));
+        assertEquals("x", library.dumpsToString(sample));
+
+        // decodes to different value
+        var decodeOther = new TestLibrary("decode-other", 0, "", "y");
+        library = JsonLibrary.routing(slow, slow)
+                .candidates(slow, decodeOther)
+                .calibrate(TestValue.class, sample)
+                .calibrationIterations(10)
+                .build();
+        assertSame(decodeOther, library.encoderFor(TestValue.class));
+        assertSame(slow, library.decoderFor(TestValue.class));
+    }
+
+    private record TestValue(String text) {
+    }
+
+    @Test
+    public void testWarmUp() {
+        var a = new TestLibrary("a", 0);
+        var b = new TestLibrary("b", 0);
+        var library = RoutingJsonLibrary.builder(a).route(Integer.class, b).build();
+        assertSame(library, library.warmUp(List.of(Integer.class, String.class)));
+        assertEquals(List.of(String.class), a.warmedUp);
+        assertEquals(List.of(Integer.class), b.warmedUp);
+    }
+
+    private static final class TestLibrary implements JsonLibrary<Object> {
+
+        private final String name;
+        private final int spins;
+        private final String suffix;
+        private final String decodedText;
+        private final List<Type> warmedUp = new ArrayList<>();
+
+        private TestLibrary(String name, int spins) {
+            this(name, spins, "", null);
+        }
+
+        /**
+         * Test values are encoded as their texts with the suffix, and all
+         * JSON is decoded as a test value with the decoded text if it is not
+         * {@code null}.
+         */
+        private TestLibrary(String name, int spins, String suffix, String decodedText) {
+            this.name = name;
+            this.spins = spins;
+            this.suffix = suffix;
+            this.decodedText = decodedText;
+        }
+
+        private String encode(Object obj) {
+            var text = work();
+            return obj instanceof TestValue value ? value.text() + suffix : text;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T decode() {
+            var text = work();
+            return (T) (decodedText == null ? text : new TestValue(decodedText));
+        }
+
+        private String work() {
+            var x = 0L;
+            for (var i = 0; i < spins; i++) {
+                x += Long.hashCode(System.nanoTime() ^ i);
+            }
+            return x == 42 ? name + " " : name;
+        }
+
+        @Override
+        public byte[] dumpsToBytes(Object obj) throws JsonException {
+            return encode(obj).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String dumpsToString(Object obj) throws JsonException {
+            return encode(obj);
+        }
+
+        @Override
+        public void dumps(Object obj, OutputStream out) throws JsonException {
+            try {
+                out.write(dumpsToBytes(obj));
+            } catch (IOException e) {
+                throw new JsonException(e);
+            }
+        }
+
+        @Override
+        public <T> T loads(byte[] src) throws JsonException {
+            return decode();
+        }
+
+        @Override
+        public <T> T loads(byte[] src, Class<T> type) throws JsonException {
+            return decode();
+        }
+
+        @Override
+        public <T> T loads(byte[] src, Type type) throws JsonException {
+            return decode();
+        }
+
+        @Override
+        public <T> T loads(InputStream src) throws JsonException {
+            return decode();
+        }
+
+        @Override
+        public <T> T loads(InputStream src, Class<T> type) throws JsonException {
+            return decode();
+        }
+
+        @Override
+        public <T> T loads(InputStream src, Type type) throws JsonException {
+            return decode();
+        }
+
+        @Override
+        public JsonLibrary<Object> warmUp(Collection<? extends Type> types) {
+            warmedUp.addAll(types);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+}
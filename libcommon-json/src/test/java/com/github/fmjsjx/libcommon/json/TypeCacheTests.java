@@ -0,0 +1,47 @@
+package com.github.fmjsjx.libcommon.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeCacheTests {
+
+    @Test
+    public void testGet() {
+        var created = new AtomicInteger();
+        var cache = new TypeCache<String>(16, type -> {
+            created.incrementAndGet();
+            return type.getTypeName();
+        });
+        assertEquals("java.lang.String", cache.get(String.class));
+        assertSame(cache.get(String.class), cache.get(String.class));
+        assertEquals(1, created.get());
+        var listType = new ParameterizedTypeImpl(List.class, String.class);
+        assertEquals("java.util.List<java.lang.String>", cache.get(listType));
+        assertSame(cache.get(listType), cache.get(new ParameterizedTypeImpl(List.class, String.class)));
+        assertEquals(2, created.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testBounded() {
+        var cache = new TypeCache<>(4, Type::getTypeName);
+        for (var i = 0; i < 100; i++) {
+            var type = new ParameterizedTypeImpl(Map.class, String.class, new ParameterizedTypeImpl(List.class, Integer.class));
+            assertEquals(type.getTypeName(), cache.get(type));
+            assertEquals("java.lang.Integer", cache.get(Integer.class));
+            assertTrue(cache.size() <= cache.maxSize());
+        }
+        for (var c : List.of(String.class, Integer.class, Long.class, Double.class, Float.class, Short.class)) {
+            assertEquals(c.getName(), cache.get(c));
+            assertTrue(cache.size() <= 4);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TypeCache<>(0, Type::getTypeName));
+    }
+
+}
@@ -4,7 +4,11 @@ import com.github.fmjsjx.libcommon.jwt.exception.ExpiredJwtException;
 import com.github.fmjsjx.libcommon.jwt.exception.IllegalJwtException;
 import com.github.fmjsjx.libcommon.util.Base64Util;
 import com.github.fmjsjx.libcommon.util.DateTimeUtil;
+import com.github.fmjsjx.libcommon.util.concurrent.EasyThreadLocal;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -89,6 +93,24 @@ public abstract class AbstractJwtParser implements JwtParser {
         return components;
     }
 
+    /**
+     * Scans the JWT string only once and returns the {@link CompactJwt}.
+     * <p>
+     * Unlike {@link #splitJwtParts(String)}, this method does not create
+     * any substring, and the returned {@code CompactJwt} holds the ASCII
+     * bytes of the whole JWT string, so that the JWS signing input can be
+     * fed into {@code Mac}s and {@code Signature}s directly.
+     *
+     * @param jwt the JWT string to be scanned
+     * @return a {@code CompactJwt}
+     * @throws IllegalJwtException if the JWT string does not contain
+     *                             two {@code '.'}s
+     * @since 4.3
+     */
+    protected CompactJwt scanJwt(String jwt) throws IllegalJwtException {
+        return CompactJwt.scan(jwt);
+    }
+
     /**
      * Parse JOSE header.
      *
@@ -148,4 +170,133 @@ public abstract class AbstractJwtParser implements JwtParser {
         }
     }
 
+    /**
+     * A compact serialized JWT which was scanned only once.
+     *
+     * @author MJ Fang
+     * @since 4.3
+     */
+    protected static final class CompactJwt {
+
+        private static final EasyThreadLocal<byte[]> ENCODED_SIGNATURE_BUFFERS = EasyThreadLocal.create(() -> new byte[128]);
+
+        private static CompactJwt scan(String jwt) throws IllegalJwtException {
+            // Base64url strings are always ASCII, so the ISO-8859-1 encoding
+            // is just a copy of the compact string internal bytes
+            var bytes = jwt.getBytes(StandardCharsets.ISO_8859_1);
+            var firstDot = -1;
+            for (var i = 0; i < bytes.length; i++) {
+                if (bytes[i] == '.') {
+                    if (firstDot < 0) {
+                        firstDot = i;
+                    } else {
+                        return new CompactJwt(jwt, bytes, firstDot, i);
+                    }
+                }
+            }
+            throw new IllegalJwtException("Illegal JWT format");
+        }
+
+        private final String jwt;
+        private final byte[] bytes;
+        private final int firstDot;
+        private final int secondDot;
+
+        private CompactJwt(String jwt, byte[] bytes, int firstDot, int secondDot) {
+            this.jwt = jwt;
+            this.bytes = bytes;
+            this.firstDot = firstDot;
+            this.secondDot = secondDot;
+        }
+
+        /**
+         * Returns the Base64url encoded string for JOSE header.
+         *
+         * @return the Base64url encoded string for JOSE header
+         */
+        public String header() {
+            return jwt.substring(0, firstDot);
+        }
+
+        /**
+         * Returns the ASCII bytes of the whole JWT string.
+         * <p>
+         * The returned array is shared, so it <b>MUST NOT</b> be modified.
+         *
+         * @return the ASCII bytes of the whole JWT string
+         */
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        /**
+         * Returns the length of the JWS signing input, which always
+         * starts at {@code 0} of the {@link #bytes()}.
+         *
+         * @return the length of the JWS signing input
+         */
+        public int signingInputLength() {
+            return secondDot;
+        }
+
+        /**
+         * Decodes the payload into a newly-allocated byte array.
+         *
+         * @return the decoded payload
+         */
+        public byte[] decodePayload() {
+            return decode(firstDot + 1, secondDot);
+        }
+
+        /**
+         * Decodes the signature into a newly-allocated byte array.
+         *
+         * @return the decoded signature
+         */
+        public byte[] decodeSignature() {
+            return decode(secondDot + 1, bytes.length);
+        }
+
+        private byte[] decode(int start, int end) {
+            var buffer = Base64.getUrlDecoder().decode(ByteBuffer.wrap(bytes, start, end - start));
+            var array = buffer.array();
+            if (buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.limit() == array.length) {
+                return array;
+            }
+            return Arrays.copyOfRange(array, buffer.arrayOffset() + buffer.position(),
+                    buffer.arrayOffset() + buffer.limit());
+        }
+
+        /**
+         * Compares the signature of this JWT with the specified signature
+         * bytes in constant time.
+         * <p>
+         * The signature bytes are Base64url encoded into a reusable
+         * thread-local buffer and then compared with the encoded signature
+         * of this JWT, so that only the canonical encoding is accepted.
+         *
+         * @param signature the signature bytes
+         * @return {@code true} if equals, {@code false} otherwise
+         */
+        public boolean signatureEquals(byte[] signature) {
+            var offset = secondDot + 1;
+            var length = bytes.length - offset;
+            var encodedLength = (signature.length * 4 + 2) / 3;
+            if (encodedLength != length) {
+                return false;
+            }
+            var buffer = ENCODED_SIGNATURE_BUFFERS.get();
+            if (buffer.length < encodedLength) {
+                ENCODED_SIGNATURE_BUFFERS.set(buffer = new byte[encodedLength]);
+            }
+            Base64Util.encoder(true, true).encode(signature, buffer);
+            var result = 0;
+            for (var i = 0; i < length; i++) {
+                result |= buffer[i] ^ bytes[offset + i];
+            }
+            return result == 0;
+        }
+
+    }
+
 }
@@ -0,0 +1,168 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * The frozen {@link Jwt} cached by {@link CachingJwtParser}, which is
+ * shared by all callers parsing the same JWT string.
+ * <p>
+ * Immutable values, such as strings, numbers and booleans, are read from
+ * the shared parsed JSON objects directly, while the other values, such as
+ * nested JSON objects, lists and beans, are always decoded from the raw
+ * JSON again, so that a caller can never modify the header or the claims
+ * set seen by the others.
+ * <p>
+ * The frozen header and claims set are views rather than JSON values, so no
+ * JSON writer is registered for them globally. Use the raw JSON, such as
+ * {@link #getContent()}, to serialize them.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class CachedJwt implements Jwt {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class,
+            BigDecimal.class);
+
+    private static boolean isImmutable(Type type) {
+        return type instanceof Class<?> clazz && (clazz.isPrimitive() || clazz.isEnum() || IMMUTABLE_TYPES.contains(clazz));
+    }
+
+    private final Jwt jwt;
+    private final byte[] content;
+    private final FrozenJoseHeader header;
+    private final FrozenJwtClaimsSet claimsSet;
+
+    /**
+     * Constructs a new {@link CachedJwt} instance.
+     *
+     * @param jwt     the verified {@link Jwt}
+     * @param factory the {@link JsonRepresentedFactory} used to decode the
+     *                mutable values again
+     */
+    CachedJwt(Jwt jwt, JsonRepresentedFactory<?> factory) {
+        this.jwt = jwt;
+        this.content = jwt.getContent();
+        var header = jwt.getHeader();
+        this.header = new FrozenJoseHeader(header, factory, () -> switch (header) {
+            case AbstractJsonRepresented represented -> represented.rawJson;
+            case LazyParsedJoseHeader lazy -> lazy.rawJson();
+            default -> null;
+        });
+        var claimsSet = jwt.getClaimsSet();
+        var claimsSetRawJson = claimsSet instanceof AbstractJsonRepresented represented ? represented.rawJson : content;
+        this.claimsSet = new FrozenJwtClaimsSet(claimsSet, factory, () -> claimsSetRawJson);
+    }
+
+    @Override
+    public JoseHeader getHeader() {
+        return header;
+    }
+
+    @Override
+    public byte[] getContent() {
+        return content.clone();
+    }
+
+    @Override
+    public JwtClaimsSet getClaimsSet() {
+        return claimsSet;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedJwt(jwt=" + jwt + ")";
+    }
+
+    /**
+     * The frozen {@link JsonRepresented}, which decodes the mutable values
+     * from the raw JSON again on each call, or just reads them from the
+     * shared one if the raw JSON is unknown.
+     */
+    private static abstract class FrozenJsonRepresented implements JsonRepresented {
+
+        private final JsonRepresented shared;
+        private final JsonRepresentedFactory<?> factory;
+        private final Supplier<byte[]> rawJson;
+
+        private FrozenJsonRepresented(JsonRepresented shared, JsonRepresentedFactory<?> factory,
+                                      Supplier<byte[]> rawJson) {
+            this.shared = shared;
+            this.factory = factory;
+            this.rawJson = rawJson;
+        }
+
+        private JsonRepresented copy() {
+            var rawJson = this.rawJson.get();
+            return rawJson == null ? shared : factory.create(rawJson);
+        }
+
+        @Override
+        public <T> T get(String name, Class<? extends T> type) {
+            return isImmutable(type) ? shared.get(name, type) : copy().get(name, type);
+        }
+
+        @Override
+        public <T> T get(String name, Type type) {
+            return isImmutable(type) ? shared.get(name, type) : copy().get(name, type);
+        }
+
+        @Override
+        public String getString(String name) {
+            return shared.getString(name);
+        }
+
+        @Override
+        public OptionalInt getInt(String name) {
+            return shared.getInt(name);
+        }
+
+        @Override
+        public OptionalLong getLong(String name) {
+            return shared.getLong(name);
+        }
+
+        @Override
+        public OptionalDouble getDouble(String name) {
+            return shared.getDouble(name);
+        }
+
+        @Override
+        public Boolean getBoolean(String name) {
+            return shared.getBoolean(name);
+        }
+
+        @Override
+        public <T> List<T> getList(String name, Class<T> elementType) {
+            return copy().getList(name, elementType);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "(shared=" + shared + ")";
+        }
+
+    }
+
+    private static final class FrozenJoseHeader extends FrozenJsonRepresented implements JoseHeader {
+
+        private FrozenJoseHeader(JoseHeader shared, JsonRepresentedFactory<?> factory, Supplier<byte[]> rawJson) {
+            super(shared, factory, rawJson);
+        }
+
+    }
+
+    private static final class FrozenJwtClaimsSet extends FrozenJsonRepresented implements JwtClaimsSet {
+
+        private FrozenJwtClaimsSet(JwtClaimsSet shared, JsonRepresentedFactory<?> factory, Supplier<byte[]> rawJson) {
+            super(shared, factory, rawJson);
+        }
+
+    }
+
+}
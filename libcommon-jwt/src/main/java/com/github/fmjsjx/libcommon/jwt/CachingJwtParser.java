@@ -0,0 +1,241 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import com.github.fmjsjx.libcommon.collection.BoundedCache;
+import com.github.fmjsjx.libcommon.jwt.exception.JwtException;
+import com.github.fmjsjx.libcommon.util.DateTimeUtil;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link JwtParser} decorator caches the verified {@link Jwt}s.
+ * <p>
+ * The same JWT string is always parsed to the same result, so the
+ * {@link Jwt} verified by the delegated parser is cached by the JWT string,
+ * and the later calls of {@link #parse(String)} with the same JWT string
+ * will skip the splitting, the signature verification and the claims set
+ * parsing. The cache is keyed by the JWT string itself, so that a hash
+ * collision can never return the {@code Jwt} of another JWT string.
+ * <p>
+ * Cached entries are evicted when the JWT expires, just like what the
+ * delegated parser does with the {@code "exp"} claim and the allowed clock
+ * skew, and the expiration is checked again on every hit. Failed parsing is
+ * never cached. When the number of cached entries reaches the maximum size,
+ * the expired entries are purged, or an entry which has not been hit
+ * recently is evicted by the CLOCK policy of {@link BoundedCache} if none is
+ * expired.
+ * <p>
+ * The cached {@code Jwt}s are shared by all callers, so they are frozen:
+ * the mutable values, such as nested JSON objects, lists and beans, got from
+ * the header and the claims set are always decoded from the raw JSON again,
+ * and modifying them never affects the cached ones.
+ * <p>
+ * The signature of a cached JWT is never verified again, so a JWT signed
+ * with a key that has been revoked or rotated out of the
+ * {@link com.github.fmjsjx.libcommon.jwt.util.KeyLocator KeyLocator} is
+ * still accepted until it is evicted. Call {@link #invalidate(Predicate)}
+ * or {@link #clear()} after revoking keys.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public class CachingJwtParser implements JwtParser {
+
+    /**
+     * The default maximum number of cached JWTs.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private record Entry(Jwt jwt, long expiresAt) {
+    }
+
+    private final JwtParser delegate;
+    private final boolean allowExpired;
+    private final long allowedClockSkewSeconds;
+    private final JsonRepresentedFactory<?> jsonRepresentedFactory;
+    private final BoundedCache<String, Entry> entries;
+    private final AtomicLong lastPurgeTime = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Constructs a new {@link CachingJwtParser} with the
+     * {@link #DEFAULT_MAX_SIZE default maximum size}.
+     *
+     * @param delegate the delegated {@link JwtParser}
+     */
+    public CachingJwtParser(JwtParser delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link CachingJwtParser} with the specified maximum
+     * size.
+     * <p>
+     * If the delegated parser is created by {@link JwtParser#builder()},
+     * the same expiration validation settings will be used to evict cached
+     * entries and to decode the mutable values of the cached JWTs,
+     * otherwise expired JWTs are always evicted without clock skew and the
+     * default {@link JsonRepresentedFactory} is used.
+     *
+     * @param delegate the delegated {@link JwtParser}
+     * @param maxSize  the maximum number of cached JWTs
+     */
+    public CachingJwtParser(JwtParser delegate, int maxSize) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.entries = new BoundedCache<>(maxSize);
+        if (delegate instanceof AbstractJwtParser parser) {
+            this.allowExpired = parser.allowExpired;
+            this.allowedClockSkewSeconds = parser.allowedClockSkewSeconds;
+            this.jsonRepresentedFactory = parser.jsonRepresentedFactory;
+        } else {
+            this.allowExpired = false;
+            this.allowedClockSkewSeconds = 0;
+            this.jsonRepresentedFactory = Fastjson2JsonRepresented.getFactory();
+        }
+    }
+
+    /**
+     * Returns the delegated {@link JwtParser}.
+     *
+     * @return the delegated {@code JwtParser}
+     */
+    public JwtParser delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Jwt parse(String jwt) throws JwtException {
+        var entry = entries.get(jwt);
+        if (entry != null) {
+            if (DateTimeUtil.unixTime() < entry.expiresAt) {
+                hitCount.increment();
+                return entry.jwt;
+            }
+            // expired, let the delegated parser reject it
+            if (entries.remove(jwt, entry)) {
+                evictionCount.increment();
+            }
+        }
+        missCount.increment();
+        var result = delegate.parse(jwt);
+        var expiresAt = expiresAt(result);
+        if (DateTimeUtil.unixTime() < expiresAt) {
+            if (entries.size() >= entries.maxSize()) {
+                purgeExpired();
+            }
+            var cached = new CachedJwt(result, jsonRepresentedFactory);
+            entries.put(jwt, new Entry(cached, expiresAt));
+            return cached;
+        }
+        return result;
+    }
+
+    private long expiresAt(Jwt jwt) {
+        if (allowExpired) {
+            return Long.MAX_VALUE;
+        }
+        var exp = jwt.getClaimsSet().getExpirationTime();
+        return exp.isPresent() ? exp.getAsLong() - allowedClockSkewSeconds : Long.MAX_VALUE;
+    }
+
+    private void purgeExpired() {
+        var now = DateTimeUtil.unixTime();
+        var lastPurgeTime = this.lastPurgeTime.get();
+        // purge expired entries at most once per second, the CLOCK policy evicts one if none is expired
+        if (now != lastPurgeTime && this.lastPurgeTime.compareAndSet(lastPurgeTime, now)) {
+            evictionCount.add(entries.removeIf((jwt, entry) -> now >= entry.expiresAt));
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached JWTs.
+     *
+     * @return the maximum number of cached JWTs
+     */
+    public int maxSize() {
+        return entries.maxSize();
+    }
+
+    /**
+     * Returns the number of cached JWTs.
+     *
+     * @return the number of cached JWTs
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of times {@link #parse(String)} returned the
+     * cached {@link Jwt}.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of times {@link #parse(String)} called the
+     * delegated parser.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to all requests, or {@code 1.0} if there
+     * is no request yet.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        var hitCount = hitCount();
+        var requestCount = hitCount + missCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the number of evicted entries, including the expired ones.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount.sum() + entries.evictionCount();
+    }
+
+    /**
+     * Removes all cached JWTs which match the specified predicate, such as
+     * the ones signed with a revoked key:
+     * <pre>{@code
+     * parser.invalidate(jwt -> "revoked-kid".equals(jwt.getHeader().getKeyId()));
+     * }</pre>
+     *
+     * @param predicate the predicate
+     * @return the number of removed JWTs
+     */
+    public int invalidate(Predicate<? super Jwt> predicate) {
+        Objects.requireNonNull(predicate, "predicate must not be null");
+        return entries.removeIf((jwt, entry) -> predicate.test(entry.jwt));
+    }
+
+    /**
+     * Removes all cached JWTs.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingJwtParser(delegate=" + delegate + ", maxSize=" + maxSize() + ", size=" + size() +
+                ", hitCount=" + hitCount() + ", missCount=" + missCount() + ", evictionCount=" + evictionCount() + ")";
+    }
+
+}
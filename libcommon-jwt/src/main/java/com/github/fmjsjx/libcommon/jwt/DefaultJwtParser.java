@@ -7,33 +7,39 @@ import com.github.fmjsjx.libcommon.jwt.exception.JwtException;
 import com.github.fmjsjx.libcommon.jwt.exception.MissingRequiredAlgException;
 import com.github.fmjsjx.libcommon.jwt.exception.SecurityException;
 import com.github.fmjsjx.libcommon.jwt.util.KeyLocator;
+import com.github.fmjsjx.libcommon.jwt.util.KidKeyLocator;
 
 import java.security.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
 
 class DefaultJwtParser extends AbstractJwtParser {
 
-    private void verify(CryptoAlgorithm algorithm, Key key, String[] jwtParts) {
+    private void verify(CryptoAlgorithm algorithm, Key key, CompactJwt compactJwt) {
         var alg = (JwsCryptoAlgorithm) algorithm;
         if (alg.isMac()) {
-            try {
-                var mac = alg.getMacProvider().getInstance(key);
-                var signData = mac.doFinal(signBaseBytes(jwtParts));
-                var signString = encodeBase64(signData);
-                if (!signString.equals(jwtParts[2])) {
-                    throw new InvalidSignatureException("The JWT MAC does not match locally computed MAC.");
-                }
-            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-                throw new SecurityException("Initialize Mac instance failed", e);
+            // the MacFunction reuses the Mac initialized with the same key
+            var signData = alg.getMacProvider().getFunction(key).apply(compactJwt.bytes(), 0,
+                    compactJwt.signingInputLength());
+            if (!compactJwt.signatureEquals(signData)) {
+                throw new InvalidSignatureException("The JWT MAC does not match locally computed MAC.");
             }
         } else {
             try {
                 if (key instanceof PublicKey publicKey) {
-                    if (!alg.getSignatureProvider().verify(publicKey, signBaseBytes(jwtParts), decodeContent(jwtParts[2]))) {
+                    if (!alg.getSignatureProvider().verify(publicKey, compactJwt.bytes(), 0,
+                            compactJwt.signingInputLength(), compactJwt.decodeSignature())) {
                         throw new InvalidSignatureException("The JWT digital signature does not match locally computed signature.");
                     }
                 } else if (key instanceof PrivateKey privateKey) {
-                    var signString = encodeBase64(alg.getSignatureProvider().sign(privateKey, signBaseBytes(jwtParts)));
-                    if (!signString.equals(jwtParts[2])) {
+                    var signData = alg.getSignatureProvider().sign(privateKey, compactJwt.bytes(), 0,
+                            compactJwt.signingInputLength());
+                    if (!compactJwt.signatureEquals(signData)) {
                         throw new InvalidSignatureException("The JWT digital signature does not match locally computed signature.");
                     }
                 } else {
@@ -50,28 +56,139 @@ class DefaultJwtParser extends AbstractJwtParser {
     }
 
     private final KeyLocator keyLocator;
+    private final boolean locatesByKid;
 
     DefaultJwtParser(KeyLocator keyLocator, JsonRepresentedFactory<?> jsonRepresentedFactory, boolean allowExpired, long allowedClockSkewSeconds) {
         super(jsonRepresentedFactory, allowExpired, allowedClockSkewSeconds);
         this.keyLocator = keyLocator;
+        this.locatesByKid = locatesByKid(keyLocator);
+    }
+
+    /**
+     * Returns {@code true} if the key located by the {@link KeyLocator}
+     * depends only on the {@code "kid"} header parameter, that is, it is a
+     * {@link KidKeyLocator} which does not override the
+     * {@link KidKeyLocator#locate(JoseHeader)} method.
+     */
+    private static boolean locatesByKid(KeyLocator keyLocator) {
+        if (keyLocator instanceof KidKeyLocator) {
+            try {
+                return keyLocator.getClass().getMethod("locate", JoseHeader.class).getDeclaringClass() == KidKeyLocator.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+        return false;
     }
 
     @Override
     public Jwt parse(String jwt) throws JwtException {
-        var jwtParts = splitJwtParts(jwt);
-        var header = parseJoseHeader(jwtParts[0]);
+        var compactJwt = scanJwt(jwt);
+        var header = parseJoseHeader(compactJwt.header());
+        var algorithm = CryptoAlgorithm.getInstance(requireAlgorithm(header));
+        var key = keyLocator.locate(header);
+        return parse(compactJwt, header, algorithm, key);
+    }
+
+    private static String requireAlgorithm(JoseHeader header) {
         var alg = header.getAlgorithm();
         if (alg == null) {
             throw new MissingRequiredAlgException();
         }
-        var algorithm = CryptoAlgorithm.getInstance(alg);
-        var key = keyLocator.locate(header);
+        return alg;
+    }
+
+    private Jwt parse(CompactJwt compactJwt, JoseHeader header, CryptoAlgorithm algorithm, Key key) {
         // verify
-        verify(algorithm, key, jwtParts);
-        var content = decodeContent(jwtParts[1]);
+        verify(algorithm, key, compactJwt);
+        var content = compactJwt.decodePayload();
         // this parser only support JWT Claims Set content type
         var claimsSet = parseAndValidateClaimsSet(content);
         return new DefaultJwt(header, content, claimsSet);
     }
 
+    private record GroupKey(String alg, String kid) {
+    }
+
+    private record Item(int index, String token, CompactJwt compactJwt, JoseHeader header) {
+    }
+
+    /**
+     * Parses all the specified JWT strings grouped by the {@code "alg"} and
+     * the {@code "kid"} header parameters, so that the algorithm is resolved
+     * only once for each group, and the key is also located only once for
+     * each group if the {@link KeyLocator} is a {@link KidKeyLocator} which
+     * does not override the {@link KidKeyLocator#locate(JoseHeader)} method.
+     */
+    @Override
+    public List<JwtParseResult> parseAll(List<String> jwts) {
+        return parseAll(jwts, null, false);
+    }
+
+    /**
+     * Parses all the specified JWT strings grouped by the {@code "alg"} and
+     * the {@code "kid"} header parameters, just like
+     * {@link #parseAll(List)}, and the groups of digital signature
+     * algorithms, such as RSA and ECDSA, are verified in parallel with the
+     * executor. The groups of MAC algorithms are always verified by the
+     * current thread, because they are too cheap to be worth parallelizing.
+     */
+    @Override
+    public List<JwtParseResult> parseAll(List<String> jwts, Executor executor) {
+        return parseAll(jwts, Objects.requireNonNull(executor, "executor must not be null"), true);
+    }
+
+    private List<JwtParseResult> parseAll(List<String> jwts, Executor executor, boolean parallel) {
+        var results = new JwtParseResult[jwts.size()];
+        var groups = new LinkedHashMap<GroupKey, List<Item>>();
+        for (var i = 0; i < results.length; i++) {
+            var token = jwts.get(i);
+            try {
+                var compactJwt = scanJwt(token);
+                var header = parseJoseHeader(compactJwt.header());
+                var groupKey = new GroupKey(requireAlgorithm(header), header.getKeyId());
+                groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(new Item(i, token, compactJwt, header));
+            } catch (RuntimeException e) {
+                results[i] = JwtParseResult.failure(token, e);
+            }
+        }
+        var futures = new ArrayList<CompletableFuture<?>>();
+        for (var entry : groups.entrySet()) {
+            var items = entry.getValue();
+            CryptoAlgorithm algorithm;
+            Key groupKey = null;
+            try {
+                algorithm = CryptoAlgorithm.getInstance(entry.getKey().alg());
+                if (locatesByKid) {
+                    groupKey = keyLocator.locate(items.getFirst().header());
+                }
+            } catch (RuntimeException e) {
+                for (var item : items) {
+                    results[item.index()] = JwtParseResult.failure(item.token(), e);
+                }
+                continue;
+            }
+            var key = groupKey;
+            IntConsumer action = i -> {
+                var item = items.get(i);
+                try {
+                    var itemKey = key != null ? key : keyLocator.locate(item.header());
+                    var jwt = parse(item.compactJwt(), item.header(), algorithm, itemKey);
+                    results[item.index()] = JwtParseResult.success(item.token(), jwt);
+                } catch (RuntimeException e) {
+                    results[item.index()] = JwtParseResult.failure(item.token(), e);
+                }
+            };
+            if (parallel && algorithm instanceof JwsCryptoAlgorithm jws && !jws.isMac()) {
+                JwtBatches.forEachChunk(items.size(), executor, action, futures);
+            } else {
+                for (var i = 0; i < items.size(); i++) {
+                    action.accept(i);
+                }
+            }
+        }
+        JwtBatches.joinAll(futures);
+        return List.of(results);
+    }
+
 }
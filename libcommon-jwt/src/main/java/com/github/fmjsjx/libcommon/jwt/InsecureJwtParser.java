@@ -10,10 +10,10 @@ class InsecureJwtParser extends AbstractJwtParser {
 
     @Override
     public Jwt parse(String jwt) throws JwtException {
-        var jwtParts = splitJwtParts(jwt);
+        var compactJwt = scanJwt(jwt);
         // skip verification stage
-        var header = parseJoseHeader(jwtParts[0]);
-        var content = decodeContent(jwtParts[1]);
+        var header = parseJoseHeader(compactJwt.header());
+        var content = compactJwt.decodePayload();
         // this parser only support JWT Claims Set content type
         var claimsSet = parseAndValidateClaimsSet(content);
         return new DefaultJwt(header, content, claimsSet);
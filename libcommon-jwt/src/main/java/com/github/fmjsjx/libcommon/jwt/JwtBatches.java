@@ -0,0 +1,104 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Internal utilities for parsing JWT strings in batch.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class JwtBatches {
+
+    /**
+     * Parses the JWT string at the specified index by the parser.
+     *
+     * @param parser the parser
+     * @param jwts   the JWT strings
+     * @param index  the index
+     * @return the {@link JwtParseResult}
+     */
+    static JwtParseResult parse(JwtParser parser, List<String> jwts, int index) {
+        var jwt = jwts.get(index);
+        try {
+            return JwtParseResult.success(jwt, parser.parse(jwt));
+        } catch (RuntimeException e) {
+            return JwtParseResult.failure(jwt, e);
+        }
+    }
+
+    /**
+     * Splits the range {@code [0, size)} into chunks and submits them to
+     * the executor, which calls the action for each index.
+     * <p>
+     * Each chunk is processed sequentially by one thread, so that the
+     * thread-local cryptographic objects are reused inside the chunk. The
+     * chunks rejected by the executor are processed by the current thread.
+     *
+     * @param size     the size
+     * @param executor the executor
+     * @param action   the action
+     * @param futures  the list to which the futures of chunks are added
+     */
+    static void forEachChunk(int size, Executor executor, IntConsumer action, List<CompletableFuture<?>> futures) {
+        var chunks = Math.max(1, Runtime.getRuntime().availableProcessors() * 4);
+        var chunkSize = Math.max(1, (size + chunks - 1) / chunks);
+        for (var start = 0; start < size; start += chunkSize) {
+            var from = start;
+            var to = Math.min(size, start + chunkSize);
+            Runnable chunk = () -> {
+                for (var i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            };
+            try {
+                futures.add(CompletableFuture.runAsync(chunk, executor));
+            } catch (RejectedExecutionException e) {
+                chunk.run();
+            }
+        }
+    }
+
+    /**
+     * Waits for all the futures.
+     *
+     * @param futures the futures
+     */
+    static void joinAll(List<CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Parses all the JWT strings by the parser, in parallel with the
+     * executor.
+     *
+     * @param parser   the parser
+     * @param jwts     the JWT strings
+     * @param executor the executor
+     * @return the list of {@link JwtParseResult}s
+     */
+    static List<JwtParseResult> parseAll(JwtParser parser, List<String> jwts, Executor executor) {
+        var results = new JwtParseResult[jwts.size()];
+        var futures = new ArrayList<CompletableFuture<?>>();
+        forEachChunk(results.length, executor, i -> results[i] = parse(parser, jwts, i), futures);
+        joinAll(futures);
+        return List.of(results);
+    }
+
+    private JwtBatches() {
+    }
+
+}
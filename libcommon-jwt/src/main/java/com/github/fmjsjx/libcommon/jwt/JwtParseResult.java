@@ -0,0 +1,65 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import java.util.Objects;
+
+/**
+ * The result of parsing a JWT string in batch.
+ *
+ * @param token the JWT string
+ * @param jwt   the parsed {@link Jwt}, {@code null} if failed
+ * @param error the error occurred during the parsing operation,
+ *              {@code null} if succeeded
+ * @author MJ Fang
+ * @see JwtParser#parseAll(java.util.List)
+ * @since 4.3
+ */
+public record JwtParseResult(String token, Jwt jwt, RuntimeException error) {
+
+    /**
+     * Returns a succeeded {@link JwtParseResult}.
+     *
+     * @param token the JWT string
+     * @param jwt   the parsed {@link Jwt}
+     * @return a succeeded {@code JwtParseResult}
+     */
+    public static JwtParseResult success(String token, Jwt jwt) {
+        return new JwtParseResult(token, Objects.requireNonNull(jwt, "jwt must not be null"), null);
+    }
+
+    /**
+     * Returns a failed {@link JwtParseResult}.
+     *
+     * @param token the JWT string
+     * @param error the error
+     * @return a failed {@code JwtParseResult}
+     */
+    public static JwtParseResult failure(String token, RuntimeException error) {
+        return new JwtParseResult(token, null, Objects.requireNonNull(error, "error must not be null"));
+    }
+
+    /**
+     * Returns {@code true} if the JWT string was parsed successfully.
+     *
+     * @return {@code true} if succeeded, {@code false} otherwise
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the parsed {@link Jwt}, or throws the error if failed.
+     *
+     * @return the parsed {@code Jwt}
+     * @throws RuntimeException the error occurred during the parsing
+     *                          operation, typically a
+     *                          {@link com.github.fmjsjx.libcommon.jwt.exception.JwtException}
+     */
+    public Jwt getOrThrow() {
+        var error = this.error;
+        if (error != null) {
+            throw error;
+        }
+        return jwt;
+    }
+
+}
@@ -6,7 +6,10 @@ import com.github.fmjsjx.libcommon.jwt.exception.JwtException;
 import com.github.fmjsjx.libcommon.jwt.util.KeyLocator;
 
 import java.security.Key;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * A parser parses {@link Jwt}s.
@@ -37,6 +40,61 @@ public interface JwtParser {
      */
     Jwt parse(String jwt) throws JwtException;
 
+    /**
+     * Parses all the specified JWT strings and returns the results in the
+     * same order.
+     * <p>
+     * Unlike {@link #parse(String)}, this method never throws the errors
+     * occurred during parsing, the error of each JWT string is returned as
+     * the {@link JwtParseResult#error()} instead.
+     *
+     * @param jwts the JWT strings
+     * @return the list of {@link JwtParseResult}s
+     * @since 4.3
+     */
+    default List<JwtParseResult> parseAll(List<String> jwts) {
+        var results = new JwtParseResult[jwts.size()];
+        for (var i = 0; i < results.length; i++) {
+            results[i] = JwtBatches.parse(this, jwts, i);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Parses all the specified JWT strings and returns the results in the
+     * same order.
+     *
+     * @param jwts the stream of the JWT strings
+     * @return the list of {@link JwtParseResult}s
+     * @see #parseAll(List)
+     * @since 4.3
+     */
+    default List<JwtParseResult> parseAll(Stream<String> jwts) {
+        return parseAll(jwts.toList());
+    }
+
+    /**
+     * Parses all the specified JWT strings in parallel with the specified
+     * executor, such as the {@link java.util.concurrent.ForkJoinPool#commonPool()
+     * common pool} or a virtual-thread-per-task executor, and returns the
+     * results in the same order.
+     * <p>
+     * The JWT strings are split into chunks, and each chunk is parsed by
+     * one task, so that the thread-local {@code Mac}s and
+     * {@code Signature}s are reused inside the chunk. This method blocks
+     * until all the JWT strings are parsed.
+     *
+     * @param jwts     the JWT strings
+     * @param executor the executor
+     * @return the list of {@link JwtParseResult}s
+     * @see #parseAll(List)
+     * @since 4.3
+     */
+    default List<JwtParseResult> parseAll(List<String> jwts, Executor executor) {
+        Objects.requireNonNull(executor, "executor must not be null");
+        return JwtBatches.parseAll(this, jwts, executor);
+    }
+
     /**
      * The builder builds {@link JwtParser}s.
      *
@@ -57,6 +115,8 @@ public interface JwtParser {
         private CryptoAlgorithm singleAlgorithm;
         private Key singleKey;
 
+        private int cacheMaxSize;
+
         /**
          * Sets the {@link KeyLocator}.
          *
@@ -157,12 +217,46 @@ public interface JwtParser {
             return this;
         }
 
+        /**
+         * Caches the verified {@link Jwt}s by the {@link CachingJwtParser}
+         * with the {@link CachingJwtParser#DEFAULT_MAX_SIZE default maximum
+         * size}.
+         *
+         * @return this builder
+         * @since 4.3
+         */
+        public Builder cached() {
+            return cached(CachingJwtParser.DEFAULT_MAX_SIZE);
+        }
+
+        /**
+         * Caches the verified {@link Jwt}s by the {@link CachingJwtParser}
+         * with the specified maximum size.
+         *
+         * @param maxSize the maximum number of cached JWTs, {@code 0} means
+         *                not to cache
+         * @return this builder
+         * @since 4.3
+         */
+        public Builder cached(int maxSize) {
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("maxSize must not be negative");
+            }
+            this.cacheMaxSize = maxSize;
+            return this;
+        }
+
         /**
          * Creates a new {@link JwtParser} by this builder.
          *
          * @return a new {@link JwtParser} instance
          */
         public JwtParser build() {
+            var parser = buildParser();
+            return cacheMaxSize > 0 ? new CachingJwtParser(parser, cacheMaxSize) : parser;
+        }
+
+        private JwtParser buildParser() {
             if (insecure) {
                 return new InsecureJwtParser(fixedJsonRepresentedFactory(), allowExpired, allowedClockSkewSeconds);
             }
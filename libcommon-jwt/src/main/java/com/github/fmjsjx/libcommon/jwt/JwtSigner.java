@@ -0,0 +1,405 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import com.github.fmjsjx.libcommon.json.Fastjson2Library;
+import com.github.fmjsjx.libcommon.json.JsonEncoder;
+import com.github.fmjsjx.libcommon.jwt.crypto.JwsCryptoAlgorithm;
+import com.github.fmjsjx.libcommon.jwt.crypto.MacProvider.MacFunction;
+import com.github.fmjsjx.libcommon.jwt.exception.InvalidKeyException;
+import com.github.fmjsjx.libcommon.jwt.exception.SecurityException;
+import com.github.fmjsjx.libcommon.util.Base64Util;
+import com.github.fmjsjx.libcommon.util.DateTimeUtil;
+import com.github.fmjsjx.libcommon.util.concurrent.EasyThreadLocal;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.github.fmjsjx.libcommon.jwt.JoseHeaderNames.ALGORITHM;
+import static com.github.fmjsjx.libcommon.jwt.JoseHeaderNames.KEY_ID;
+
+/**
+ * A reusable and thread-safe signer creates JWS compact serialized JWT
+ * strings with the fixed algorithm, key and header.
+ * <p>
+ * Unlike {@link SimpleJwtBuilder}, the Base64url encoded header is computed
+ * only once when the signer is built, and each token is assembled in a
+ * single thread-local buffer: the claims set JSON is written directly after
+ * the header, Base64url encoded in place, then the signing input is fed into
+ * the cached {@code Mac} and the MAC result is written and encoded in place
+ * too. So that only the result {@code String} is allocated for each token
+ * when using MAC algorithms.
+ *
+ * <pre>{@code
+ * var signer = JwtSigner.builder().algorithm(JWSs.HS256, key).kid("key-1").expiredSeconds(3600).build();
+ * var jwt = signer.sign(Map.of("sub", "user-1"));
+ * }</pre>
+ *
+ * @author MJ Fang
+ * @see SimpleJwtBuilder
+ * @since 4.3
+ */
+public final class JwtSigner {
+
+    /**
+     * Creates a new {@link Builder} instance.
+     *
+     * @return a new {@link Builder} instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] BASE64URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ISSUED_AT_FIELD = ("\"" + JwtClaimNames.ISSUED_AT + "\":").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXPIRATION_TIME_FIELD = ("\"" + JwtClaimNames.EXPIRATION_TIME + "\":").getBytes(StandardCharsets.US_ASCII);
+
+    private static final EasyThreadLocal<Buffer> threadLocalBuffer = EasyThreadLocal.create(Buffer::new);
+
+    /**
+     * Returns the length of the Base64url encoded bytes without padding.
+     */
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * Base64url encodes the bytes in place, without padding.
+     * <p>
+     * The encoded bytes are always longer than the source bytes, so the
+     * bytes are encoded backwards from the last group, and each group is
+     * read before being overwritten.
+     *
+     * @return the length of the encoded bytes
+     */
+    private static int encodeInPlace(byte[] buf, int offset, int length) {
+        var alphabet = BASE64URL_ALPHABET;
+        var encodedLength = encodedLength(length);
+        var src = offset + length;
+        var dst = offset + encodedLength;
+        var remaining = length % 3;
+        if (remaining == 1) {
+            var b0 = buf[--src] & 0xff;
+            buf[--dst] = alphabet[(b0 << 4) & 0x3f];
+            buf[--dst] = alphabet[b0 >>> 2];
+        } else if (remaining == 2) {
+            var b1 = buf[--src] & 0xff;
+            var b0 = buf[--src] & 0xff;
+            buf[--dst] = alphabet[(b1 << 2) & 0x3f];
+            buf[--dst] = alphabet[((b0 << 4) | (b1 >>> 4)) & 0x3f];
+            buf[--dst] = alphabet[b0 >>> 2];
+        }
+        while (src > offset) {
+            var b2 = buf[--src] & 0xff;
+            var b1 = buf[--src] & 0xff;
+            var b0 = buf[--src] & 0xff;
+            buf[--dst] = alphabet[b2 & 0x3f];
+            buf[--dst] = alphabet[((b1 << 2) | (b2 >>> 6)) & 0x3f];
+            buf[--dst] = alphabet[((b0 << 4) | (b1 >>> 4)) & 0x3f];
+            buf[--dst] = alphabet[b0 >>> 2];
+        }
+        return encodedLength;
+    }
+
+    private final JwsCryptoAlgorithm algorithm;
+    private final MacFunction macFunction;
+    private final int macLength;
+    private final PrivateKey privateKey;
+    private final byte[] encodedHeader;
+    private final long expiredSeconds;
+    private final JsonEncoder jsonEncoder;
+
+    private JwtSigner(JwsCryptoAlgorithm algorithm, Key key, Map<String, Object> header, long expiredSeconds,
+                      JsonEncoder jsonEncoder) {
+        this.algorithm = algorithm;
+        if (algorithm.isMac()) {
+            this.macFunction = algorithm.getMacProvider().getDedicatedFunction(key);
+            this.macLength = macFunction.apply(new byte[0]).length;
+            this.privateKey = null;
+        } else if (key instanceof PrivateKey privateKey) {
+            this.macFunction = null;
+            this.macLength = 0;
+            this.privateKey = privateKey;
+        } else {
+            throw new InvalidKeyException("The key must be a private key");
+        }
+        var encodedHeader = Base64Util.encoder(true, true).encode(jsonEncoder.dumpsToBytes(header));
+        // append the '.' separator
+        this.encodedHeader = Arrays.copyOf(encodedHeader, encodedHeader.length + 1);
+        this.encodedHeader[encodedHeader.length] = '.';
+        this.expiredSeconds = expiredSeconds;
+        this.jsonEncoder = jsonEncoder;
+    }
+
+    /**
+     * Returns the algorithm.
+     *
+     * @return the algorithm
+     */
+    public JwsCryptoAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Creates and returns a JWT string with the specified claims set.
+     * <p>
+     * The claims set can be any object that will be encoded as a JSON
+     * object, such as a {@code Map} or a JavaBean. If the expired seconds
+     * was set, the {@code "iat"} and the {@code "exp"} claims will be
+     * appended to the encoded JSON object, so the claims set itself should
+     * not contain them.
+     *
+     * @param claimsSet the claims set
+     * @return a JWT string
+     * @throws IllegalArgumentException if the claims set is not encoded as
+     *                                  a JSON object
+     */
+    public String sign(Object claimsSet) {
+        Objects.requireNonNull(claimsSet, "claimsSet must not be null");
+        var buffer = threadLocalBuffer.get();
+        try {
+            return sign(claimsSet, buffer);
+        } finally {
+            if (buffer.array.length > MAX_RETAINED_BUFFER_SIZE) {
+                threadLocalBuffer.remove();
+            }
+        }
+    }
+
+    private String sign(Object claimsSet, Buffer buffer) {
+        var header = encodedHeader;
+        buffer.position = 0;
+        buffer.write(header, 0, header.length);
+        jsonEncoder.dumps(claimsSet, buffer);
+        var jsonLength = buffer.position - header.length;
+        if (jsonLength < 2 || buffer.array[header.length] != '{' || buffer.array[buffer.position - 1] != '}') {
+            throw new IllegalArgumentException("claimsSet must be encoded as a JSON object");
+        }
+        var expiredSeconds = this.expiredSeconds;
+        if (expiredSeconds > 0) {
+            var now = DateTimeUtil.unixTime();
+            // replace the last '}'
+            buffer.position--;
+            if (jsonLength > 2) {
+                buffer.write(',');
+            }
+            buffer.write(ISSUED_AT_FIELD, 0, ISSUED_AT_FIELD.length);
+            buffer.writeLong(now);
+            buffer.write(',');
+            buffer.write(EXPIRATION_TIME_FIELD, 0, EXPIRATION_TIME_FIELD.length);
+            buffer.writeLong(now + expiredSeconds);
+            buffer.write('}');
+            jsonLength = buffer.position - header.length;
+        }
+        var signingInputLength = header.length + encodedLength(jsonLength);
+        buffer.ensureCapacity(signingInputLength + 1 + encodedLength(macLength));
+        var buf = buffer.array;
+        encodeInPlace(buf, header.length, jsonLength);
+        buf[signingInputLength] = '.';
+        var signatureOffset = signingInputLength + 1;
+        int signatureLength;
+        if (macFunction != null) {
+            signatureLength = macFunction.apply(buf, 0, signingInputLength, buf, signatureOffset);
+        } else {
+            byte[] signature;
+            try {
+                signature = algorithm.getSignatureProvider().sign(privateKey, buf, 0, signingInputLength);
+            } catch (GeneralSecurityException e) {
+                throw new SecurityException("Fail to sign data", e);
+            }
+            buffer.ensureCapacity(signatureOffset + encodedLength(signature.length));
+            buf = buffer.array;
+            System.arraycopy(signature, 0, buf, signatureOffset, signature.length);
+            signatureLength = signature.length;
+        }
+        var length = signatureOffset + encodeInPlace(buf, signatureOffset, signatureLength);
+        return new String(buf, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtSigner(algorithm=" + algorithm.getName() + ", header=" +
+                new String(encodedHeader, 0, encodedHeader.length - 1, StandardCharsets.US_ASCII) +
+                ", expiredSeconds=" + expiredSeconds + ")";
+    }
+
+    /**
+     * The reusable growable buffer, which is also used as the destination
+     * {@link OutputStream} of the JSON encoder.
+     */
+    static final class Buffer extends OutputStream {
+
+        private byte[] array = new byte[INITIAL_BUFFER_SIZE];
+        private int position;
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > array.length) {
+                array = Arrays.copyOf(array, Math.max(capacity, array.length << 1));
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(position + 1);
+            array[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureCapacity(position + len);
+            System.arraycopy(b, off, array, position, len);
+            position += len;
+        }
+
+        void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                // -value overflows
+                var bytes = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+                write(bytes, 0, bytes.length);
+                return;
+            }
+            if (value < 0) {
+                write('-');
+                value = -value;
+            }
+            var digits = 1;
+            for (var bound = 10L; digits < 19 && value >= bound; bound *= 10) {
+                digits++;
+            }
+            ensureCapacity(position + digits);
+            var end = position + digits;
+            for (var i = end - 1; i >= position; i--) {
+                array[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position = end;
+        }
+
+        @Override
+        public String toString() {
+            return new String(array, 0, position, StandardCharsets.US_ASCII);
+        }
+
+    }
+
+    /**
+     * The builder builds {@link JwtSigner}s.
+     *
+     * @author MJ Fang
+     * @since 4.3
+     */
+    public static final class Builder {
+
+        private JwsCryptoAlgorithm algorithm;
+        private Key key;
+        private final Map<String, Object> header = new LinkedHashMap<>();
+        private long expiredSeconds;
+        private JsonEncoder jsonEncoder;
+
+        /**
+         * Sets the algorithm and the key.
+         *
+         * @param algorithm the JWS cryptographic algorithm used to secure
+         *                  the JWT
+         * @param key       the security key, <b>MUST</b> be a private key
+         *                  for digital signature algorithms
+         * @return this builder
+         */
+        public Builder algorithm(JwsCryptoAlgorithm algorithm, Key key) {
+            this.algorithm = Objects.requireNonNull(algorithm, "algorithm must not be null");
+            this.key = Objects.requireNonNull(key, "key must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the {@code "kid"} (Key ID) Header Parameter.
+         *
+         * @param kid the {@code "kid"} (Key ID) Header Parameter value
+         * @return this builder
+         */
+        public Builder kid(String kid) {
+            return header(KEY_ID, kid);
+        }
+
+        /**
+         * Sets the header parameter value.
+         * <p>
+         * The {@code "alg"} (Algorithm) Header Parameter is always set by
+         * the algorithm.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return this builder
+         */
+        public Builder header(String key, Object value) {
+            header.put(Objects.requireNonNull(key, "key must not be null"), value);
+            return this;
+        }
+
+        /**
+         * Sets the expired seconds, the {@code "iat"} (Issued At) and the
+         * {@code "exp"} (Expiration Time) claims will be added
+         * automatically if the expired seconds is positive.
+         *
+         * @param expiredSeconds the expired seconds
+         * @return this builder
+         */
+        public Builder expiredSeconds(long expiredSeconds) {
+            this.expiredSeconds = expiredSeconds;
+            return this;
+        }
+
+        /**
+         * Sets the {@link JsonEncoder} encodes headers and claims sets.
+         * <p>
+         * The default is {@link Fastjson2Library#getInstance()}.
+         *
+         * @param jsonEncoder the {@code JsonEncoder}
+         * @return this builder
+         */
+        public Builder jsonEncoder(JsonEncoder jsonEncoder) {
+            this.jsonEncoder = jsonEncoder;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link JwtSigner} by this builder.
+         *
+         * @return a new {@link JwtSigner} instance
+         */
+        public JwtSigner build() {
+            var algorithm = this.algorithm;
+            if (algorithm == null) {
+                throw new IllegalArgumentException("Missing required algorithm");
+            }
+            var header = new LinkedHashMap<String, Object>();
+            header.put(ALGORITHM, algorithm.getName());
+            this.header.forEach((k, v) -> {
+                if (!ALGORITHM.equals(k)) {
+                    header.put(k, v);
+                }
+            });
+            var jsonEncoder = this.jsonEncoder;
+            if (jsonEncoder == null) {
+                jsonEncoder = Fastjson2Library.getInstance();
+            }
+            return new JwtSigner(algorithm, key, header, expiredSeconds, jsonEncoder);
+        }
+
+        private Builder() {
+        }
+
+    }
+
+}
@@ -40,14 +40,22 @@ public class LazyParsedJoseHeader implements JoseHeader {
             synchronized (this) {
                 delegated = this.delegated;
                 if (delegated == null) {
-                    var rawJson = Base64.getUrlDecoder().decode(base64HeaderString);
-                    this.delegated = delegated = JoseHeader.parse(rawJson, jsonRepresentedFactory);
+                    this.delegated = delegated = JoseHeader.parse(rawJson(), jsonRepresentedFactory);
                 }
             }
         }
         return delegated;
     }
 
+    /**
+     * Decodes and returns the raw JSON byte array of this header.
+     *
+     * @return the raw JSON byte array
+     */
+    byte[] rawJson() {
+        return Base64.getUrlDecoder().decode(base64HeaderString);
+    }
+
     @Override
     public <T> T get(String name, Class<? extends T> type) {
         return parsedDelegated().get(name, type);
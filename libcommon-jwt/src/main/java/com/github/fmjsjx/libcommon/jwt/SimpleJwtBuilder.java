@@ -18,6 +18,9 @@ import static com.github.fmjsjx.libcommon.jwt.JwtClaimNames.*;
 /**
  * A simple JWT builder creates JWT strings in the simplest way
  * possible.
+ * <p>
+ * For creating lots of JWTs with the same algorithm, key and header,
+ * {@link JwtSigner} is more efficient.
  *
  * @author MJ Fang
  * @since 3.10
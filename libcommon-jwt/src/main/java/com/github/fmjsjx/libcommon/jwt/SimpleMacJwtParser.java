@@ -6,7 +6,6 @@ import com.github.fmjsjx.libcommon.jwt.exception.InvalidSignatureException;
 import com.github.fmjsjx.libcommon.jwt.exception.JwtException;
 
 import java.security.Key;
-import java.util.Arrays;
 
 class SimpleMacJwtParser extends AbstractJwtParser {
 
@@ -16,22 +15,22 @@ class SimpleMacJwtParser extends AbstractJwtParser {
                        JsonRepresentedFactory<?> jsonRepresentedFactory, boolean allowExpired,
                        long allowedClockSkewSeconds) {
         super(jsonRepresentedFactory, allowExpired, allowedClockSkewSeconds);
-        this.macFunction = algorithm.getMacProvider().getFunction(key);
+        this.macFunction = algorithm.getMacProvider().getDedicatedFunction(key);
     }
 
-    private boolean verify(byte[] signBaseBytes, String base64Signature) {
-        var signData = macFunction.apply(signBaseBytes);
-        return Arrays.equals(signData, decodeContent(base64Signature));
+    private boolean verify(CompactJwt compactJwt) {
+        var signData = macFunction.apply(compactJwt.bytes(), 0, compactJwt.signingInputLength());
+        return compactJwt.signatureEquals(signData);
     }
 
     @Override
     public Jwt parse(String jwt) throws JwtException {
-        var jwtParts = splitJwtParts(jwt);
-        if (!verify(signBaseBytes(jwtParts), jwtParts[2])) {
+        var compactJwt = scanJwt(jwt);
+        if (!verify(compactJwt)) {
             throw new InvalidSignatureException("The JWT MAC does not match locally computed MAC.");
         }
-        var header = parseJoseHeader(jwtParts[0]);
-        var content = decodeContent(jwtParts[1]);
+        var header = parseJoseHeader(compactJwt.header());
+        var content = compactJwt.decodePayload();
         // this parser only support JWT Claims Set content type
         var claimsSet = parseAndValidateClaimsSet(content);
         return new DefaultJwt(header, content, claimsSet);
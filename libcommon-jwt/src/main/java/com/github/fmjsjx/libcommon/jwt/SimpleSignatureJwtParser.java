@@ -32,13 +32,14 @@ class SimpleSignatureJwtParser extends AbstractJwtParser {
         }
     }
 
-    private boolean verify(byte[] signBaseBytes, String base64Signature) {
+    private boolean verify(CompactJwt compactJwt) {
         try {
             if (usePublicKey) {
-                return algorithm.getSignatureProvider().verify(publicKey, signBaseBytes, decodeContent(base64Signature));
+                return algorithm.getSignatureProvider().verify(publicKey, compactJwt.bytes(), 0,
+                        compactJwt.signingInputLength(), compactJwt.decodeSignature());
             }
-            var signString = encodeBase64(algorithm.getSignatureProvider().sign(privateKey, signBaseBytes));
-            return base64Signature.equals(signString);
+            return compactJwt.signatureEquals(algorithm.getSignatureProvider().sign(privateKey, compactJwt.bytes(), 0,
+                    compactJwt.signingInputLength()));
         } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
             throw new SecurityException("Initialize Signature instance failed", e);
         } catch (java.security.InvalidKeyException e) {
@@ -50,13 +51,13 @@ class SimpleSignatureJwtParser extends AbstractJwtParser {
 
     @Override
     public Jwt parse(String jwt) throws JwtException {
-        var jwtParts = splitJwtParts(jwt);
+        var compactJwt = scanJwt(jwt);
         // verify
-        if (!verify(signBaseBytes(jwtParts), jwtParts[2])) {
+        if (!verify(compactJwt)) {
             throw new InvalidSignatureException("The JWT digital signature does not match locally computed signature.");
         }
-        var header = parseJoseHeader(jwtParts[0]);
-        var content = decodeContent(jwtParts[1]);
+        var header = parseJoseHeader(compactJwt.header());
+        var content = compactJwt.decodePayload();
         // this parser only support JWT Claims Set content type
         var claimsSet = parseAndValidateClaimsSet(content);
         return new DefaultJwt(header, content, claimsSet);
@@ -0,0 +1,38 @@
+package com.github.fmjsjx.libcommon.jwt.crypto;
+
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded LRU cache of initialized cryptographic objects, such as
+ * {@code Mac}s and {@code Signature}s, keyed by {@link Key}.
+ * <p>
+ * Initialized cryptographic objects are NOT thread-safe, so instances of
+ * this class are always held by thread locals, one for each thread. The
+ * least recently used entry is evicted when the number of keys exceeds the
+ * maximum size, so that rotated keys can never make the cache grow without
+ * bound.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached objects
+ * @author MJ Fang
+ * @since 4.3
+ */
+final class KeyCache<K extends Key, V> extends LinkedHashMap<K, V> {
+
+    /**
+     * The maximum number of cached keys for each thread.
+     */
+    static final int MAX_SIZE = 64;
+
+    KeyCache() {
+        super(16, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > MAX_SIZE;
+    }
+
+}
@@ -1,14 +1,15 @@
 package com.github.fmjsjx.libcommon.jwt.crypto;
 
+import com.github.fmjsjx.libcommon.jwt.crypto.MacProvider.MacFunction;
 import com.github.fmjsjx.libcommon.jwt.exception.SecurityException;
 import com.github.fmjsjx.libcommon.util.concurrent.EasyThreadLocal;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Objects;
 
 /**
  * The implementation of {@link JwsCryptoAlgorithm} for {@link Mac}s.
@@ -81,10 +82,47 @@ final class MacCryptoAlgorithm extends AbstractCryptoAlgorithm implements JwsCry
                 ")";
     }
 
+    /**
+     * The {@link MacFunction} using the {@link Mac}s held by the current
+     * thread.
+     */
+    private static abstract class ThreadLocalMacFunction implements MacFunction {
+
+        abstract Mac getMac();
+
+        @Override
+        public byte[] apply(byte[] bytes) {
+            return getMac().doFinal(bytes);
+        }
+
+        @Override
+        public byte[] apply(byte[] bytes, int offset, int length) {
+            var mac = getMac();
+            mac.update(bytes, offset, length);
+            return mac.doFinal();
+        }
+
+        @Override
+        public int apply(byte[] bytes, int offset, int length, byte[] output, int outputOffset) {
+            var mac = getMac();
+            var macLength = mac.getMacLength();
+            Objects.checkFromIndexSize(outputOffset, macLength, output.length);
+            mac.update(bytes, offset, length);
+            try {
+                mac.doFinal(output, outputOffset);
+            } catch (ShortBufferException e) {
+                // never happens, the output buffer is already checked
+                throw new IndexOutOfBoundsException(e.getMessage());
+            }
+            return macLength;
+        }
+
+    }
+
     private static final class MacProviderImpl implements MacProvider {
 
         private final String algorithm;
-        private final ConcurrentMap<Key, MacFunction> macFunctions = new ConcurrentHashMap<>();
+        private final EasyThreadLocal<KeyCache<Key, Mac>> threadLocalMacs = EasyThreadLocal.create(KeyCache::new);
 
         private MacProviderImpl(String algorithm) {
             this.algorithm = algorithm;
@@ -102,18 +140,33 @@ final class MacCryptoAlgorithm extends AbstractCryptoAlgorithm implements JwsCry
 
         @Override
         public MacFunction getFunction(Key key) {
-            return macFunctions.computeIfAbsent(key, this::generateFunction);
+            Objects.requireNonNull(key, "key must not be null");
+            return new ThreadLocalMacFunction() {
+                @Override
+                Mac getMac() {
+                    return threadLocalMacs.get().computeIfAbsent(key, MacProviderImpl.this::createMac);
+                }
+            };
         }
 
-        private MacFunction generateFunction(Key key) {
-            var threadLocalMac = EasyThreadLocal.create(() -> {
-                try {
-                    return getInstance(key);
-                } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-                    throw new SecurityException("Initialize Mac instance failed", e);
+        @Override
+        public MacFunction getDedicatedFunction(Key key) {
+            Objects.requireNonNull(key, "key must not be null");
+            var macs = EasyThreadLocal.create(() -> createMac(key));
+            return new ThreadLocalMacFunction() {
+                @Override
+                Mac getMac() {
+                    return macs.get();
                 }
-            });
-            return bytes -> threadLocalMac.get().doFinal(bytes);
+            };
+        }
+
+        private Mac createMac(Key key) {
+            try {
+                return getInstance(key);
+            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+                throw new SecurityException("Initialize Mac instance failed", e);
+            }
         }
 
     }
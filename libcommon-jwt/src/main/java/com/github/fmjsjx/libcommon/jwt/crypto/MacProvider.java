@@ -6,6 +6,8 @@ import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -60,6 +62,25 @@ public interface MacProvider extends SecureProvider {
      */
     MacFunction getFunction(Key key);
 
+    /**
+     * Returns the {@link MacFunction} instance dedicated to the specified
+     * key.
+     * <p>
+     * Unlike {@link #getFunction(Key)}, which may look up the shared
+     * per-thread cache by the key on each call, the returned function can
+     * keep its own {@link Mac}s initialized with the key. It is intended for
+     * long-lived holders of a fixed key, such as parsers and signers.
+     * <p>
+     * The default implementation just returns {@link #getFunction(Key)}.
+     *
+     * @param key the key
+     * @return the {@code MacFunction} instance
+     * @since 4.3
+     */
+    default MacFunction getDedicatedFunction(Key key) {
+        return getFunction(key);
+    }
+
     /**
      * Represents a function that processes an array of bytes and finishes the MAC operation.
      *
@@ -76,6 +97,44 @@ public interface MacProvider extends SecureProvider {
          */
         byte[] apply(byte[] bytes);
 
+        /**
+         * Processes the specified range of the given array of bytes and
+         * finishes the MAC operation.
+         *
+         * @param bytes  data in bytes
+         * @param offset the offset in {@code bytes} where the data starts
+         * @param length the number of bytes to process
+         * @return the MAC result
+         * @since 4.3
+         */
+        default byte[] apply(byte[] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            return apply(Arrays.copyOfRange(bytes, offset, offset + length));
+        }
+
+        /**
+         * Processes the specified range of the given array of bytes,
+         * finishes the MAC operation and stores the result into the
+         * {@code output} buffer, starting at {@code outputOffset}
+         * inclusive.
+         *
+         * @param bytes        data in bytes
+         * @param offset       the offset in {@code bytes} where the data starts
+         * @param length       the number of bytes to process
+         * @param output       the buffer where the MAC result is stored
+         * @param outputOffset the offset in {@code output} where the MAC
+         *                     result is stored
+         * @return the length of the MAC result
+         * @throws IndexOutOfBoundsException if the {@code output} buffer is
+         *                                   too small to hold the result
+         * @since 4.3
+         */
+        default int apply(byte[] bytes, int offset, int length, byte[] output, int outputOffset) {
+            var result = apply(bytes, offset, length);
+            System.arraycopy(result, 0, output, outputOffset, result.length);
+            return result.length;
+        }
+
     }
 
 }
@@ -80,13 +80,39 @@ final class SignatureCryptoAlgorithm extends AbstractCryptoAlgorithm implements
             }
         });
 
+        /**
+         * The {@code Signature}s already initialized for verification,
+         * cached by public key.
+         */
+        protected final EasyThreadLocal<KeyCache<PublicKey, Signature>> threadLocalVerifySignatures =
+                EasyThreadLocal.create(KeyCache::new);
+
         @Override
         public boolean verify(PublicKey publicKey, byte[] data, byte[] signature) throws NoSuchAlgorithmException,
                 InvalidAlgorithmParameterException, InvalidKeyException, SignatureException {
-            var sig = getThreadLocalSignature();
-            sig.initVerify(publicKey);
-            sig.update(data);
-            return sig.verify(signature);
+            return verify(publicKey, data, 0, data.length, signature);
+        }
+
+        @Override
+        public boolean verify(PublicKey publicKey, byte[] data, int offset, int length, byte[] signature)
+                throws NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException,
+                SignatureException {
+            // Signature.verify resets the object to the state after initVerify, so that
+            // the initialized Signature can be reused for the same public key
+            var signatures = threadLocalVerifySignatures.get();
+            var sig = signatures.get(publicKey);
+            if (sig == null) {
+                sig = getInstance(publicKey);
+                signatures.put(publicKey, sig);
+            }
+            try {
+                sig.update(data, offset, length);
+                return sig.verify(signature);
+            } catch (SignatureException | RuntimeException e) {
+                // never reuse a Signature in unknown state
+                signatures.remove(publicKey);
+                throw e;
+            }
         }
 
         protected Signature getThreadLocalSignature() throws NoSuchAlgorithmException,
@@ -113,6 +139,15 @@ final class SignatureCryptoAlgorithm extends AbstractCryptoAlgorithm implements
             sig.update(data);
             return sig.sign();
         }
+
+        @Override
+        public byte[] sign(PrivateKey privateKey, byte[] data, int offset, int length) throws NoSuchAlgorithmException,
+                InvalidAlgorithmParameterException, InvalidKeyException, SignatureException {
+            var sig = getThreadLocalSignature();
+            sig.initSign(privateKey);
+            sig.update(data, offset, length);
+            return sig.sign();
+        }
     }
 
     private static class RsaSignatureProvider extends ThreadLocalSignatureProvider implements SignatureProvider {
@@ -130,6 +130,33 @@ public interface SignatureProvider extends SecureProvider {
         return sig.verify(signature);
     }
 
+    /**
+     * Verifies the passed-in signature of the specified range of the data.
+     *
+     * @param publicKey the public key of the identity whose signature is
+     *                  going to be verified
+     * @param data      the data to be verified
+     * @param offset    the offset in {@code data} where the data starts
+     * @param length    the number of bytes to be verified
+     * @param signature the signature bytes to be verified
+     * @return {@code true} if the signature was verified, {@code false} if not
+     * @throws NoSuchAlgorithmException           if no {@code Provider} supports a {@code KeyFactorySpi}
+     *                                            implementation for the specified algorithm
+     * @throws InvalidAlgorithmParameterException if the given parameters are inappropriate for this signature engine
+     * @throws InvalidKeyException                if the key is invalid
+     * @throws SignatureException                 if this signature object is not initialized properly, the passed-in
+     *                                            signature is improperly encoded or of the wrong type, if this
+     *                                            signature algorithm is unable to process the input data provided, etc.
+     * @since 4.3
+     */
+    default boolean verify(PublicKey publicKey, byte[] data, int offset, int length, byte[] signature)
+            throws NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException,
+            SignatureException {
+        var sig = getInstance(publicKey);
+        sig.update(data, offset, length);
+        return sig.verify(signature);
+    }
+
     /**
      * Returns the signature bytes of the data.
      *
@@ -152,4 +179,29 @@ public interface SignatureProvider extends SecureProvider {
         return sig.sign();
     }
 
+    /**
+     * Returns the signature bytes of the specified range of the data.
+     *
+     * @param privateKey the private key of the identity whose signature is going
+     *                   to be generated
+     * @param data       the data to be signed
+     * @param offset     the offset in {@code data} where the data starts
+     * @param length     the number of bytes to be signed
+     * @return the signature bytes of the signing operation's result
+     * @throws NoSuchAlgorithmException           if no {@code Provider} supports a {@code KeyFactorySpi}
+     *                                            implementation for the specified algorithm
+     * @throws InvalidAlgorithmParameterException if the given parameters are inappropriate for this signature engine
+     * @throws InvalidKeyException                if the key is invalid
+     * @throws SignatureException                 if this signature object is not initialized properly, the passed-in
+     *                                            signature is improperly encoded or of the wrong type, if this
+     *                                            signature algorithm is unable to process the input data provided, etc.
+     * @since 4.3
+     */
+    default byte[] sign(PrivateKey privateKey, byte[] data, int offset, int length) throws NoSuchAlgorithmException,
+            InvalidAlgorithmParameterException, InvalidKeyException, SignatureException {
+        var sig = getInstance(privateKey);
+        sig.update(data, offset, length);
+        return sig.sign();
+    }
+
 }
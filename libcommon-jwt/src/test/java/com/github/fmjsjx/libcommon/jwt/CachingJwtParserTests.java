@@ -0,0 +1,127 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.github.fmjsjx.libcommon.jwt.crypto.CryptoAlgorithms.JWSs;
+import com.github.fmjsjx.libcommon.jwt.exception.ExpiredJwtException;
+import com.github.fmjsjx.libcommon.jwt.exception.InvalidSignatureException;
+import com.github.fmjsjx.libcommon.jwt.util.KidKeyLocator;
+import com.github.fmjsjx.libcommon.util.DateTimeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingJwtParserTests {
+
+    private static final Key KEY = JWSs.HS256.getMacProvider()
+            .getSecretKey("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private static JwtParser.Builder builder() {
+        return JwtParser.builder().simple(JWSs.HS256, KEY);
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        var parsed = new AtomicInteger();
+        var delegate = builder().build();
+        var parser = new CachingJwtParser(jwt -> {
+            parsed.incrementAndGet();
+            return delegate.parse(jwt);
+        });
+        var jwt = SimpleJwtBuilder.create().subject("test").expiredSeconds(60).build(JWSs.HS256, KEY);
+        var first = parser.parse(jwt);
+        assertSame(first, parser.parse(jwt));
+        assertSame(first, parser.parse(new String(jwt.toCharArray())));
+        assertEquals(1, parsed.get());
+        assertEquals(2, parser.hitCount());
+        assertEquals(1, parser.missCount());
+        assertEquals(2.0 / 3, parser.hitRate(), 1e-9);
+        assertEquals(1, parser.size());
+
+        // failures are never cached
+        var tampered = jwt.substring(0, jwt.length() - 2) + (jwt.charAt(jwt.length() - 2) == 'A' ? 'B' : 'A')
+                + jwt.charAt(jwt.length() - 1);
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(tampered));
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(tampered));
+        assertEquals(3, parsed.get());
+        assertEquals(1, parser.size());
+
+        parser.clear();
+        assertEquals(0, parser.size());
+        assertNotSame(first, parser.parse(jwt));
+    }
+
+    @Test
+    public void testExpiration() {
+        var parser = (CachingJwtParser) builder().allowedClockSkewSeconds(30).cached().build();
+        var now = DateTimeUtil.unixTime();
+        // expires within the allowed clock skew
+        var expired = SimpleJwtBuilder.create().claimsSet(JwtClaimNames.EXPIRATION_TIME, now + 10).build(JWSs.HS256, KEY);
+        assertThrows(ExpiredJwtException.class, () -> parser.parse(expired));
+        assertEquals(0, parser.size());
+
+        var noExp = SimpleJwtBuilder.create().subject("test").build(JWSs.HS256, KEY);
+        assertSame(parser.parse(noExp), parser.parse(noExp));
+
+        var allowExpired = (CachingJwtParser) builder().allowExpired().cached(16).build();
+        assertSame(allowExpired.parse(expired), allowExpired.parse(expired));
+        assertEquals(16, allowExpired.maxSize());
+    }
+
+    @Test
+    public void testMaxSize() {
+        var parser = new CachingJwtParser(builder().build(), 8);
+        for (var i = 0; i < 100; i++) {
+            var jwt = SimpleJwtBuilder.create().subject("test-" + i).expiredSeconds(60).build(JWSs.HS256, KEY);
+            assertEquals("test-" + i, parser.parse(jwt).getClaimsSet().getSubject());
+            assertTrue(parser.size() <= 8);
+        }
+        assertEquals(92, parser.evictionCount());
+        assertThrows(IllegalArgumentException.class, () -> new CachingJwtParser(builder().build(), 0));
+    }
+
+    @Test
+    public void testFrozen() {
+        var decoded = new AtomicInteger();
+        JsonRepresentedFactory<?> factory = rawJson -> {
+            decoded.incrementAndGet();
+            return Fastjson2JsonRepresented.getFactory().create(rawJson);
+        };
+        var parser = (CachingJwtParser) builder().jsonRepresentedFactory(factory).cached().build();
+        var jwt = SimpleJwtBuilder.create().subject("test").claimsSet("ext", new JSONObject().fluentPut("role", "user"))
+                .claimsSet("tags", List.of("a", "b")).build(JWSs.HS256, KEY);
+        var claimsSet = parser.parse(jwt).getClaimsSet();
+        var count = decoded.get();
+        assertEquals("test", claimsSet.getSubject());
+        assertEquals("test", claimsSet.get(JwtClaimNames.SUBJECT, String.class));
+        assertEquals(count, decoded.get());
+
+        claimsSet.get("ext", JSONObject.class).put("role", "admin");
+        claimsSet.getList("tags", String.class).add("c");
+        var other = parser.parse(jwt).getClaimsSet();
+        assertEquals("user", other.get("ext", JSONObject.class).get("role"));
+        assertEquals(List.of("a", "b"), other.getList("tags", String.class));
+        assertEquals(count + 4, decoded.get());
+        assertEquals(1, parser.missCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        var locator = KidKeyLocator.builder().simple().key("k1", KEY).key("k2", KEY).build();
+        var parser = (CachingJwtParser) JwtParser.builder().keyLocator(locator).cached().build();
+        var jwt1 = SimpleJwtBuilder.create().kid("k1").subject("1").build(JWSs.HS256, KEY);
+        var jwt2 = SimpleJwtBuilder.create().kid("k2").subject("2").build(JWSs.HS256, KEY);
+        parser.parse(jwt1);
+        parser.parse(jwt2);
+        assertEquals(1, parser.invalidate(jwt -> "k1".equals(jwt.getHeader().getKeyId())));
+        assertEquals(1, parser.size());
+        assertEquals(0, parser.invalidate(jwt -> "k1".equals(jwt.getHeader().getKeyId())));
+        parser.parse(jwt2);
+        assertEquals(1, parser.hitCount());
+    }
+
+}
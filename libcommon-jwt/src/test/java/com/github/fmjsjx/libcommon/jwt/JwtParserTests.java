@@ -0,0 +1,213 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.fmjsjx.libcommon.jwt.crypto.CryptoAlgorithms.JWSs;
+import com.github.fmjsjx.libcommon.jwt.exception.ExpiredJwtException;
+import com.github.fmjsjx.libcommon.jwt.exception.IllegalJwtException;
+import com.github.fmjsjx.libcommon.jwt.exception.InvalidSignatureException;
+import com.github.fmjsjx.libcommon.jwt.exception.NoSuchKeyException;
+import com.github.fmjsjx.libcommon.jwt.util.KidKeyLocator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JwtParserTests {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private static String tamper(String jwt) {
+        var last = jwt.charAt(jwt.length() - 2);
+        return jwt.substring(0, jwt.length() - 2) + (last == 'A' ? 'B' : 'A') + jwt.charAt(jwt.length() - 1);
+    }
+
+    @Test
+    public void testSimpleMac() {
+        var key = JWSs.HS256.getMacProvider().getSecretKey(SECRET);
+        var jwt = SimpleJwtBuilder.create().subject("test").expiredSeconds(60).build(JWSs.HS256, key);
+        var parser = JwtParser.builder().simple(JWSs.HS256, key).build();
+        for (var i = 0; i < 3; i++) {
+            var result = parser.parse(jwt);
+            assertEquals("HS256", result.getHeader().getAlgorithm());
+            assertEquals("test", result.getClaimsSet().getSubject());
+        }
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(tamper(jwt)));
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(jwt.substring(0, jwt.length() - 1)));
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(jwt + "A"));
+        assertThrows(IllegalJwtException.class, () -> parser.parse("abc.def"));
+        assertThrows(IllegalJwtException.class, () -> parser.parse("abcdef"));
+
+        var other = JWSs.HS256.getMacProvider().getSecretKey("another-secret-another-secret-00".getBytes());
+        assertThrows(InvalidSignatureException.class, () -> JwtParser.builder().simple(JWSs.HS256, other).build().parse(jwt));
+    }
+
+    @Test
+    public void testDefault() throws Exception {
+        var macKey = JWSs.HS512.getMacProvider().getSecretKey(SECRET);
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var keyPair = generator.generateKeyPair();
+        var parser = JwtParser.builder().keyLocator(KidKeyLocator.builder().simple()
+                .key("mac", macKey).key("rsa", keyPair.getPublic()).key("rsa-private", keyPair.getPrivate())
+                .build()).build();
+
+        var macJwt = SimpleJwtBuilder.create().kid("mac").subject("mac").build(JWSs.HS512, macKey);
+        assertEquals("mac", parser.parse(macJwt).getClaimsSet().getSubject());
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(tamper(macJwt)));
+
+        var rsaJwt = SimpleJwtBuilder.create().kid("rsa").subject("rsa").build(JWSs.RS256, keyPair.getPrivate());
+        assertEquals("rsa", parser.parse(rsaJwt).getClaimsSet().getSubject());
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(tamper(rsaJwt)));
+
+        var rsaPrivateJwt = SimpleJwtBuilder.create().kid("rsa-private").subject("rsa").build(JWSs.RS256, keyPair.getPrivate());
+        assertEquals("rsa", parser.parse(rsaPrivateJwt).getClaimsSet().getSubject());
+        assertThrows(InvalidSignatureException.class, () -> parser.parse(tamper(rsaPrivateJwt)));
+    }
+
+    @Test
+    public void testDefaultWithRotatedKeys() {
+        var keys = new HashMap<String, Key>();
+        var parser = JwtParser.builder().keyLocator(KidKeyLocator.builder().customized(keys::get).build()).build();
+        for (var i = 0; i < 200; i++) {
+            var key = JWSs.HS256.getMacProvider().getSecretKey(("rotated-secret-" + i).getBytes(StandardCharsets.UTF_8));
+            keys.put("key-" + i, key);
+            var jwt = SimpleJwtBuilder.create().kid("key-" + i).subject("test-" + i).build(JWSs.HS256, key);
+            assertEquals("test-" + i, parser.parse(jwt).getClaimsSet().getSubject());
+            assertThrows(InvalidSignatureException.class, () -> parser.parse(tamper(jwt)));
+        }
+    }
+
+    @Test
+    public void testSimpleSignature() throws Exception {
+        var generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        var keyPair = generator.generateKeyPair();
+        var jwt = SimpleJwtBuilder.create().subject("test").build(JWSs.ES256, keyPair.getPrivate());
+        var parser = JwtParser.builder().simple(JWSs.ES256, keyPair.getPublic()).build();
+        assertEquals("test", parser.parse(jwt).getClaimsSet().getSubject());
+        assertEquals("test", parser.parse(jwt).getClaimsSet().getSubject());
+    }
+
+    @Test
+    public void testInsecure() {
+        var jwt = SimpleJwtBuilder.create().subject("test").buildInsecure();
+        var parser = JwtParser.builder().allowInsecure().build();
+        var result = parser.parse(jwt);
+        assertEquals("none", result.getHeader().getAlgorithm());
+        assertEquals("test", result.getClaimsSet().getSubject());
+    }
+
+    @Test
+    public void testParseAll() throws Exception {
+        var macKey = JWSs.HS256.getMacProvider().getSecretKey(SECRET);
+        var generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        var keyPair = generator.generateKeyPair();
+        var parser = JwtParser.builder().keyLocator(KidKeyLocator.builder().simple()
+                .key("mac", macKey).key("ec", keyPair.getPublic()).build()).build();
+        var jwts = new ArrayList<String>();
+        for (var i = 0; i < 50; i++) {
+            jwts.add(SimpleJwtBuilder.create().kid("mac").subject("mac-" + i).build(JWSs.HS256, macKey));
+            jwts.add(SimpleJwtBuilder.create().kid("ec").subject("ec-" + i).build(JWSs.ES256, keyPair.getPrivate()));
+        }
+        jwts.add("illegal");
+        jwts.add(tamper(jwts.getFirst()));
+        jwts.add(SimpleJwtBuilder.create().kid("unknown").build(JWSs.HS256, macKey));
+        jwts.add(SimpleJwtBuilder.create().kid("mac").subject("expired")
+                .claimsSet(JwtClaimNames.EXPIRATION_TIME, 1L).build(JWSs.HS256, macKey));
+
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (var results : List.of(parser.parseAll(jwts), parser.parseAll(jwts.stream()),
+                    parser.parseAll(jwts, executor), parser.parseAll(jwts, ForkJoinPool.commonPool()))) {
+                assertEquals(jwts.size(), results.size());
+                for (var i = 0; i < 100; i++) {
+                    var result = results.get(i);
+                    assertTrue(result.isSuccess());
+                    assertSame(jwts.get(i), result.token());
+                    assertEquals((i % 2 == 0 ? "mac-" : "ec-") + i / 2, result.getOrThrow().getClaimsSet().getSubject());
+                }
+                assertInstanceOf(IllegalJwtException.class, results.get(100).error());
+                assertInstanceOf(InvalidSignatureException.class, results.get(101).error());
+                assertInstanceOf(NoSuchKeyException.class, results.get(102).error());
+                assertInstanceOf(ExpiredJwtException.class, results.get(103).error());
+                assertThrows(ExpiredJwtException.class, results.get(103)::getOrThrow);
+                assertNull(results.get(103).jwt());
+            }
+        } finally {
+            executor.close();
+        }
+
+        // the default implementations
+        var simpleParser = JwtParser.builder().simple(JWSs.HS256, macKey).build();
+        var macJwts = jwts.stream().filter(jwt -> jwt.length() < 150).toList();
+        for (var results : List.of(simpleParser.parseAll(macJwts), simpleParser.parseAll(macJwts, ForkJoinPool.commonPool()))) {
+            assertEquals(macJwts.size(), results.size());
+            assertEquals("mac-0", results.getFirst().getOrThrow().getClaimsSet().getSubject());
+            assertFalse(results.get(macJwts.indexOf("illegal")).isSuccess());
+        }
+    }
+
+    @Test
+    public void testParseAllWithRejectingExecutor() throws Exception {
+        var generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        var keyPair = generator.generateKeyPair();
+        var parser = JwtParser.builder().keyLocator(KidKeyLocator.builder().simple()
+                .key("ec", keyPair.getPublic()).build()).build();
+        var jwts = new ArrayList<String>();
+        for (var i = 0; i < 20; i++) {
+            jwts.add(SimpleJwtBuilder.create().kid("ec").subject("ec-" + i).build(JWSs.ES256, keyPair.getPrivate()));
+        }
+        Executor rejecting = command -> {
+            throw new RejectedExecutionException();
+        };
+        for (var results : List.of(parser.parseAll(jwts, rejecting), JwtParser.builder()
+                .simple(JWSs.ES256, keyPair.getPublic()).build().parseAll(jwts, rejecting))) {
+            assertEquals(jwts.size(), results.size());
+            for (var i = 0; i < jwts.size(); i++) {
+                assertEquals("ec-" + i, results.get(i).getOrThrow().getClaimsSet().getSubject());
+            }
+        }
+    }
+
+    @Test
+    public void testParseAllWithOverriddenLocate() {
+        var key1 = JWSs.HS256.getMacProvider().getSecretKey(SECRET);
+        var key2 = JWSs.HS256.getMacProvider().getSecretKey("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+        var calls = new AtomicInteger();
+        // locates the key by the "typ" header parameter instead of the "kid"
+        var locator = new KidKeyLocator() {
+            @Override
+            protected Optional<Key> lookup(String keyId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Key locate(JoseHeader header) {
+                calls.incrementAndGet();
+                return "K2".equals(header.getType()) ? key2 : key1;
+            }
+        };
+        var parser = JwtParser.builder().keyLocator(locator).build();
+        var jwts = List.of(
+                SimpleJwtBuilder.create().kid("k").subject("1").build(JWSs.HS256, key1),
+                SimpleJwtBuilder.create().kid("k").header(JoseHeaderNames.TYPE, "K2").subject("2").build(JWSs.HS256, key2));
+        var results = parser.parseAll(jwts);
+        assertEquals(2, calls.get());
+        assertEquals("1", results.get(0).getOrThrow().getClaimsSet().getSubject());
+        assertEquals("2", results.get(1).getOrThrow().getClaimsSet().getSubject());
+    }
+
+}
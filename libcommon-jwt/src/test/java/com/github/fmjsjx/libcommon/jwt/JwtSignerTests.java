@@ -0,0 +1,110 @@
+package com.github.fmjsjx.libcommon.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.fmjsjx.libcommon.jwt.crypto.CryptoAlgorithms.JWSs;
+import com.github.fmjsjx.libcommon.jwt.exception.InvalidKeyException;
+import com.github.fmjsjx.libcommon.jwt.util.KidKeyLocator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JwtSignerTests {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testMac() {
+        var key = JWSs.HS256.getMacProvider().getSecretKey(SECRET);
+        var signer = JwtSigner.builder().algorithm(JWSs.HS256, key).build();
+        var parser = JwtParser.builder().simple(JWSs.HS256, key).build();
+        for (var i = 0; i < 3; i++) {
+            var jwt = signer.sign(Map.of("sub", "test-" + i));
+            assertEquals(SimpleJwtBuilder.create().subject("test-" + i).build(JWSs.HS256, key), jwt);
+            var result = parser.parse(jwt);
+            assertEquals("HS256", result.getHeader().getAlgorithm());
+            assertEquals("test-" + i, result.getClaimsSet().getSubject());
+        }
+        // payload lengths of every remainder of 3
+        for (var sub : List.of("a", "ab", "abc", "abcd")) {
+            assertEquals(sub, parser.parse(signer.sign(Map.of("sub", sub))).getClaimsSet().getSubject());
+        }
+    }
+
+    @Test
+    public void testWriteLong() {
+        var values = new ArrayList<Long>(List.of(0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1));
+        // around every power of ten up to 10^18
+        var power = 1L;
+        for (var i = 1; i <= 18; i++) {
+            power *= 10;
+            values.addAll(List.of(power - 1, power, power + 1, -(power - 1), -power, -(power + 1)));
+        }
+        for (var value : values) {
+            var buffer = new JwtSigner.Buffer();
+            buffer.write(',');
+            buffer.writeLong(value);
+            assertEquals("," + value, buffer.toString());
+        }
+    }
+
+    @Test
+    public void testExpiredSeconds() {
+        var key = JWSs.HS512.getMacProvider().getSecretKey(SECRET);
+        var signer = JwtSigner.builder().algorithm(JWSs.HS512, key).kid("k1").expiredSeconds(3600).build();
+        var parser = JwtParser.builder().keyLocator(KidKeyLocator.builder().simple().key("k1", key).build()).build();
+        var claims = new LinkedHashMap<String, Object>();
+        claims.put("sub", "test");
+        claims.put("jti", "id-1");
+        var result = parser.parse(signer.sign(claims));
+        assertEquals("k1", result.getHeader().getKeyId());
+        assertEquals("test", result.getClaimsSet().getSubject());
+        assertEquals("id-1", result.getClaimsSet().getJwtId());
+        assertEquals(result.getClaimsSet().getIssuedAt().getAsLong() + 3600,
+                result.getClaimsSet().getExpirationTime().getAsLong());
+
+        result = parser.parse(signer.sign(Map.of()));
+        assertNull(result.getClaimsSet().getSubject());
+        assertEquals(result.getClaimsSet().getIssuedAt().getAsLong() + 3600,
+                result.getClaimsSet().getExpirationTime().getAsLong());
+
+        assertThrows(IllegalArgumentException.class, () -> signer.sign(List.of(1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> signer.sign("test"));
+    }
+
+    @Test
+    public void testLargePayload() {
+        var key = JWSs.HS256.getMacProvider().getSecretKey(SECRET);
+        var signer = JwtSigner.builder().algorithm(JWSs.HS256, key).build();
+        var parser = JwtParser.builder().simple(JWSs.HS256, key).build();
+        var sub = "x".repeat(100_000);
+        assertEquals(sub, parser.parse(signer.sign(Map.of("sub", sub))).getClaimsSet().getSubject());
+        assertEquals("small", parser.parse(signer.sign(Map.of("sub", "small"))).getClaimsSet().getSubject());
+    }
+
+    @Test
+    public void testSignature() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var rsa = generator.generateKeyPair();
+        var jwt = JwtSigner.builder().algorithm(JWSs.RS256, rsa.getPrivate()).build().sign(Map.of("sub", "rsa"));
+        assertEquals("rsa", JwtParser.builder().simple(JWSs.RS256, rsa.getPublic()).build().parse(jwt)
+                .getClaimsSet().getSubject());
+
+        generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        var ec = generator.generateKeyPair();
+        jwt = JwtSigner.builder().algorithm(JWSs.ES256, ec.getPrivate()).build().sign(Map.of("sub", "ec"));
+        assertEquals("ec", JwtParser.builder().simple(JWSs.ES256, ec.getPublic()).build().parse(jwt)
+                .getClaimsSet().getSubject());
+
+        assertThrows(InvalidKeyException.class, () -> JwtSigner.builder().algorithm(JWSs.RS256, rsa.getPublic()).build());
+        assertThrows(IllegalArgumentException.class, () -> JwtSigner.builder().build());
+    }
+
+}
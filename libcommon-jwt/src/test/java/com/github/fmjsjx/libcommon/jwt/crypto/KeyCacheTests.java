@@ -0,0 +1,69 @@
+package com.github.fmjsjx.libcommon.jwt.crypto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class KeyCacheTests {
+
+    private static SecretKey key(int i) {
+        return new SecretKeySpec(("key-" + i).getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    @Test
+    public void testEviction() {
+        var cache = new KeyCache<SecretKey, Integer>();
+        for (var i = 0; i < KeyCache.MAX_SIZE; i++) {
+            cache.put(key(i), i);
+        }
+        assertEquals(KeyCache.MAX_SIZE, cache.size());
+        // touch the eldest one
+        assertEquals(0, cache.get(key(0)));
+        cache.put(key(KeyCache.MAX_SIZE), KeyCache.MAX_SIZE);
+        assertEquals(KeyCache.MAX_SIZE, cache.size());
+        assertTrue(cache.containsKey(key(0)));
+        assertFalse(cache.containsKey(key(1)));
+    }
+
+    @Test
+    public void testMacFunction() {
+        var provider = CryptoAlgorithms.JWSs.HS256.getMacProvider();
+        var data = "header.payload".getBytes(StandardCharsets.US_ASCII);
+        for (var i = 0; i < KeyCache.MAX_SIZE * 2; i++) {
+            var function = provider.getFunction(key(i));
+            var expected = function.apply(data);
+            assertArrayEquals(expected, function.apply(data));
+            assertArrayEquals(expected, function.apply(("x" + "header.payload").getBytes(StandardCharsets.US_ASCII), 1, data.length));
+            assertArrayEquals(expected, provider.getFunction(key(i)).apply(data));
+        }
+    }
+
+    @Test
+    public void testDedicatedMacFunction() throws Exception {
+        var provider = CryptoAlgorithms.JWSs.HS256.getMacProvider();
+        var data = "header.payload".getBytes(StandardCharsets.US_ASCII);
+        var key = key(0);
+        var function = provider.getDedicatedFunction(key);
+        var expected = provider.getFunction(key).apply(data);
+        // other keys never evict the dedicated Mac
+        for (var i = 1; i <= KeyCache.MAX_SIZE * 2; i++) {
+            provider.getFunction(key(i)).apply(data);
+            assertArrayEquals(expected, function.apply(data));
+        }
+        var output = new byte[expected.length + 1];
+        assertEquals(expected.length, function.apply(data, 0, data.length, output, 1));
+        assertArrayEquals(expected, Arrays.copyOfRange(output, 1, output.length));
+        var other = new AtomicReference<byte[]>();
+        var thread = new Thread(() -> other.set(function.apply(data)));
+        thread.start();
+        thread.join();
+        assertArrayEquals(expected, other.get());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.github.fmjsjx.libcommon.r2dbc;
 
+import com.github.fmjsjx.libcommon.util.AccessorFactory;
 import com.github.fmjsjx.libcommon.util.StringUtil;
 import com.github.fmjsjx.libcommon.util.concurrent.EasyThreadLocal;
 import io.r2dbc.spi.Parameter;
@@ -14,7 +15,6 @@ import org.springframework.data.relational.core.mapping.Table;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -2197,13 +2197,7 @@ public class SqlBuilder {
                 // can't access this field, just skip it
                 return null;
             }
-            valueGetter = (e) -> {
-                try {
-                    return field.get(e);
-                } catch (IllegalAccessException ex) {
-                    throw new RuntimeException(ex);
-                }
-            };
+            valueGetter = AccessorFactory.getter(field);
         }
         return valueGetter;
     }
@@ -2259,21 +2253,14 @@ public class SqlBuilder {
             if (!method.getReturnType().equals(field.getType())) {
                 return null;
             }
-            return entity -> {
-                try {
-                    return method.invoke(entity);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new RuntimeException(e);
-                }
-            };
-        } catch (NoSuchMethodException e) {
+            return AccessorFactory.getter(method);
+        } catch (NoSuchMethodException | IllegalArgumentException e) {
             return null;
         }
     }
 
     static final String toGetterName(String fieldName, boolean isBoolean) {
-        var prefix = isBoolean ? "is" : "get";
-        return prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        return AccessorFactory.toGetterName(fieldName, isBoolean);
     }
 
     /**
@@ -0,0 +1,256 @@
+package com.github.fmjsjx.libcommon.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache holds at most a fixed number of entries.
+ * <p>
+ * Lookups are lock-free. When the cache is full, an entry is evicted by the
+ * CLOCK (second chance) policy before a new one is put: each entry has a
+ * reference bit set on every hit, and the clock hand sweeps over the entries
+ * in insertion order, clearing the reference bits, until it finds an entry
+ * which has not been hit since the last sweep. So the hot entries stay in the
+ * cache, while the cold ones, such as keys generated dynamically, are evicted
+ * first, and every slot has the same chance to be a victim.
+ * <p>
+ * Insertions, removals and evictions are synchronized on the cache, which is
+ * cheap as long as the hit rate is high.
+ * <p>
+ * {@code null} keys and values are not allowed.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class BoundedCache<K, V> {
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final int slot;
+        private volatile boolean referenced;
+
+        private Node(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+
+    }
+
+    private final ConcurrentHashMap<K, Node<K, V>> nodes = new ConcurrentHashMap<>();
+    private final Node<K, V>[] ring;
+    private int hand;
+    private long evictionCount;
+
+    /**
+     * Constructs a new {@link BoundedCache} with the specified maximum size.
+     *
+     * @param maxSize the maximum number of cached entries
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.ring = new Node[maxSize];
+    }
+
+    /**
+     * Returns the value to which the specified key is cached, or {@code null}
+     * if there is no such entry.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null} if absent
+     */
+    public V get(K key) {
+        var node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns the value to which the specified key is cached, or creates and
+     * caches a new one if absent.
+     * <p>
+     * The new value is created outside the lock, so the factory may be called
+     * more than once for the same key concurrently, and only the first cached
+     * one will be returned.
+     *
+     * @param key     the key
+     * @param factory the function to create the value
+     * @return the cached value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        var value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = Objects.requireNonNull(factory.apply(key), "factory must not return null");
+        var existing = putIfAbsent(key, value);
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * Caches the specified value with the specified key if absent.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or {@code null} if absent
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value, "value must not be null");
+        var existing = nodes.get(key);
+        if (existing != null) {
+            existing.referenced = true;
+            return existing.value;
+        }
+        link(key, value);
+        return null;
+    }
+
+    /**
+     * Caches the specified value with the specified key, replacing the
+     * previous one if present.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or {@code null} if absent
+     */
+    public synchronized V put(K key, V value) {
+        Objects.requireNonNull(value, "value must not be null");
+        var existing = nodes.get(key);
+        if (existing != null) {
+            unlink(existing);
+        }
+        link(key, value);
+        return existing == null ? null : existing.value;
+    }
+
+    private void link(K key, V value) {
+        var slot = nodes.size() < ring.length ? freeSlot() : evict();
+        var node = new Node<>(key, value, slot);
+        ring[slot] = node;
+        nodes.put(key, node);
+    }
+
+    private int freeSlot() {
+        var ring = this.ring;
+        for (var hand = this.hand; ; hand = hand + 1 == ring.length ? 0 : hand + 1) {
+            if (ring[hand] == null) {
+                this.hand = hand + 1 == ring.length ? 0 : hand + 1;
+                return hand;
+            }
+        }
+    }
+
+    private int evict() {
+        var ring = this.ring;
+        for (var hand = this.hand; ; hand = hand + 1 == ring.length ? 0 : hand + 1) {
+            var node = ring[hand];
+            if (node.referenced) {
+                // second chance
+                node.referenced = false;
+            } else {
+                this.hand = hand + 1 == ring.length ? 0 : hand + 1;
+                unlink(node);
+                evictionCount++;
+                return hand;
+            }
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        ring[node.slot] = null;
+        nodes.remove(node.key, node);
+    }
+
+    /**
+     * Removes the entry of the specified key only if it is currently cached
+     * with the specified value.
+     *
+     * @param key   the key
+     * @param value the value expected to be cached with the key
+     * @return {@code true} if the entry was removed
+     */
+    public synchronized boolean remove(K key, V value) {
+        var node = nodes.get(key);
+        if (node != null && node.value == value) {
+            unlink(node);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all entries which match the specified predicate.
+     *
+     * @param predicate the predicate
+     * @return the number of removed entries
+     */
+    public synchronized int removeIf(BiPredicate<? super K, ? super V> predicate) {
+        Objects.requireNonNull(predicate, "predicate must not be null");
+        var removed = 0;
+        for (var node : ring) {
+            if (node != null && predicate.test(node.key, node.value)) {
+                unlink(node);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        nodes.clear();
+        hand = 0;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of cached entries
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the maximum number of cached entries.
+     *
+     * @return the maximum number of cached entries
+     */
+    public int maxSize() {
+        return ring.length;
+    }
+
+    /**
+     * Returns the number of entries evicted by the CLOCK policy, excluding the
+     * removed ones.
+     *
+     * @return the eviction count
+     */
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache(maxSize=" + maxSize() + ", size=" + size() + ")";
+    }
+
+}
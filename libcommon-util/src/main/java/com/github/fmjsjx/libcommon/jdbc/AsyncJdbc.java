@@ -0,0 +1,281 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An asynchronous facade of {@link JdbcUtil}, which executes the blocking
+ * {@code JDBC} operations on virtual threads.
+ * <p>
+ * Each operation borrows a connection from the {@link DataSource}, executes
+ * on a new virtual thread (or the custom {@link Executor}), and returns the
+ * connection before the returned {@link CompletableFuture} completes. The
+ * number of concurrent operations is bounded by a {@link Semaphore}, which
+ * should match the size of the connection pool, so that excess operations
+ * just wait for permits on their (virtual) threads, instead of occupying
+ * platform threads or piling up in the pool.
+ * <p>
+ * Any {@link SQLException} will be wrapped in a {@link SQLRuntimeException}
+ * and complete the returned future exceptionally.
+ *
+ * @author MJ Fang
+ * @see JdbcUtil
+ * @since 4.3
+ */
+public final class AsyncJdbc {
+
+    private static final class VirtualThreadExecutorHolder {
+        private static final ThreadFactory threadFactory = Thread.ofVirtual().name("async-jdbc-", 0).factory();
+        private static final Executor executor = command -> threadFactory.newThread(command).start();
+    }
+
+    /**
+     * Creates a new {@link AsyncJdbc} instance which executes operations on
+     * virtual threads.
+     *
+     * @param dataSource     the {@link DataSource}
+     * @param maxConcurrency the maximum number of concurrent operations,
+     *                       typically the size of the connection pool
+     * @return a new {@code AsyncJdbc}
+     */
+    public static AsyncJdbc create(DataSource dataSource, int maxConcurrency) {
+        return create(dataSource, maxConcurrency, VirtualThreadExecutorHolder.executor);
+    }
+
+    /**
+     * Creates a new {@link AsyncJdbc} instance which executes operations on the
+     * specified executor.
+     *
+     * @param dataSource     the {@link DataSource}
+     * @param maxConcurrency the maximum number of concurrent operations,
+     *                       typically the size of the connection pool
+     * @param executor       the {@link Executor}, should run each task on its
+     *                       own (virtual) thread
+     * @return a new {@code AsyncJdbc}
+     */
+    public static AsyncJdbc create(DataSource dataSource, int maxConcurrency, Executor executor) {
+        Objects.requireNonNull(dataSource, "dataSource must not be null");
+        Objects.requireNonNull(executor, "executor must not be null");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        return new AsyncJdbc(dataSource, maxConcurrency, executor);
+    }
+
+    private final DataSource dataSource;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    private AsyncJdbc(DataSource dataSource, int maxConcurrency, Executor executor) {
+        this.dataSource = dataSource;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Returns the {@link DataSource}.
+     *
+     * @return the {@code DataSource}
+     */
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Returns the maximum number of concurrent operations.
+     *
+     * @return the maximum number of concurrent operations
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns the current number of available permits.
+     *
+     * @return the current number of available permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Executes the specified action asynchronously with a connection borrowed
+     * from the {@link DataSource}.
+     * <p>
+     * The connection will be closed (returned to the pool) after the action
+     * finished.
+     *
+     * @param <R>    the result type
+     * @param action the action
+     * @return a {@code CompletableFuture<R>}
+     */
+    public <R> CompletableFuture<R> execute(SQLMapper<Connection, R> action) {
+        var future = new CompletableFuture<R>();
+        try {
+            executor.execute(() -> run(action, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <R> void run(SQLMapper<Connection, R> action, CompletableFuture<R> future) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            // restore the interrupt status for the executor
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return;
+        }
+        R result = null;
+        Throwable cause = null;
+        try (var conn = dataSource.getConnection()) {
+            result = action.map(conn);
+        } catch (SQLException e) {
+            cause = new SQLRuntimeException(e);
+        } catch (Throwable e) {
+            cause = e;
+        } finally {
+            // release the permit before completing the future, so that the
+            // dependent stages can always acquire it again
+            permits.release();
+        }
+        if (cause == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Executes the specified action asynchronously within a transaction.
+     * <p>
+     * The transaction will be committed if the action completes normally,
+     * otherwise it will be rolled back. The auto-commit mode of the connection
+     * will be restored after that.
+     *
+     * @param <R>    the result type
+     * @param action the action
+     * @return a {@code CompletableFuture<R>}
+     */
+    public <R> CompletableFuture<R> executeInTransaction(SQLMapper<Connection, R> action) {
+        return execute(conn -> {
+            var autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+            R result;
+            try {
+                result = action.map(conn);
+                conn.commit();
+            } catch (Throwable e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    e.addSuppressed(ex);
+                }
+                if (autoCommit) {
+                    // never hide the original exception
+                    try {
+                        conn.setAutoCommit(true);
+                    } catch (SQLException ex) {
+                        e.addSuppressed(ex);
+                    }
+                }
+                throw e;
+            }
+            if (autoCommit) {
+                conn.setAutoCommit(true);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Execute a select/query SQL asynchronously, setting parameters by a
+     * {@link PreparedExecution}, mapping each row to a list via a
+     * {@link RowMapper}.
+     *
+     * @param <T>          the result type
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param rowMapper    a {@link RowMapper} to map one object per row
+     * @return a {@code CompletableFuture<List<T>>}
+     * @see JdbcUtil#selectMany(Connection, String, PreparedExecution, RowMapper)
+     */
+    public <T> CompletableFuture<List<T>> selectMany(String sql, PreparedExecution paramsSetter,
+                                                     RowMapper<T> rowMapper) {
+        return execute(conn -> JdbcUtil.selectMany(conn, sql, paramsSetter, rowMapper));
+    }
+
+    /**
+     * Execute a select/query SQL asynchronously, setting parameters by a
+     * {@link PreparedExecution}, mapping first row to the result via a
+     * {@link RowMapper}.
+     *
+     * @param <T>          the result type
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param rowMapper    a {@link RowMapper} to map one object per row
+     * @return a {@code CompletableFuture<Optional<T>>}
+     * @see JdbcUtil#selectOne(Connection, String, PreparedExecution, RowMapper)
+     */
+    public <T> CompletableFuture<Optional<T>> selectOne(String sql, PreparedExecution paramsSetter,
+                                                        RowMapper<T> rowMapper) {
+        return execute(conn -> JdbcUtil.selectOne(conn, sql, paramsSetter, rowMapper));
+    }
+
+    /**
+     * Execute an update SQL asynchronously, setting parameters by a
+     * {@link PreparedExecution}.
+     *
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @return a {@code CompletableFuture<Integer>} holding the number of rows
+     *         affected
+     * @see JdbcUtil#update(Connection, String, PreparedExecution)
+     */
+    public CompletableFuture<Integer> update(String sql, PreparedExecution paramsSetter) {
+        return execute(conn -> JdbcUtil.update(conn, sql, paramsSetter));
+    }
+
+    /**
+     * Execute an update SQL in batches asynchronously, setting parameters for
+     * each element by a {@link BatchExecution}.
+     * <p>
+     * All batches are executed within one transaction.
+     *
+     * @param <T>          the type of the elements
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @param batchSize    the maximum number of statements in one batch
+     * @return a {@code CompletableFuture<List<int[]>>} holding the update counts
+     *         of each batch
+     * @see JdbcUtil#batchUpdate(Connection, String, Iterable, BatchExecution, int)
+     */
+    public <T> CompletableFuture<List<int[]>> batchUpdate(String sql, Iterable<? extends T> elements,
+                                                          BatchExecution<? super T> paramsSetter, int batchSize) {
+        JdbcUtil.requirePositiveBatchSize(batchSize);
+        return executeInTransaction(conn -> JdbcUtil.batchUpdate(conn, sql, elements, paramsSetter, batchSize));
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncJdbc(dataSource=" + dataSource + ", maxConcurrency=" + maxConcurrency + ")";
+    }
+
+}
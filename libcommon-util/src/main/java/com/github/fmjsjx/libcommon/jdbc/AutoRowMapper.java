@@ -0,0 +1,304 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import com.github.fmjsjx.libcommon.util.AccessorFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link RowMapper} which maps rows to records or java beans automatically.
+ * <p>
+ * Columns are matched to the record components, or the fields of the java
+ * bean, by their labels ignoring case and underscores, e.g. the column
+ * {@code user_id} matches the property {@code userId}. Columns without
+ * matched properties are ignored, and properties without matched columns are
+ * left as their default values.
+ * <p>
+ * Java beans must have a no-arg constructor, the properties are set by the
+ * setter methods, or the fields directly if there are no setter methods (see
+ * {@link AccessorFactory#findSetter(Class, java.lang.reflect.Field)}).
+ * <p>
+ * The column indices are resolved only once for each distinct shape of the
+ * {@link ResultSetMetaData}. {@link #map(ResultSet)} still reads the metadata
+ * of each row to find the resolved mapping, so the query methods of
+ * {@link JdbcUtil} {@link #bind(ResultSetMetaData) bind} the mapper to the
+ * metadata once for each query, and the bound {@link RowMapper} reads rows
+ * without any metadata access or column lookup.
+ * <p>
+ * Instances of this class are thread-safe and should be obtained by
+ * {@link #of(Class)}, which caches them for each class.
+ *
+ * @param <T> the type of the mapped objects
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class AutoRowMapper<T> implements RowMapper<T> {
+
+    private static final int MAX_CACHED_SHAPES = 64;
+
+    private static final ClassValue<AutoRowMapper<?>> mappers = new ClassValue<>() {
+        @Override
+        protected AutoRowMapper<?> computeValue(Class<?> type) {
+            return new AutoRowMapper<>(type);
+        }
+    };
+
+    /**
+     * Returns the {@link AutoRowMapper} of the specified record or java bean
+     * class.
+     *
+     * @param <T>  the type of the mapped objects
+     * @param type the record or java bean class
+     * @return the {@code AutoRowMapper}
+     * @throws IllegalArgumentException if the class is neither a record nor a
+     *                                  java bean with an accessible no-arg
+     *                                  constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AutoRowMapper<T> of(Class<T> type) {
+        return (AutoRowMapper<T>) mappers.get(type);
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet rs, int column) throws SQLException;
+    }
+
+    private record Property(int index, Class<?> type, BiConsumer<Object, Object> setter) {
+    }
+
+    private record Binding(int column, int index, ColumnReader reader, BiConsumer<Object, Object> setter) {
+    }
+
+    private final Class<T> type;
+    private final Map<String, Property> properties;
+    private final MethodHandle constructor;
+    private final Object[] defaultArgs;
+    private final ConcurrentMap<List<String>, Binding[]> shapes = new ConcurrentHashMap<>();
+
+    private AutoRowMapper(Class<T> type) {
+        this.type = type;
+        var properties = new HashMap<String, Property>();
+        try {
+            if (type.isRecord()) {
+                var components = type.getRecordComponents();
+                var parameterTypes = new Class<?>[components.length];
+                defaultArgs = new Object[components.length];
+                for (var i = 0; i < components.length; i++) {
+                    var componentType = components[i].getType();
+                    parameterTypes[i] = componentType;
+                    defaultArgs[i] = componentType.isPrimitive() ? defaultValue(componentType) : null;
+                    properties.put(normalize(components[i].getName()), new Property(i, componentType, null));
+                }
+                var ctor = type.getDeclaredConstructor(parameterTypes);
+                ctor.trySetAccessible();
+                constructor = MethodHandles.lookup().unreflectConstructor(ctor)
+                        .asType(MethodType.genericMethodType(components.length))
+                        .asSpreader(Object[].class, components.length);
+            } else {
+                if (Modifier.isAbstract(type.getModifiers())) {
+                    throw new IllegalArgumentException("can't map rows to abstract class " + type.getName());
+                }
+                defaultArgs = null;
+                for (Class<?> c = type; c != Object.class && c != null; c = c.getSuperclass()) {
+                    for (var field : c.getDeclaredFields()) {
+                        var name = normalize(field.getName());
+                        if (Modifier.isStatic(field.getModifiers()) || properties.containsKey(name)) {
+                            continue;
+                        }
+                        var setter = AccessorFactory.findSetter(type, field);
+                        if (setter.isPresent()) {
+                            @SuppressWarnings("unchecked")
+                            var s = (BiConsumer<Object, Object>) (BiConsumer<?, Object>) setter.get();
+                            properties.put(name, new Property(-1, field.getType(), s));
+                        }
+                    }
+                }
+                var ctor = type.getDeclaredConstructor();
+                ctor.trySetAccessible();
+                constructor = MethodHandles.lookup().unreflectConstructor(ctor)
+                        .asType(MethodType.methodType(Object.class));
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("can't map rows to " + type.getName(), e);
+        }
+        this.properties = Map.copyOf(properties);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return Array.get(Array.newInstance(type, 1), 0);
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the type of the mapped objects.
+     *
+     * @return the type of the mapped objects
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Returns a {@link RowMapper} bound to the specified metadata, which maps
+     * the rows of the {@link ResultSet}s with the same columns without any
+     * metadata access or column lookup.
+     *
+     * @param metaData the {@link ResultSetMetaData}
+     * @return the bound {@code RowMapper}
+     * @throws SQLException if a database access error occurs
+     */
+    public RowMapper<T> bind(ResultSetMetaData metaData) throws SQLException {
+        var bindings = resolve(metaData);
+        return rs -> map(rs, bindings);
+    }
+
+    /**
+     * Maps the current row of the {@link ResultSet}.
+     * <p>
+     * The metadata of the result set is read on every call, prefer
+     * {@link #bind(ResultSetMetaData)} to map many rows.
+     */
+    @Override
+    public T map(ResultSet rs) throws SQLException {
+        return map(rs, resolve(rs.getMetaData()));
+    }
+
+    private T map(ResultSet rs, Binding[] bindings) throws SQLException {
+        try {
+            if (defaultArgs != null) {
+                var args = defaultArgs.clone();
+                for (var binding : bindings) {
+                    args[binding.index] = binding.reader.read(rs, binding.column);
+                }
+                return type.cast((Object) constructor.invokeExact(args));
+            }
+            var bean = (Object) constructor.invokeExact();
+            for (var binding : bindings) {
+                binding.setter.accept(bean, binding.reader.read(rs, binding.column));
+            }
+            return type.cast(bean);
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private Binding[] resolve(ResultSetMetaData metaData) throws SQLException {
+        var columnCount = metaData.getColumnCount();
+        var labels = new String[columnCount];
+        for (var i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        var shape = Arrays.asList(labels);
+        var bindings = shapes.get(shape);
+        if (bindings == null) {
+            bindings = bind(labels);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.putIfAbsent(shape, bindings);
+            }
+        }
+        return bindings;
+    }
+
+    private Binding[] bind(String[] labels) {
+        var bindings = new ArrayList<Binding>(labels.length);
+        for (var i = 0; i < labels.length; i++) {
+            var property = properties.get(normalize(labels[i]));
+            if (property != null) {
+                bindings.add(new Binding(i + 1, property.index, reader(property.type), property.setter));
+            }
+        }
+        return bindings.toArray(Binding[]::new);
+    }
+
+    private static ColumnReader reader(Class<?> type) {
+        if (type == int.class) {
+            return ResultSet::getInt;
+        } else if (type == long.class) {
+            return ResultSet::getLong;
+        } else if (type == boolean.class) {
+            return ResultSet::getBoolean;
+        } else if (type == double.class) {
+            return ResultSet::getDouble;
+        } else if (type == float.class) {
+            return ResultSet::getFloat;
+        } else if (type == short.class) {
+            return ResultSet::getShort;
+        } else if (type == byte.class) {
+            return ResultSet::getByte;
+        } else if (type == Integer.class) {
+            return (rs, column) -> nullable(rs, rs.getInt(column));
+        } else if (type == Long.class) {
+            return (rs, column) -> nullable(rs, rs.getLong(column));
+        } else if (type == Boolean.class) {
+            return (rs, column) -> nullable(rs, rs.getBoolean(column));
+        } else if (type == Double.class) {
+            return (rs, column) -> nullable(rs, rs.getDouble(column));
+        } else if (type == Float.class) {
+            return (rs, column) -> nullable(rs, rs.getFloat(column));
+        } else if (type == Short.class) {
+            return (rs, column) -> nullable(rs, rs.getShort(column));
+        } else if (type == Byte.class) {
+            return (rs, column) -> nullable(rs, rs.getByte(column));
+        } else if (type == String.class) {
+            return ResultSet::getString;
+        } else if (type == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        } else if (type == byte[].class) {
+            return ResultSet::getBytes;
+        } else if (type == Timestamp.class || type == java.util.Date.class) {
+            return ResultSet::getTimestamp;
+        } else if (type == java.sql.Date.class) {
+            return ResultSet::getDate;
+        } else if (type == Time.class) {
+            return ResultSet::getTime;
+        } else if (type == Instant.class) {
+            return (rs, column) -> {
+                var timestamp = rs.getTimestamp(column);
+                return timestamp == null ? null : timestamp.toInstant();
+            };
+        } else if (type.isPrimitive()) {
+            // char
+            return (rs, column) -> {
+                var value = rs.getString(column);
+                return value == null || value.isEmpty() ? '\0' : value.charAt(0);
+            };
+        }
+        return (rs, column) -> rs.getObject(column, type);
+    }
+
+    private static Object nullable(ResultSet rs, Object value) throws SQLException {
+        return rs.wasNull() ? null : value;
+    }
+
+    @Override
+    public String toString() {
+        return "AutoRowMapper(" + type.getName() + ")";
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.BiConsumer;
+
+/**
+ * Represents an operation that sets the parameters of a
+ * {@link PreparedStatement} from an element of a batch, and returns no result.
+ *
+ * <p>
+ * This is a <a href="package-summary.html">functional interface</a> whose
+ * functional method is {@link #execute(PreparedStatement, Object)}.
+ *
+ * @param <T> the type of the elements of the batch
+ * @author MJ Fang
+ * @since 4.3
+ */
+@FunctionalInterface
+public interface BatchExecution<T> extends BiConsumer<PreparedStatement, T> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param statement the input {@code PreparedStatement}
+     * @param element   the element of the batch
+     */
+    @Override
+    default void accept(PreparedStatement statement, T element) {
+        try {
+            execute(statement, element);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param statement the input {@code PreparedStatement}
+     * @param element   the element of the batch
+     * @throws SQLException if a database access error occurs or this method is
+     *                      called on a closed {@code PreparedStatement}
+     */
+    void execute(PreparedStatement statement, T element) throws SQLException;
+
+}
@@ -0,0 +1,98 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Options of the cursor used to fetch rows of a query.
+ * <p>
+ * Most drivers read all rows of a {@link ResultSet} into memory by default.
+ * To process very large results in constant memory, a forward-only and
+ * read-only cursor with a positive fetch size should be used. Some drivers
+ * need special settings to enable streaming, e.g. MySQL Connector/J streams
+ * rows one by one only if the fetch size is {@link Integer#MIN_VALUE} (or
+ * {@code useCursorFetch=true} is set), and PostgreSQL JDBC driver uses cursors
+ * only when the auto-commit mode is disabled.
+ *
+ * @param fetchSize            the fetch size, {@code 0} means the driver's
+ *                             default
+ * @param resultSetType        the result set type, one of
+ *                             {@link ResultSet#TYPE_FORWARD_ONLY},
+ *                             {@link ResultSet#TYPE_SCROLL_INSENSITIVE} or
+ *                             {@link ResultSet#TYPE_SCROLL_SENSITIVE}
+ * @param resultSetConcurrency the concurrency type, one of
+ *                             {@link ResultSet#CONCUR_READ_ONLY} or
+ *                             {@link ResultSet#CONCUR_UPDATABLE}
+ * @author MJ Fang
+ * @see JdbcUtil#selectStream(Connection, String, PreparedExecution,
+ *      FetchOptions, RowMapper)
+ * @see JdbcUtil#forEachRow(Connection, String, PreparedExecution,
+ *      FetchOptions, ResultExecution)
+ * @since 4.3
+ */
+public record FetchOptions(int fetchSize, int resultSetType, int resultSetConcurrency) {
+
+    /**
+     * The default options, using a forward-only and read-only cursor with the
+     * driver's default fetch size.
+     */
+    public static final FetchOptions DEFAULT = new FetchOptions(0, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+
+    /**
+     * Returns the options using a forward-only and read-only cursor with the
+     * specified fetch size.
+     *
+     * @param fetchSize the fetch size, {@code 0} means the driver's default
+     * @return a {@code FetchOptions}
+     */
+    public static FetchOptions forwardOnly(int fetchSize) {
+        if (fetchSize == 0) {
+            return DEFAULT;
+        }
+        return new FetchOptions(fetchSize, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Constructs a new {@link FetchOptions} instance.
+     *
+     * @param fetchSize            the fetch size, {@code 0} means the driver's
+     *                             default
+     * @param resultSetType        the result set type
+     * @param resultSetConcurrency the concurrency type
+     */
+    public FetchOptions {
+        if (fetchSize < 0 && fetchSize != Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("fetchSize must not be negative");
+        }
+    }
+
+    /**
+     * Returns a copy of this options with the specified fetch size.
+     *
+     * @param fetchSize the fetch size
+     * @return a {@code FetchOptions}
+     */
+    public FetchOptions withFetchSize(int fetchSize) {
+        if (this.fetchSize == fetchSize) {
+            return this;
+        }
+        return new FetchOptions(fetchSize, resultSetType, resultSetConcurrency);
+    }
+
+    PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+        var statement = conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        if (fetchSize != 0) {
+            try {
+                statement.setFetchSize(fetchSize);
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+        }
+        return statement;
+    }
+
+}
@@ -1,6 +1,10 @@
 package com.github.fmjsjx.libcommon.jdbc;
 
+import com.github.fmjsjx.libcommon.collection.IntArrayList;
+import com.github.fmjsjx.libcommon.collection.LongArrayList;
+
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -9,14 +13,26 @@ import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for {@code JDBC}.
  */
 public class JdbcUtil {
 
+    /**
+     * The default number of statements executed in one batch.
+     *
+     * @since 4.3
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     /**
      * Execute a select/query SQL, setting parameters by a
      * {@link PreparedExecution}, reading the {@link ResultSet} with a
@@ -31,15 +47,20 @@ public class JdbcUtil {
     public static final void select(Connection conn, String sql, PreparedExecution paramsSetter,
             ResultExecution execution) throws SQLRuntimeException {
         try (var statement = conn.prepareStatement(sql)) {
-            paramsSetter.execute(statement);
-            try (var rs = statement.executeQuery()) {
-                execution.execute(rs);
-            }
+            executeSelect(statement, paramsSetter, execution);
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
         }
     }
 
+    static final void executeSelect(PreparedStatement statement, PreparedExecution paramsSetter,
+            ResultExecution execution) throws SQLException {
+        paramsSetter.execute(statement);
+        try (var rs = statement.executeQuery()) {
+            execution.execute(rs);
+        }
+    }
+
     /**
      * Execute a select/query SQL, setting parameters by a
      * {@link PreparedExecution}, mapping each row to a list via a
@@ -56,13 +77,210 @@ public class JdbcUtil {
     public static final <T> List<T> selectMany(Connection conn, String sql, PreparedExecution paramsSetter,
             RowMapper<T> rowMapper) throws SQLRuntimeException {
         try (var statement = conn.prepareStatement(sql)) {
+            return executeSelectMany(statement, paramsSetter, rowMapper);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    static final <T> List<T> executeSelectMany(PreparedStatement statement, PreparedExecution paramsSetter,
+            RowMapper<T> rowMapper) throws SQLException {
+        paramsSetter.execute(statement);
+        try (var rs = statement.executeQuery()) {
+            var list = new ArrayList<T>();
+            var mapper = bind(rowMapper, rs);
+            for (; rs.next();) {
+                list.add(mapper.map(rs));
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Binds the {@link RowMapper} to the {@link ResultSet} if it is an
+     * {@link AutoRowMapper}, so that the columns are resolved only once for
+     * each query.
+     */
+    private static final <T> RowMapper<T> bind(RowMapper<T> rowMapper, ResultSet rs) throws SQLException {
+        return rowMapper instanceof AutoRowMapper<T> autoRowMapper ? autoRowMapper.bind(rs.getMetaData()) : rowMapper;
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, returning a lazily populated {@link Stream}
+     * which maps each row via a {@link RowMapper}.
+     * <p>
+     * This method is equivalent to
+     * {@link #selectStream(Connection, String, PreparedExecution, FetchOptions, RowMapper)
+     * selectStream(conn, sql, paramsSetter, FetchOptions.DEFAULT, rowMapper)}.
+     *
+     * @param <T>          the result type
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param rowMapper    a {@link RowMapper} to map one object per row
+     * @return a {@code Stream<T>} which must be closed after use
+     * @throws SQLRuntimeException if a database access error occurs
+     * @since 4.3
+     */
+    public static final <T> Stream<T> selectStream(Connection conn, String sql, PreparedExecution paramsSetter,
+            RowMapper<T> rowMapper) throws SQLRuntimeException {
+        return selectStream(conn, sql, paramsSetter, FetchOptions.DEFAULT, rowMapper);
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, returning a lazily populated {@link Stream}
+     * which maps each row via a {@link RowMapper}.
+     * <p>
+     * Rows are read from the {@link ResultSet} only when the stream is
+     * consumed, so that very large results can be processed in constant memory
+     * with proper {@link FetchOptions}. The statement and the result set will be
+     * closed when the stream is closed, so the returned stream must be used in a
+     * try-with-resources statement:
+     *
+     * <pre>{@code
+     * try (var stream = JdbcUtil.selectStream(conn, sql, paramsSetter, FetchOptions.forwardOnly(1000), rowMapper)) {
+     *     stream.forEach(exporter::write);
+     * }
+     * }</pre>
+     * <p>
+     * Any {@link SQLException} occurs while the stream is consumed will be
+     * wrapped in a {@link SQLRuntimeException}.
+     *
+     * @param <T>          the result type
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param options      the {@link FetchOptions}
+     * @param rowMapper    a {@link RowMapper} to map one object per row
+     * @return a {@code Stream<T>} which must be closed after use
+     * @throws SQLRuntimeException if a database access error occurs
+     * @since 4.3
+     */
+    public static final <T> Stream<T> selectStream(Connection conn, String sql, PreparedExecution paramsSetter,
+            FetchOptions options, RowMapper<T> rowMapper) throws SQLRuntimeException {
+        PreparedStatement statement = null;
+        try {
+            statement = options.prepareStatement(conn, sql);
+            paramsSetter.execute(statement);
+            var rs = statement.executeQuery();
+            var spliterator = new ResultSetSpliterator<>(rs, bind(rowMapper, rs));
+            var st = statement;
+            return StreamSupport.stream(spliterator, false).onClose(() -> closeAll(rs, st));
+        } catch (SQLException e) {
+            closeOnFailure(statement, e);
+            throw new SQLRuntimeException(e);
+        } catch (RuntimeException | Error e) {
+            closeOnFailure(statement, e);
+            throw e;
+        }
+    }
+
+    private static final void closeOnFailure(Statement statement, Throwable cause) {
+        if (statement != null) {
+            try {
+                statement.close();
+            } catch (SQLException ex) {
+                cause.addSuppressed(ex);
+            }
+        }
+    }
+
+    private static final void closeAll(ResultSet rs, Statement statement) {
+        try (statement; rs) {
+            // close both of them
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    private static final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final ResultSet rs;
+        private final RowMapper<T> rowMapper;
+
+        private ResultSetSpliterator(ResultSet rs, RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.rs = rs;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(rowMapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            try {
+                while (rs.next()) {
+                    action.accept(rowMapper.map(rs));
+                }
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, performing the given {@code action} for each
+     * row.
+     * <p>
+     * This method is equivalent to
+     * {@link #forEachRow(Connection, String, PreparedExecution, FetchOptions, ResultExecution)
+     * forEachRow(conn, sql, paramsSetter, FetchOptions.DEFAULT, action)}.
+     *
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param action       the {@link ResultExecution} to handle each row
+     * @return the number of rows
+     * @throws SQLRuntimeException if a database access error occurs
+     * @since 4.3
+     */
+    public static final long forEachRow(Connection conn, String sql, PreparedExecution paramsSetter,
+            ResultExecution action) throws SQLRuntimeException {
+        return forEachRow(conn, sql, paramsSetter, FetchOptions.DEFAULT, action);
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, performing the given {@code action} for each
+     * row.
+     * <p>
+     * The {@link ResultSet} passed to the {@code action} is positioned on the
+     * current row, the {@code action} must not move the cursor.
+     *
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param options      the {@link FetchOptions}
+     * @param action       the {@link ResultExecution} to handle each row
+     * @return the number of rows
+     * @throws SQLRuntimeException if a database access error occurs
+     * @since 4.3
+     */
+    public static final long forEachRow(Connection conn, String sql, PreparedExecution paramsSetter,
+            FetchOptions options, ResultExecution action) throws SQLRuntimeException {
+        try (var statement = options.prepareStatement(conn, sql)) {
             paramsSetter.execute(statement);
             try (var rs = statement.executeQuery()) {
-                var list = new ArrayList<T>();
-                for (; rs.next();) {
-                    list.add(rowMapper.map(rs));
+                var rows = 0L;
+                for (; rs.next(); rows++) {
+                    action.execute(rs);
                 }
-                return list;
+                return rows;
             }
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
@@ -85,18 +303,23 @@ public class JdbcUtil {
     public static final <T> Optional<T> selectOne(Connection conn, String sql, PreparedExecution paramsSetter,
             RowMapper<T> rowMapper) throws SQLRuntimeException {
         try (var statement = conn.prepareStatement(sql)) {
-            paramsSetter.execute(statement);
-            try (var rs = statement.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(rowMapper.map(rs));
-                }
-                return Optional.empty();
-            }
+            return executeSelectOne(statement, paramsSetter, rowMapper);
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
         }
     }
 
+    static final <T> Optional<T> executeSelectOne(PreparedStatement statement, PreparedExecution paramsSetter,
+            RowMapper<T> rowMapper) throws SQLException {
+        paramsSetter.execute(statement);
+        try (var rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return Optional.of(rowMapper.map(rs));
+            }
+            return Optional.empty();
+        }
+    }
+
     /**
      * Execute a select/query SQL, setting parameters by a
      * {@link PreparedExecution}, mapping first column on first row to the result as
@@ -111,18 +334,23 @@ public class JdbcUtil {
     public static final OptionalInt selectInt(Connection conn, String sql, PreparedExecution paramsSetter)
             throws SQLRuntimeException {
         try (var statement = conn.prepareStatement(sql)) {
-            paramsSetter.execute(statement);
-            try (var rs = statement.executeQuery()) {
-                if (rs.next()) {
-                    return OptionalInt.of(rs.getInt(1));
-                }
-                return OptionalInt.empty();
-            }
+            return executeSelectInt(statement, paramsSetter);
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
         }
     }
 
+    static final OptionalInt executeSelectInt(PreparedStatement statement, PreparedExecution paramsSetter)
+            throws SQLException {
+        paramsSetter.execute(statement);
+        try (var rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return OptionalInt.of(rs.getInt(1));
+            }
+            return OptionalInt.empty();
+        }
+    }
+
     /**
      * Execute a select/query SQL, setting parameters by a
      * {@link PreparedExecution}, mapping first column on first row to the result as
@@ -137,18 +365,23 @@ public class JdbcUtil {
     public static final OptionalLong selectLong(Connection conn, String sql, PreparedExecution paramsSetter)
             throws SQLRuntimeException {
         try (var statement = conn.prepareStatement(sql)) {
-            paramsSetter.execute(statement);
-            try (var rs = statement.executeQuery()) {
-                if (rs.next()) {
-                    return OptionalLong.of(rs.getLong(1));
-                }
-                return OptionalLong.empty();
-            }
+            return executeSelectLong(statement, paramsSetter);
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
         }
     }
 
+    static final OptionalLong executeSelectLong(PreparedStatement statement, PreparedExecution paramsSetter)
+            throws SQLException {
+        paramsSetter.execute(statement);
+        try (var rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return OptionalLong.of(rs.getLong(1));
+            }
+            return OptionalLong.empty();
+        }
+    }
+
     /**
      * Execute an update SQL, setting parameters by a {@link PreparedExecution}.
      * 
@@ -356,6 +589,369 @@ public class JdbcUtil {
         return update(conn, sql, paramsSetter);
     }
 
+    /**
+     * Execute an update SQL in batches, setting parameters for each element by a
+     * {@link BatchExecution}, with the {@link #DEFAULT_BATCH_SIZE default batch
+     * size}.
+     *
+     * @param <T>          the type of the elements
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @return the update counts of each batch
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see #batchUpdate(Connection, String, Iterable, BatchExecution, int)
+     * @since 4.3
+     */
+    public static final <T> List<int[]> batchUpdate(Connection conn, String sql, Iterable<? extends T> elements,
+            BatchExecution<? super T> paramsSetter) throws SQLRuntimeException {
+        return batchUpdate(conn, sql, elements, paramsSetter, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Execute an update SQL in batches, setting parameters for each element by a
+     * {@link BatchExecution}.
+     * <p>
+     * The statements are added by {@link PreparedStatement#addBatch()} and will
+     * be submitted by {@link PreparedStatement#executeBatch()} once the number of
+     * them reaches the {@code batchSize}, so that only one round trip is required
+     * for each batch.
+     * <p>
+     * This method doesn't change the auto-commit mode of the connection, it is
+     * recommended to execute it within a transaction. Some drivers can rewrite
+     * batched statements into multi-row statements (e.g.
+     * {@code rewriteBatchedStatements=true} for MySQL Connector/J), see also
+     * {@link #insertValues(Connection, String, Iterable, ValuesExecution, int)}.
+     *
+     * @param <T>          the type of the elements
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @param batchSize    the maximum number of statements in one batch
+     * @return the update counts of each batch
+     * @throws SQLRuntimeException if a database access error occurs
+     * @since 4.3
+     */
+    public static final <T> List<int[]> batchUpdate(Connection conn, String sql, Iterable<? extends T> elements,
+            BatchExecution<? super T> paramsSetter, int batchSize) throws SQLRuntimeException {
+        requirePositiveBatchSize(batchSize);
+        try (var statement = conn.prepareStatement(sql)) {
+            return executeBatches(statement, elements, paramsSetter, batchSize, null);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    /**
+     * Execute an insert SQL in batches, setting parameters for each element by a
+     * {@link BatchExecution}. All generated keys will be added into the given
+     * {@code keysHolder}.
+     *
+     * @param <T>          the type of the elements
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @param batchSize    the maximum number of statements in one batch
+     * @param keysHolder   an {@link IntArrayList} to holding all generated keys
+     * @return the update counts of each batch
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see #batchUpdate(Connection, String, Iterable, BatchExecution, int)
+     * @since 4.3
+     */
+    public static final <T> List<int[]> batchInsert(Connection conn, String sql, Iterable<? extends T> elements,
+            BatchExecution<? super T> paramsSetter, int batchSize, IntArrayList keysHolder)
+            throws SQLRuntimeException {
+        return batchInsert(conn, sql, elements, paramsSetter, batchSize, rs -> {
+            while (rs.next()) {
+                keysHolder.add(rs.getInt(1));
+            }
+        });
+    }
+
+    /**
+     * Execute an insert SQL in batches, setting parameters for each element by a
+     * {@link BatchExecution}. All generated keys will be added into the given
+     * {@code keysHolder}.
+     *
+     * @param <T>          the type of the elements
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @param batchSize    the maximum number of statements in one batch
+     * @param keysHolder   a {@link LongArrayList} to holding all generated keys
+     * @return the update counts of each batch
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see #batchUpdate(Connection, String, Iterable, BatchExecution, int)
+     * @since 4.3
+     */
+    public static final <T> List<int[]> batchInsert(Connection conn, String sql, Iterable<? extends T> elements,
+            BatchExecution<? super T> paramsSetter, int batchSize, LongArrayList keysHolder)
+            throws SQLRuntimeException {
+        return batchInsert(conn, sql, elements, paramsSetter, batchSize, rs -> {
+            while (rs.next()) {
+                keysHolder.add(rs.getLong(1));
+            }
+        });
+    }
+
+    /**
+     * Execute an insert SQL in batches, setting parameters for each element by a
+     * {@link BatchExecution}. The generated keys of each batch will be put into
+     * the given {@code keysHolder}.
+     *
+     * @param <T>          the type of the elements
+     * @param conn         the SQL connection
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @param batchSize    the maximum number of statements in one batch
+     * @param keysHolder   a {@link ResultExecution} to holding the generated keys
+     *                     of each batch
+     * @return the update counts of each batch
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see #batchUpdate(Connection, String, Iterable, BatchExecution, int)
+     * @since 4.3
+     */
+    public static final <T> List<int[]> batchInsert(Connection conn, String sql, Iterable<? extends T> elements,
+            BatchExecution<? super T> paramsSetter, int batchSize, ResultExecution keysHolder)
+            throws SQLRuntimeException {
+        requirePositiveBatchSize(batchSize);
+        try (var statement = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            return executeBatches(statement, elements, paramsSetter, batchSize, keysHolder);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    static final void requirePositiveBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+    }
+
+    static final <T> List<int[]> executeBatches(PreparedStatement statement, Iterable<? extends T> elements,
+            BatchExecution<? super T> paramsSetter, int batchSize, ResultExecution keysHolder) throws SQLException {
+        var results = new ArrayList<int[]>();
+        var count = 0;
+        for (var element : elements) {
+            paramsSetter.execute(statement, element);
+            statement.addBatch();
+            if (++count == batchSize) {
+                executeBatch(statement, keysHolder, results);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            executeBatch(statement, keysHolder, results);
+        }
+        return results;
+    }
+
+    private static final void executeBatch(PreparedStatement statement, ResultExecution keysHolder,
+            List<int[]> results) throws SQLException {
+        results.add(statement.executeBatch());
+        if (keysHolder != null) {
+            try (var rs = statement.getGeneratedKeys()) {
+                keysHolder.execute(rs);
+            }
+        }
+    }
+
+    /**
+     * Execute an insert SQL with a single-row {@code VALUES} clause for all
+     * elements, by rewriting it into multi-row {@code VALUES} statements.
+     * <p>
+     * For example, the SQL
+     * {@code INSERT INTO t (a, b) VALUES (?, ?) ON DUPLICATE KEY UPDATE b = VALUES(b)}
+     * will be executed as
+     * {@code INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ... ON DUPLICATE KEY UPDATE b = VALUES(b)}
+     * with at most {@code rowsPerStatement} rows for each statement. The
+     * statement with {@code rowsPerStatement} rows is prepared only once and
+     * reused for all full chunks.
+     * <p>
+     * The {@code rowsPerStatement} should be chosen carefully, as most databases
+     * limit the number of parameters or the length of a statement.
+     * <p>
+     * Parameters are only allowed in the {@code VALUES} row, because the
+     * parameter indexes of each row are computed from the number of
+     * parameters in the row. So the values in the rest of the SQL, such as
+     * the {@code ON DUPLICATE KEY UPDATE} clause, must be literals or refer
+     * to the inserted values.
+     * <p>
+     * String literals in the SQL may escape quotes by doubling them or by a
+     * backslash (the MySQL default). So a literal ending with a backslash,
+     * such as {@code 'C:\'} in standard SQL, must be passed as a parameter
+     * instead.
+     *
+     * @param <T>              the type of the elements
+     * @param conn             the SQL connection
+     * @param sql              the insert SQL with a single-row {@code VALUES}
+     *                         clause
+     * @param elements         the elements
+     * @param paramsSetter     the {@link ValuesExecution} to set parameters of
+     *                         each row
+     * @param rowsPerStatement the maximum number of rows in one statement
+     * @return the number of rows affected
+     * @throws SQLRuntimeException      if a database access error occurs
+     * @throws IllegalArgumentException if the SQL doesn't contain a
+     *                                  {@code VALUES} clause, or contains
+     *                                  parameters out of the {@code VALUES}
+     *                                  row
+     * @since 4.3
+     */
+    public static final <T> int insertValues(Connection conn, String sql, Iterable<? extends T> elements,
+            ValuesExecution<? super T> paramsSetter, int rowsPerStatement) throws SQLRuntimeException {
+        if (rowsPerStatement <= 0) {
+            throw new IllegalArgumentException("rowsPerStatement must be positive");
+        }
+        var values = ValuesClause.parse(sql);
+        var buffer = new Object[rowsPerStatement];
+        var count = 0;
+        var rows = 0;
+        PreparedStatement statement = null;
+        try {
+            for (var element : elements) {
+                buffer[count++] = element;
+                if (count == rowsPerStatement) {
+                    if (statement == null) {
+                        statement = conn.prepareStatement(values.toSql(rowsPerStatement));
+                    }
+                    rows += executeValues(statement, values.parameterCount, buffer, count, paramsSetter);
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                try (var last = conn.prepareStatement(values.toSql(count))) {
+                    rows += executeValues(last, values.parameterCount, buffer, count, paramsSetter);
+                }
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        } finally {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final <T> int executeValues(PreparedStatement statement, int parameterCount, Object[] buffer,
+            int count, ValuesExecution<? super T> paramsSetter) throws SQLException {
+        for (var i = 0; i < count; i++) {
+            paramsSetter.execute(statement, i * parameterCount, (T) buffer[i]);
+            buffer[i] = null;
+        }
+        return statement.executeUpdate();
+    }
+
+    static final String toMultiValuesSql(String sql, int rows) {
+        return ValuesClause.parse(sql).toSql(rows);
+    }
+
+    private record ValuesClause(String prefix, String row, String suffix, int parameterCount) {
+
+        private static ValuesClause parse(String sql) {
+            var start = findValuesKeyword(sql);
+            if (start < 0) {
+                throw new IllegalArgumentException("missing VALUES clause in SQL: " + sql);
+            }
+            var open = start + 6;
+            while (open < sql.length() && Character.isWhitespace(sql.charAt(open))) {
+                open++;
+            }
+            if (open == sql.length() || sql.charAt(open) != '(') {
+                throw new IllegalArgumentException("missing VALUES clause in SQL: " + sql);
+            }
+            var depth = 0;
+            var parameterCount = 0;
+            for (var i = open; i < sql.length(); i++) {
+                var c = sql.charAt(i);
+                switch (c) {
+                    case '\'', '"', '`' -> i = skipQuoted(sql, i);
+                    case '?' -> parameterCount++;
+                    case '(' -> depth++;
+                    case ')' -> {
+                        if (--depth == 0) {
+                            if (hasParameter(sql, 0, open) || hasParameter(sql, i + 1, sql.length())) {
+                                throw new IllegalArgumentException(
+                                        "parameters out of the VALUES row are not supported in SQL: " + sql);
+                            }
+                            return new ValuesClause(sql.substring(0, open), sql.substring(open, i + 1),
+                                    sql.substring(i + 1), parameterCount);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            throw new IllegalArgumentException("unclosed VALUES clause in SQL: " + sql);
+        }
+
+        private static int findValuesKeyword(String sql) {
+            var length = sql.length();
+            for (var i = 0; i < length; i++) {
+                var c = sql.charAt(i);
+                if (c == '\'' || c == '"' || c == '`') {
+                    i = skipQuoted(sql, i);
+                } else if ((c == 'V' || c == 'v') && sql.regionMatches(true, i, "VALUES", 0, 6)
+                        && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))
+                        && (i + 6 == length || !Character.isJavaIdentifierPart(sql.charAt(i + 6)))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean hasParameter(String sql, int start, int end) {
+            for (var i = start; i < end; i++) {
+                var c = sql.charAt(i);
+                if (c == '\'' || c == '"' || c == '`') {
+                    i = skipQuoted(sql, i);
+                } else if (c == '?') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int skipQuoted(String sql, int start) {
+            var quote = sql.charAt(start);
+            // backslash escapes are only for string literals, not for quoted identifiers
+            var backslashEscape = quote == '\'';
+            var length = sql.length();
+            for (var i = start + 1; i < length; i++) {
+                var c = sql.charAt(i);
+                if (c == quote) {
+                    // a doubled quote is skipped as two adjacent quoted parts
+                    return i;
+                }
+                if (c == '\\' && backslashEscape) {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        private String toSql(int rows) {
+            var builder = new StringBuilder(prefix.length() + suffix.length() + (row.length() + 2) * rows);
+            builder.append(prefix).append(row);
+            for (var i = 1; i < rows; i++) {
+                builder.append(", ").append(row);
+            }
+            return builder.append(suffix).toString();
+        }
+
+    }
+
     private JdbcUtil() {
     }
 
@@ -0,0 +1,320 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * A cache of {@link PreparedStatement}s bound to a {@link Connection}.
+ * <p>
+ * Statements are cached by the SQL text and evicted in LRU order when the
+ * number of them exceeds the maximum size. Evicted statements are closed
+ * immediately. Statements which fail with an {@link SQLException} are also
+ * evicted and closed, so that a broken statement is never reused.
+ * <p>
+ * Methods of this class work like the same methods of {@link JdbcUtil}, except
+ * that the statements are reused instead of being prepared and closed on each
+ * call.
+ * <p>
+ * Just like {@link Connection}s, instances of this class are NOT thread-safe.
+ * Closing the cache closes all cached statements, but not the connection.
+ *
+ * @author MJ Fang
+ * @see JdbcUtil
+ * @since 4.3
+ */
+public final class StatementCache implements AutoCloseable {
+
+    /**
+     * The default maximum number of cached statements.
+     */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private final Connection conn;
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Constructs a new {@link StatementCache} with the
+     * {@link #DEFAULT_MAX_SIZE default maximum size}.
+     *
+     * @param conn the SQL connection
+     */
+    public StatementCache(Connection conn) {
+        this(conn, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link StatementCache} with the specified maximum size.
+     *
+     * @param conn    the SQL connection
+     * @param maxSize the maximum number of cached statements
+     */
+    public StatementCache(Connection conn, int maxSize) {
+        this.conn = Objects.requireNonNull(conn, "conn must not be null");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the SQL connection.
+     *
+     * @return the SQL connection
+     */
+    public Connection connection() {
+        return conn;
+    }
+
+    /**
+     * Returns the maximum number of cached statements.
+     *
+     * @return the maximum number of cached statements
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of cached statements.
+     *
+     * @return the number of cached statements
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Returns the cached {@link PreparedStatement} of the specified SQL, or
+     * prepares and caches a new one if absent.
+     * <p>
+     * The returned statement is owned by this cache, callers must not close
+     * it.
+     *
+     * @param sql the SQL
+     * @return the {@code PreparedStatement}
+     * @throws SQLException if a database access error occurs
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        var statement = statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = conn.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    /**
+     * Removes and closes the cached statement of the specified SQL.
+     *
+     * @param sql the SQL
+     * @return {@code true} if the statement was cached
+     */
+    public boolean evict(String sql) {
+        var statement = statements.remove(sql);
+        if (statement != null) {
+            closeQuietly(statement);
+            return true;
+        }
+        return false;
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+
+    private SQLRuntimeException evictOnError(String sql, SQLException e) {
+        evict(sql);
+        return new SQLRuntimeException(e);
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, reading the {@link java.sql.ResultSet} with a
+     * {@link ResultExecution}.
+     *
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param execution    the {@link ResultExecution} to handle all rows of results
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#select(Connection, String, PreparedExecution, ResultExecution)
+     */
+    public void select(String sql, PreparedExecution paramsSetter, ResultExecution execution)
+            throws SQLRuntimeException {
+        try {
+            JdbcUtil.executeSelect(prepareStatement(sql), paramsSetter, execution);
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        }
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, mapping each row to a list via a
+     * {@link RowMapper}.
+     *
+     * @param <T>          the result type
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param rowMapper    a {@link RowMapper} to map one object per row
+     * @return the result List, containing mapped objects
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#selectMany(Connection, String, PreparedExecution, RowMapper)
+     */
+    public <T> List<T> selectMany(String sql, PreparedExecution paramsSetter, RowMapper<T> rowMapper)
+            throws SQLRuntimeException {
+        try {
+            return JdbcUtil.executeSelectMany(prepareStatement(sql), paramsSetter, rowMapper);
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        }
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, mapping first row to the result via a
+     * {@link RowMapper}.
+     *
+     * @param <T>          the result type
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @param rowMapper    a {@link RowMapper} to map one object per row
+     * @return an {@code Optional<T>}
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#selectOne(Connection, String, PreparedExecution, RowMapper)
+     */
+    public <T> Optional<T> selectOne(String sql, PreparedExecution paramsSetter, RowMapper<T> rowMapper)
+            throws SQLRuntimeException {
+        try {
+            return JdbcUtil.executeSelectOne(prepareStatement(sql), paramsSetter, rowMapper);
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        }
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, mapping first column on first row to the result as
+     * {@code int}.
+     *
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @return an {@code OptionalInt}
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#selectInt(Connection, String, PreparedExecution)
+     */
+    public OptionalInt selectInt(String sql, PreparedExecution paramsSetter) throws SQLRuntimeException {
+        try {
+            return JdbcUtil.executeSelectInt(prepareStatement(sql), paramsSetter);
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        }
+    }
+
+    /**
+     * Execute a select/query SQL, setting parameters by a
+     * {@link PreparedExecution}, mapping first column on first row to the result as
+     * {@code long}.
+     *
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @return an {@code OptionalLong}
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#selectLong(Connection, String, PreparedExecution)
+     */
+    public OptionalLong selectLong(String sql, PreparedExecution paramsSetter) throws SQLRuntimeException {
+        try {
+            return JdbcUtil.executeSelectLong(prepareStatement(sql), paramsSetter);
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        }
+    }
+
+    /**
+     * Execute an update SQL, setting parameters by a {@link PreparedExecution}.
+     *
+     * @param sql          the SQL to execute
+     * @param paramsSetter the {@link PreparedExecution} to set parameters
+     * @return the number of rows affected
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#update(Connection, String, PreparedExecution)
+     */
+    public int update(String sql, PreparedExecution paramsSetter) throws SQLRuntimeException {
+        try {
+            var statement = prepareStatement(sql);
+            paramsSetter.execute(statement);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        }
+    }
+
+    /**
+     * Execute an update SQL in batches, setting parameters for each element by a
+     * {@link BatchExecution}.
+     *
+     * @param <T>          the type of the elements
+     * @param sql          the SQL to execute
+     * @param elements     the elements
+     * @param paramsSetter the {@link BatchExecution} to set parameters
+     * @param batchSize    the maximum number of statements in one batch
+     * @return the update counts of each batch
+     * @throws SQLRuntimeException if a database access error occurs
+     * @see JdbcUtil#batchUpdate(Connection, String, Iterable, BatchExecution, int)
+     */
+    public <T> List<int[]> batchUpdate(String sql, Iterable<? extends T> elements,
+                                       BatchExecution<? super T> paramsSetter, int batchSize)
+            throws SQLRuntimeException {
+        JdbcUtil.requirePositiveBatchSize(batchSize);
+        try {
+            return JdbcUtil.executeBatches(prepareStatement(sql), elements, paramsSetter, batchSize, null);
+        } catch (SQLException e) {
+            throw evictOnError(sql, e);
+        } catch (RuntimeException e) {
+            // the batch of the statement may not be empty
+            evict(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all cached statements.
+     * <p>
+     * The connection will not be closed.
+     */
+    @Override
+    public void close() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCache(size=" + statements.size() + ", maxSize=" + maxSize + ")";
+    }
+
+}
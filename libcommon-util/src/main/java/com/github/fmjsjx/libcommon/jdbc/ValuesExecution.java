@@ -0,0 +1,37 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Represents an operation that sets the parameters of one row of a multi-row
+ * {@code VALUES} clause, and returns no result.
+ *
+ * <p>
+ * This is a <a href="package-summary.html">functional interface</a> whose
+ * functional method is {@link #execute(PreparedStatement, int, Object)}.
+ *
+ * @param <T> the type of the elements of the batch
+ * @author MJ Fang
+ * @see JdbcUtil#insertValues(java.sql.Connection, String, Iterable,
+ *      ValuesExecution, int)
+ * @since 4.3
+ */
+@FunctionalInterface
+public interface ValuesExecution<T> {
+
+    /**
+     * Performs this operation on the given arguments.
+     * <p>
+     * The parameters of the row must be set from the index {@code offset + 1},
+     * for example: {@code statement.setInt(offset + 1, element.id())}.
+     *
+     * @param statement the input {@code PreparedStatement}
+     * @param offset    the number of parameters before the row
+     * @param element   the element of the batch
+     * @throws SQLException if a database access error occurs or this method is
+     *                      called on a closed {@code PreparedStatement}
+     */
+    void execute(PreparedStatement statement, int offset, T element) throws SQLException;
+
+}
@@ -0,0 +1,290 @@
+package com.github.fmjsjx.libcommon.util;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Factory of fast getters and setters for fields of java beans.
+ * <p>
+ * Getter and setter methods are bound into functional interfaces generated by
+ * {@link LambdaMetafactory}, so that invocations are as fast as direct calls.
+ * Fields without accessor methods, or methods which can't be bound by
+ * {@code LambdaMetafactory}, are accessed through {@link MethodHandle}s
+ * instead of core reflection.
+ * <p>
+ * The accessors should be created only once and be cached by the callers.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public final class AccessorFactory {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_FACTORY_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType SETTER_FACTORY_TYPE = MethodType.methodType(BiConsumer.class);
+
+    /**
+     * Creates and returns a getter which invokes the specified getter method.
+     *
+     * @param <T>    the type of the bean
+     * @param method the getter method, must be a non-static method without
+     *               parameters
+     * @return a {@code Function<T, Object>}
+     * @throws IllegalArgumentException if the method can't be used as a getter
+     *                                  or can't be accessed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<T, Object> getter(Method method) {
+        Objects.requireNonNull(method, "method must not be null");
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                || method.getReturnType() == void.class) {
+            throw new IllegalArgumentException("not a getter method: " + method);
+        }
+        var handle = unreflect(method);
+        var function = (Function<T, Object>) tryMetafactory(method.getDeclaringClass(), handle, "apply",
+                GETTER_FACTORY_TYPE, GETTER_TYPE);
+        if (function != null) {
+            return function;
+        }
+        return getter(handle);
+    }
+
+    /**
+     * Creates and returns a getter which reads the value of the specified field
+     * directly.
+     *
+     * @param <T>   the type of the bean
+     * @param field the field, must be non-static
+     * @return a {@code Function<T, Object>}
+     * @throws IllegalArgumentException if the field is static or can't be
+     *                                  accessed
+     */
+    public static <T> Function<T, Object> getter(Field field) {
+        Objects.requireNonNull(field, "field must not be null");
+        if (Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalArgumentException("field must not be static: " + field);
+        }
+        try {
+            return getter(lookup(field.getDeclaringClass()).unreflectGetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("can't access field " + field, e);
+        }
+    }
+
+    private static <T> Function<T, Object> getter(MethodHandle handle) {
+        var getter = handle.asType(GETTER_TYPE);
+        return bean -> {
+            try {
+                return (Object) getter.invokeExact((Object) bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    /**
+     * Creates and returns a setter which invokes the specified setter method.
+     *
+     * @param <T>    the type of the bean
+     * @param method the setter method, must be a non-static method with
+     *               exactly one parameter
+     * @return a {@code BiConsumer<T, Object>}
+     * @throws IllegalArgumentException if the method can't be used as a setter
+     *                                  or can't be accessed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BiConsumer<T, Object> setter(Method method) {
+        Objects.requireNonNull(method, "method must not be null");
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1) {
+            throw new IllegalArgumentException("not a setter method: " + method);
+        }
+        var handle = unreflect(method);
+        if (method.getReturnType() == void.class) {
+            var consumer = (BiConsumer<T, Object>) tryMetafactory(method.getDeclaringClass(), handle, "accept",
+                    SETTER_FACTORY_TYPE, SETTER_TYPE);
+            if (consumer != null) {
+                return consumer;
+            }
+        }
+        return setter(handle);
+    }
+
+    /**
+     * Creates and returns a setter which writes the value of the specified field
+     * directly.
+     *
+     * @param <T>   the type of the bean
+     * @param field the field, must be non-static and non-final
+     * @return a {@code BiConsumer<T, Object>}
+     * @throws IllegalArgumentException if the field is static or final, or
+     *                                  can't be accessed
+     */
+    public static <T> BiConsumer<T, Object> setter(Field field) {
+        Objects.requireNonNull(field, "field must not be null");
+        if ((field.getModifiers() & (Modifier.STATIC | Modifier.FINAL)) != 0) {
+            throw new IllegalArgumentException("field must not be static or final: " + field);
+        }
+        try {
+            return setter(lookup(field.getDeclaringClass()).unreflectSetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("can't access field " + field, e);
+        }
+    }
+
+    private static <T> BiConsumer<T, Object> setter(MethodHandle handle) {
+        var setter = handle.asType(SETTER_TYPE);
+        return (bean, value) -> {
+            try {
+                setter.invokeExact((Object) bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    /**
+     * Finds and returns a getter for the specified field of the specified bean
+     * class.
+     * <p>
+     * The public getter method ({@code getXxx}, or {@code isXxx} for
+     * {@code boolean} fields, or the accessor method for record components)
+     * with the same type of the field will be preferred. Otherwise, the field
+     * will be read directly if it can be made accessible.
+     *
+     * @param <T>   the type of the bean
+     * @param clazz the bean class
+     * @param field the field
+     * @return an {@code Optional<Function<T, Object>>}
+     */
+    public static <T> Optional<Function<T, Object>> findGetter(Class<T> clazz, Field field) {
+        var method = findGetterMethod(clazz, field);
+        if (method != null) {
+            return Optional.of(getter(method));
+        }
+        if (Modifier.isStatic(field.getModifiers()) || !field.trySetAccessible()) {
+            return Optional.empty();
+        }
+        return Optional.of(getter(field));
+    }
+
+    private static Method findGetterMethod(Class<?> clazz, Field field) {
+        var name = field.getName();
+        var getterName = toGetterName(name, field.getType() == boolean.class);
+        try {
+            var method = clazz.getMethod(clazz.isRecord() ? name : getterName);
+            if (method.getReturnType().equals(field.getType())) {
+                return method;
+            }
+        } catch (NoSuchMethodException e) {
+            // no getter method
+        }
+        return null;
+    }
+
+    /**
+     * Finds and returns a setter for the specified field of the specified bean
+     * class.
+     * <p>
+     * The public setter method {@code setXxx} with the same parameter type of
+     * the field will be preferred. Otherwise, the field will be written directly
+     * if it is not final and can be made accessible.
+     *
+     * @param <T>   the type of the bean
+     * @param clazz the bean class
+     * @param field the field
+     * @return an {@code Optional<BiConsumer<T, Object>>}
+     */
+    public static <T> Optional<BiConsumer<T, Object>> findSetter(Class<T> clazz, Field field) {
+        try {
+            var method = clazz.getMethod(toSetterName(field.getName()), field.getType());
+            if (!Modifier.isStatic(method.getModifiers())) {
+                return Optional.of(setter(method));
+            }
+        } catch (NoSuchMethodException e) {
+            // no setter method
+        }
+        if ((field.getModifiers() & (Modifier.STATIC | Modifier.FINAL)) != 0 || !field.trySetAccessible()) {
+            return Optional.empty();
+        }
+        return Optional.of(setter(field));
+    }
+
+    /**
+     * Returns the name of the getter method for the specified field name.
+     *
+     * @param fieldName the field name
+     * @param isBoolean {@code true} if the type of the field is {@code boolean}
+     * @return the name of the getter method
+     */
+    public static String toGetterName(String fieldName, boolean isBoolean) {
+        var prefix = isBoolean ? "is" : "get";
+        return prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    /**
+     * Returns the name of the setter method for the specified field name.
+     *
+     * @param fieldName the field name
+     * @return the name of the setter method
+     */
+    public static String toSetterName(String fieldName) {
+        return "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> targetClass) {
+        try {
+            return MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            // the package is not opened, fall back to the public lookup of this class
+            return MethodHandles.lookup();
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return lookup(method.getDeclaringClass()).unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("can't access method " + method, e);
+        }
+    }
+
+    private static Object tryMetafactory(Class<?> targetClass, MethodHandle handle, String interfaceMethodName,
+                                         MethodType factoryType, MethodType interfaceMethodType) {
+        try {
+            var lookup = lookup(targetClass);
+            if (!lookup.hasFullPrivilegeAccess() || lookup.lookupClass() != targetClass) {
+                return null;
+            }
+            // box primitive types, keep void return type as it is
+            var dynamicMethodType = handle.type().wrap();
+            if (handle.type().returnType() == void.class) {
+                dynamicMethodType = dynamicMethodType.changeReturnType(void.class);
+            }
+            var site = LambdaMetafactory.metafactory(lookup, interfaceMethodName, factoryType, interfaceMethodType,
+                    handle, dynamicMethodType);
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            // can't be bound by LambdaMetafactory, use method handle instead
+            return null;
+        }
+    }
+
+    private AccessorFactory() {
+    }
+
+}
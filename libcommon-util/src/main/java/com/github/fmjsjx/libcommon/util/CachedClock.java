@@ -0,0 +1,330 @@
+package com.github.fmjsjx.libcommon.util;
+
+import com.github.fmjsjx.libcommon.collection.BoundedCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A coarse-grained {@link Clock} which caches the current time.
+ * <p>
+ * The cached time is updated by a single daemon ticker thread at the
+ * configured resolution, so that reading the current time is just a volatile
+ * field read. Boundaries of the current day and week in the time-zone of the
+ * clock are also cached, and will only be recomputed when the day changes.
+ * <p>
+ * The time returned by this clock may be behind the system clock for at most
+ * the resolution (plus the scheduling delay of the ticker thread). Use it only
+ * when such precision is acceptable.
+ *
+ * @author MJ Fang
+ * @see DateTimeUtil
+ * @since 4.3
+ */
+public final class CachedClock extends Clock implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedClock.class);
+
+    private static final String RESOLUTION_MILLIS_KEY = "libcommon.util.cachedClock.resolutionMillis";
+
+    private static final class DefaultInstanceHolder {
+        private static final CachedClock instance;
+
+        static {
+            var resolutionMillisValue = SystemPropertyUtil.get(RESOLUTION_MILLIS_KEY);
+            logger.debug("-D{}: {}", RESOLUTION_MILLIS_KEY, resolutionMillisValue);
+            var resolutionMillis = Math.max(1, SystemPropertyUtil.getInt(RESOLUTION_MILLIS_KEY, 10));
+            instance = new CachedClock(new Ticker(Duration.ofMillis(resolutionMillis).toNanos(), false),
+                    ZoneId.systemDefault());
+        }
+    }
+
+    /**
+     * Returns the shared {@link CachedClock} instance using the system default
+     * time-zone.
+     * <p>
+     * The resolution of the shared instance is {@code 10} milliseconds by
+     * default, and can be changed by the system property
+     * {@code -Dlibcommon.util.cachedClock.resolutionMillis}.
+     * <p>
+     * The shared instance can't be closed.
+     *
+     * @return the shared {@code CachedClock} instance
+     */
+    public static CachedClock systemDefault() {
+        return DefaultInstanceHolder.instance;
+    }
+
+    /**
+     * Creates and starts a new {@link CachedClock} instance with the specified
+     * resolution, using the system default time-zone.
+     *
+     * @param resolution the resolution, must be positive
+     * @return a new {@code CachedClock}
+     */
+    public static CachedClock create(Duration resolution) {
+        return create(resolution, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates and starts a new {@link CachedClock} instance with the specified
+     * resolution and time-zone.
+     *
+     * @param resolution the resolution, must be positive
+     * @param zone       the time-zone
+     * @return a new {@code CachedClock}
+     */
+    public static CachedClock create(Duration resolution, ZoneId zone) {
+        Objects.requireNonNull(resolution, "resolution must not be null");
+        Objects.requireNonNull(zone, "zone must not be null");
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException("resolution must be positive");
+        }
+        return new CachedClock(new Ticker(resolution.toNanos(), true), zone);
+    }
+
+    /**
+     * Snapshot of the boundaries of a day.
+     *
+     * @param date            the local date
+     * @param number          the number of the date with format
+     *                        {@code yyyyMMdd}
+     * @param startMillis     the start of the day (inclusive) in milliseconds
+     *                        from the epoch
+     * @param endMillis       the end of the day (exclusive) in milliseconds
+     *                        from the epoch
+     * @param weekStartMillis the start of the week (Monday start, inclusive) in
+     *                        milliseconds from the epoch
+     * @param weekEndMillis   the end of the week (exclusive) in milliseconds
+     *                        from the epoch
+     */
+    public record Day(LocalDate date, int number, long startMillis, long endMillis, long weekStartMillis,
+                      long weekEndMillis) {
+
+        private static Day of(long epochMilli, ZoneId zone) {
+            var date = LocalDate.ofInstant(Instant.ofEpochMilli(epochMilli), zone);
+            var weekStart = date.minusDays(date.getDayOfWeek().getValue() - 1);
+            return new Day(date, DateTimeUtil.toNumber(date), startMillis(date, zone),
+                    startMillis(date.plusDays(1), zone), startMillis(weekStart, zone),
+                    startMillis(weekStart.plusWeeks(1), zone));
+        }
+
+        private static long startMillis(LocalDate date, ZoneId zone) {
+            return date.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+
+        /**
+         * Returns {@code true} if the specified time is in this day.
+         *
+         * @param epochMilli the milliseconds from the epoch
+         * @return {@code true} if the specified time is in this day
+         */
+        public boolean contains(long epochMilli) {
+            return epochMilli >= startMillis && epochMilli < endMillis;
+        }
+
+        /**
+         * Returns {@code true} if the specified time is in the week of this day.
+         *
+         * @param epochMilli the milliseconds from the epoch
+         * @return {@code true} if the specified time is in the week of this day
+         */
+        public boolean isSameWeek(long epochMilli) {
+            return epochMilli >= weekStartMillis && epochMilli < weekEndMillis;
+        }
+
+    }
+
+    private static final class Ticker implements Runnable {
+
+        private static final int MAX_CACHED_CLOCKS = 64;
+
+        private final long resolutionNanos;
+        private final boolean stoppable;
+        private final Thread thread;
+        // clocks of different time-zones sharing this ticker, so that withZone will not create them every time
+        private final BoundedCache<ZoneId, CachedClock> clocks = new BoundedCache<>(MAX_CACHED_CLOCKS);
+        private volatile long millis;
+        private volatile boolean running = true;
+
+        private Ticker(long resolutionNanos, boolean stoppable) {
+            this.resolutionNanos = resolutionNanos;
+            this.stoppable = stoppable;
+            this.millis = System.currentTimeMillis();
+            this.thread = Thread.ofPlatform().name("cached-clock-ticker").daemon().start(this);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                LockSupport.parkNanos(this, resolutionNanos);
+                millis = System.currentTimeMillis();
+            }
+        }
+
+        private void stop() {
+            if (!stoppable) {
+                return;
+            }
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+    }
+
+    private final Ticker ticker;
+    private final ZoneId zone;
+    private volatile Day day;
+
+    private CachedClock(Ticker ticker, ZoneId zone) {
+        this.ticker = ticker;
+        this.zone = zone;
+        this.day = Day.of(ticker.millis, zone);
+        ticker.clocks.putIfAbsent(zone, this);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns a copy of this clock with a different time-zone.
+     * <p>
+     * The returned clock shares the same ticker thread with this clock, and
+     * is cached by the time-zone, so calling this method with the same
+     * time-zone usually returns the same clock.
+     *
+     * @param zone the time-zone to change to
+     * @return a clock based on this clock with the specified time-zone
+     */
+    @Override
+    public CachedClock withZone(ZoneId zone) {
+        if (this.zone.equals(zone)) {
+            return this;
+        }
+        var ticker = this.ticker;
+        return ticker.clocks.computeIfAbsent(Objects.requireNonNull(zone, "zone must not be null"),
+                z -> new CachedClock(ticker, z));
+    }
+
+    @Override
+    public long millis() {
+        return ticker.millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    /**
+     * Returns the cached UNIX time (seconds since
+     * {@code 1970-01-01T00:00:00.000Z}).
+     *
+     * @return the UNIX time
+     */
+    public long unixTime() {
+        return millis() / 1000;
+    }
+
+    /**
+     * Returns the boundaries of the current day in the time-zone of this clock.
+     *
+     * @return the current {@link Day}
+     */
+    public Day day() {
+        var day = this.day;
+        var millis = millis();
+        if (!day.contains(millis)) {
+            // benign race, all threads will compute the same result
+            this.day = day = Day.of(millis, zone);
+        }
+        return day;
+    }
+
+    /**
+     * Returns the current date in the time-zone of this clock.
+     *
+     * @return the current date
+     */
+    public LocalDate today() {
+        return day().date();
+    }
+
+    /**
+     * Returns the number of the current date with format {@code yyyyMMdd}.
+     *
+     * @return the number of the current date with format {@code yyyyMMdd}
+     */
+    public int todayNumber() {
+        return day().number();
+    }
+
+    /**
+     * Returns the start of the current day in milliseconds from the epoch.
+     *
+     * @return the start of the current day in milliseconds from the epoch
+     */
+    public long startOfDayMillis() {
+        return day().startMillis();
+    }
+
+    /**
+     * Returns the start of the current week (Monday start) in milliseconds from
+     * the epoch.
+     *
+     * @return the start of the current week in milliseconds from the epoch
+     */
+    public long startOfWeekMillis() {
+        return day().weekStartMillis();
+    }
+
+    /**
+     * Returns {@code true} if the specified time is in the current day.
+     *
+     * @param epochMilli the milliseconds from the epoch
+     * @return {@code true} if the specified time is in the current day
+     */
+    public boolean isToday(long epochMilli) {
+        return day().contains(epochMilli);
+    }
+
+    /**
+     * Returns {@code true} if the specified time is in the current week (Monday
+     * start).
+     *
+     * @param epochMilli the milliseconds from the epoch
+     * @return {@code true} if the specified time is in the current week
+     */
+    public boolean isThisWeek(long epochMilli) {
+        return day().isSameWeek(epochMilli);
+    }
+
+    /**
+     * Stops the ticker thread of this clock, the cached time will never be
+     * updated after this method is called.
+     * <p>
+     * Clocks created by {@link #withZone(ZoneId)} share the same ticker thread,
+     * they will be stopped too. Calling this method on the
+     * {@link #systemDefault() shared instance} takes no effect.
+     */
+    @Override
+    public void close() {
+        ticker.stop();
+    }
+
+    @Override
+    public String toString() {
+        return "CachedClock[" + zone + "]";
+    }
+
+}
@@ -8,7 +8,6 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoField;
 import java.util.Date;
 
 /**
@@ -184,9 +183,26 @@ public class DateTimeUtil {
      *         {@code false} otherwise
      */
     public static final boolean isSameWeek(LocalDate date1, LocalDate date2) {
-        var d1 = date1.with(ChronoField.DAY_OF_WEEK, 1);
-        var d2 = date2.with(ChronoField.DAY_OF_WEEK, 1);
-        return d1.isEqual(d2);
+        return weekIndex(date1) == weekIndex(date2);
+    }
+
+    private static final long weekIndex(LocalDate date) {
+        // 1970-01-01 is Thursday, so 1969-12-29 (epoch day -3) is the Monday of the first week
+        return Math.floorDiv(date.toEpochDay() + 3, 7);
+    }
+
+    /**
+     * Returns the shared {@link CachedClock} instance using the system default
+     * time-zone.
+     * <p>
+     * Prefer the cached clock over the methods of this class for high-frequency
+     * queries of the current time which do not require millisecond precision.
+     * 
+     * @return the shared {@code CachedClock} instance
+     * @since 4.3
+     */
+    public static final CachedClock cachedClock() {
+        return CachedClock.systemDefault();
     }
 
     /**
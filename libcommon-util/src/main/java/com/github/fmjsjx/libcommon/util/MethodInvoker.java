@@ -0,0 +1,435 @@
+package com.github.fmjsjx.libcommon.util;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An invoker of a resolved {@link Method}, backed by a {@link MethodHandle}.
+ * <p>
+ * The method handle is adapted to the generic type
+ * {@code (Object,Object[])Object} only once when the invoker is created, so
+ * invocations neither look up the method nor check the access again.
+ * <p>
+ * A method handle held in an instance field can't be constant-folded by the
+ * JIT compiler. So for the methods with at most {@value #MAX_FUNCTION_ARITY}
+ * parameters (including the receiver of an instance method), a functional
+ * interface implementation is generated by the {@link LambdaMetafactory},
+ * which calls the method directly. The method handle is used only if the
+ * method can't be called directly from this class, such as a private method
+ * of another class or a method of a class invisible from the class loader of
+ * this class, or if a primitive argument needs a widening conversion.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author MJ Fang
+ * @see ReflectUtil#methodInvoker(Class, String, Class...)
+ * @see ReflectUtil#declaredMethodInvoker(Class, String, Class...)
+ * @since 4.3
+ */
+public final class MethodInvoker {
+
+    /**
+     * Creates a new {@link MethodInvoker} for the specified method.
+     * <p>
+     * Access checking is performed just like {@link Method#invoke}, unless the
+     * {@code accessible} flag of the method is set.
+     *
+     * @param method the method
+     * @return a new {@code MethodInvoker}
+     * @throws IllegalAccessException if access checking fails
+     */
+    public static MethodInvoker of(Method method) throws IllegalAccessException {
+        Objects.requireNonNull(method, "method must not be null");
+        var parameterCount = method.getParameterCount();
+        var handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = handle.asType(MethodType.genericMethodType(parameterCount))
+                    .asSpreader(Object[].class, parameterCount);
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        } else {
+            handle = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                    .asSpreader(Object[].class, parameterCount);
+        }
+        return new MethodInvoker(method, handle, invocation(method));
+    }
+
+    /**
+     * The maximum number of parameters, including the receiver of an instance
+     * method, of the generated functions.
+     */
+    static final int MAX_FUNCTION_ARITY = 4;
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Object target, Object[] args) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Function0 {
+        Object apply() throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Function1 {
+        Object apply(Object a0) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Function2 {
+        Object apply(Object a0, Object a1) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Function3 {
+        Object apply(Object a0, Object a1, Object a2) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Function4 {
+        Object apply(Object a0, Object a1, Object a2, Object a3) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Procedure0 {
+        void apply() throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Procedure1 {
+        void apply(Object a0) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Procedure2 {
+        void apply(Object a0, Object a1) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Procedure3 {
+        void apply(Object a0, Object a1, Object a2) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Procedure4 {
+        void apply(Object a0, Object a1, Object a2, Object a3) throws Throwable;
+    }
+
+    private static final Class<?>[] FUNCTIONS = {Function0.class, Function1.class, Function2.class,
+            Function3.class, Function4.class};
+    private static final Class<?>[] PROCEDURES = {Procedure0.class, Procedure1.class, Procedure2.class,
+            Procedure3.class, Procedure4.class};
+
+    /**
+     * Generates the {@link Invocation} calling the method directly, or returns
+     * {@code null} if it is not supported.
+     */
+    private static Invocation invocation(Method method) {
+        var isStatic = Modifier.isStatic(method.getModifiers());
+        var parameterCount = method.getParameterCount();
+        var arity = isStatic ? parameterCount : parameterCount + 1;
+        if (arity > MAX_FUNCTION_ARITY || !isVisible(method)) {
+            return null;
+        }
+        var isVoid = method.getReturnType() == void.class;
+        var lookup = MethodHandles.lookup();
+        Object function;
+        try {
+            var samType = MethodType.genericMethodType(arity);
+            if (isVoid) {
+                samType = samType.changeReturnType(void.class);
+            }
+            var implementation = lookup.unreflect(method);
+            // primitives are unboxed from the exact wrapper types
+            var dynamicType = implementation.type().wrap();
+            if (isVoid) {
+                dynamicType = dynamicType.changeReturnType(void.class);
+            }
+            var site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(isVoid ? PROCEDURES[arity] : FUNCTIONS[arity]), samType,
+                    implementation, dynamicType);
+            function = site.getTarget().invoke();
+        } catch (Throwable e) {
+            // such as the method is not accessible from this class
+            return null;
+        }
+        if (isStatic) {
+            return switch (function) {
+                case Function0 f -> (target, args) -> f.apply();
+                case Function1 f -> (target, args) -> f.apply(args[0]);
+                case Function2 f -> (target, args) -> f.apply(args[0], args[1]);
+                case Function3 f -> (target, args) -> f.apply(args[0], args[1], args[2]);
+                case Function4 f -> (target, args) -> f.apply(args[0], args[1], args[2], args[3]);
+                case Procedure0 p -> (target, args) -> {
+                    p.apply();
+                    return null;
+                };
+                case Procedure1 p -> (target, args) -> {
+                    p.apply(args[0]);
+                    return null;
+                };
+                case Procedure2 p -> (target, args) -> {
+                    p.apply(args[0], args[1]);
+                    return null;
+                };
+                case Procedure3 p -> (target, args) -> {
+                    p.apply(args[0], args[1], args[2]);
+                    return null;
+                };
+                case Procedure4 p -> (target, args) -> {
+                    p.apply(args[0], args[1], args[2], args[3]);
+                    return null;
+                };
+                default -> null;
+            };
+        }
+        return switch (function) {
+            case Function1 f -> (target, args) -> f.apply(target);
+            case Function2 f -> (target, args) -> f.apply(target, args[0]);
+            case Function3 f -> (target, args) -> f.apply(target, args[0], args[1]);
+            case Function4 f -> (target, args) -> f.apply(target, args[0], args[1], args[2]);
+            case Procedure1 p -> (target, args) -> {
+                p.apply(target);
+                return null;
+            };
+            case Procedure2 p -> (target, args) -> {
+                p.apply(target, args[0]);
+                return null;
+            };
+            case Procedure3 p -> (target, args) -> {
+                p.apply(target, args[0], args[1]);
+                return null;
+            };
+            case Procedure4 p -> (target, args) -> {
+                p.apply(target, args[0], args[1], args[2]);
+                return null;
+            };
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns {@code true} if all types in the signature of the method are
+     * visible from the class loader of this class, so that the generated
+     * class can link them, and it never holds the classes of another class
+     * loader.
+     */
+    private static boolean isVisible(Method method) {
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (var parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, MethodInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static final boolean isWidenable(Class<?> from, Class<?> to) {
+        if (from == to) {
+            return true;
+        }
+        if (to == long.class || to == float.class || to == double.class) {
+            if (from == int.class || from == short.class || from == byte.class || from == char.class) {
+                return true;
+            }
+            if (from == long.class) {
+                return to != long.class;
+            }
+            return from == float.class && to == double.class;
+        }
+        if (to == int.class) {
+            return from == short.class || from == byte.class || from == char.class;
+        }
+        return to == short.class && from == byte.class;
+    }
+
+    private static final Class<?> unwrap(Class<?> type) {
+        if (type == Integer.class) {
+            return int.class;
+        } else if (type == Long.class) {
+            return long.class;
+        } else if (type == Boolean.class) {
+            return boolean.class;
+        } else if (type == Double.class) {
+            return double.class;
+        } else if (type == Float.class) {
+            return float.class;
+        } else if (type == Short.class) {
+            return short.class;
+        } else if (type == Byte.class) {
+            return byte.class;
+        } else if (type == Character.class) {
+            return char.class;
+        }
+        return null;
+    }
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final Invocation invocation;
+    private final boolean isStatic;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] primitiveWrappers;
+
+    private MethodInvoker(Method method, MethodHandle handle, Invocation invocation) {
+        this.method = method;
+        this.handle = handle;
+        this.invocation = invocation;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+        Class<?>[] primitiveWrappers = null;
+        for (var i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                if (primitiveWrappers == null) {
+                    primitiveWrappers = new Class<?>[parameterTypes.length];
+                }
+                primitiveWrappers[i] = wrap(parameterTypes[i]);
+            }
+        }
+        this.primitiveWrappers = primitiveWrappers;
+    }
+
+    /**
+     * Returns the underlying method.
+     *
+     * @return the underlying method
+     */
+    public Method method() {
+        return method;
+    }
+
+    /**
+     * Returns the method handle with the generic type
+     * {@code (Object,Object[])Object}.
+     *
+     * @return the method handle
+     */
+    public MethodHandle handle() {
+        return handle;
+    }
+
+    /**
+     * Invokes the underlying method on the specified target with the specified
+     * arguments.
+     * <p>
+     * Any exception thrown by the underlying method is thrown directly, without
+     * being wrapped in an {@link java.lang.reflect.InvocationTargetException}.
+     * The target and the arguments are not checked before the invocation, so
+     * a mismatched one may cause a {@link ClassCastException}, a
+     * {@link NullPointerException}, an {@link IllegalArgumentException} or a
+     * {@link java.lang.invoke.WrongMethodTypeException} as well.
+     *
+     * @param target the object the underlying method is invoked from, ignored
+     *               for static methods
+     * @param args   the arguments used for the method call
+     * @return the result of the method, {@code null} if the return type is
+     *         {@code void}
+     * @throws Throwable anything thrown by the underlying method
+     */
+    public Object invoke(Object target, Object... args) throws Throwable {
+        var invocation = this.invocation;
+        if (invocation != null && args != null && args.length == parameterTypes.length && hasExactPrimitives(args)) {
+            return invocation.invoke(target, args);
+        }
+        // the method handle also widens the unboxed primitives
+        return (Object) handle.invokeExact(target, args);
+    }
+
+    private boolean hasExactPrimitives(Object[] args) {
+        var primitiveWrappers = this.primitiveWrappers;
+        if (primitiveWrappers != null) {
+            for (var i = 0; i < primitiveWrappers.length; i++) {
+                var wrapper = primitiveWrappers[i];
+                if (wrapper != null && (args[i] == null || args[i].getClass() != wrapper)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the method is called directly by a generated
+     * function instead of the method handle.
+     *
+     * @return {@code true} if the method is called directly
+     */
+    boolean isDirect() {
+        return invocation != null;
+    }
+
+    /**
+     * Checks the target and the arguments just like {@link Method#invoke}
+     * does, so that the failures can be distinguished from the exceptions
+     * thrown by the underlying method.
+     *
+     * @param target the object the underlying method is invoked from
+     * @param args   the arguments used for the method call
+     * @throws NullPointerException     if the underlying method is an instance
+     *                                  method and the target is {@code null}
+     * @throws IllegalArgumentException if the target is not an instance of the
+     *                                  declaring class, or the arguments do not
+     *                                  match the parameter types
+     */
+    void checkArguments(Object target, Object[] args) {
+        if (!isStatic) {
+            Objects.requireNonNull(target, "target must not be null for instance method");
+            if (!method.getDeclaringClass().isInstance(target)) {
+                throw new IllegalArgumentException("object is not an instance of declaring class");
+            }
+        }
+        var parameterTypes = this.parameterTypes;
+        var length = args == null ? 0 : args.length;
+        if (length != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments: " + length + " expected: "
+                    + parameterTypes.length);
+        }
+        for (var i = 0; i < length; i++) {
+            var parameterType = parameterTypes[i];
+            var arg = args[i];
+            if (parameterType.isPrimitive()) {
+                var argType = arg == null ? null : unwrap(arg.getClass());
+                if (argType == null || !isWidenable(argType, parameterType)) {
+                    throw new IllegalArgumentException("argument type mismatch");
+                }
+            } else if (arg != null && !parameterType.isInstance(arg)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
+    boolean hasParameterTypes(Class<?>[] parameterTypes) {
+        return Arrays.equals(this.parameterTypes, parameterTypes);
+    }
+
+    @Override
+    public String toString() {
+        return "MethodInvoker(" + method + ")";
+    }
+
+}
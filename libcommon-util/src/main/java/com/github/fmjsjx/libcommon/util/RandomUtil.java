@@ -1,5 +1,10 @@
 package com.github.fmjsjx.libcommon.util;
 
+import com.github.fmjsjx.libcommon.collection.IntArrayList;
+import com.github.fmjsjx.libcommon.collection.IntList;
+import com.github.fmjsjx.libcommon.collection.LongArrayList;
+import com.github.fmjsjx.libcommon.collection.LongList;
+
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -8,6 +13,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.RandomAccess;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
@@ -372,6 +378,13 @@ public class RandomUtil {
             return;
         }
         if (copy || !(values instanceof ArrayList)) {
+            if (values instanceof RandomAccess) {
+                // pick indices directly, no need to copy the source list
+                for (var index : randomIndices(values.size(), n)) {
+                    out.add(values.get(index));
+                }
+                return;
+            }
             values = new ArrayList<>(values);
         }
         if ((n << 1) <= values.size()) {
@@ -397,6 +410,260 @@ public class RandomUtil {
         }
     }
 
+    /**
+     * Returns an array contains random {@code n} distinct indices between 0
+     * (inclusive) and the specified {@code size} (exclusive).
+     * <p>
+     * This method uses Robert Floyd's sampling algorithm, only {@code O(n)}
+     * memory is required whatever the {@code size} is. If {@code n} is more
+     * than half of the {@code size}, or not less than {@code 2^29}, a partial
+     * Fisher-Yates shuffle over all the {@code size} indices is used instead.
+     * 
+     * @param size the size of the source, must not be negative
+     * @param n    the number of the indices
+     * @return an array contains random {@code n} distinct indices, or all the
+     *         {@code size} indices if {@code n} is not less than {@code size}
+     * @since 4.3
+     */
+    public static final int[] randomIndices(int size, int n) {
+        return randomIndices(size, n, null);
+    }
+
+    /**
+     * Returns an array contains random {@code n} distinct indices between 0
+     * (inclusive) and the specified {@code size} (exclusive), drawn from the
+     * specified random number generator's sequence.
+     * <p>
+     * This method uses Robert Floyd's sampling algorithm, only {@code O(n)}
+     * memory is required whatever the {@code size} is. If {@code n} is more
+     * than half of the {@code size}, or not less than {@code 2^29}, a partial
+     * Fisher-Yates shuffle over all the {@code size} indices is used instead.
+     * 
+     * @param size   the size of the source, must not be negative
+     * @param n      the number of the indices
+     * @param random the random
+     * @return an array contains random {@code n} distinct indices, or all the
+     *         {@code size} indices if {@code n} is not less than {@code size}
+     * @since 4.3
+     */
+    public static final int[] randomIndices(int size, int n, Random random) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        var r = ensure(random);
+        if (n >= size) {
+            n = size;
+        }
+        var indices = new int[n];
+        if (n == 0) {
+            return indices;
+        }
+        if (n > size - n || n > MAX_FLOYD_SAMPLES) {
+            // partial Fisher-Yates shuffle, the size is less than 2n, or the
+            // hash table of Floyd's algorithm would be too large
+            var all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            for (int i = 0; i < n; i++) {
+                var lastIndex = size - 1 - i;
+                var index = r.nextInt(lastIndex + 1);
+                indices[i] = all[index];
+                all[index] = all[lastIndex];
+            }
+            return indices;
+        }
+        // open addressing hash table, indices are never negative so use -1 as empty
+        var table = new int[Integer.highestOneBit(n) << 2];
+        Arrays.fill(table, -1);
+        for (int i = 0, j = size - n; j < size; i++, j++) {
+            var t = r.nextInt(j + 1);
+            if (addIndex(table, t)) {
+                indices[i] = t;
+            } else {
+                addIndex(table, j);
+                indices[i] = j;
+            }
+        }
+        // Floyd's algorithm does not generate a random permutation, shuffle it
+        for (int i = n - 1; i > 0; i--) {
+            var index = r.nextInt(i + 1);
+            var tmp = indices[i];
+            indices[i] = indices[index];
+            indices[index] = tmp;
+        }
+        return indices;
+    }
+
+    /**
+     * The maximum {@code n} using Floyd's algorithm, so that the length of
+     * the hash table, which is {@code Integer.highestOneBit(n) << 2}, does
+     * not overflow.
+     */
+    private static final int MAX_FLOYD_SAMPLES = (1 << 29) - 1;
+
+    private static final boolean addIndex(int[] table, int index) {
+        var mask = table.length - 1;
+        for (var i = (index * 0x9E3779B9) & mask;; i = (i + 1) & mask) {
+            var v = table[i];
+            if (v == -1) {
+                table[i] = index;
+                return true;
+            }
+            if (v == index) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns a new array contains random {@code n} elements from the specified
+     * {@code int} array.
+     * <p>
+     * The source array will not be copied or modified.
+     * 
+     * @param values the {@code int} array
+     * @param n      the number of the new array length
+     * @return a new array contains random {@code n} elements from the specified
+     *         {@code int} array
+     * @since 4.3
+     */
+    public static final int[] randomN(int[] values, int n) {
+        var indices = randomIndices(values.length, n);
+        var out = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            out[i] = values[indices[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new array contains random {@code n} elements from the specified
+     * {@code long} array.
+     * <p>
+     * The source array will not be copied or modified.
+     * 
+     * @param values the {@code long} array
+     * @param n      the number of the new array length
+     * @return a new array contains random {@code n} elements from the specified
+     *         {@code long} array
+     * @since 4.3
+     */
+    public static final long[] randomN(long[] values, int n) {
+        var indices = randomIndices(values.length, n);
+        var out = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            out[i] = values[indices[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new list contains random {@code n} elements from the specified
+     * {@link IntList}.
+     * <p>
+     * The source list will not be copied or modified.
+     * 
+     * @param values the {@code IntList}
+     * @param n      the number of the new list size
+     * @return a new list contains random {@code n} elements from the specified
+     *         {@code IntList}
+     * @since 4.3
+     */
+    public static final IntList randomN(IntList values, int n) {
+        var indices = randomIndices(values.size(), n);
+        var out = new IntArrayList(indices.length);
+        for (var index : indices) {
+            out.add(values.valueAt(index));
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new list contains random {@code n} elements from the specified
+     * {@link LongList}.
+     * <p>
+     * The source list will not be copied or modified.
+     * 
+     * @param values the {@code LongList}
+     * @param n      the number of the new list size
+     * @return a new list contains random {@code n} elements from the specified
+     *         {@code LongList}
+     * @since 4.3
+     */
+    public static final LongList randomN(LongList values, int n) {
+        var indices = randomIndices(values.size(), n);
+        var out = new LongArrayList(indices.length);
+        for (var index : indices) {
+            out.add(values.valueAt(index));
+        }
+        return out;
+    }
+
+    /**
+     * Returns a new list contains random {@code n} elements from the specified
+     * iterable.
+     * <p>
+     * This method uses the reservoir sampling algorithm, the source will be
+     * traversed only once and will not be copied. It is suitable for sources
+     * whose size is unknown or which do not support random access.
+     * 
+     * @param <T>    the type of the element from the specified iterable
+     * @param values the iterable
+     * @param n      the number of the new list size
+     * @return a new list contains random {@code n} elements from the specified
+     *         iterable
+     * @since 4.3
+     */
+    public static final <T> List<T> reservoirSample(Iterable<? extends T> values, int n) {
+        return reservoirSample(values, n, null);
+    }
+
+    /**
+     * Returns a new list contains random {@code n} elements from the specified
+     * iterable, drawn from the specified random number generator's sequence.
+     * <p>
+     * This method uses the reservoir sampling algorithm, the source will be
+     * traversed only once and will not be copied. It is suitable for sources
+     * whose size is unknown or which do not support random access.
+     * 
+     * @param <T>    the type of the element from the specified iterable
+     * @param values the iterable
+     * @param n      the number of the new list size
+     * @param random the random
+     * @return a new list contains random {@code n} elements from the specified
+     *         iterable
+     * @since 4.3
+     */
+    public static final <T> List<T> reservoirSample(Iterable<? extends T> values, int n, Random random) {
+        Objects.requireNonNull(values, "values must not be null");
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        var capacity = values instanceof Collection<?> c ? Math.min(c.size(), n) : Math.min(n, 16);
+        var reservoir = new ArrayList<T>(capacity);
+        if (n == 0) {
+            return reservoir;
+        }
+        var r = ensure(random);
+        var count = 0L;
+        for (var value : values) {
+            if (count < n) {
+                reservoir.add(value);
+            } else {
+                var index = r.nextLong(count + 1);
+                if (index < n) {
+                    reservoir.set((int) index, value);
+                }
+            }
+            count++;
+        }
+        return reservoir;
+    }
+
     private RandomUtil() {
     }
 
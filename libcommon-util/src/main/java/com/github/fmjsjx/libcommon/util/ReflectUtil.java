@@ -2,8 +2,10 @@ package com.github.fmjsjx.libcommon.util;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility for reflect.
@@ -136,8 +138,215 @@ public class ReflectUtil {
         }
     }
 
+    private static final Class<?>[] EMPTY_TYPES = new Class<?>[0];
+
     private static final Class<?>[] toTypes(Object... args) {
-        return Arrays.stream(args).map(Object::getClass).toArray(Class[]::new);
+        if (args.length == 0) {
+            return EMPTY_TYPES;
+        }
+        var types = new Class<?>[args.length];
+        for (var i = 0; i < args.length; i++) {
+            types[i] = args[i].getClass();
+        }
+        return types;
+    }
+
+    private static final class MethodInvokersHolder {
+
+        private static final String MAX_CACHED_PER_CLASS_KEY = "libcommon.util.reflect.maxCachedMethodsPerClass";
+
+        private static final int maxCachedPerClass = Math.max(1,
+                SystemPropertyUtil.getInt(MAX_CACHED_PER_CLASS_KEY, 256));
+
+        /**
+         * The values are bound to the classes, so they will be unloaded along with
+         * the classes.
+         */
+        private static final ClassValue<MethodInvokerCache> invokers = new ClassValue<>() {
+            @Override
+            protected MethodInvokerCache computeValue(Class<?> type) {
+                return new MethodInvokerCache(maxCachedPerClass);
+            }
+        };
+
+    }
+
+    /**
+     * A bounded cache of {@link MethodInvoker}s using the second-chance
+     * (CLOCK) eviction policy.
+     * <p>
+     * Lookups are lock-free and only set the referenced flag of the entry.
+     * When the cache is full, the entries are scanned under a lock: each
+     * referenced entry has its flag cleared and is skipped once, and the
+     * first unreferenced one is evicted. So that the frequently used invokers
+     * are kept while the cold ones are evicted.
+     */
+    static final class MethodInvokerCache {
+
+        private static final class Entry {
+
+            private final MethodInvoker invoker;
+            private volatile boolean referenced;
+
+            private Entry(MethodInvoker invoker) {
+                this.invoker = invoker;
+            }
+
+        }
+
+        private final ConcurrentMap<MethodKey, Entry> entries = new ConcurrentHashMap<>();
+        private final int maxSize;
+
+        MethodInvokerCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        MethodInvoker get(MethodKey key) {
+            var entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.invoker;
+        }
+
+        MethodInvoker putIfAbsent(MethodKey key, MethodInvoker invoker) {
+            var old = entries.putIfAbsent(key, new Entry(invoker));
+            if (old != null) {
+                return old.invoker;
+            }
+            if (entries.size() > maxSize) {
+                synchronized (this) {
+                    while (entries.size() > maxSize) {
+                        evictOne(key);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void evictOne(MethodKey except) {
+            // at most two rounds: all flags are cleared in the first round
+            for (var round = 0; round < 2; round++) {
+                for (var it = entries.entrySet().iterator(); it.hasNext(); ) {
+                    var e = it.next();
+                    if (except.equals(e.getKey())) {
+                        continue;
+                    }
+                    var entry = e.getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        it.remove();
+                        return;
+                    }
+                }
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+    }
+
+    /**
+     * The parameter types are kept as names, so that the cache bound to the
+     * declaring class never holds classes from other class loaders.
+     */
+    record MethodKey(String name, boolean declared, List<String> parameterTypeNames) {
+
+        static MethodKey of(String name, boolean declared, Class<?>... parameterTypes) {
+            if (parameterTypes.length == 0) {
+                return new MethodKey(name, declared, List.of());
+            }
+            var names = new String[parameterTypes.length];
+            for (var i = 0; i < names.length; i++) {
+                names[i] = parameterTypes[i].getName();
+            }
+            return new MethodKey(name, declared, List.of(names));
+        }
+
+    }
+
+    private static final MethodInvoker cachedMethodInvoker(Class<?> clazz, String methodName, boolean declared,
+                                                           Class<?>... parameterTypes) {
+        var cache = MethodInvokersHolder.invokers.get(clazz);
+        var key = MethodKey.of(methodName, declared, parameterTypes);
+        var invoker = cache.get(key);
+        if (invoker != null) {
+            if (invoker.hasParameterTypes(parameterTypes)) {
+                return invoker;
+            }
+            // same names but different classes, never cache it
+            return resolveMethodInvoker(clazz, methodName, declared, parameterTypes);
+        }
+        invoker = resolveMethodInvoker(clazz, methodName, declared, parameterTypes);
+        var old = cache.putIfAbsent(key, invoker);
+        return old != null ? old : invoker;
+    }
+
+    private static final MethodInvoker resolveMethodInvoker(Class<?> clazz, String methodName, boolean declared,
+                                                            Class<?>... parameterTypes) {
+        try {
+            Method method;
+            if (declared) {
+                method = clazz.getDeclaredMethod(methodName, parameterTypes);
+                method.setAccessible(true);
+            } else {
+                method = clazz.getMethod(methodName, parameterTypes);
+            }
+            return MethodInvoker.of(method);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the cached {@link MethodInvoker} of the public member method of the
+     * class or interface represented by the specified {@code Class} object, with
+     * the specified name and parameter types.
+     * <p>
+     * The method will be looked up and resolved only once, the invokers are
+     * cached per class (at most {@code 256} methods for each class by default,
+     * can be changed by the system property
+     * {@code -Dlibcommon.util.reflect.maxCachedMethodsPerClass}, the cold
+     * ones are evicted by the second-chance policy), and will be
+     * released when the class is unloaded.
+     * 
+     * @param clazz          the class
+     * @param methodName     the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return the {@code MethodInvoker}
+     * @since 4.3
+     */
+    public static final MethodInvoker methodInvoker(Class<?> clazz, String methodName, Class<?>... parameterTypes) {
+        return cachedMethodInvoker(clazz, methodName, false, parameterTypes);
+    }
+
+    /**
+     * Returns the cached {@link MethodInvoker} of the declared member method of
+     * the class or interface represented by the specified {@code Class} object,
+     * with the specified name and parameter types.
+     * <p>
+     * The method will be looked up and resolved only once, the invokers are
+     * cached per class (at most {@code 256} methods for each class by default,
+     * can be changed by the system property
+     * {@code -Dlibcommon.util.reflect.maxCachedMethodsPerClass}, the cold
+     * ones are evicted by the second-chance policy), and will be
+     * released when the class is unloaded.
+     * 
+     * @param clazz          the class
+     * @param methodName     the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return the {@code MethodInvoker}
+     * @since 4.3
+     */
+    public static final MethodInvoker declaredMethodInvoker(Class<?> clazz, String methodName,
+                                                            Class<?>... parameterTypes) {
+        return cachedMethodInvoker(clazz, methodName, true, parameterTypes);
     }
 
     /**
@@ -189,20 +398,24 @@ public class ReflectUtil {
      * @param args       the arguments used for the method call
      * @return the result of the method on {@code obj} with parameters {@code args}
      */
-    @SuppressWarnings("unchecked")
     public static final <T, R> R callMethod(Class<T> clazz, String methodName, Object obj, Object... args) {
+        return callMethod(cachedMethodInvoker(clazz, methodName, false, toTypes(args)), obj, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final <R> R callMethod(MethodInvoker invoker, Object obj, Object... args) {
         try {
-            Method method;
-            if (args.length == 0) {
-                method = clazz.getMethod(methodName);
-            } else {
-                method = clazz.getMethod(methodName, toTypes(args));
-            }
-            return (R) method.invoke(obj, args);
-        } catch (NoSuchMethodException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException e) {
+            invoker.checkArguments(obj, args);
+        } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
         }
+        try {
+            return (R) invoker.invoke(obj, args);
+        } catch (Throwable e) {
+            // the target and the arguments are already checked, so it must be
+            // thrown by the underlying method
+            throw new RuntimeException(new InvocationTargetException(e));
+        }
     }
 
     /**
@@ -237,21 +450,8 @@ public class ReflectUtil {
      * @return the result of the declared method on {@code obj} with parameters
      *         {@code args}
      */
-    @SuppressWarnings("unchecked")
     public static final <T, R> R callDeclaredMethod(Class<T> clazz, String methodName, Object obj, Object... args) {
-        try {
-            Method method;
-            if (args.length == 0) {
-                method = clazz.getDeclaredMethod(methodName);
-            } else {
-                method = clazz.getDeclaredMethod(methodName, toTypes(args));
-            }
-            method.setAccessible(true);
-            return (R) method.invoke(obj, args);
-        } catch (NoSuchMethodException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
+        return callMethod(cachedMethodInvoker(clazz, methodName, true, toTypes(args)), obj, args);
     }
 
     /**
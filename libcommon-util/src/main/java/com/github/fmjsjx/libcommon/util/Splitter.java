@@ -0,0 +1,413 @@
+package com.github.fmjsjx.libcommon.util;
+
+import com.github.fmjsjx.libcommon.collection.IntArrayList;
+import com.github.fmjsjx.libcommon.collection.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A reusable splitter that splits char sequences around a delimiter.
+ * <p>
+ * The results are always the same as {@link String#split(String)}: a leading
+ * empty value is included if the sequence starts with a positive-width
+ * delimiter, trailing empty values are discarded, and a sequence which
+ * contains no delimiter results in a single value.
+ * <p>
+ * Unlike {@link String#split(String)}, splitters are created only once and can
+ * be stored as constants. The {@code int}/{@code long} methods parse numbers
+ * directly from the source char sequence without creating any substring.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author MJ Fang
+ * @since 4.3
+ */
+public abstract sealed class Splitter {
+
+    private static final class CachedCharSplittersHolder {
+        private static final Splitter[] splitters = new Splitter[128];
+
+        static {
+            for (var i = 0; i < splitters.length; i++) {
+                splitters[i] = new CharSplitter((char) i);
+            }
+        }
+    }
+
+    private static final String REGEX_META_CHARS = ".$|()[{^?*+\\";
+
+    /**
+     * Returns a splitter that uses the given literal {@code char} as the
+     * delimiter.
+     *
+     * @param delimiter the delimiter
+     * @return a {@code Splitter}
+     */
+    public static Splitter on(char delimiter) {
+        if (delimiter < CachedCharSplittersHolder.splitters.length) {
+            return CachedCharSplittersHolder.splitters[delimiter];
+        }
+        return new CharSplitter(delimiter);
+    }
+
+    /**
+     * Returns a splitter that uses the given literal string as the delimiter.
+     *
+     * @param delimiter the delimiter, must not be empty
+     * @return a {@code Splitter}
+     */
+    public static Splitter on(String delimiter) {
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter must not be empty");
+        }
+        if (delimiter.length() == 1) {
+            return on(delimiter.charAt(0));
+        }
+        return new StringSplitter(delimiter);
+    }
+
+    /**
+     * Returns a splitter that uses the given regular expression as the
+     * delimiter.
+     * <p>
+     * Just like {@link String#split(String)}, the regular expression will not
+     * be compiled if it is a single literal character.
+     *
+     * @param regex the delimiting regular expression
+     * @return a {@code Splitter}
+     */
+    public static Splitter onPattern(String regex) {
+        var length = regex.length();
+        if (length == 1) {
+            var ch = regex.charAt(0);
+            if (REGEX_META_CHARS.indexOf(ch) == -1) {
+                return on(ch);
+            }
+        } else if (length == 2 && regex.charAt(0) == '\\') {
+            var ch = regex.charAt(1);
+            if (((ch - '0') | ('9' - ch)) < 0 && ((ch - 'a') | ('z' - ch)) < 0 && ((ch - 'A') | ('Z' - ch)) < 0
+                    && !Character.isSurrogate(ch)) {
+                return on(ch);
+            }
+        }
+        return onPattern(Pattern.compile(regex));
+    }
+
+    /**
+     * Returns a splitter that uses the given pattern as the delimiter.
+     *
+     * @param pattern the delimiting pattern
+     * @return a {@code Splitter}
+     */
+    public static Splitter onPattern(Pattern pattern) {
+        return new PatternSplitter(Objects.requireNonNull(pattern, "pattern must not be null"));
+    }
+
+    /**
+     * Action performed for each value split from a char sequence.
+     */
+    @FunctionalInterface
+    interface ValueAction {
+
+        /**
+         * Performs this action on the specified range of the char sequence.
+         *
+         * @param value the source char sequence
+         * @param start the start index (inclusive)
+         * @param end   the end index (exclusive)
+         */
+        void accept(CharSequence value, int start, int end);
+
+    }
+
+    private Splitter() {
+    }
+
+    /**
+     * Performs the given action for each value split from the char sequence.
+     *
+     * @param value  the char sequence
+     * @param action the action
+     * @return the number of the values
+     */
+    abstract int forEachValue(CharSequence value, ValueAction action);
+
+    /**
+     * Splits the char sequence.
+     *
+     * @param value the char sequence
+     * @return a {@code String} array
+     */
+    public String[] split(CharSequence value) {
+        return splitToList(value).toArray(String[]::new);
+    }
+
+    /**
+     * Splits the char sequence to a list.
+     *
+     * @param value the char sequence
+     * @return a {@code List<String>}
+     */
+    public List<String> splitToList(CharSequence value) {
+        return splitToCollection(value, Function.identity(), new ArrayList<>());
+    }
+
+    /**
+     * Splits the char sequence and converts the values using the specified
+     * {@code mapper}.
+     *
+     * @param <T>    the type of elements
+     * @param value  the char sequence
+     * @param mapper a function to apply to each value
+     * @return a {@code List<T>}
+     */
+    public <T> List<T> splitToList(CharSequence value, Function<String, T> mapper) {
+        return splitToCollection(value, mapper, new ArrayList<>());
+    }
+
+    /**
+     * Splits the char sequence and adds the values converted by the specified
+     * {@code mapper} into the specified collection.
+     *
+     * @param <T>    the type of elements
+     * @param <C>    the type of the collection
+     * @param value  the char sequence
+     * @param mapper a function to apply to each value
+     * @param out    the collection into which the results will be inserted
+     * @return the {@code out} collection
+     */
+    public <T, C extends Collection<? super T>> C splitToCollection(CharSequence value, Function<String, T> mapper,
+                                                                   C out) {
+        forEachValue(value, (s, start, end) -> out.add(mapper.apply(s.subSequence(start, end).toString())));
+        return out;
+    }
+
+    /**
+     * Splits the char sequence and parses the values as {@code int} type.
+     *
+     * @param value the char sequence
+     * @return an {@code int} array
+     * @throws NumberFormatException if any value is not a parsable {@code int}
+     */
+    public int[] splitInt(CharSequence value) {
+        return splitIntToList(value).toIntArray();
+    }
+
+    /**
+     * Splits the char sequence and parses the values as {@code int} type.
+     *
+     * @param value the char sequence
+     * @return an {@code IntArrayList}
+     * @throws NumberFormatException if any value is not a parsable {@code int}
+     */
+    public IntArrayList splitIntToList(CharSequence value) {
+        var out = new IntArrayList();
+        forEachValue(value, (s, start, end) -> out.add(Integer.parseInt(s, start, end, 10)));
+        return out;
+    }
+
+    /**
+     * Splits the char sequence and parses the values as {@code long} type.
+     *
+     * @param value the char sequence
+     * @return a {@code long} array
+     * @throws NumberFormatException if any value is not a parsable {@code long}
+     */
+    public long[] splitLong(CharSequence value) {
+        return splitLongToList(value).toLongArray();
+    }
+
+    /**
+     * Splits the char sequence and parses the values as {@code long} type.
+     *
+     * @param value the char sequence
+     * @return a {@code LongArrayList}
+     * @throws NumberFormatException if any value is not a parsable {@code long}
+     */
+    public LongArrayList splitLongToList(CharSequence value) {
+        var out = new LongArrayList();
+        forEachValue(value, (s, start, end) -> out.add(Long.parseLong(s, start, end, 10)));
+        return out;
+    }
+
+    private static final class CharSplitter extends Splitter {
+
+        private final char delimiter;
+
+        private CharSplitter(char delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        int forEachValue(CharSequence value, ValueAction action) {
+            var delimiter = this.delimiter;
+            var length = value.length();
+            var index = indexOf(value, delimiter, 0, length);
+            if (index == -1) {
+                // no delimiter found
+                action.accept(value, 0, length);
+                return 1;
+            }
+            var count = 0;
+            var empties = 0;
+            var start = 0;
+            for (; ; ) {
+                var end = index == -1 ? length : index;
+                if (start == end) {
+                    // defer empty values, trailing empty values will be discarded
+                    empties++;
+                } else {
+                    count += acceptEmpties(value, start, empties, action);
+                    empties = 0;
+                    action.accept(value, start, end);
+                    count++;
+                }
+                if (index == -1) {
+                    return count;
+                }
+                start = index + 1;
+                index = indexOf(value, delimiter, start, length);
+            }
+        }
+
+        private static int indexOf(CharSequence value, char ch, int from, int to) {
+            if (value instanceof String s) {
+                return s.indexOf(ch, from, to);
+            }
+            for (var i = from; i < to; i++) {
+                if (value.charAt(i) == ch) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+    }
+
+    private static int acceptEmpties(CharSequence value, int index, int empties, ValueAction action) {
+        for (var i = 0; i < empties; i++) {
+            action.accept(value, index, index);
+        }
+        return empties;
+    }
+
+    private static final class StringSplitter extends Splitter {
+
+        private final String delimiter;
+
+        private StringSplitter(String delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        int forEachValue(CharSequence value, ValueAction action) {
+            var delimiter = this.delimiter;
+            var length = value.length();
+            var index = indexOf(value, delimiter, 0, length);
+            if (index == -1) {
+                // no delimiter found
+                action.accept(value, 0, length);
+                return 1;
+            }
+            var count = 0;
+            var empties = 0;
+            var start = 0;
+            for (; ; ) {
+                var end = index == -1 ? length : index;
+                if (start == end) {
+                    // defer empty values, trailing empty values will be discarded
+                    empties++;
+                } else {
+                    count += acceptEmpties(value, start, empties, action);
+                    empties = 0;
+                    action.accept(value, start, end);
+                    count++;
+                }
+                if (index == -1) {
+                    return count;
+                }
+                start = index + delimiter.length();
+                index = indexOf(value, delimiter, start, length);
+            }
+        }
+
+        private static int indexOf(CharSequence value, String s, int from, int to) {
+            if (value instanceof String str) {
+                var index = str.indexOf(s, from);
+                return index + s.length() > to ? -1 : index;
+            }
+            var first = s.charAt(0);
+            var max = to - s.length();
+            for (var i = from; i <= max; i++) {
+                if (value.charAt(i) == first && regionMatches(value, i, s)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean regionMatches(CharSequence value, int offset, String s) {
+            for (var i = 1; i < s.length(); i++) {
+                if (value.charAt(offset + i) != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    private static final class PatternSplitter extends Splitter {
+
+        private final Pattern pattern;
+
+        private PatternSplitter(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        int forEachValue(CharSequence value, ValueAction action) {
+            // same as Pattern.split(input, 0) but without creating substrings
+            var length = value.length();
+            var count = 0;
+            var empties = 0;
+            var start = 0;
+            var m = pattern.matcher(value);
+            while (m.find()) {
+                var end = m.start();
+                if (start == 0 && end == 0 && m.end() == 0) {
+                    // no empty leading substring included for zero-width match at the beginning
+                    continue;
+                }
+                if (start == end) {
+                    // defer empty values, trailing empty values will be discarded
+                    empties++;
+                } else {
+                    count += acceptEmpties(value, start, empties, action);
+                    empties = 0;
+                    action.accept(value, start, end);
+                    count++;
+                }
+                start = m.end();
+            }
+            if (start == 0 && count == 0 && empties == 0) {
+                // no match found
+                action.accept(value, 0, length);
+                return 1;
+            }
+            if (start < length) {
+                count += acceptEmpties(value, start, empties, action);
+                action.accept(value, start, length);
+                count++;
+            }
+            return count;
+        }
+
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.github.fmjsjx.libcommon.util;
 
-import java.util.Arrays;
+import com.github.fmjsjx.libcommon.collection.BoundedCache;
+import com.github.fmjsjx.libcommon.collection.IntArrayList;
+import com.github.fmjsjx.libcommon.collection.LongArrayList;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.IntPredicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for strings.
@@ -93,6 +95,15 @@ public class StringUtil {
         private static final IntPredicate IS_NUMBERIC = i -> i >= '0' && i <= '9';
     }
 
+    private static final class PatternSplitters {
+        private static final BoundedCache<String, Splitter> cache = new BoundedCache<>(256);
+    }
+
+    private static final Splitter patternSplitter(String regex) {
+        // regular expressions are usually constants, so compile each of them only once
+        return PatternSplitters.cache.computeIfAbsent(regex, Splitter::onPattern);
+    }
+
     /**
      * Splits the string around matches of the given {@code regular expression} and
      * converts the values as {@code int} type.
@@ -102,7 +113,35 @@ public class StringUtil {
      * @return an {@code int} array
      */
     public static final int[] splitInt(String value, String regex) {
-        return Arrays.stream(value.split(regex)).mapToInt(Integer::parseInt).toArray();
+        return patternSplitter(regex).splitInt(value);
+    }
+
+    /**
+     * Splits the char sequence around the given literal {@code delimiter} and
+     * parses the values as {@code int} type directly, without creating any
+     * substring.
+     * 
+     * @param value     the char sequence
+     * @param delimiter the delimiter
+     * @return an {@code int} array
+     * @since 4.3
+     */
+    public static final int[] splitInt(CharSequence value, char delimiter) {
+        return Splitter.on(delimiter).splitInt(value);
+    }
+
+    /**
+     * Splits the char sequence around the given literal {@code delimiter} and
+     * parses the values as {@code int} type directly, without creating any
+     * substring.
+     * 
+     * @param value     the char sequence
+     * @param delimiter the delimiter
+     * @return an {@code IntArrayList}
+     * @since 4.3
+     */
+    public static final IntArrayList splitIntToList(CharSequence value, char delimiter) {
+        return Splitter.on(delimiter).splitIntToList(value);
     }
 
     /**
@@ -114,7 +153,35 @@ public class StringUtil {
      * @return a {@code long} array
      */
     public static final long[] splitLong(String value, String regex) {
-        return Arrays.stream(value.split(regex)).mapToLong(Long::parseLong).toArray();
+        return patternSplitter(regex).splitLong(value);
+    }
+
+    /**
+     * Splits the char sequence around the given literal {@code delimiter} and
+     * parses the values as {@code long} type directly, without creating any
+     * substring.
+     * 
+     * @param value     the char sequence
+     * @param delimiter the delimiter
+     * @return a {@code long} array
+     * @since 4.3
+     */
+    public static final long[] splitLong(CharSequence value, char delimiter) {
+        return Splitter.on(delimiter).splitLong(value);
+    }
+
+    /**
+     * Splits the char sequence around the given literal {@code delimiter} and
+     * parses the values as {@code long} type directly, without creating any
+     * substring.
+     * 
+     * @param value     the char sequence
+     * @param delimiter the delimiter
+     * @return a {@code LongArrayList}
+     * @since 4.3
+     */
+    public static final LongArrayList splitLongToList(CharSequence value, char delimiter) {
+        return Splitter.on(delimiter).splitLongToList(value);
     }
 
     /**
@@ -128,7 +195,7 @@ public class StringUtil {
      * @since 2.2
      */
     public static final Object[] split(String value, String regex, Function<String, Object> mapper) {
-        return Arrays.stream(value.split(regex)).map(mapper).toArray();
+        return patternSplitter(regex).splitToList(value, mapper).toArray();
     }
 
     /**
@@ -146,7 +213,8 @@ public class StringUtil {
      */
     public static final <T> T[] split(String value, String regex, Function<String, T> mapper,
             IntFunction<T[]> generator) {
-        return Arrays.stream(value.split(regex)).map(mapper).toArray(generator);
+        var list = patternSplitter(regex).splitToList(value, mapper);
+        return list.toArray(generator.apply(list.size()));
     }
 
     /**
@@ -161,7 +229,7 @@ public class StringUtil {
      * @since 2.2
      */
     public static final <T> List<T> splitToList(String value, String regex, Function<String, T> mapper) {
-        return Arrays.stream(value.split(regex)).map(mapper).collect(Collectors.toList());
+        return patternSplitter(regex).splitToList(value, mapper);
     }
 
     /**
@@ -180,7 +248,7 @@ public class StringUtil {
      */
     public static final <T, C extends Collection<T>> C splitToCollection(String value, String regex,
             Function<String, T> mapper, Supplier<C> collectionFactory) {
-        return Arrays.stream(value.split(regex)).map(mapper).collect(Collectors.toCollection(collectionFactory));
+        return patternSplitter(regex).splitToCollection(value, mapper, collectionFactory.get());
     }
 
     /**
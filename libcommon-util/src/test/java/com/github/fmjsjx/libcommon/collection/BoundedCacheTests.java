@@ -0,0 +1,93 @@
+package com.github.fmjsjx.libcommon.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTests {
+
+    @Test
+    public void testComputeIfAbsent() {
+        var created = new AtomicInteger();
+        var cache = new BoundedCache<String, String>(4);
+        assertEquals("A", cache.computeIfAbsent("a", key -> {
+            created.incrementAndGet();
+            return key.toUpperCase();
+        }));
+        assertEquals("A", cache.computeIfAbsent("a", key -> {
+            created.incrementAndGet();
+            return key.toUpperCase();
+        }));
+        assertEquals(1, created.get());
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.maxSize());
+        assertThrows(NullPointerException.class, () -> cache.computeIfAbsent("b", key -> null));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+
+    @Test
+    public void testEvictionKeepsHotEntries() {
+        var cache = new BoundedCache<Integer, Integer>(4);
+        for (var i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        cache.get(0);
+        cache.get(2);
+        cache.put(4, 4);
+        // 0 got a second chance, so 1 is the first cold one
+        assertNull(cache.get(1));
+        cache.put(5, 5);
+        // 2 got a second chance too, so 3 is the next cold one
+        assertNull(cache.get(3));
+        assertEquals(0, cache.get(0));
+        assertEquals(2, cache.get(2));
+        assertEquals(4, cache.get(4));
+        assertEquals(5, cache.get(5));
+        assertEquals(4, cache.size());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    public void testEvictionIsBounded() {
+        var cache = new BoundedCache<Integer, Integer>(16);
+        for (var i = 0; i < 1000; i++) {
+            assertEquals(i, cache.computeIfAbsent(i, key -> key));
+            cache.get(i);
+            assertTrue(cache.size() <= 16);
+        }
+        assertEquals(16, cache.size());
+        assertEquals(1000 - 16, cache.evictionCount());
+        // all slots are used evenly: only the latest entries are cached
+        for (var i = 1000 - 16; i < 1000; i++) {
+            assertEquals(i, cache.get(i));
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        var cache = new BoundedCache<Integer, String>(4);
+        for (var i = 0; i < 4; i++) {
+            cache.put(i, String.valueOf(i));
+        }
+        assertFalse(cache.remove(0, "x"));
+        assertTrue(cache.remove(0, cache.get(0)));
+        assertNull(cache.get(0));
+        assertEquals(2, cache.removeIf((key, value) -> key % 2 == 1));
+        assertEquals(1, cache.size());
+        // removed slots are reused without eviction
+        cache.put(4, "4");
+        cache.put(5, "5");
+        cache.put(6, "6");
+        assertEquals(4, cache.size());
+        assertEquals(0, cache.evictionCount());
+        assertEquals("2", cache.put(2, "two"));
+        assertEquals("two", cache.get(2));
+        assertEquals(4, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(2));
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncJdbcTests {
+
+    private static DataSource dataSource(Connection conn) {
+        return (DataSource) Proxy.newProxyInstance(AsyncJdbcTests.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> conn;
+                    case "toString" -> "FakeDataSource";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Test
+    public void testMaxConcurrency() {
+        var fake = new JdbcUtilTests.FakeConnection();
+        var asyncJdbc = AsyncJdbc.create(dataSource(fake.connection()), 2);
+        assertEquals(2, asyncJdbc.availablePermits());
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var futures = new CompletableFuture<?>[10];
+        for (var i = 0; i < futures.length; i++) {
+            var value = i;
+            futures[i] = asyncJdbc.execute(conn -> {
+                var current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                assertTrue(Thread.currentThread().isVirtual());
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                running.decrementAndGet();
+                return value;
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(9, futures[9].join());
+        assertEquals(2, asyncJdbc.availablePermits());
+    }
+
+    @Test
+    public void testSelectAndUpdate() throws Exception {
+        var fake = new JdbcUtilTests.FakeConnection();
+        fake.rows.add(new Object[]{1, "a"});
+        var asyncJdbc = AsyncJdbc.create(dataSource(fake.connection()), 1);
+        var names = asyncJdbc.selectMany("SELECT id, name FROM t", st -> {
+        }, rs -> rs.getString(2)).get();
+        assertEquals(List.of("a"), names);
+        assertEquals(0, asyncJdbc.update("UPDATE t SET name = ?", st -> st.setString(1, "b")).get());
+        assertEquals(List.of("close", "close"), fake.connectionCalls);
+
+        var failure = assertThrows(ExecutionException.class, () -> asyncJdbc.execute(conn -> {
+            throw new SQLException("test");
+        }).get());
+        assertTrue(failure.getCause() instanceof SQLRuntimeException);
+        assertEquals(1, asyncJdbc.availablePermits());
+    }
+
+    @Test
+    public void testBatchUpdate() throws Exception {
+        var fake = new JdbcUtilTests.FakeConnection();
+        var asyncJdbc = AsyncJdbc.create(dataSource(fake.connection()), 1);
+        var results = asyncJdbc.batchUpdate("UPDATE t SET name = ?", List.of("a", "b", "c"),
+                (st, name) -> st.setString(1, name), 2).get();
+        assertEquals(2, results.size());
+        assertTrue(fake.autoCommit);
+        assertEquals(List.of("commit", "close"), fake.connectionCalls);
+
+        assertThrows(ExecutionException.class, () -> asyncJdbc.batchUpdate("UPDATE t SET name = ?",
+                List.of("a"), (st, name) -> {
+                    throw new SQLException("test");
+                }, 2).get());
+        assertEquals(List.of("commit", "close", "rollback", "close"), fake.connectionCalls);
+    }
+
+    @Test
+    public void testExecuteInTransactionKeepsOriginalFailure() {
+        var calls = new ArrayList<String>();
+        var conn = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    calls.add(method.getName());
+                    return switch (method.getName()) {
+                        case "getAutoCommit" -> true;
+                        case "setAutoCommit" -> {
+                            if ((Boolean) args[0]) {
+                                throw new SQLException("restore");
+                            }
+                            yield null;
+                        }
+                        case "rollback", "close" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        var asyncJdbc = AsyncJdbc.create(dataSource(conn), 1);
+        var failure = assertThrows(ExecutionException.class, () -> asyncJdbc.executeInTransaction(c -> {
+            throw new IllegalStateException("action");
+        }).get());
+        var cause = failure.getCause();
+        assertTrue(cause instanceof IllegalStateException);
+        assertEquals("action", cause.getMessage());
+        assertEquals(1, cause.getSuppressed().length);
+        assertEquals("restore", cause.getSuppressed()[0].getMessage());
+        assertEquals(List.of("getAutoCommit", "setAutoCommit", "rollback", "setAutoCommit", "close"), calls);
+        assertEquals(1, asyncJdbc.availablePermits());
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutoRowMapperTests {
+
+    record User(long id, String userName, Integer level, int score) {
+    }
+
+    public static class Bean {
+
+        private long id;
+        private String userName;
+        Integer level;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+    }
+
+    private static JdbcUtilTests.FakeConnection fake() {
+        var fake = new JdbcUtilTests.FakeConnection();
+        fake.labels = List.of("ID", "user_name", "level", "unknown");
+        fake.rows.add(new Object[]{1, "a", 10, "x"});
+        fake.rows.add(new Object[]{2, "b", null, "y"});
+        return fake;
+    }
+
+    @Test
+    public void testRecord() {
+        var mapper = AutoRowMapper.of(User.class);
+        assertSame(mapper, AutoRowMapper.of(User.class));
+        var users = JdbcUtil.selectMany(fake().connection(), "SELECT * FROM user", st -> {
+        }, mapper);
+        assertEquals(List.of(new User(1, "a", 10, 0), new User(2, "b", null, 0)), users);
+    }
+
+    @Test
+    public void testBean() {
+        var beans = JdbcUtil.selectMany(fake().connection(), "SELECT * FROM user", st -> {
+        }, AutoRowMapper.of(Bean.class));
+        assertEquals(2, beans.size());
+        assertEquals(1, beans.get(0).getId());
+        assertEquals("a", beans.get(0).getUserName());
+        assertEquals(10, beans.get(0).level);
+        assertEquals(2, beans.get(1).getId());
+        assertNull(beans.get(1).level);
+    }
+
+    @Test
+    public void testBind() {
+        var mapper = AutoRowMapper.of(User.class);
+        var fake = fake();
+        JdbcUtil.selectMany(fake.connection(), "SELECT * FROM user", st -> {
+        }, mapper);
+        assertEquals(1, fake.metaDataCalls);
+
+        // interleaved queries with different columns
+        var other = new JdbcUtilTests.FakeConnection();
+        other.labels = List.of("score", "id");
+        other.rows.add(new Object[]{100, 3});
+        other.rows.add(new Object[]{200, 4});
+        try (var s1 = JdbcUtil.selectStream(fake.connection(), "SELECT * FROM user", st -> {
+        }, mapper); var s2 = JdbcUtil.selectStream(other.connection(), "SELECT score, id FROM user", st -> {
+        }, mapper)) {
+            var i1 = s1.iterator();
+            var i2 = s2.iterator();
+            assertEquals(new User(1, "a", 10, 0), i1.next());
+            assertEquals(new User(3, null, null, 100), i2.next());
+            assertEquals(new User(2, "b", null, 0), i1.next());
+            assertEquals(new User(4, null, null, 200), i2.next());
+        }
+        assertEquals(2, fake.metaDataCalls);
+        assertEquals(1, other.metaDataCalls);
+    }
+
+    @Test
+    public void testInvalidType() {
+        assertThrows(IllegalArgumentException.class, () -> AutoRowMapper.of(Number.class));
+        assertThrows(IllegalArgumentException.class, () -> AutoRowMapper.of(Integer.class));
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import com.github.fmjsjx.libcommon.collection.IntArrayList;
+import com.github.fmjsjx.libcommon.collection.LongArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcUtilTests {
+
+    /**
+     * A fake connection records all prepared SQLs and executed parameters.
+     */
+    static class FakeConnection {
+
+        final List<String> preparedSqls = new ArrayList<>();
+        final List<Map<Integer, Object>> executed = new ArrayList<>();
+        final List<Object[]> rows = new ArrayList<>();
+        final List<String> connectionCalls = new ArrayList<>();
+        List<String> labels = List.of();
+        boolean autoCommit = true;
+        final List<Integer> fetchSizes = new ArrayList<>();
+        int closedStatements;
+        int closedResultSets;
+        int fetchedRows;
+        int metaDataCalls;
+        long nextKey = 1;
+
+        Connection connection() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "prepareStatement" -> {
+                            preparedSqls.add((String) args[0]);
+                            yield statement();
+                        }
+                        case "getAutoCommit" -> autoCommit;
+                        case "setAutoCommit" -> {
+                            autoCommit = (Boolean) args[0];
+                            yield null;
+                        }
+                        case "commit", "rollback", "close" -> {
+                            connectionCalls.add(method.getName());
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private PreparedStatement statement() {
+            var closed = new boolean[1];
+            var params = new TreeMap<Integer, Object>();
+            var batch = new ArrayList<Map<Integer, Object>>();
+            var keys = new ArrayList<Long>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "setFetchSize" -> {
+                            fetchSizes.add((Integer) args[0]);
+                            yield null;
+                        }
+                        case "executeQuery" -> {
+                            executed.add(new TreeMap<>(params));
+                            params.clear();
+                            yield rows();
+                        }
+                        case "setInt", "setLong", "setString" -> {
+                            params.put((Integer) args[0], args[1]);
+                            yield null;
+                        }
+                        case "addBatch" -> {
+                            batch.add(new TreeMap<>(params));
+                            params.clear();
+                            yield null;
+                        }
+                        case "executeBatch" -> {
+                            executed.addAll(batch);
+                            keys.clear();
+                            batch.forEach(b -> keys.add(nextKey++));
+                            var counts = new int[batch.size()];
+                            Arrays.fill(counts, 1);
+                            batch.clear();
+                            yield counts;
+                        }
+                        case "executeUpdate" -> {
+                            executed.add(new TreeMap<>(params));
+                            var rows = params.size() / 2;
+                            params.clear();
+                            yield rows;
+                        }
+                        case "getGeneratedKeys" -> keys(new ArrayList<>(keys));
+                        case "clearParameters" -> {
+                            params.clear();
+                            yield null;
+                        }
+                        case "isClosed" -> closed[0];
+                        case "close" -> {
+                            closed[0] = true;
+                            closedStatements++;
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private ResultSet rows() {
+            var index = new int[]{-1};
+            var wasNull = new boolean[1];
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getMetaData" -> {
+                            metaDataCalls++;
+                            yield metaData();
+                        }
+                        case "next" -> {
+                            if (++index[0] < rows.size()) {
+                                fetchedRows++;
+                                yield true;
+                            }
+                            yield false;
+                        }
+                        case "getInt", "getLong", "getString" -> {
+                            var value = rows.get(index[0])[(Integer) args[0] - 1];
+                            wasNull[0] = value == null;
+                            var type = method.getReturnType();
+                            if (type == int.class) {
+                                yield value == null ? Integer.valueOf(0) : Integer.valueOf(((Number) value).intValue());
+                            } else if (type == long.class) {
+                                yield value == null ? Long.valueOf(0) : Long.valueOf(((Number) value).longValue());
+                            }
+                            yield value;
+                        }
+                        case "wasNull" -> wasNull[0];
+                        case "close" -> {
+                            closedResultSets++;
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private ResultSetMetaData metaData() {
+            return (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "getColumnCount" -> labels.size();
+                        case "getColumnLabel" -> labels.get((Integer) args[0] - 1);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private ResultSet keys(List<Long> keys) {
+            var index = new int[]{-1};
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "next" -> ++index[0] < keys.size();
+                        case "getInt" -> keys.get(index[0]).intValue();
+                        case "getLong" -> keys.get(index[0]);
+                        case "close" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+    }
+
+    record Item(int id, String name) {
+    }
+
+    private static List<Item> items(int size) {
+        return IntStream.rangeClosed(1, size).mapToObj(i -> new Item(i, "item-" + i)).toList();
+    }
+
+    @Test
+    public void testBatchUpdate() {
+        var fake = new FakeConnection();
+        var results = JdbcUtil.batchUpdate(fake.connection(), "UPDATE t SET name = ? WHERE id = ?", items(7),
+                (st, item) -> {
+                    st.setString(1, item.name());
+                    st.setInt(2, item.id());
+                }, 3);
+        assertEquals(3, results.size());
+        assertArrayEquals(new int[]{1, 1, 1}, results.get(0));
+        assertArrayEquals(new int[]{1, 1, 1}, results.get(1));
+        assertArrayEquals(new int[]{1}, results.get(2));
+        assertEquals(1, fake.preparedSqls.size());
+        assertEquals(1, fake.closedStatements);
+        assertEquals(7, fake.executed.size());
+        assertEquals(Map.of(1, "item-7", 2, 7), fake.executed.get(6));
+
+        assertTrue(JdbcUtil.batchUpdate(fake.connection(), "UPDATE t SET name = ? WHERE id = ?", List.<Item>of(),
+                (st, item) -> st.setInt(1, item.id())).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> JdbcUtil.batchUpdate(fake.connection(), "UPDATE t",
+                items(1), (st, item) -> {
+                }, 0));
+    }
+
+    @Test
+    public void testBatchInsert() {
+        var fake = new FakeConnection();
+        var intKeys = new IntArrayList();
+        var results = JdbcUtil.batchInsert(fake.connection(), "INSERT INTO t (name) VALUES (?)", items(5),
+                (st, item) -> st.setString(1, item.name()), 2, intKeys);
+        assertEquals(3, results.size());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, intKeys.toIntArray());
+
+        var longKeys = new LongArrayList();
+        JdbcUtil.batchInsert(fake.connection(), "INSERT INTO t (name) VALUES (?)", items(2),
+                (st, item) -> st.setString(1, item.name()), 10, longKeys);
+        assertArrayEquals(new long[]{6, 7}, longKeys.toLongArray());
+    }
+
+    @Test
+    public void testInsertValues() {
+        var fake = new FakeConnection();
+        var rows = JdbcUtil.insertValues(fake.connection(), "INSERT INTO t (id, name) VALUES (?, ?)", items(5),
+                (st, offset, item) -> {
+                    st.setInt(offset + 1, item.id());
+                    st.setString(offset + 2, item.name());
+                }, 2);
+        assertEquals(5, rows);
+        assertEquals(List.of("INSERT INTO t (id, name) VALUES (?, ?), (?, ?)",
+                "INSERT INTO t (id, name) VALUES (?, ?)"), fake.preparedSqls);
+        assertEquals(2, fake.closedStatements);
+        assertEquals(Map.of(1, 3, 2, "item-3", 3, 4, 4, "item-4"), fake.executed.get(1));
+        assertEquals(Map.of(1, 5, 2, "item-5"), fake.executed.get(2));
+    }
+
+    @Test
+    public void testToMultiValuesSql() {
+        assertEquals("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)",
+                JdbcUtil.toMultiValuesSql("INSERT INTO t (a, b) VALUES (?, ?)", 3));
+        assertEquals("insert into t(a,b) values(?,now()), (?,now()) on duplicate key update b=values(b)",
+                JdbcUtil.toMultiValuesSql("insert into t(a,b) values(?,now()) on duplicate key update b=values(b)", 2));
+        assertEquals("INSERT INTO `values` (a) VALUES (?, ')'), (?, ')')",
+                JdbcUtil.toMultiValuesSql("INSERT INTO `values` (a) VALUES (?, ')')", 2));
+        assertEquals("INSERT INTO t (a, b) VALUES (?, 'it\\'s ) \\\\'), (?, 'it\\'s ) \\\\')",
+                JdbcUtil.toMultiValuesSql("INSERT INTO t (a, b) VALUES (?, 'it\\'s ) \\\\')", 2));
+        assertEquals("INSERT INTO t (a, b) VALUES (?, 'it''s )'), (?, 'it''s )')",
+                JdbcUtil.toMultiValuesSql("INSERT INTO t (a, b) VALUES (?, 'it''s )')", 2));
+        assertEquals("INSERT INTO t (`a\\`) VALUES (?), (?)",
+                JdbcUtil.toMultiValuesSql("INSERT INTO t (`a\\`) VALUES (?)", 2));
+        assertEquals("INSERT INTO t (\"a\\\") VALUES (?), (?)",
+                JdbcUtil.toMultiValuesSql("INSERT INTO t (\"a\\\") VALUES (?)", 2));
+        assertEquals("INSERT INTO t (a) VALUES (?), (?) ON DUPLICATE KEY UPDATE a = '?'",
+                JdbcUtil.toMultiValuesSql("INSERT INTO t (a) VALUES (?) ON DUPLICATE KEY UPDATE a = '?'", 2));
+        assertThrows(IllegalArgumentException.class, () -> JdbcUtil.toMultiValuesSql(
+                "INSERT INTO t (a, b) VALUES (?, ?) ON DUPLICATE KEY UPDATE b = ?", 2));
+        assertThrows(IllegalArgumentException.class, () -> JdbcUtil.toMultiValuesSql(
+                "WITH x AS (SELECT ?) INSERT INTO t (a) VALUES (?)", 2));
+        assertThrows(IllegalArgumentException.class, () -> JdbcUtil.toMultiValuesSql("INSERT INTO t SELECT 1", 2));
+        assertThrows(IllegalArgumentException.class, () -> JdbcUtil.toMultiValuesSql("INSERT INTO t VALUES (?", 2));
+    }
+
+    @Test
+    public void testSelectStream() {
+        var fake = new FakeConnection();
+        items(5).forEach(item -> fake.rows.add(new Object[]{item.id(), item.name()}));
+        try (var stream = JdbcUtil.selectStream(fake.connection(), "SELECT id, name FROM t WHERE id > ?",
+                st -> st.setInt(1, 0), FetchOptions.forwardOnly(100), rs -> new Item(rs.getInt(1), rs.getString(2)))) {
+            assertEquals(0, fake.fetchedRows);
+            assertEquals(items(2), stream.limit(2).toList());
+            assertEquals(2, fake.fetchedRows);
+            assertEquals(0, fake.closedStatements);
+        }
+        assertEquals(1, fake.closedResultSets);
+        assertEquals(1, fake.closedStatements);
+        assertEquals(List.of(100), fake.fetchSizes);
+
+        try (var stream = JdbcUtil.selectStream(fake.connection(), "SELECT id, name FROM t", st -> {
+        }, rs -> rs.getInt(1))) {
+            assertEquals(15, stream.mapToInt(Integer::intValue).sum());
+        }
+        assertEquals(2, fake.closedStatements);
+        assertEquals(List.of(100), fake.fetchSizes);
+
+        assertThrows(IllegalStateException.class, () -> JdbcUtil.selectStream(fake.connection(), "SELECT id FROM t",
+                st -> {
+                    throw new IllegalStateException("fail");
+                }, rs -> rs.getInt(1)));
+        assertEquals(3, fake.closedStatements);
+    }
+
+    @Test
+    public void testForEachRow() {
+        var fake = new FakeConnection();
+        items(3).forEach(item -> fake.rows.add(new Object[]{item.id(), item.name()}));
+        var names = new ArrayList<String>();
+        var rows = JdbcUtil.forEachRow(fake.connection(), "SELECT id, name FROM t", st -> {
+        }, FetchOptions.DEFAULT.withFetchSize(Integer.MIN_VALUE), rs -> names.add(rs.getString(2)));
+        assertEquals(3, rows);
+        assertEquals(List.of("item-1", "item-2", "item-3"), names);
+        assertEquals(List.of(Integer.MIN_VALUE), fake.fetchSizes);
+        assertEquals(1, fake.closedResultSets);
+        assertEquals(1, fake.closedStatements);
+        assertThrows(IllegalArgumentException.class, () -> FetchOptions.forwardOnly(-1));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.fmjsjx.libcommon.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCacheTests {
+
+    @Test
+    public void testPrepareStatement() throws SQLException {
+        var fake = new JdbcUtilTests.FakeConnection();
+        try (var cache = new StatementCache(fake.connection(), 2)) {
+            var s1 = cache.prepareStatement("SELECT 1");
+            assertSame(s1, cache.prepareStatement("SELECT 1"));
+            var s2 = cache.prepareStatement("SELECT 2");
+            assertEquals(2, cache.size());
+            // SELECT 1 is the most recently used one
+            assertSame(s1, cache.prepareStatement("SELECT 1"));
+            cache.prepareStatement("SELECT 3");
+            assertEquals(2, cache.size());
+            assertTrue(s2.isClosed());
+            assertFalse(s1.isClosed());
+            assertEquals(List.of("SELECT 1", "SELECT 2", "SELECT 3"), fake.preparedSqls);
+            assertTrue(cache.evict("SELECT 1"));
+            assertFalse(cache.evict("SELECT 1"));
+            assertTrue(s1.isClosed());
+        }
+        assertEquals(3, fake.closedStatements);
+        assertThrows(IllegalArgumentException.class, () -> new StatementCache(fake.connection(), 0));
+    }
+
+    @Test
+    public void testExecutions() {
+        var fake = new JdbcUtilTests.FakeConnection();
+        fake.rows.add(new Object[]{42});
+        try (var cache = new StatementCache(fake.connection())) {
+            for (var i = 0; i < 3; i++) {
+                var id = i;
+                assertEquals(42, cache.selectInt("SELECT count(*) FROM t WHERE id > ?", st -> st.setInt(1, id))
+                        .orElseThrow());
+                assertEquals(0, cache.update("UPDATE t SET id = ?", st -> st.setInt(1, id)));
+            }
+            assertEquals(2, fake.preparedSqls.size());
+            assertEquals(Map.of(1, 2), fake.executed.get(5));
+            assertEquals(3, fake.closedResultSets);
+            assertEquals(0, fake.closedStatements);
+
+            assertThrows(IllegalStateException.class, () -> cache.batchUpdate("UPDATE t SET id = ?", List.of(1),
+                    (st, id) -> {
+                        throw new IllegalStateException();
+                    }, 10));
+            assertEquals(1, cache.size());
+            assertEquals(1, fake.closedStatements);
+        }
+        assertEquals(2, fake.closedStatements);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.github.fmjsjx.libcommon.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessorFactoryTests {
+
+    public static class TestBean {
+        private int id;
+        private String name;
+        private boolean enabled;
+        private long noAccessor;
+        private final String constant = "c";
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TestBean setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public record TestRecord(int id, String name) {
+    }
+
+    @Test
+    public void testGetterAndSetter() throws Exception {
+        var bean = new TestBean();
+        var idSetter = AccessorFactory.<TestBean>setter(TestBean.class.getMethod("setId", int.class));
+        idSetter.accept(bean, 123);
+        assertEquals(123, bean.id);
+        var idGetter = AccessorFactory.<TestBean>getter(TestBean.class.getMethod("getId"));
+        assertEquals(123, idGetter.apply(bean));
+
+        // fluent setter returns non-void, bound by method handle
+        var nameSetter = AccessorFactory.<TestBean>setter(TestBean.class.getMethod("setName", String.class));
+        nameSetter.accept(bean, "abc");
+        assertEquals("abc", bean.name);
+
+        var field = TestBean.class.getDeclaredField("noAccessor");
+        assertTrue(field.trySetAccessible());
+        AccessorFactory.<TestBean>setter(field).accept(bean, 99L);
+        assertEquals(99L, AccessorFactory.<TestBean>getter(field).apply(bean));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AccessorFactory.getter(TestBean.class.getMethod("setId", int.class)));
+        assertThrows(IllegalArgumentException.class,
+                () -> AccessorFactory.setter(TestBean.class.getDeclaredField("constant")));
+    }
+
+    @Test
+    public void testFindGetterAndSetter() throws Exception {
+        var bean = new TestBean();
+        var enabled = TestBean.class.getDeclaredField("enabled");
+        AccessorFactory.findSetter(TestBean.class, enabled).orElseThrow().accept(bean, true);
+        assertEquals(true, AccessorFactory.findGetter(TestBean.class, enabled).orElseThrow().apply(bean));
+        var noAccessor = TestBean.class.getDeclaredField("noAccessor");
+        AccessorFactory.findSetter(TestBean.class, noAccessor).orElseThrow().accept(bean, 5L);
+        assertEquals(5L, AccessorFactory.findGetter(TestBean.class, noAccessor).orElseThrow().apply(bean));
+        assertTrue(AccessorFactory.findSetter(TestBean.class, TestBean.class.getDeclaredField("constant")).isEmpty());
+
+        var record = new TestRecord(1, "r");
+        var name = TestRecord.class.getDeclaredField("name");
+        assertEquals("r", AccessorFactory.findGetter(TestRecord.class, name).orElseThrow().apply(record));
+        assertTrue(AccessorFactory.findSetter(TestRecord.class, name).isEmpty());
+    }
+
+    @Test
+    public void testToGetterName() {
+        assertEquals("getName", AccessorFactory.toGetterName("name", false));
+        assertEquals("isEnabled", AccessorFactory.toGetterName("enabled", true));
+        assertEquals("setName", AccessorFactory.toSetterName("name"));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.fmjsjx.libcommon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedClockTests {
+
+    @Test
+    public void testMillis() throws Exception {
+        try (var clock = CachedClock.create(Duration.ofMillis(1))) {
+            var before = System.currentTimeMillis();
+            Thread.sleep(20);
+            var millis = clock.millis();
+            assertTrue(millis >= before);
+            assertTrue(millis <= System.currentTimeMillis());
+            var unixTime = clock.unixTime();
+            assertTrue(unixTime >= millis / 1000 && unixTime <= System.currentTimeMillis() / 1000);
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        var clock = CachedClock.create(Duration.ofMillis(1));
+        clock.close();
+        Thread.sleep(10);
+        var millis = clock.millis();
+        Thread.sleep(10);
+        assertEquals(millis, clock.millis());
+    }
+
+    @Test
+    public void testDay() {
+        var zone = ZoneId.of("Asia/Shanghai");
+        try (var clock = CachedClock.create(Duration.ofMillis(10), zone)) {
+            var day = clock.day();
+            var today = LocalDate.now(zone);
+            if (!today.equals(day.date())) {
+                // just crossed the day boundary
+                day = clock.day();
+                today = LocalDate.now(zone);
+            }
+            assertEquals(today, day.date());
+            assertEquals(today, clock.today());
+            assertEquals(DateTimeUtil.toNumber(today), clock.todayNumber());
+            assertEquals(today.atStartOfDay(zone).toInstant().toEpochMilli(), clock.startOfDayMillis());
+            assertEquals(today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli(), day.endMillis());
+            var monday = today.with(DayOfWeek.MONDAY);
+            assertEquals(monday.atStartOfDay(zone).toInstant().toEpochMilli(), clock.startOfWeekMillis());
+            assertEquals(monday.plusWeeks(1).atStartOfDay(zone).toInstant().toEpochMilli(), day.weekEndMillis());
+            assertTrue(clock.isToday(clock.millis()));
+            assertFalse(clock.isToday(day.endMillis()));
+            assertTrue(clock.isThisWeek(day.weekStartMillis()));
+            assertFalse(clock.isThisWeek(day.weekStartMillis() - 1));
+        }
+    }
+
+    @Test
+    public void testWithZone() {
+        var clock = CachedClock.systemDefault();
+        assertSame(clock, CachedClock.systemDefault());
+        assertSame(clock, clock.withZone(clock.getZone()));
+        var utc = clock.withZone(ZoneOffset.UTC);
+        assertEquals(ZoneOffset.UTC, utc.getZone());
+        assertEquals(LocalDate.ofEpochDay(Math.floorDiv(utc.millis(), 86400_000L)), utc.today());
+        // derived clocks are cached by the time-zone
+        assertSame(utc, clock.withZone(ZoneOffset.UTC));
+        assertSame(clock, utc.withZone(clock.getZone()));
+        // closing the shared instance takes no effect
+        utc.close();
+        clock.close();
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.github.fmjsjx.libcommon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoField;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateTimeUtilTests {
+
+    @Test
+    public void testIsSameWeek() {
+        assertTrue(DateTimeUtil.isSameWeek(LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 25)));
+        assertFalse(DateTimeUtil.isSameWeek(LocalDate.of(2026, 10, 18), LocalDate.of(2026, 10, 19)));
+        assertTrue(DateTimeUtil.isSameWeek(LocalDate.of(1969, 12, 29), LocalDate.of(1970, 1, 4)));
+        assertFalse(DateTimeUtil.isSameWeek(LocalDate.of(1970, 1, 4), LocalDate.of(1970, 1, 5)));
+        var base = LocalDate.of(1960, 1, 1);
+        for (var i = 0; i < 30000; i++) {
+            var d1 = base.plusDays(i);
+            var d2 = d1.plusDays(i % 9);
+            var expected = d1.with(ChronoField.DAY_OF_WEEK, 1).isEqual(d2.with(ChronoField.DAY_OF_WEEK, 1));
+            assertEquals(expected, DateTimeUtil.isSameWeek(d1, d2));
+        }
+    }
+
+}
@@ -1,15 +1,20 @@
 package com.github.fmjsjx.libcommon.util;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import com.github.fmjsjx.libcommon.collection.IntArrayList;
 import org.junit.jupiter.api.Test;
 
 public class RandomUtilTest {
@@ -198,4 +203,72 @@ public class RandomUtilTest {
         assertEquals(5, list2.size());
     }
 
+    @Test
+    public void testRandomIndices() {
+        assertEquals(0, RandomUtil.randomIndices(0, 3).length);
+        assertEquals(0, RandomUtil.randomIndices(10, 0).length);
+        var all = RandomUtil.randomIndices(5, 10);
+        assertEquals(5, all.length);
+        assertEquals(Set.of(0, 1, 2, 3, 4), Arrays.stream(all).boxed().collect(Collectors.toSet()));
+        for (int i = 0; i < 1000; i++) {
+            var indices = RandomUtil.randomIndices(100_000, 5);
+            assertEquals(5, indices.length);
+            assertEquals(5, Arrays.stream(indices).distinct().count());
+            assertTrue(Arrays.stream(indices).allMatch(v -> v >= 0 && v < 100_000));
+
+            indices = RandomUtil.randomIndices(10, 7);
+            assertEquals(7, indices.length);
+            assertEquals(7, Arrays.stream(indices).distinct().count());
+            assertTrue(Arrays.stream(indices).allMatch(v -> v >= 0 && v < 10));
+        }
+        assertThrows(IllegalArgumentException.class, () -> RandomUtil.randomIndices(-1, 3));
+        assertThrows(IllegalArgumentException.class, () -> RandomUtil.randomIndices(10, -1));
+    }
+
+    @Test
+    public void testRandomN_Lint_int() {
+        var values = new int[] { 10, 20, 30, 40, 50, 60, 70 };
+        var out = RandomUtil.randomN(values, 3);
+        assertEquals(3, out.length);
+        assertEquals(3, Arrays.stream(out).distinct().count());
+        assertTrue(Arrays.stream(out).allMatch(v -> v >= 10 && v <= 70 && v % 10 == 0));
+        assertArrayEquals(new int[] { 10, 20, 30, 40, 50, 60, 70 }, values);
+    }
+
+    @Test
+    public void testRandomN_Llong_int() {
+        var values = new long[] { 10, 20, 30, 40, 50, 60, 70 };
+        var out = RandomUtil.randomN(values, 5);
+        assertEquals(5, out.length);
+        assertEquals(5, Arrays.stream(out).distinct().count());
+        assertTrue(Arrays.stream(out).allMatch(v -> v >= 10 && v <= 70 && v % 10 == 0));
+        assertArrayEquals(new long[] { 10, 20, 30, 40, 50, 60, 70 }, values);
+    }
+
+    @Test
+    public void testRandomN_IntList_int() {
+        var values = new IntArrayList(10, 20, 30, 40, 50, 60, 70);
+        var out = RandomUtil.randomN(values, 3);
+        assertEquals(3, out.size());
+        assertEquals(3, out.intStream().distinct().count());
+        assertTrue(out.intStream().allMatch(values::contains));
+        assertEquals(7, values.size());
+    }
+
+    @Test
+    public void testReservoirSample() {
+        var set = Set.of("a", "b", "c", "d", "e", "f", "g");
+        var out = RandomUtil.reservoirSample(set, 3);
+        assertEquals(3, out.size());
+        assertAll(out.stream().map(v -> () -> assertTrue(set.contains(v))));
+        assertEquals(3, Set.copyOf(out).size());
+
+        out = RandomUtil.reservoirSample(set, 10);
+        assertEquals(7, out.size());
+        assertEquals(set, Set.copyOf(out));
+
+        assertTrue(RandomUtil.reservoirSample(set, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RandomUtil.reservoirSample(set, -1));
+    }
+
 }
@@ -0,0 +1,205 @@
+package com.github.fmjsjx.libcommon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReflectUtilTests {
+
+    public static class TestBean {
+
+        public static String concat(String a, String b) {
+            return a + b;
+        }
+
+        private static int secret() {
+            return 42;
+        }
+
+        private int value;
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(Integer value) {
+            this.value = value;
+        }
+
+        private String describe(String prefix) {
+            return prefix + value;
+        }
+
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        public void error(String message) {
+            throw new AssertionError(message);
+        }
+
+        public static long twice(long value) {
+            return value * 2;
+        }
+
+        public static int sum(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+
+        public static int sum(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+        public void setAll(int a, int b, int c) {
+            this.value = a + b + c;
+        }
+
+    }
+
+    @Test
+    public void testCallMethod() {
+        var bean = new TestBean();
+        ReflectUtil.callMethod(TestBean.class, "setValue", bean, 123);
+        assertEquals(123, bean.value);
+        assertEquals((Integer) 123, ReflectUtil.callMethod(TestBean.class, "getValue", bean));
+        assertEquals("ab", ReflectUtil.callStaticMethod(TestBean.class, "concat", "a", "b"));
+
+        var e = assertThrows(RuntimeException.class, () -> ReflectUtil.callMethod(TestBean.class, "fail", bean, "x"));
+        assertTrue(e.getCause() instanceof InvocationTargetException);
+        assertTrue(e.getCause().getCause() instanceof IllegalStateException);
+        e = assertThrows(RuntimeException.class, () -> ReflectUtil.callMethod(TestBean.class, "missing", bean));
+        assertTrue(e.getCause() instanceof NoSuchMethodException);
+    }
+
+    @Test
+    public void testCallMethodFailures() {
+        var bean = new TestBean();
+        // errors thrown by the method are wrapped as well
+        var error = assertThrows(RuntimeException.class, () -> ReflectUtil.callMethod(TestBean.class, "error", bean, "x"));
+        assertTrue(error.getCause() instanceof InvocationTargetException);
+        assertTrue(error.getCause().getCause() instanceof AssertionError);
+        assertEquals("x", error.getCause().getCause().getMessage());
+        assertThrows(NullPointerException.class, () -> ReflectUtil.callMethod(TestBean.class, "getValue", null));
+        var e = assertThrows(RuntimeException.class, () -> ReflectUtil.callMethod(TestBean.class, "getValue", "bean"));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testCheckArguments() throws Throwable {
+        var invoker = ReflectUtil.methodInvoker(TestBean.class, "twice", long.class);
+        invoker.checkArguments(null, new Object[]{1});
+        assertEquals(2L, invoker.invoke(null, 1));
+        assertEquals(6L, invoker.invoke(null, 3L));
+        assertThrows(IllegalArgumentException.class, () -> invoker.checkArguments(null, new Object[]{1.0}));
+        assertThrows(IllegalArgumentException.class, () -> invoker.checkArguments(null, new Object[]{null}));
+        assertThrows(IllegalArgumentException.class, () -> invoker.checkArguments(null, new Object[0]));
+        var setter = ReflectUtil.methodInvoker(TestBean.class, "setValue", Integer.class);
+        setter.checkArguments(new TestBean(), new Object[]{null});
+        assertThrows(IllegalArgumentException.class, () -> setter.checkArguments(new TestBean(), new Object[]{"1"}));
+        assertThrows(NullPointerException.class, () -> setter.checkArguments(null, new Object[]{1}));
+    }
+
+    public static class TestArg {
+    }
+
+    public static class TestArgHolder {
+
+        public static String name(TestArg arg) {
+            return "arg";
+        }
+
+    }
+
+    @Test
+    public void testMethodInvokerWithOtherClassLoader() throws Exception {
+        var invoker = ReflectUtil.methodInvoker(TestArgHolder.class, "name", TestArg.class);
+        assertSame(invoker, ReflectUtil.methodInvoker(TestArgHolder.class, "name", TestArg.class));
+        var location = TestArg.class.getProtectionDomain().getCodeSource().getLocation();
+        try (var loader = new URLClassLoader(new URL[]{location}, ClassLoader.getPlatformClassLoader())) {
+            var otherArg = loader.loadClass(TestArg.class.getName());
+            assertNotSame(TestArg.class, otherArg);
+            // same type names but different classes must not hit the cache
+            var e = assertThrows(RuntimeException.class,
+                    () -> ReflectUtil.methodInvoker(TestArgHolder.class, "name", otherArg));
+            assertTrue(e.getCause() instanceof NoSuchMethodException);
+        }
+        assertSame(invoker, ReflectUtil.methodInvoker(TestArgHolder.class, "name", TestArg.class));
+    }
+
+    @Test
+    public void testDirectMethodInvoker() throws Throwable {
+        var bean = new TestBean();
+        var sum = ReflectUtil.methodInvoker(TestBean.class, "sum", int.class, int.class, int.class, int.class);
+        assertTrue(sum.isDirect());
+        assertEquals(10, sum.invoke(null, 1, 2, 3, 4));
+        // widened primitives fall back to the method handle
+        assertEquals(10, sum.invoke(null, 1, 2, 3, (short) 4));
+        var sum5 = ReflectUtil.methodInvoker(TestBean.class, "sum", int.class, int.class, int.class, int.class, int.class);
+        assertFalse(sum5.isDirect());
+        assertEquals(15, sum5.invoke(null, 1, 2, 3, 4, 5));
+        var setAll = ReflectUtil.methodInvoker(TestBean.class, "setAll", int.class, int.class, int.class);
+        assertTrue(setAll.isDirect());
+        assertNull(setAll.invoke(bean, 1, 2, 3));
+        assertEquals(6, bean.getValue());
+        var getValue = ReflectUtil.methodInvoker(TestBean.class, "getValue");
+        assertTrue(getValue.isDirect());
+        assertEquals(6, getValue.invoke(bean));
+        assertEquals(6, getValue.invoke(bean, (Object[]) null));
+        var fail = ReflectUtil.methodInvoker(TestBean.class, "fail", String.class);
+        assertTrue(fail.isDirect());
+        assertEquals("x", assertThrows(IllegalStateException.class, () -> fail.invoke(bean, "x")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> fail.invoke(bean, "x", "y"));
+        // private methods of other classes are called by the method handle
+        var describe = ReflectUtil.declaredMethodInvoker(TestBean.class, "describe", String.class);
+        assertFalse(describe.isDirect());
+        assertEquals("v=6", describe.invoke(bean, "v="));
+    }
+
+    @Test
+    public void testMethodInvokerCacheEviction() throws Exception {
+        var cache = new ReflectUtil.MethodInvokerCache(2);
+        var hotKey = ReflectUtil.MethodKey.of("getValue", false);
+        var hot = MethodInvoker.of(TestBean.class.getMethod("getValue"));
+        assertNull(cache.putIfAbsent(hotKey, hot));
+        for (var i = 0; i < 10; i++) {
+            assertSame(hot, cache.get(hotKey));
+            var key = ReflectUtil.MethodKey.of("cold" + i, false);
+            assertNull(cache.putIfAbsent(key, MethodInvoker.of(TestBean.class.getMethod("fail", String.class))));
+            assertTrue(cache.size() <= 2);
+        }
+        assertSame(hot, cache.get(hotKey));
+        assertNull(cache.get(ReflectUtil.MethodKey.of("cold0", false)));
+    }
+
+    @Test
+    public void testCallDeclaredMethod() {
+        var bean = new TestBean();
+        bean.value = 5;
+        assertEquals("v=5", ReflectUtil.callDeclaredMethod(TestBean.class, "describe", bean, "v="));
+        assertEquals((Integer) 42, ReflectUtil.callDeclaredStaticMethod(TestBean.class, "secret"));
+        var e = assertThrows(RuntimeException.class, () -> ReflectUtil.callMethod(TestBean.class, "describe", bean, "v="));
+        assertTrue(e.getCause() instanceof NoSuchMethodException);
+    }
+
+    @Test
+    public void testMethodInvoker() throws Throwable {
+        var invoker = ReflectUtil.methodInvoker(TestBean.class, "setValue", Integer.class);
+        assertSame(invoker, ReflectUtil.methodInvoker(TestBean.class, "setValue", Integer.class));
+        assertEquals("setValue", invoker.method().getName());
+        var bean = new TestBean();
+        assertNull(invoker.invoke(bean, 7));
+        assertEquals(7, ReflectUtil.methodInvoker(TestBean.class, "getValue").invoke(bean));
+        assertEquals("xy", ReflectUtil.methodInvoker(TestBean.class, "concat", String.class, String.class)
+                .invoke(null, "x", "y"));
+        assertThrows(IllegalStateException.class,
+                () -> ReflectUtil.methodInvoker(TestBean.class, "fail", String.class).invoke(bean, "x"));
+        var declared = ReflectUtil.declaredMethodInvoker(TestBean.class, "describe", String.class);
+        assertNotSame(declared, ReflectUtil.methodInvoker(TestBean.class, "getValue"));
+        assertEquals("v=7", declared.invoke(bean, "v="));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.fmjsjx.libcommon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SplitterTests {
+
+    private static final List<String> INPUTS = List.of("", ",", ",,,", "a", "a,b", ",a,b", "a,,b", "a,b,", "a,b,,,",
+            ",,a,,b,,", "a,,,", ",a");
+
+    @Test
+    public void testSplitOnChar() {
+        var splitter = Splitter.on(',');
+        assertSame(splitter, Splitter.on(','));
+        for (var input : INPUTS) {
+            assertArrayEquals(input.split(","), splitter.split(input), input);
+            assertArrayEquals(input.split(","), splitter.split(new StringBuilder(input)), input);
+        }
+    }
+
+    @Test
+    public void testSplitOnString() {
+        var splitter = Splitter.on(",,");
+        for (var input : INPUTS) {
+            assertArrayEquals(input.split(",,"), splitter.split(input), input);
+            assertArrayEquals(input.split(",,"), splitter.split(new StringBuilder(input)), input);
+        }
+    }
+
+    @Test
+    public void testSplitOnPattern() {
+        var splitter = Splitter.onPattern(Pattern.compile(",+"));
+        for (var input : INPUTS) {
+            assertArrayEquals(input.split(",+"), splitter.split(input), input);
+        }
+        splitter = Splitter.onPattern(Pattern.compile(""));
+        assertArrayEquals("abc".split(""), splitter.split("abc"));
+        splitter = Splitter.onPattern("\\s*,\\s*");
+        assertArrayEquals(new String[]{"a", "b", "c"}, splitter.split("a , b,c"));
+        assertSame(Splitter.on('|'), Splitter.onPattern("\\|"));
+        assertSame(Splitter.on(','), Splitter.onPattern(","));
+    }
+
+    @Test
+    public void testSplitInt() {
+        assertArrayEquals(new int[]{1, 2, 3}, Splitter.on(',').splitInt("1,2,3"));
+        assertArrayEquals(new int[]{-1, 20, Integer.MAX_VALUE}, Splitter.on(',').splitInt("-1,20,2147483647,"));
+        assertArrayEquals(new int[]{1, 2, 3}, Splitter.on(", ").splitInt("1, 2, 3"));
+        assertArrayEquals(new int[]{1, 2, 3}, Splitter.onPattern("\\s*,\\s*").splitInt("1 ,2 , 3"));
+        assertEquals(List.of(1, 2, 3), Splitter.on(',').splitIntToList("1,2,3"));
+        assertThrows(NumberFormatException.class, () -> Splitter.on(',').splitInt("1,,3"));
+        assertThrows(NumberFormatException.class, () -> Splitter.on(',').splitInt("1,2147483648"));
+        assertThrows(NumberFormatException.class, () -> Splitter.on(',').splitInt(""));
+    }
+
+    @Test
+    public void testSplitLong() {
+        assertArrayEquals(new long[]{1, 2, Long.MIN_VALUE}, Splitter.on(',').splitLong("1,2,-9223372036854775808"));
+        assertEquals(List.of(1L, 2L, 3L), Splitter.on(',').splitLongToList("1,2,3"));
+        assertThrows(NumberFormatException.class, () -> Splitter.on(',').splitLong("1,a,3"));
+    }
+
+    @Test
+    public void testSplitToList() {
+        assertEquals(List.of("a", "b"), Splitter.on(',').splitToList("a,b"));
+        assertEquals(List.of(1, 2), Splitter.on(',').splitToList("a,bb", String::length));
+    }
+
+}
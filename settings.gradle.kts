@@ -9,6 +9,7 @@ pluginManagement {
 }
 
 rootProject.name = "libcommon"
+include(":libcommon-benchmarks")
 include(":libcommon-bom")
 include(":libcommon-bson")
 include(":libcommon-json")
@@ -16,6 +17,7 @@ include(":libcommon-json-fastjson2")
 include(":libcommon-json-jackson2")
 include(":libcommon-json-jackson3")
 include(":libcommon-json-jsoniter")
+include(":libcommon-json-netty")
 include(":libcommon-jwt")
 include(":libcommon-prometheus-client")
 include(":libcommon-r2dbc")